@@ -0,0 +1,89 @@
+package dev.mayuna.topggsdk.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates realistic top.gg payloads used by the benchmarks
+ */
+final class BenchmarkData {
+
+    static final String WEBHOOK_BODY = "{\"bot\":\"840993896123793409\",\"user\":\"215440564372357120\",\"type\":\"upvote\",\"isWeekend\":false,"
+            + "\"query\":\"?source=discord&campaign=summer&ref=vote-reminder\"}";
+
+    static final String WEBHOOK_QUERY = "?source=discord&campaign=summer&ref=vote-reminder";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Generates JSON of bots search page, e.g. <code>GET /bots?limit=500</code>
+     *
+     * @param count Number of bots
+     *
+     * @return JSON
+     */
+    static String generateBotsPage(int count) {
+        Random random = new Random(count);
+        StringBuilder json = new StringBuilder(count * 1024);
+        json.append("{\"results\":[");
+
+        for (int i = 0; i < count; i++) {
+            if (i != 0) {
+                json.append(',');
+            }
+
+            String id = Long.toString(100000000000000000L + random.nextInt(Integer.MAX_VALUE));
+
+            json.append("{\"defAvatar\":\"6debd47ed13483642cf09e832ed0bc1b\",")
+                .append("\"invite\":\"https://discord.com/oauth2/authorize?client_id=").append(id).append("&scope=bot\",")
+                .append("\"website\":\"https://example.com/bots/").append(i).append("\",")
+                .append("\"support\":\"abcdef\",")
+                .append("\"github\":\"https://github.com/example/bot").append(i).append("\",")
+                .append("\"longdesc\":\"");
+
+            for (int j = 0; j < 8; j++) {
+                json.append("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt. ");
+            }
+
+            json.append("\",")
+                .append("\"shortdesc\":\"Very useful bot number ").append(i).append("\",")
+                .append("\"prefix\":\"!\",")
+                .append("\"lib\":\"JDA\",")
+                .append("\"clientid\":\"").append(id).append("\",")
+                .append("\"avatar\":\"a_").append(Integer.toHexString(random.nextInt())).append("\",")
+                .append("\"id\":\"").append(id).append("\",")
+                .append("\"discriminator\":\"").append(1000 + random.nextInt(9000)).append("\",")
+                .append("\"username\":\"Bot").append(i).append("\",")
+                .append("\"date\":\"2022-04-0").append(1 + i % 9).append("T10:00:00.000Z\",")
+                .append("\"guilds\":[],")
+                .append("\"shards\":[").append(random.nextInt(1000)).append(',').append(random.nextInt(1000)).append("],")
+                .append("\"monthlyPoints\":").append(random.nextInt(10000)).append(',')
+                .append("\"points\":").append(random.nextInt(1000000)).append(',')
+                .append("\"certifiedBot\":").append(random.nextBoolean()).append(',')
+                .append("\"owners\":[\"").append(100000000000000000L + random.nextInt(Integer.MAX_VALUE)).append("\"],")
+                .append("\"tags\":[\"Moderation\",\"Music\",\"Fun\"],")
+                .append("\"donatebotguildid\":\"\"}");
+        }
+
+        json.append("],\"limit\":").append(count).append(",\"offset\":0,\"count\":").append(count).append(",\"total\":").append(count * 10).append('}');
+        return json.toString();
+    }
+
+    /**
+     * Generates server counts per shard
+     *
+     * @param shardCount Number of shards
+     *
+     * @return Server counts
+     */
+    static int[] generateServerCounts(int shardCount) {
+        Random random = new Random(shardCount);
+        int[] serverCounts = new int[shardCount];
+
+        for (int i = 0; i < shardCount; i++) {
+            serverCounts[i] = 1000 + random.nextInt(1500);
+        }
+
+        return serverCounts;
+    }
+}
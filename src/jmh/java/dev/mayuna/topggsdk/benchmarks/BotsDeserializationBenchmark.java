@@ -0,0 +1,39 @@
+package dev.mayuna.topggsdk.benchmarks;
+
+import com.google.gson.Gson;
+import dev.mayuna.topggsdk.api.TopGGGson;
+import dev.mayuna.topggsdk.api.entities.Bots;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization of large {@link Bots} search pages: reflective {@link Gson} vs. the shared {@link TopGGGson} with type adapters
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BotsDeserializationBenchmark {
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private String json;
+    private Gson reflectiveGson;
+
+    @Setup
+    public void setup() {
+        json = BenchmarkData.generateBotsPage(pageSize);
+        reflectiveGson = new Gson();
+    }
+
+    @Benchmark
+    public Bots reflectiveGson() {
+        return reflectiveGson.fromJson(json, Bots.class);
+    }
+
+    @Benchmark
+    public Bots typeAdapter() {
+        return TopGGGson.get().fromJson(json, Bots.class);
+    }
+}
@@ -0,0 +1,107 @@
+package dev.mayuna.topggsdk.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import dev.mayuna.topggsdk.util.VirtualThreadExecutor;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+
+/**
+ * Many concurrent blocking vote checks (HTTP request against local server with 5 ms latency): fixed pool of platform threads (how
+ * blocking calls had to be scaled before) vs. {@link VirtualThreadExecutor} used by virtual thread execution mode. Peak thread count and
+ * used heap are printed after every trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.httpclient.keepalive.timeout=30")
+public class ExecutionModelBenchmark {
+
+    private static final byte[] RESPONSE = "{\"voted\":1}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"PLATFORM_POOL", "VIRTUAL_THREADS"})
+    private String mode;
+
+    @Param({"1000"})
+    private int requests;
+
+    @Param({"200"})
+    private int concurrency;
+
+    private HttpServer httpServer;
+    private ScheduledExecutorService responder;
+    private HttpClient httpClient;
+    private HttpRequest httpRequest;
+    private Executor executor;
+
+    @Setup
+    public void setup() throws IOException {
+        responder = Executors.newScheduledThreadPool(4);
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+        httpServer.createContext("/", exchange -> responder.schedule(() -> {
+            try {
+                exchange.sendResponseHeaders(200, RESPONSE.length);
+                exchange.getResponseBody().write(RESPONSE);
+            } catch (IOException ignored) {
+            } finally {
+                exchange.close();
+            }
+        }, 5, TimeUnit.MILLISECONDS));
+        httpServer.setExecutor(Executors.newFixedThreadPool(4));
+        httpServer.start();
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        httpRequest = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + httpServer.getAddress().getPort() + "/bots/1/check?userId=2")).build();
+
+        if (mode.equals("PLATFORM_POOL")) {
+            executor = Executors.newFixedThreadPool(concurrency);
+        } else {
+            executor = new VirtualThreadExecutor("Benchmark", concurrency);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Runtime runtime = Runtime.getRuntime();
+        System.out.println();
+        System.out.println(mode + ": peak threads " + ManagementFactory.getThreadMXBean().getPeakThreadCount()
+                                   + ", used heap " + (runtime.totalMemory() - runtime.freeMemory()) / 1024 / 1024 + " MB");
+
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdownNow();
+        }
+
+        httpServer.stop(0);
+        responder.shutdownNow();
+    }
+
+    /**
+     * One operation = {@link #requests} blocking requests
+     */
+    @Benchmark
+    public void blockingVoteChecks() throws InterruptedException {
+        CountDownLatch countDownLatch = new CountDownLatch(requests);
+
+        for (int i = 0; i < requests; i++) {
+            executor.execute(() -> {
+                try {
+                    httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+                } catch (IOException | InterruptedException ignored) {
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        countDownLatch.await();
+    }
+}
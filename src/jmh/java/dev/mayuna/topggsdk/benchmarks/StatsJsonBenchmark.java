@@ -0,0 +1,39 @@
+package dev.mayuna.topggsdk.benchmarks;
+
+import dev.mayuna.simpleapi.Action;
+import dev.mayuna.topggsdk.TopGGAPI;
+import dev.mayuna.topggsdk.api.TopGGAPIResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building of stats request via {@link TopGGAPI#updateBotStats(int[])} (JSON body and the action, the request is not sent)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StatsJsonBenchmark {
+
+    @Param({"1", "16", "256"})
+    private int shardCount;
+
+    private TopGGAPI topGGAPI;
+    private int[] serverCounts;
+
+    @Setup
+    public void setup() {
+        topGGAPI = new TopGGAPI("benchmark-token", "840993896123793409");
+        serverCounts = BenchmarkData.generateServerCounts(shardCount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        topGGAPI.getRateLimiter().shutdown();
+    }
+
+    @Benchmark
+    public Action<TopGGAPIResponse> updateBotStats() {
+        return topGGAPI.updateBotStats(serverCounts);
+    }
+}
@@ -0,0 +1,74 @@
+package dev.mayuna.topggsdk.benchmarks;
+
+import dev.mayuna.topggsdk.WebhookHandler;
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end throughput of {@link WebhookHandler}: authorized POST requests over loopback to local Javalin instance, parsed and
+ * dispatched to a listener
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class WebhookHandlerBenchmark {
+
+    private static final String AUTHORIZATION = "benchmark-authorization";
+
+    private final LongAdder received = new LongAdder();
+
+    private WebhookHandler webhookHandler;
+    private HttpClient httpClient;
+    private HttpRequest httpRequest;
+
+    @Setup
+    public void setup() throws IOException {
+        int port;
+
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            port = serverSocket.getLocalPort();
+        }
+
+        webhookHandler = new WebhookHandler(port, "/webhook", AUTHORIZATION, this::onWebhook);
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        httpRequest = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/webhook"))
+                                 .header("Authorization", AUTHORIZATION)
+                                 .header("Content-Type", "application/json")
+                                 .POST(HttpRequest.BodyPublishers.ofString(BenchmarkData.WEBHOOK_BODY))
+                                 .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        webhookHandler.stop();
+
+        if (received.sum() == 0) {
+            throw new IllegalStateException("Webhook listener did not receive any webhook!");
+        }
+    }
+
+    @Benchmark
+    public int post() throws IOException, InterruptedException {
+        HttpResponse<Void> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Webhook handler responded with HTTP " + response.statusCode());
+        }
+
+        return response.statusCode();
+    }
+
+    private void onWebhook(Webhook webhook) {
+        received.increment();
+    }
+}
@@ -0,0 +1,45 @@
+package dev.mayuna.topggsdk.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import dev.mayuna.topggsdk.api.TopGGGson;
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of webhook body into {@link Webhook}: new reflective {@link Gson} per request (how it was done before) vs. the shared
+ * {@link TopGGGson} type adapter reading directly from the request stream (how {@link dev.mayuna.topggsdk.WebhookHandler} does it now)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WebhookParsingBenchmark {
+
+    private byte[] body;
+    private TypeAdapter<Webhook> webhookAdapter;
+
+    @Setup
+    public void setup() {
+        body = BenchmarkData.WEBHOOK_BODY.getBytes(StandardCharsets.UTF_8);
+        webhookAdapter = TopGGGson.get().getAdapter(Webhook.class);
+    }
+
+    @Benchmark
+    public Webhook reflectiveGson() {
+        return new Gson().fromJson(new String(body, StandardCharsets.UTF_8), Webhook.class);
+    }
+
+    @Benchmark
+    public Webhook typeAdapter() throws IOException {
+        try (JsonReader jsonReader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+            return webhookAdapter.read(jsonReader);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package dev.mayuna.topggsdk.benchmarks;
+
+import com.google.gson.JsonObject;
+import dev.mayuna.topggsdk.api.TopGGGson;
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.api.entities.webhooks.WebhookQueries;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of webhook's query string: the original regex implementation of {@link Webhook#parseQueries()} vs. {@link WebhookQueries}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WebhookQueryBenchmark {
+
+    private String query;
+    private Webhook webhook;
+
+    @Setup
+    public void setup() {
+        query = BenchmarkData.WEBHOOK_QUERY;
+
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("user", "215440564372357120");
+        jsonObject.addProperty("bot", "840993896123793409");
+        jsonObject.addProperty("type", "upvote");
+        jsonObject.addProperty("query", query);
+
+        webhook = TopGGGson.get().fromJson(jsonObject, Webhook.class);
+    }
+
+    /**
+     * Original implementation of {@link Webhook#parseQueries()}
+     */
+    @Benchmark
+    public Webhook.Query[] regexParseQueries() {
+        Pattern pattern = Pattern.compile("[\\?&]([^&=]+)=([^&=]+)");
+        Matcher matcher = pattern.matcher(query);
+
+        List<Webhook.Query> list = new LinkedList<>();
+
+        while (matcher.find()) {
+            list.add(new Webhook.Query(matcher.group(1), matcher.group(2)));
+        }
+
+        return list.toArray(new Webhook.Query[0]);
+    }
+
+    @Benchmark
+    public Webhook.Query[] scannerParseQueries() {
+        return new WebhookQueries(query).toArray();
+    }
+
+    /**
+     * Parse and single lookup, e.g. reading campaign of every vote
+     */
+    @Benchmark
+    public String scannerGetQuery() {
+        return new WebhookQueries(query).get("campaign");
+    }
+
+    /**
+     * Lookup on already parsed (cached) query view
+     */
+    @Benchmark
+    public String cachedGetQuery() {
+        return webhook.getQuery("campaign");
+    }
+}
@@ -0,0 +1,82 @@
+package dev.mayuna.topggsdk.benchmarks;
+
+import dev.mayuna.topggsdk.WebhookHandler;
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.webhooks.DirectWebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.server.JavalinWebhookServer;
+import dev.mayuna.topggsdk.webhooks.server.JdkWebhookServer;
+import dev.mayuna.topggsdk.webhooks.server.WebhookServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Cold start of the webhook receiver: time from creating {@link WebhookHandler} until the first webhook is answered, in fresh JVM (class
+ * loading included). Every fork measures single start, so the score is average over forks. Resident set size (Linux only) and live thread
+ * count after the first webhook are printed at the end of every fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 5, jvmArgsAppend = "-Xms32m")
+public class WebhookServerStartupBenchmark {
+
+    private static final byte[] BODY = BenchmarkData.WEBHOOK_BODY.getBytes(StandardCharsets.UTF_8);
+
+    @Param({"JAVALIN", "JDK"})
+    private String backend;
+
+    private WebhookHandler webhookHandler;
+
+    @Benchmark
+    public int startAndReceiveFirstWebhook() throws IOException {
+        WebhookServer webhookServer = backend.equals("JDK") ? new JdkWebhookServer(0) : new JavalinWebhookServer(0);
+        Consumer<Webhook> webhookListener = webhook -> {};
+        webhookHandler = new WebhookHandler(webhookServer, "/top_gg/", "password", webhookListener, new DirectWebhookDispatcher(webhookListener));
+
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + webhookHandler.getPort() + "/top_gg/").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Authorization", "password");
+        connection.setDoOutput(true);
+
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write(BODY);
+        }
+
+        int statusCode = connection.getResponseCode();
+        connection.disconnect();
+        return statusCode;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.out.println();
+        System.out.println(backend + ": RSS " + readResidentSetSize() + ", live threads " + ManagementFactory.getThreadMXBean().getThreadCount());
+        webhookHandler.stop();
+    }
+
+    private static String readResidentSetSize() throws IOException {
+        Path status = Path.of("/proc/self/status");
+
+        if (!Files.exists(status)) {
+            return "unknown";
+        }
+
+        return Files.readAllLines(status).stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.substring("VmRSS:".length()).trim())
+                    .findFirst()
+                    .orElse("unknown");
+    }
+}
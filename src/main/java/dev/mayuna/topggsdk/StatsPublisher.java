@@ -0,0 +1,233 @@
+package dev.mayuna.topggsdk;
+
+import dev.mayuna.topggsdk.util.ThreadUtils;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects server counts of all shards and posts them to top.gg in single request on fixed interval. Server counts can be updated from any
+ * thread (e.g. on every guild join/leave), stats are posted only when they have changed since the last successful post.<br>
+ * Stats are not posted until every shard has reported its server count at least once.
+ */
+public class StatsPublisher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatsPublisher.class);
+
+    private final @Getter TopGGAPI topGGAPI;
+    private final @Getter int shardCount;
+    private final @Getter long intervalMillis;
+    private final @Getter Mode mode;
+
+    private final AtomicIntegerArray serverCounts;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicBoolean publishing = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+
+    // Used only by publishing thread
+    private final StringBuilder jsonBuilder = new StringBuilder(64);
+
+    private volatile long publishedVersion = 0;
+
+    StatsPublisher(@NonNull TopGGAPI topGGAPI, int shardCount, long intervalMillis, @NonNull Mode mode) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be greater than zero!");
+        }
+
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Interval must be greater than zero!");
+        }
+
+        this.topGGAPI = topGGAPI;
+        this.shardCount = shardCount;
+        this.intervalMillis = intervalMillis;
+        this.mode = mode;
+        this.serverCounts = new AtomicIntegerArray(shardCount);
+
+        for (int i = 0; i < shardCount; i++) {
+            serverCounts.set(i, -1);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(ThreadUtils.createPlatformThreadFactory("TopGG-StatsPublisher"));
+        scheduler.scheduleWithFixedDelay(this::publishIfChanged, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets server count of specified shard. Can be called from any thread.
+     *
+     * @param shardId     The zero-indexed id of the shard
+     * @param serverCount Amount of servers the shard is in
+     */
+    public void setServerCount(int shardId, int serverCount) {
+        if (shardId < 0 || shardId >= shardCount) {
+            throw new IllegalArgumentException("Shard ID must be between 0 and " + (shardCount - 1) + "!");
+        }
+
+        if (serverCount < 0) {
+            throw new IllegalArgumentException("Server count cannot be smaller than zero!");
+        }
+
+        if (serverCounts.getAndSet(shardId, serverCount) != serverCount) {
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets server count of specified shard
+     *
+     * @param shardId The zero-indexed id of the shard
+     *
+     * @return Server count or -1 if the shard has not reported yet
+     */
+    public int getServerCount(int shardId) {
+        return serverCounts.get(shardId);
+    }
+
+    /**
+     * Gets total server count of all shards which have reported
+     *
+     * @return Total server count
+     */
+    public int getTotalServerCount() {
+        int total = 0;
+
+        for (int i = 0; i < shardCount; i++) {
+            total += Math.max(0, serverCounts.get(i));
+        }
+
+        return total;
+    }
+
+    /**
+     * Determines if there are changes which were not posted yet
+     *
+     * @return True if stats have changed since the last successful post
+     */
+    public boolean hasUnpublishedChanges() {
+        return version.get() != publishedVersion;
+    }
+
+    /**
+     * Posts stats immediately (on the publisher's thread) if they have changed
+     *
+     * @return {@link CompletableFuture} which completes after the stats were posted (or immediately if there was nothing to post)
+     */
+    public CompletableFuture<Void> flush() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        scheduler.execute(() -> publishIfChanged().whenComplete((result, throwable) -> future.complete(null)));
+        return future;
+    }
+
+    /**
+     * Stops the publisher. Changes which were not posted yet are lost, call {@link #flush()} before if needed.
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private CompletableFuture<Void> publishIfChanged() {
+        long currentVersion = version.get();
+
+        if (currentVersion == publishedVersion || !publishing.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String json = buildJson();
+
+        if (json == null) {
+            publishing.set(false);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> future;
+
+        try {
+            future = topGGAPI.makeBotStatsAction(json).execute().thenAccept(response -> {
+                if (response != null && !response.wasSuccessful()) {
+                    LOGGER.warn("Could not post bot stats to top.gg: {} (retry-after: {})", response.getError(), response.getRetryAfter());
+                    return;
+                }
+
+                publishedVersion = currentVersion;
+            });
+        } catch (Exception exception) {
+            future = CompletableFuture.failedFuture(exception);
+        }
+
+        return future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("Exception occurred while posting bot stats to top.gg!", throwable);
+            }
+
+            publishing.set(false);
+        });
+    }
+
+    /**
+     * Builds JSON body without creating JSON tree
+     *
+     * @return JSON body or null if some shards have not reported yet
+     */
+    private String buildJson() {
+        jsonBuilder.setLength(0);
+
+        if (mode == Mode.PER_SHARD) {
+            jsonBuilder.append("{\"server_count\":[");
+
+            for (int i = 0; i < shardCount; i++) {
+                int serverCount = serverCounts.get(i);
+
+                if (serverCount < 0) {
+                    return null;
+                }
+
+                if (i != 0) {
+                    jsonBuilder.append(',');
+                }
+
+                jsonBuilder.append(serverCount);
+            }
+
+            jsonBuilder.append("]}");
+        } else {
+            int total = 0;
+
+            for (int i = 0; i < shardCount; i++) {
+                int serverCount = serverCounts.get(i);
+
+                if (serverCount < 0) {
+                    return null;
+                }
+
+                total += serverCount;
+            }
+
+            jsonBuilder.append("{\"server_count\":").append(total).append(",\"shard_count\":").append(shardCount).append('}');
+        }
+
+        return jsonBuilder.toString();
+    }
+
+    /**
+     * Determines how are stats posted
+     */
+    public enum Mode {
+        /**
+         * Posts server count of every shard in array (<code>server_count: [1, 2, 3]</code>)
+         */
+        PER_SHARD,
+        /**
+         * Posts total server count and shard count (<code>server_count: 6, shard_count: 3</code>)
+         */
+        TOTAL;
+    }
+}
@@ -4,13 +4,51 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.annotations.Expose;
 import dev.mayuna.simpleapi.*;
+import dev.mayuna.topggsdk.analytics.VoteAnalytics;
+import dev.mayuna.topggsdk.api.BotPaginator;
+import dev.mayuna.topggsdk.api.RequestCoalescer;
+import dev.mayuna.topggsdk.api.Route;
 import dev.mayuna.topggsdk.api.TopGGAPIResponse;
+import dev.mayuna.topggsdk.api.TopGGAction;
+import dev.mayuna.topggsdk.api.VoteStatusBatch;
+import dev.mayuna.topggsdk.api.VoteStatusAction;
 import dev.mayuna.topggsdk.api.entities.*;
 import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.cache.InMemoryResponseCache;
+import dev.mayuna.topggsdk.cache.ResponseCache;
+import dev.mayuna.topggsdk.cache.ResponseCacheGenerations;
+import dev.mayuna.topggsdk.cache.ResponseCachePolicy;
+import dev.mayuna.topggsdk.cache.VoteStatusCache;
+import dev.mayuna.topggsdk.ledger.VoteLedger;
+import dev.mayuna.topggsdk.metrics.InstrumentedWebhookListener;
+import dev.mayuna.topggsdk.metrics.TopGGMetrics;
+import dev.mayuna.topggsdk.ratelimit.RateLimiter;
+import dev.mayuna.topggsdk.resilience.ResilienceHandler;
+import dev.mayuna.topggsdk.util.Snowflakes;
+import dev.mayuna.topggsdk.util.VirtualThreadExecutor;
+import dev.mayuna.topggsdk.webhooks.AsyncWebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.BatchingWebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.DirectWebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.VirtualThreadWebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.WebhookDeduplicator;
+import dev.mayuna.topggsdk.webhooks.WebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.WebhookRoute;
+import dev.mayuna.topggsdk.webhooks.cluster.ForwardingWebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.cluster.WebhookPeer;
+import dev.mayuna.topggsdk.webhooks.cluster.WebhookPeerServer;
+import dev.mayuna.topggsdk.webhooks.server.JavalinWebhookServer;
+import dev.mayuna.topggsdk.webhooks.server.JdkWebhookServer;
+import dev.mayuna.topggsdk.webhooks.server.WebhookServer;
 import lombok.Getter;
 import lombok.NonNull;
 
-import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
@@ -18,17 +56,93 @@ import java.util.function.Consumer;
  */
 public class TopGGAPI extends SimpleAPI {
 
+    /**
+     * Base URL of top.gg's API
+     */
+    public static final String DEFAULT_BASE_URL = "https://top.gg/api";
+
     private final @Getter String token;
     private final @Getter String botId;
 
+    /**
+     * Base URL of top.gg's API, can be changed to local stand-in server by {@link Builder#withBaseUrl(String)}
+     */
+    private transient @Getter String baseUrl = DEFAULT_BASE_URL;
+
     private transient @Getter WebhookHandler webhookHandler;
+    private transient @Getter RateLimiter rateLimiter;
+    private transient @Getter RequestCoalescer requestCoalescer = new RequestCoalescer();
+    private transient @Getter VoteStatusCache voteStatusCache;
+    private transient @Getter ResponseCache responseCache;
+    private transient @Getter ResponseCachePolicy responseCachePolicy;
+    private transient @Getter ResponseCacheGenerations responseCacheGenerations;
+    private transient @Getter VoteLedger voteLedger;
+    private transient @Getter VoteAnalytics voteAnalytics;
+    private transient @Getter TopGGMetrics metrics = TopGGMetrics.NOOP;
+    private transient @Getter VirtualThreadExecutor actionExecutor;
+    private transient @Getter ResilienceHandler resilienceHandler;
+
+    private transient TopGGAPI root;
+    private final transient Map<String, TopGGAPI> botViews = new ConcurrentHashMap<>();
+
+    public TopGGAPI(@NonNull String token, String botId, int port, String path, String authorization, Consumer<Webhook> webhookListener, WebhookDispatcher webhookDispatcher) {
+        this(token, botId, new RateLimiter());
+
+        if (port != -1) {
+            if (webhookDispatcher == null && path != null) {
+                webhookDispatcher = new DirectWebhookDispatcher(webhookListener);
+            }
+
+            webhookHandler = new WebhookHandler(port, path, authorization, webhookListener, webhookDispatcher);
+        }
+    }
+
+    public TopGGAPI(@NonNull String token, String botId, int port, String path, String authorization, Consumer<Webhook> webhookListener, AsyncWebhookDispatcher.Settings asyncDispatchSettings) {
+        this(token, botId, port, path, authorization, webhookListener, port != -1 && asyncDispatchSettings != null ? new AsyncWebhookDispatcher(webhookListener, asyncDispatchSettings) : null);
+    }
 
     public TopGGAPI(@NonNull String token, String botId, int port, String path, String authorization, Consumer<Webhook> webhookListener) {
+        this(token, botId, port, path, authorization, webhookListener, (WebhookDispatcher) null);
+    }
+
+    /**
+     * Creates {@link TopGGAPI} without webhook handler, used by {@link Builder}
+     */
+    private TopGGAPI(@NonNull String token, String botId, RateLimiter rateLimiter) {
         this.token = token;
         this.botId = botId;
+        this.rateLimiter = rateLimiter;
+        this.responseCacheGenerations = new ResponseCacheGenerations();
+    }
 
-        if (port != -1) {
-            webhookHandler = new WebhookHandler(port, path, authorization, webhookListener);
+    /**
+     * Creates view of root {@link TopGGAPI} for different bot
+     */
+    private TopGGAPI(TopGGAPI root, String botId) {
+        this.token = root.token;
+        this.botId = botId;
+        this.root = root;
+
+        this.baseUrl = root.baseUrl;
+        this.webhookHandler = root.webhookHandler;
+        this.rateLimiter = root.rateLimiter;
+        this.requestCoalescer = root.requestCoalescer;
+        this.voteLedger = root.voteLedger;
+        this.voteAnalytics = root.voteAnalytics;
+        this.responseCache = root.responseCache;
+        this.responseCachePolicy = root.responseCachePolicy;
+        this.responseCacheGenerations = root.responseCacheGenerations;
+        this.metrics = root.metrics;
+        this.actionExecutor = root.actionExecutor;
+        this.resilienceHandler = root.resilienceHandler;
+
+        if (root.voteStatusCache != null) {
+            // Vote statuses are per bot, so every view has its own cache
+            this.voteStatusCache = new VoteStatusCache(root.voteStatusCache.getSettings());
+
+            if (webhookHandler != null) {
+                webhookHandler.addWebhookObserver(createVoteStatusCacheObserver(botId, voteStatusCache));
+            }
         }
     }
 
@@ -40,9 +154,38 @@ public class TopGGAPI extends SimpleAPI {
         this(token, null);
     }
 
+    /**
+     * Gets view of this {@link TopGGAPI} for different bot. The view uses the same token, rate limiter, request coalescer, response cache,
+     * webhook handler, vote ledger, metrics and resilience handler; only vote status cache is separate (with the same settings). Views are
+     * cached, so calling this method multiple times with the same bot ID returns the same view.
+     *
+     * @param botId Non-null bot's ID
+     *
+     * @return Non-null {@link TopGGAPI}
+     */
+    public TopGGAPI forBot(@NonNull String botId) {
+        TopGGAPI root = this.root != null ? this.root : this;
+
+        if (botId.equals(root.botId)) {
+            return root;
+        }
+
+        return root.botViews.computeIfAbsent(botId, id -> new TopGGAPI(root, id));
+    }
+
+    private static Consumer<Webhook> createVoteStatusCacheObserver(String botId, VoteStatusCache voteStatusCache) {
+        long parsedBotId = Snowflakes.parse(botId);
+
+        return webhook -> {
+            if (botId == null || parsedBotId == webhook.getBotIdLong() && parsedBotId != Snowflakes.NONE) {
+                voteStatusCache.recordVote(webhook);
+            }
+        };
+    }
+
     @Override
     public String getURL() {
-        return "https://top.gg/api";
+        return baseUrl;
     }
 
     @Override
@@ -197,17 +340,41 @@ public class TopGGAPI extends SimpleAPI {
      * @see <a href="https://docs.top.gg/api/bot/#search-bots">https://docs.top.gg/api/bot/#search-bots</a>
      */
     public Action<Bots> searchBots(int limit, int offset, String search, String sort, String fields) {
-        return new Action<>(this, Bots.class, new APIRequest.Builder()
-                .setEndpoint("/bots")
-                .setMethod("GET")
-                .setQueries(new Query[]{
-                        new Query("limit", String.valueOf(limit)),
-                        new Query("offset", String.valueOf(offset)),
-                        new Query("search", search),
-                        new Query("sort", sort),
-                        new Query("fields", fields)
-                })
-                .build());
+        return new TopGGAction<>(this, Bots.class, Route.get("/bots")
+                .withQuery("limit", String.valueOf(limit))
+                .withQuery("offset", String.valueOf(offset))
+                .withQuery("search", search)
+                .withQuery("sort", sort)
+                .withQuery("fields", fields));
+    }
+
+    /**
+     * Creates {@link BotPaginator} which lazily paginates through all bots found by specified arguments. Bot ID for this endpoint is
+     * <b>not required</b>.
+     *
+     * @param pageSize The amount of bots per page (one request). Max. 500
+     * @param search   A search string in the format of <code>field: value field2: value2</code>
+     * @param sort     The field to sort by. Prefix with <code>-</code> to reverse the order
+     * @param fields   A comma separated list of fields to show
+     *
+     * @return {@link BotPaginator} which can be iterated, streamed or subscribed to
+     *
+     * @see <a href="https://docs.top.gg/api/bot/#search-bots">https://docs.top.gg/api/bot/#search-bots</a>
+     */
+    public BotPaginator paginateBots(int pageSize, @NonNull String search, @NonNull String sort, @NonNull String fields) {
+        return new BotPaginator(this, pageSize, search, sort, fields);
+    }
+
+    /**
+     * Creates {@link BotPaginator} which lazily paginates through all bots on top.gg, 500 bots per page. Bot ID for this endpoint is
+     * <b>not required</b>.
+     *
+     * @return {@link BotPaginator} which can be iterated, streamed or subscribed to
+     *
+     * @see <a href="https://docs.top.gg/api/bot/#search-bots">https://docs.top.gg/api/bot/#search-bots</a>
+     */
+    public BotPaginator paginateBots() {
+        return paginateBots(500, "", "", "");
     }
 
     /**
@@ -220,11 +387,8 @@ public class TopGGAPI extends SimpleAPI {
      * @see <a href="https://docs.top.gg/api/bot/#find-one-bot">https://docs.top.gg/api/bot/#find-one-bot</a>
      */
     public Action<Bot> fetchBot(String botId) {
-        return new Action<>(this, Bot.class, new APIRequest.Builder()
-                .setEndpoint("/bots/{bot_id}")
-                .setMethod("GET")
-                .addPathParameter(new PathParameter("bot_id", botId))
-                .build());
+        return new TopGGAction<>(this, Bot.class, Route.get("/bots/{bot_id}")
+                .withPathParameter("bot_id", botId));
     }
 
     /**
@@ -239,11 +403,8 @@ public class TopGGAPI extends SimpleAPI {
             throw new IllegalArgumentException("Bot's ID is required for this endpoint! You can specify botId in TopGGAPI's constructor.");
         }
 
-        return new Action<>(this, Bot.class, new APIRequest.Builder()
-                .setEndpoint("/bots/{bot_id}")
-                .setMethod("GET")
-                .addPathParameter(new PathParameter("bot_id", botId))
-                .build());
+        return new TopGGAction<>(this, Bot.class, Route.get("/bots/{bot_id}")
+                .withPathParameter("bot_id", botId));
     }
 
     /**
@@ -260,11 +421,42 @@ public class TopGGAPI extends SimpleAPI {
             throw new IllegalArgumentException("Bot's ID is required for this endpoint! You can specify botId in TopGGAPI's constructor.");
         }
 
-        return new Action<>(this, User[].class, new APIRequest.Builder()
-                .setEndpoint("/bots/{bot_id}/votes")
-                .setMethod("GET")
-                .addPathParameter(new PathParameter("bot_id", botId))
-                .build());
+        return new TopGGAction<>(this, User[].class, Route.get("/bots/{bot_id}/votes")
+                .withPathParameter("bot_id", botId));
+    }
+
+    /**
+     * Fetches IDs of the last 1000 voters for your bot. Uses the same endpoint as {@link #fetchLast1000Votes()}, but only IDs are read from
+     * the response, which is much cheaper when polled periodically.
+     *
+     * @return {@link Action} with {@link VoterIds} object
+     *
+     * @see <a href="https://docs.top.gg/api/bot/#last-1000-votes">https://docs.top.gg/api/bot/#last-1000-votes</a>
+     */
+    public Action<VoterIds> fetchLast1000VoterIds() {
+        if (botId == null) {
+            throw new IllegalArgumentException("Bot's ID is required for this endpoint! You can specify botId in TopGGAPI's constructor.");
+        }
+
+        return new TopGGAction<>(this, VoterIds.class, Route.get("/bots/{bot_id}/votes")
+                .withPathParameter("bot_id", botId));
+    }
+
+    /**
+     * Creates {@link VoteReconciler} which periodically polls the last 1000 voters and emits votes whose webhooks were not received
+     *
+     * @param intervalMillis  How often should be the voters polled (<code>/bots/*</code> endpoints are limited to 60 requests per minute)
+     * @param graceMillis     How long can be webhook late before the vote is reconciled
+     * @param webhookListener Non-null listener of reconciled webhooks, usually the same as webhook listener
+     *
+     * @return Started {@link VoteReconciler}
+     */
+    public VoteReconciler createVoteReconciler(long intervalMillis, long graceMillis, @NonNull Consumer<Webhook> webhookListener) {
+        if (botId == null) {
+            throw new IllegalArgumentException("Bot's ID is required for this endpoint! You can specify botId in TopGGAPI's constructor.");
+        }
+
+        return new VoteReconciler(this, intervalMillis, graceMillis, webhookListener);
     }
 
     /**
@@ -277,15 +469,13 @@ public class TopGGAPI extends SimpleAPI {
             throw new IllegalArgumentException("Bot's ID is required for this endpoint! You can specify botId in TopGGAPI's constructor.");
         }
 
-        return new Action<>(this, Stats.class, new APIRequest.Builder()
-                .setEndpoint("/bots/{bot_id}/stats")
-                .setMethod("GET")
-                .addPathParameter(new PathParameter("bot_id", botId))
-                .build());
+        return new TopGGAction<>(this, Stats.class, Route.get("/bots/{bot_id}/stats")
+                .withPathParameter("bot_id", botId));
     }
 
     /**
-     * Fetches status whether a user has voted for your bot. Safe to use even if you have over 1k monthly votes.
+     * Fetches status whether a user has voted for your bot. Safe to use even if you have over 1k monthly votes. If {@link VoteStatusCache} is
+     * enabled, cached vote status is returned without sending any request.
      *
      * @param userId User ID (Discord user ID)
      *
@@ -298,12 +488,43 @@ public class TopGGAPI extends SimpleAPI {
             throw new IllegalArgumentException("Bot's ID is required for this endpoint! You can specify botId in TopGGAPI's constructor.");
         }
 
-        return new Action<>(this, VoteStatus.class, new APIRequest.Builder()
-                .setEndpoint("/bots/{bot_id}/check")
-                .setMethod("GET")
-                .addPathParameter(new PathParameter("bot_id", botId))
-                .addQuery(new Query("userId", userId))
-                .build());
+        return new VoteStatusAction(this, userId, Route.get("/bots/{bot_id}/check")
+                .withPathParameter("bot_id", botId)
+                .withQuery("userId", userId));
+    }
+
+    /**
+     * Fetches statuses whether users have voted for your bot. Vote statuses known by {@link VoteStatusCache} are answered without sending
+     * any request, the rest is fetched with at most 4 concurrent requests.
+     *
+     * @param userIds User IDs (Discord user IDs)
+     *
+     * @return {@link CompletableFuture} with map of user ID and {@link VoteStatus}
+     *
+     * @see <a href="https://docs.top.gg/api/bot/#individual-user-vote">https://docs.top.gg/api/bot/#individual-user-vote</a>
+     */
+    public CompletableFuture<Map<String, VoteStatus>> fetchVoteStatuses(@NonNull Collection<String> userIds) {
+        return fetchVoteStatuses(userIds, 4, null);
+    }
+
+    /**
+     * Fetches statuses whether users have voted for your bot. Vote statuses known by {@link VoteStatusCache} are answered without sending
+     * any request, the rest is fetched with bounded parallelism. Every result is passed to the result listener as soon as it is known.
+     *
+     * @param userIds        User IDs (Discord user IDs)
+     * @param parallelism    Maximum number of concurrent requests
+     * @param resultListener Nullable listener called with user ID and {@link VoteStatus} as soon as the result is known
+     *
+     * @return {@link CompletableFuture} with map of user ID and {@link VoteStatus}
+     *
+     * @see <a href="https://docs.top.gg/api/bot/#individual-user-vote">https://docs.top.gg/api/bot/#individual-user-vote</a>
+     */
+    public CompletableFuture<Map<String, VoteStatus>> fetchVoteStatuses(@NonNull Collection<String> userIds, int parallelism, BiConsumer<String, VoteStatus> resultListener) {
+        if (botId == null) {
+            throw new IllegalArgumentException("Bot's ID is required for this endpoint! You can specify botId in TopGGAPI's constructor.");
+        }
+
+        return new VoteStatusBatch(this, userIds, parallelism, resultListener).execute();
     }
 
     /**
@@ -449,17 +670,34 @@ public class TopGGAPI extends SimpleAPI {
     }
 
     private Action<TopGGAPIResponse> makeBotStatsAction(JsonObject jsonObject) {
+        return makeBotStatsAction(jsonObject.toString());
+    }
+
+    Action<TopGGAPIResponse> makeBotStatsAction(String json) {
+        if (botId == null) {
+            throw new IllegalArgumentException("Bot's ID is required for this endpoint! You can specify botId in TopGGAPI's constructor.");
+        }
+
+        return new TopGGAction<>(this, TopGGAPIResponse.class, Route.post("/bots/{bot_id}/stats")
+                .withPathParameter("bot_id", botId)
+                .withJsonBody(json));
+    }
+
+    /**
+     * Creates {@link StatsPublisher} which collects server counts of all shards and periodically posts them in single request
+     *
+     * @param shardCount     The amount of shards the bot has
+     * @param intervalMillis How often should be the stats posted (only when they have changed)
+     * @param mode           {@link StatsPublisher.Mode}
+     *
+     * @return Started {@link StatsPublisher}
+     */
+    public StatsPublisher createStatsPublisher(int shardCount, long intervalMillis, @NonNull StatsPublisher.Mode mode) {
         if (botId == null) {
             throw new IllegalArgumentException("Bot's ID is required for this endpoint! You can specify botId in TopGGAPI's constructor.");
         }
 
-        return new Action<>(this, TopGGAPIResponse.class, new APIRequest.Builder()
-                .setEndpoint("/bots/{bot_id}/stats")
-                .setMethod("POST")
-                .addPathParameter(new PathParameter("bot_id", botId))
-                .setContentType("application/json")
-                .setBodyPublisher(HttpRequest.BodyPublishers.ofString(jsonObject.toString()))
-                .build());
+        return new StatsPublisher(this, shardCount, intervalMillis, mode);
     }
 
     /**
@@ -470,11 +708,8 @@ public class TopGGAPI extends SimpleAPI {
      * @return {@link Action} with {@link User} object
      */
     public Action<User> fetchUser(String userId) {
-        return new Action<>(this, User.class, new APIRequest.Builder()
-                .setEndpoint("/users/{user_id}")
-                .setMethod("GET")
-                .addPathParameter(new PathParameter("user_id", userId))
-                .build());
+        return new TopGGAction<>(this, User.class, Route.get("/users/{user_id}")
+                .withPathParameter("user_id", userId));
     }
 
     /**
@@ -483,10 +718,7 @@ public class TopGGAPI extends SimpleAPI {
      * @return {@link Action} with {@link MultiplierStatus} object
      */
     public Action<MultiplierStatus> fetchMultiplierStatus() {
-        return new Action<>(this, MultiplierStatus.class, new APIRequest.Builder()
-                .setEndpoint("/weekend")
-                .setMethod("GET")
-                .build());
+        return new TopGGAction<>(this, MultiplierStatus.class, Route.get("/weekend"));
     }
 
     public static class Builder {
@@ -498,6 +730,27 @@ public class TopGGAPI extends SimpleAPI {
         private String path = null;
         private String authorization = null;
         private Consumer<Webhook> webhookListener = webhook -> {};
+        private AsyncWebhookDispatcher.Settings asyncDispatchSettings = null;
+        private Consumer<List<Webhook>> batchWebhookListener = null;
+        private BatchingWebhookDispatcher.Settings batchDispatchSettings = null;
+        private PendingWebhookForwarding webhookForwarding = null;
+        private RateLimiter rateLimiter = null;
+        private boolean rateLimiting = true;
+        private VoteStatusCache.Settings voteStatusCacheSettings = null;
+        private ResponseCache responseCache = null;
+        private ResponseCachePolicy responseCachePolicy = null;
+        private boolean requestCoalescing = true;
+        private VoteLedger voteLedger = null;
+        private VoteAnalytics voteAnalytics = null;
+        private TopGGMetrics metrics = TopGGMetrics.NOOP;
+        private int maxConcurrentActions = 0;
+        private int maxConcurrentListeners = 0;
+        private ResilienceHandler resilienceHandler = null;
+        private final List<PendingWebhookRoute> webhookRoutes = new ArrayList<>();
+        private WebhookDeduplicator webhookDeduplicator = null;
+        private WebhookServer.Backend webhookBackend = WebhookServer.Backend.JAVALIN;
+        private WebhookServer webhookServer = null;
+        private String baseUrl = DEFAULT_BASE_URL;
 
         private Builder() {}
 
@@ -527,8 +780,574 @@ public class TopGGAPI extends SimpleAPI {
             return this;
         }
 
+        /**
+         * Webhooks will be collected into batches and handed to the batch listener, e.g. to persist them in single database transaction.
+         * Every webhook is acknowledged after its batch was committed, so webhooks of failed batch will be retried by top.gg. See
+         * {@link BatchingWebhookDispatcher} for more information.<br>
+         * Webhook server gets as many request threads as is the maximum batch size. Servers specified by
+         * {@link #withWebhookServer(WebhookServer)} or mounted servers must be configured the same way, otherwise batches will be smaller.
+         *
+         * @param port                  Port, use 0 for random open port
+         * @param path                  Non-null path
+         * @param authorization         Non-null authorization secret
+         * @param batchWebhookListener  Non-null batch listener
+         * @param batchDispatchSettings Non-null {@link BatchingWebhookDispatcher.Settings}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withBatchWebhookListener(int port, @NonNull String path, @NonNull String authorization, @NonNull Consumer<List<Webhook>> batchWebhookListener, @NonNull BatchingWebhookDispatcher.Settings batchDispatchSettings) {
+            withWebhookListener(port, path, authorization, webhook -> {});
+            this.batchWebhookListener = batchWebhookListener;
+            this.batchDispatchSettings = batchDispatchSettings;
+            return this;
+        }
+
+        /**
+         * Webhooks will be collected into batches of at most 500 webhooks or 50 milliseconds with default
+         * {@link BatchingWebhookDispatcher.Settings}, see {@link #withBatchWebhookListener(int, String, String, Consumer, BatchingWebhookDispatcher.Settings)}
+         *
+         * @param port                 Port, use 0 for random open port
+         * @param path                 Non-null path
+         * @param authorization        Non-null authorization secret
+         * @param batchWebhookListener Non-null batch listener
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withBatchWebhookListener(int port, @NonNull String path, @NonNull String authorization, @NonNull Consumer<List<Webhook>> batchWebhookListener) {
+            return withBatchWebhookListener(port, path, authorization, batchWebhookListener, BatchingWebhookDispatcher.Settings.create());
+        }
+
+        /**
+         * Webhooks of the default webhook listener will be partitioned by user's ID across a cluster of nodes. Webhooks owned by other
+         * peers are forwarded to their {@link WebhookPeerServer} and acknowledged with their result, webhooks owned by this node are handed
+         * to the webhook listener. See {@link ForwardingWebhookDispatcher} for more information.
+         *
+         * @param localPeerId        ID of this node in peers, null if this node only forwards webhooks
+         * @param peers              Non-null list of all peers, all nodes must use the same list
+         * @param secret             Non-null secret shared by all nodes of the cluster
+         * @param forwardingSettings Non-null {@link ForwardingWebhookDispatcher.Settings}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withWebhookForwarding(String localPeerId, @NonNull List<WebhookPeer> peers, @NonNull String secret, @NonNull ForwardingWebhookDispatcher.Settings forwardingSettings) {
+            this.webhookForwarding = new PendingWebhookForwarding(localPeerId, new ArrayList<>(peers), secret, forwardingSettings);
+            return this;
+        }
+
+        /**
+         * Webhooks of the default webhook listener will be partitioned by user's ID across a cluster of nodes with default
+         * {@link ForwardingWebhookDispatcher.Settings}, see {@link #withWebhookForwarding(String, List, String, ForwardingWebhookDispatcher.Settings)}
+         *
+         * @param localPeerId ID of this node in peers, null if this node only forwards webhooks
+         * @param peers       Non-null list of all peers, all nodes must use the same list
+         * @param secret      Non-null secret shared by all nodes of the cluster
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withWebhookForwarding(String localPeerId, @NonNull List<WebhookPeer> peers, @NonNull String secret) {
+            return withWebhookForwarding(localPeerId, peers, secret, ForwardingWebhookDispatcher.Settings.create());
+        }
+
+        /**
+         * Webhook listener will be called asynchronously. Webhooks are acknowledged with HTTP Code 200 as soon as they are parsed and put
+         * into a bounded queue, which is drained by worker threads. See {@link AsyncWebhookDispatcher} for more information.
+         *
+         * @param asyncDispatchSettings Non-null {@link AsyncWebhookDispatcher.Settings}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withAsyncWebhookDispatch(@NonNull AsyncWebhookDispatcher.Settings asyncDispatchSettings) {
+            this.asyncDispatchSettings = asyncDispatchSettings;
+            return this;
+        }
+
+        /**
+         * Webhook listener will be called asynchronously with default {@link AsyncWebhookDispatcher.Settings}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withAsyncWebhookDispatch() {
+            return withAsyncWebhookDispatch(AsyncWebhookDispatcher.Settings.create());
+        }
+
+        /**
+         * Uses specified {@link RateLimiter}. You can share single {@link RateLimiter} between multiple {@link TopGGAPI} instances which
+         * use the same token. By default, every {@link TopGGAPI} has its own {@link RateLimiter} with top.gg's rate limits.
+         *
+         * @param rateLimiter Non-null {@link RateLimiter}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withRateLimiter(@NonNull RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            this.rateLimiting = true;
+            return this;
+        }
+
+        /**
+         * Disables client-side rate limiting. Requests will be sent immediately.
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withoutRateLimiter() {
+            this.rateLimiter = null;
+            this.rateLimiting = false;
+            return this;
+        }
+
+        /**
+         * Disables request coalescing. By default, concurrent identical GET requests (e.g. {@link TopGGAPI#fetchVoteStatus(String)} for
+         * the same user) share single in-flight request and receive the same result.
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withoutRequestCoalescing() {
+            this.requestCoalescing = false;
+            return this;
+        }
+
+        /**
+         * Enables {@link VoteStatusCache}. Results of {@link TopGGAPI#fetchVoteStatus(String)} will be cached and if webhook listener is
+         * enabled, votes received through webhooks will be cached for 12 hours.
+         *
+         * @param voteStatusCacheSettings Non-null {@link VoteStatusCache.Settings}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withVoteStatusCache(@NonNull VoteStatusCache.Settings voteStatusCacheSettings) {
+            this.voteStatusCacheSettings = voteStatusCacheSettings;
+            return this;
+        }
+
+        /**
+         * Enables {@link VoteStatusCache} with default {@link VoteStatusCache.Settings}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withVoteStatusCache() {
+            return withVoteStatusCache(VoteStatusCache.Settings.create());
+        }
+
+        /**
+         * Enables response cache. GET responses of endpoints with policy in {@link ResponseCachePolicy} (by default bots, users, bot's
+         * stats and weekend status) will be served from the cache, stale responses are refreshed in the background. Cached stats are
+         * invalidated after {@link TopGGAPI#updateBotStats(int)}. Callers get copies of cached entities, so they can modify them, unless
+         * copying is disabled by {@link ResponseCachePolicy#withoutResponseCopies()}.
+         *
+         * @param responseCache       Non-null {@link ResponseCache}
+         * @param responseCachePolicy Non-null {@link ResponseCachePolicy}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withResponseCache(@NonNull ResponseCache responseCache, @NonNull ResponseCachePolicy responseCachePolicy) {
+            this.responseCache = responseCache;
+            this.responseCachePolicy = responseCachePolicy;
+            return this;
+        }
+
+        /**
+         * Enables {@link InMemoryResponseCache} of 1000 responses with default {@link ResponseCachePolicy}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withResponseCache() {
+            return withResponseCache(new InMemoryResponseCache(), ResponseCachePolicy.create());
+        }
+
+        /**
+         * Votes received through webhooks will be appended to specified {@link VoteLedger}. Requires webhook listener.
+         *
+         * @param voteLedger Non-null opened {@link VoteLedger}, see {@link VoteLedger#open(java.nio.file.Path)}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withVoteLedger(@NonNull VoteLedger voteLedger) {
+            this.voteLedger = voteLedger;
+            return this;
+        }
+
+        /**
+         * Votes received through webhooks will be recorded by specified {@link VoteAnalytics} once they were acknowledged to top.gg, so
+         * deliveries which failed and were retried are counted once. Requires webhook listener.
+         *
+         * @param voteAnalytics Non-null {@link VoteAnalytics}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withVoteAnalytics(@NonNull VoteAnalytics voteAnalytics) {
+            this.voteAnalytics = voteAnalytics;
+            return this;
+        }
+
+        /**
+         * Votes received through webhooks will be recorded by {@link VoteAnalytics} with default {@link VoteAnalytics.Settings}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withVoteAnalytics() {
+            return withVoteAnalytics(new VoteAnalytics());
+        }
+
+        /**
+         * Duplicate webhooks (e.g. retries by top.gg) will be acknowledged without being processed. Webhook is duplicate when webhook from
+         * the same user for the same bot/server was acknowledged within the deduplicator's retention. Duplicates which arrive while the
+         * first webhook is still processed are rejected with HTTP Code 503, so top.gg retries them if the first one fails.
+         *
+         * @param webhookDeduplicator Non-null {@link WebhookDeduplicator}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withWebhookDeduplication(@NonNull WebhookDeduplicator webhookDeduplicator) {
+            this.webhookDeduplicator = webhookDeduplicator;
+            return this;
+        }
+
+        /**
+         * Duplicate webhooks will be acknowledged without being processed, accepted webhooks are remembered for 6 hours
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withWebhookDeduplication() {
+            return withWebhookDeduplication(new WebhookDeduplicator());
+        }
+
+        /**
+         * Requests to top.gg's API and received webhooks will be recorded to specified {@link TopGGMetrics}, e.g.
+         * {@link dev.mayuna.topggsdk.metrics.MicrometerMetrics}
+         *
+         * @param metrics Non-null {@link TopGGMetrics}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withMetrics(@NonNull TopGGMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Requests to top.gg's API will be sent and completed on virtual threads (Java 21 or newer, platform threads are used on older
+         * versions), so callbacks of {@link Action#execute()} run on virtual threads and may block.
+         *
+         * @param maxConcurrentRequests Maximum number of requests in flight, other requests wait for their turn
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withVirtualThreadActions(int maxConcurrentRequests) {
+            if (maxConcurrentRequests <= 0) {
+                throw new IllegalArgumentException("Max concurrent requests must be greater than zero!");
+            }
+
+            this.maxConcurrentActions = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * Webhook listener will be called on new virtual thread for every webhook (Java 21 or newer, platform threads are used on older
+         * versions). Webhook is acknowledged as soon as its thread is started. See {@link VirtualThreadWebhookDispatcher}.
+         *
+         * @param maxConcurrentListeners Maximum number of concurrently running listeners, webhooks over the limit are rejected with HTTP
+         *                               Code 503 after 5 seconds
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withVirtualThreadWebhookDispatch(int maxConcurrentListeners) {
+            if (maxConcurrentListeners <= 0) {
+                throw new IllegalArgumentException("Max concurrent listeners must be greater than zero!");
+            }
+
+            this.maxConcurrentListeners = maxConcurrentListeners;
+            return this;
+        }
+
+        /**
+         * Both requests to top.gg's API and webhook listeners will run on virtual threads. See {@link #withVirtualThreadActions(int)} and
+         * {@link #withVirtualThreadWebhookDispatch(int)}.
+         *
+         * @param maxConcurrency Maximum number of requests in flight and maximum number of running webhook listeners
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withVirtualThreadExecution(int maxConcurrency) {
+            withVirtualThreadActions(maxConcurrency);
+            return withVirtualThreadWebhookDispatch(maxConcurrency);
+        }
+
+        /**
+         * Starts webhook handler without default route, use {@link #withWebhookRoute(String, String, String, Consumer)} to add routes
+         *
+         * @param port Port, use 0 for random open port
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withWebhookServer(int port) {
+            if (port < 0) {
+                throw new IllegalArgumentException("Port cannot be smaller than zero! You should use any port between 1024 and 65535. Use 0 for random open port.");
+            }
+
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Adds webhook route, so single webhook handler can serve multiple bots/servers. Routes can share the same path, webhooks are then
+         * routed by the Authorization header and by bot's/server's ID. Requires {@link #withWebhookServer(int)} or
+         * {@link #withWebhookListener(int, String, String, Consumer)}.
+         *
+         * @param path            Non-null path, e.g. <code>/top_gg/</code>
+         * @param authorization   Non-null authorization secret of the bot/server (set on top.gg)
+         * @param targetId        Nullable bot's or server's ID, null routes webhooks for any bot/server
+         * @param webhookListener Non-null webhook listener
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withWebhookRoute(@NonNull String path, @NonNull String authorization, String targetId, @NonNull Consumer<Webhook> webhookListener) {
+            webhookRoutes.add(new PendingWebhookRoute(path, authorization, targetId, webhookListener));
+            return this;
+        }
+
+        /**
+         * Sets backend of the webhook server. Defaults to {@link WebhookServer.Backend#JAVALIN}. With
+         * {@link WebhookServer.Backend#MOUNTED}, no port is opened (port specified in other methods is ignored) and requests have to be
+         * passed to {@link WebhookHandler#handle(String, String, long, java.io.InputStream)} by your HTTP server.
+         *
+         * @param webhookBackend Non-null {@link WebhookServer.Backend}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withWebhookBackend(@NonNull WebhookServer.Backend webhookBackend) {
+            this.webhookBackend = webhookBackend;
+            return this;
+        }
+
+        /**
+         * Uses specified {@link WebhookServer} instead of the one created by {@link #withWebhookBackend(WebhookServer.Backend)}, e.g.
+         * {@link JdkWebhookServer} with more request threads. Port specified in other methods is ignored.
+         *
+         * @param webhookServer Non-null {@link WebhookServer}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withWebhookServer(@NonNull WebhookServer webhookServer) {
+            this.webhookServer = webhookServer;
+            return this;
+        }
+
+        /**
+         * Sends requests to different base URL than <code>https://top.gg/api</code>, e.g. to local stand-in server used in integration and
+         * load tests
+         *
+         * @param baseUrl Non-null base URL without trailing slash, e.g. <code>http://127.0.0.1:8080</code>
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withBaseUrl(@NonNull String baseUrl) {
+            this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+            return this;
+        }
+
+        /**
+         * Failed GET requests will be retried with jittered exponential backoff and every endpoint will have circuit breaker, which makes
+         * requests fail fast while top.gg is unavailable. See {@link ResilienceHandler}.
+         *
+         * @param resilienceHandler Non-null {@link ResilienceHandler}
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withResilience(@NonNull ResilienceHandler resilienceHandler) {
+            this.resilienceHandler = resilienceHandler;
+            return this;
+        }
+
+        /**
+         * Enables {@link ResilienceHandler} with default settings (3 attempts, 250 ms base backoff, breaker opens after 5 consecutive
+         * failures for 30 seconds)
+         *
+         * @return Non-null {@link Builder}
+         */
+        public Builder withResilience() {
+            return withResilience(new ResilienceHandler());
+        }
+
         public TopGGAPI build() {
-            return new TopGGAPI(token, botId, port, path, authorization, webhookListener);
+            if (asyncDispatchSettings != null && maxConcurrentListeners != 0) {
+                throw new IllegalArgumentException("Async webhook dispatch and virtual thread webhook dispatch cannot be used together!");
+            }
+
+            if (batchWebhookListener != null && (asyncDispatchSettings != null || maxConcurrentListeners != 0)) {
+                throw new IllegalArgumentException("Batch webhook listener cannot be used together with async or virtual thread webhook dispatch!");
+            }
+
+            if (webhookForwarding != null && path == null) {
+                throw new IllegalArgumentException("Webhook forwarding requires webhook listener! You can specify it using withWebhookListener() method.");
+            }
+
+            boolean webhooksEnabled = port != -1 || webhookServer != null || webhookBackend == WebhookServer.Backend.MOUNTED;
+
+            if (!webhookRoutes.isEmpty() && !webhooksEnabled) {
+                throw new IllegalArgumentException("Webhook routes require webhook server! You can specify it using withWebhookServer() method.");
+            }
+
+            TopGGAPI topGGAPI = new TopGGAPI(token, botId, null);
+            topGGAPI.baseUrl = baseUrl;
+
+            if (webhooksEnabled) {
+                Consumer<Webhook> webhookListener = this.webhookListener;
+                WebhookDispatcher webhookDispatcher = null;
+
+                if (batchWebhookListener != null) {
+                    webhookDispatcher = new BatchingWebhookDispatcher(batchWebhookListener, batchDispatchSettings);
+                } else if (path != null) {
+                    webhookListener = instrumentWebhookListener(webhookListener);
+                    webhookDispatcher = createWebhookDispatcher(webhookListener);
+                }
+
+                if (webhookForwarding != null) {
+                    webhookDispatcher = new ForwardingWebhookDispatcher(webhookForwarding.localPeerId, webhookForwarding.peers, webhookForwarding.secret, webhookDispatcher, webhookForwarding.settings);
+                }
+
+                topGGAPI.webhookHandler = new WebhookHandler(createWebhookServer(), path, authorization, webhookListener, webhookDispatcher);
+            }
+
+            if (maxConcurrentActions != 0) {
+                topGGAPI.actionExecutor = new VirtualThreadExecutor("TopGG-Action", maxConcurrentActions);
+            }
+
+            topGGAPI.resilienceHandler = resilienceHandler;
+            topGGAPI.metrics = metrics;
+
+            if (topGGAPI.webhookHandler != null) {
+                topGGAPI.webhookHandler.setMetrics(metrics);
+
+                for (PendingWebhookRoute webhookRoute : webhookRoutes) {
+                    WebhookDispatcher routeDispatcher = createWebhookDispatcher(instrumentWebhookListener(webhookRoute.webhookListener));
+                    topGGAPI.webhookHandler.addRoute(new WebhookRoute(webhookRoute.path, webhookRoute.authorization, webhookRoute.targetId, routeDispatcher));
+                }
+            }
+
+            if (!requestCoalescing) {
+                topGGAPI.requestCoalescer = null;
+            }
+
+            topGGAPI.responseCache = responseCache;
+            topGGAPI.responseCachePolicy = responseCachePolicy;
+
+            if (webhookDeduplicator != null && topGGAPI.webhookHandler != null) {
+                topGGAPI.webhookHandler.setWebhookDeduplicator(webhookDeduplicator);
+            }
+
+            if (voteStatusCacheSettings != null) {
+                VoteStatusCache voteStatusCache = new VoteStatusCache(voteStatusCacheSettings);
+                topGGAPI.voteStatusCache = voteStatusCache;
+
+                if (topGGAPI.webhookHandler != null) {
+                    topGGAPI.webhookHandler.addWebhookObserver(createVoteStatusCacheObserver(botId, voteStatusCache));
+                }
+            }
+
+            if (voteLedger != null) {
+                if (topGGAPI.webhookHandler == null) {
+                    throw new IllegalArgumentException("Vote ledger requires webhook listener! You can specify it using withWebhookListener() method.");
+                }
+
+                topGGAPI.voteLedger = voteLedger;
+                topGGAPI.webhookHandler.addAcknowledgedWebhookObserver(voteLedger::append);
+            }
+
+            if (voteAnalytics != null) {
+                if (topGGAPI.webhookHandler == null) {
+                    throw new IllegalArgumentException("Vote analytics requires webhook listener! You can specify it using withWebhookListener() method.");
+                }
+
+                topGGAPI.voteAnalytics = voteAnalytics;
+                topGGAPI.webhookHandler.addAcknowledgedWebhookObserver(voteAnalytics::record);
+            }
+
+            if (rateLimiting) {
+                // Default rate limiter is created last, so its scheduler does not leak when the builder is invalid
+                topGGAPI.rateLimiter = rateLimiter != null ? rateLimiter : new RateLimiter();
+            }
+
+            return topGGAPI;
+        }
+
+        private WebhookServer createWebhookServer() {
+            if (webhookServer != null) {
+                return webhookServer;
+            }
+
+            switch (webhookBackend) {
+                case JDK:
+                    if (batchWebhookListener != null) {
+                        // Request threads wait for their batch to be committed
+                        return new JdkWebhookServer(port, batchDispatchSettings.getMaxBatchSize(), true);
+                    }
+
+                    return new JdkWebhookServer(port);
+                case MOUNTED:
+                    return null;
+                default:
+                    if (batchWebhookListener != null) {
+                        return new JavalinWebhookServer(port, batchDispatchSettings.getMaxBatchSize());
+                    }
+
+                    return new JavalinWebhookServer(port);
+            }
+        }
+
+        private Consumer<Webhook> instrumentWebhookListener(Consumer<Webhook> webhookListener) {
+            if (metrics.isEnabled()) {
+                return new InstrumentedWebhookListener(webhookListener, metrics);
+            }
+
+            return webhookListener;
+        }
+
+        private WebhookDispatcher createWebhookDispatcher(Consumer<Webhook> webhookListener) {
+            if (asyncDispatchSettings != null) {
+                return new AsyncWebhookDispatcher(webhookListener, asyncDispatchSettings);
+            }
+
+            if (maxConcurrentListeners != 0) {
+                return new VirtualThreadWebhookDispatcher(webhookListener, maxConcurrentListeners);
+            }
+
+            return new DirectWebhookDispatcher(webhookListener);
+        }
+
+        /**
+         * Webhook route which is added when the webhook handler is created
+         */
+        private static class PendingWebhookRoute {
+
+            private final String path;
+            private final String authorization;
+            private final String targetId;
+            private final Consumer<Webhook> webhookListener;
+
+            private PendingWebhookRoute(String path, String authorization, String targetId, Consumer<Webhook> webhookListener) {
+                this.path = path;
+                this.authorization = authorization;
+                this.targetId = targetId;
+                this.webhookListener = webhookListener;
+            }
+        }
+
+        /**
+         * Webhook forwarding which is set up when the webhook handler is created
+         */
+        private static class PendingWebhookForwarding {
+
+            private final String localPeerId;
+            private final List<WebhookPeer> peers;
+            private final String secret;
+            private final ForwardingWebhookDispatcher.Settings settings;
+
+            private PendingWebhookForwarding(String localPeerId, List<WebhookPeer> peers, String secret, ForwardingWebhookDispatcher.Settings settings) {
+                this.localPeerId = localPeerId;
+                this.peers = peers;
+                this.secret = secret;
+                this.settings = settings;
+            }
         }
     }
 }
@@ -0,0 +1,304 @@
+package dev.mayuna.topggsdk;
+
+import dev.mayuna.topggsdk.api.entities.VoterIds;
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.util.LongLongHashMap;
+import dev.mayuna.topggsdk.util.Snowflakes;
+import dev.mayuna.topggsdk.util.ThreadUtils;
+import dev.mayuna.topggsdk.webhooks.WebhookDeduplicator;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Recovers votes whose webhooks were lost (e.g. during deploys). Periodically polls the last 1000 voters, reading only their IDs (see
+ * {@link VoterIds}), and compares them with votes seen by {@link WebhookHandler}. Voters which did not arrive as webhook within the grace
+ * period are emitted to the listener as {@link Webhook#isReconciled() reconciled} webhooks.<br>
+ * Only webhooks which were acknowledged to top.gg count as seen, so votes whose processing failed are reconciled when top.gg's retries
+ * fail as well. Reconciled webhooks are passed to acknowledged webhook observers of {@link WebhookHandler} (e.g. vote ledger and
+ * analytics) once the listener processed them. With {@link WebhookDeduplicator}, vote whose webhook is being processed at the same time
+ * is not emitted, otherwise the listener may rarely receive both the late webhook and the reconciled one.<br>
+ * Seen votes are kept in primitive hash map. When the voter list did not change since the last poll, it is not compared at all.<br>
+ * Votes which exist before the first poll are considered seen. Top.gg's vote list contains every user only once, so lost webhook of a user
+ * who had already been in the list cannot be recovered.
+ */
+public class VoteReconciler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VoteReconciler.class);
+
+    /**
+     * Seen votes which are not in the voter list are forgotten after 24 hours
+     */
+    static final long SEEN_RETENTION_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private final @Getter TopGGAPI topGGAPI;
+    private final @Getter long intervalMillis;
+    private final @Getter long graceMillis;
+    private final Consumer<Webhook> webhookListener;
+    private final Consumer<Webhook> webhookObserver = this::recordSeen;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    // User ID -> last time the vote was seen (in webhook or in voter list)
+    private final LongLongHashMap seen = new LongLongHashMap(2048);
+    // User ID -> first time the vote was found missing
+    private final LongLongHashMap missing = new LongLongHashMap(64);
+
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder skippedPolls = new LongAdder();
+    private final LongAdder reconciledVotes = new LongAdder();
+
+    private boolean initialized;
+    private long lastFingerprint;
+
+    VoteReconciler(@NonNull TopGGAPI topGGAPI, long intervalMillis, long graceMillis, @NonNull Consumer<Webhook> webhookListener) {
+        if (intervalMillis < 1000) {
+            throw new IllegalArgumentException("Interval must be at least 1000 milliseconds!");
+        }
+
+        if (graceMillis < 0) {
+            throw new IllegalArgumentException("Grace period cannot be smaller than zero!");
+        }
+
+        this.topGGAPI = topGGAPI;
+        this.intervalMillis = intervalMillis;
+        this.graceMillis = graceMillis;
+        this.webhookListener = webhookListener;
+
+        if (topGGAPI.getWebhookHandler() != null) {
+            topGGAPI.getWebhookHandler().addAcknowledgedWebhookObserver(webhookObserver);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(ThreadUtils.createPlatformThreadFactory("TopGG-VoteReconciler"));
+        scheduler.scheduleWithFixedDelay(this::poll, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records vote as seen, so it will not be reconciled. Votes acknowledged by {@link WebhookHandler} are recorded automatically.
+     *
+     * @param webhook Non-null {@link Webhook}
+     */
+    public void recordSeen(@NonNull Webhook webhook) {
+        if (webhook.getWebhookType() != Webhook.Type.BOT || !topGGAPI.getBotId().equals(webhook.getBotId())) {
+            return;
+        }
+
+        long userId = webhook.getUserIdLong();
+
+        if (userId == Snowflakes.NONE) {
+            return;
+        }
+
+        synchronized (seen) {
+            seen.put(userId, System.currentTimeMillis());
+            missing.remove(userId);
+        }
+    }
+
+    /**
+     * Polls the voter list immediately (on the calling thread). Does nothing if another poll is in progress.
+     */
+    public void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            VoterIds voterIds = topGGAPI.fetchLast1000VoterIds().execute().join();
+
+            if (voterIds == null || !voterIds.wasSuccessful()) {
+                LOGGER.warn("Could not fetch last 1000 voters for reconciliation: {}", voterIds == null ? "empty response" : voterIds.getError());
+                return;
+            }
+
+            polls.increment();
+            reconcile(voterIds.getIds(), System.currentTimeMillis());
+        } catch (Exception exception) {
+            LOGGER.error("Exception occurred while reconciling votes!", exception);
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    /**
+     * Compares the voter list with seen votes and emits votes which are missing for longer than the grace period
+     *
+     * @param voterIds IDs of the last voters
+     * @param now      Current time
+     */
+    void reconcile(long[] voterIds, long now) {
+        long fingerprint = Arrays.hashCode(voterIds) * 31L + voterIds.length;
+        // Voter ID and time since it is missing
+        List<long[]> reconciled = new ArrayList<>();
+
+        synchronized (seen) {
+            if (!initialized) {
+                // Votes before the first poll are unknown, they are considered as processed
+                for (long voterId : voterIds) {
+                    seen.put(voterId, now);
+                }
+
+                initialized = true;
+                lastFingerprint = fingerprint;
+                return;
+            }
+
+            if (fingerprint == lastFingerprint && missing.isEmpty()) {
+                skippedPolls.increment();
+                return;
+            }
+
+            lastFingerprint = fingerprint;
+
+            for (long voterId : voterIds) {
+                if (seen.containsKey(voterId)) {
+                    seen.put(voterId, now);
+                    continue;
+                }
+
+                long missingSince = missing.get(voterId, -1);
+
+                if (missingSince == -1) {
+                    // Webhook may still be on its way or being retried by top.gg
+                    missing.put(voterId, now);
+                    missingSince = now;
+                }
+
+                if (now - missingSince >= graceMillis) {
+                    // Vote is marked as seen once the listener processed it
+                    missing.remove(voterId);
+                    reconciled.add(new long[]{voterId, missingSince});
+                }
+            }
+
+            seen.removeValuesLessThan(now - SEEN_RETENTION_MILLIS);
+            missing.removeValuesLessThan(now - SEEN_RETENTION_MILLIS);
+        }
+
+        if (reconciled.isEmpty()) {
+            return;
+        }
+
+        WebhookHandler webhookHandler = topGGAPI.getWebhookHandler();
+        WebhookDeduplicator deduplicator = webhookHandler != null ? webhookHandler.getWebhookDeduplicator() : null;
+        int emitted = 0;
+
+        for (long[] vote : reconciled) {
+            long voterId = vote[0];
+            Webhook webhook = Webhook.createReconciled(topGGAPI.getBotId(), Long.toString(voterId));
+            WebhookDeduplicator.Result result = deduplicator != null ? deduplicator.accept(webhook) : WebhookDeduplicator.Result.ACCEPTED;
+
+            if (result == WebhookDeduplicator.Result.DUPLICATE) {
+                // Late webhook has been processed in the meantime
+                markSeen(voterId, now);
+                continue;
+            }
+
+            if (result == WebhookDeduplicator.Result.IN_FLIGHT) {
+                // Late webhook is being processed, the vote is reconciled in the next poll if its processing fails
+                markMissing(voterId, vote[1]);
+                continue;
+            }
+
+            boolean processed = false;
+
+            try {
+                webhookListener.accept(webhook);
+                processed = true;
+            } catch (Exception exception) {
+                LOGGER.error("Exception occurred while processing reconciled webhook!", exception);
+            } finally {
+                if (deduplicator != null) {
+                    if (processed) {
+                        // Webhook delivered late will be suppressed
+                        deduplicator.commit(webhook);
+                    } else {
+                        deduplicator.forget(webhook);
+                    }
+                }
+            }
+
+            if (!processed) {
+                markMissing(voterId, vote[1]);
+                continue;
+            }
+
+            emitted++;
+            reconciledVotes.increment();
+            markSeen(voterId, now);
+
+            if (webhookHandler != null) {
+                webhookHandler.notifyAcknowledged(webhook);
+            }
+        }
+
+        if (emitted != 0) {
+            LOGGER.info("Reconciled {} votes whose webhooks were not received.", emitted);
+        }
+    }
+
+    private void markSeen(long voterId, long now) {
+        synchronized (seen) {
+            seen.put(voterId, now);
+            missing.remove(voterId);
+        }
+    }
+
+    private void markMissing(long voterId, long missingSince) {
+        synchronized (seen) {
+            // Vote may have been acknowledged in the meantime
+            if (!seen.containsKey(voterId)) {
+                missing.put(voterId, missingSince);
+            }
+        }
+    }
+
+    /**
+     * Gets number of successful polls
+     *
+     * @return Number of polls
+     */
+    public long getPollCount() {
+        return polls.sum();
+    }
+
+    /**
+     * Gets number of polls whose voter list was the same as in the previous poll
+     *
+     * @return Number of polls
+     */
+    public long getSkippedPollCount() {
+        return skippedPolls.sum();
+    }
+
+    /**
+     * Gets number of votes emitted as reconciled webhooks
+     *
+     * @return Number of votes
+     */
+    public long getReconciledCount() {
+        return reconciledVotes.sum();
+    }
+
+    /**
+     * Stops polling
+     */
+    public void stop() {
+        scheduler.shutdown();
+
+        if (topGGAPI.getWebhookHandler() != null) {
+            topGGAPI.getWebhookHandler().removeAcknowledgedWebhookObserver(webhookObserver);
+        }
+    }
+}
@@ -1,89 +1,432 @@
 package dev.mayuna.topggsdk;
 
-import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import dev.mayuna.topggsdk.api.TopGGGson;
 import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.metrics.TopGGMetrics;
+import dev.mayuna.topggsdk.webhooks.DirectWebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.DispatchResult;
+import dev.mayuna.topggsdk.webhooks.WebhookDeduplicator;
+import dev.mayuna.topggsdk.webhooks.WebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.WebhookRoute;
+import dev.mayuna.topggsdk.webhooks.server.JavalinWebhookServer;
+import dev.mayuna.topggsdk.webhooks.server.WebhookServer;
 import io.javalin.Javalin;
-import io.javalin.http.HttpCode;
 import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
+/**
+ * Receives top.gg's webhooks on single port. Webhooks are dispatched to {@link WebhookRoute}s by path, Authorization header and bot's or
+ * server's ID, so one handler can serve multiple bots and servers with separate authorization secrets.<br>
+ * Requests are received by {@link WebhookServer} (Javalin or JDK's HTTP server). Without server, the handler can be mounted into existing
+ * HTTP server by calling {@link #handle(String, String, long, InputStream)} and responding with the returned HTTP Code, e.g. in Javalin:
+ * <pre>
+ * app.post("/top_gg/", ctx -&gt; ctx.status(webhookHandler.handle(ctx.path(), ctx.header("Authorization"), ctx.req.getContentLengthLong(), ctx.req.getInputStream())));
+ * </pre>
+ * or in Servlet's <code>doPost</code>:
+ * <pre>
+ * response.setStatus(webhookHandler.handle(request.getRequestURI(), request.getHeader("Authorization"), request.getContentLengthLong(), request.getInputStream()));
+ * </pre>
+ */
 public class WebhookHandler {
 
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_IM_A_TEAPOT = 418;
+    private static final int HTTP_INTERNAL_SERVER_ERROR = 500;
+
     private final Logger logger;
-    private final @Getter int port;
+    private final TypeAdapter<Webhook> webhookAdapter = TopGGGson.get().getAdapter(Webhook.class);
+
+    /**
+     * Nullable {@link WebhookServer}, null when the handler is mounted into existing HTTP server
+     */
+    private final @Getter WebhookServer webhookServer;
     private final @Getter String path;
     private final @Getter String authorization;
     private final @Getter Consumer<Webhook> webhookListener;
+    private final @Getter WebhookDispatcher webhookDispatcher;
+    private final List<Consumer<Webhook>> webhookObservers = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Webhook>> acknowledgedWebhookObservers = new CopyOnWriteArrayList<>();
+    private final Map<String, List<WebhookRoute>> routesByPath = new ConcurrentHashMap<>();
 
-    private @Getter Javalin javalin;
+    /**
+     * Nullable {@link WebhookDeduplicator}, duplicate webhooks are acknowledged without being processed
+     */
+    private volatile @Getter @Setter WebhookDeduplicator webhookDeduplicator;
 
-    public WebhookHandler(int port, String path, String authorization, Consumer<Webhook> webhookListener) {
-        this.port = port;
+    /**
+     * Non-null {@link TopGGMetrics}, receives webhook counts and status codes
+     */
+    private volatile @Getter @Setter @NonNull TopGGMetrics metrics = TopGGMetrics.NOOP;
+
+    /**
+     * Creates webhook handler with single route for any bot/server
+     *
+     * @param webhookServer     Nullable {@link WebhookServer}, when null, requests must be passed to {@link #handle(String, String, long, InputStream)}
+     * @param path              Nullable path, when null, no route is created
+     * @param authorization     Authorization secret of the route
+     * @param webhookListener   Webhook listener of the route
+     * @param webhookDispatcher {@link WebhookDispatcher} of the route
+     */
+    public WebhookHandler(WebhookServer webhookServer, String path, String authorization, Consumer<Webhook> webhookListener, WebhookDispatcher webhookDispatcher) {
+        this.webhookServer = webhookServer;
         this.path = path;
         this.authorization = authorization;
         this.webhookListener = webhookListener;
+        this.webhookDispatcher = webhookDispatcher;
 
         logger = LoggerFactory.getLogger(WebhookHandler.class);
 
-        startJavalin();
+        if (webhookServer != null) {
+            webhookServer.start(this);
+        }
+
+        if (path != null) {
+            addRoute(new WebhookRoute(path, authorization, null, webhookDispatcher));
+        }
     }
 
-    private void startJavalin() {
-        logger.info("Starting Javalin at port " + port + " with path " + path + " for Top.gg's Webhooks.");
-        javalin = Javalin.create();
+    /**
+     * Creates webhook handler with single route for any bot/server, using {@link JavalinWebhookServer}
+     *
+     * @param port              Port
+     * @param path              Nullable path, when null, no route is created
+     * @param authorization     Authorization secret of the route
+     * @param webhookListener   Webhook listener of the route
+     * @param webhookDispatcher {@link WebhookDispatcher} of the route
+     */
+    public WebhookHandler(int port, String path, String authorization, Consumer<Webhook> webhookListener, WebhookDispatcher webhookDispatcher) {
+        this(new JavalinWebhookServer(port), path, authorization, webhookListener, webhookDispatcher);
+    }
 
-        javalin.post(path, ctx -> {
-            logger.debug("Received POST request on " + path);
+    public WebhookHandler(int port, String path, String authorization, Consumer<Webhook> webhookListener) {
+        this(port, path, authorization, webhookListener, new DirectWebhookDispatcher(webhookListener));
+    }
 
-            String authorizationHeader = ctx.header("Authorization");
+    /**
+     * Creates webhook handler without any routes, using {@link JavalinWebhookServer}. Use {@link #addRoute(WebhookRoute)} to add routes.
+     *
+     * @param port Port
+     */
+    public WebhookHandler(int port) {
+        this(port, null, null, null, null);
+    }
 
-            if (!authorization.equals(authorizationHeader)) {
-                logger.warn("Received POST has suspicious Authorization header! Ignoring this request with HTTP Code 418...");
-                ctx.status(HttpCode.IM_A_TEAPOT);
-                return;
-            }
+    /**
+     * Creates webhook handler without any routes. Use {@link #addRoute(WebhookRoute)} to add routes.
+     *
+     * @param webhookServer Nullable {@link WebhookServer}, when null, requests must be passed to {@link #handle(String, String, long, InputStream)}
+     */
+    public WebhookHandler(WebhookServer webhookServer) {
+        this(webhookServer, null, null, null, null);
+    }
 
-            Webhook webhook;
+    /**
+     * Gets port of the {@link WebhookServer}
+     *
+     * @return Port, -1 if there is no server
+     */
+    public int getPort() {
+        return webhookServer == null ? -1 : webhookServer.getPort();
+    }
 
-            try {
-                webhook = new Gson().fromJson(ctx.body(), Webhook.class);
-            } catch (Exception exception) {
-                logger.error("Exception occurred while parsing top.gg's webhook! Possibly a bug!", exception);
-                ctx.status(HttpCode.INTERNAL_SERVER_ERROR);
-                return;
+    /**
+     * Gets Javalin instance
+     *
+     * @return Nullable {@link Javalin}, null if the handler does not use {@link JavalinWebhookServer}
+     *
+     * @deprecated Use {@link #getWebhookServer()}
+     */
+    @Deprecated
+    public Javalin getJavalin() {
+        return webhookServer instanceof JavalinWebhookServer ? ((JavalinWebhookServer) webhookServer).getJavalin() : null;
+    }
+
+    /**
+     * Adds webhook route. Routes with the same path are distinguished by the Authorization header and by bot's or server's ID; route with
+     * specific ID takes precedence over route for any bot/server.
+     *
+     * @param webhookRoute Non-null {@link WebhookRoute}
+     */
+    public synchronized void addRoute(@NonNull WebhookRoute webhookRoute) {
+        List<WebhookRoute> routes = routesByPath.get(webhookRoute.getPath());
+
+        if (routes == null) {
+            routes = new CopyOnWriteArrayList<>();
+            routesByPath.put(webhookRoute.getPath(), routes);
+
+            logger.info("Listening for Top.gg's Webhooks on path {}", webhookRoute.getPath());
+
+            if (webhookServer != null) {
+                webhookServer.addPath(webhookRoute.getPath());
             }
+        }
 
-            logger.debug("Received Webhook from top.gg from user " + webhook.getUserId());
+        routes.add(webhookRoute);
+    }
 
-            try {
-                webhookListener.accept(webhook);
-            } catch (Exception exception) {
-                logger.error("Exception occurred while processing provided webhook listener!", exception);
-                ctx.status(HttpCode.INTERNAL_SERVER_ERROR);
-                return;
+    /**
+     * Removes webhook route. Its dispatcher is not shut down.
+     *
+     * @param webhookRoute Non-null {@link WebhookRoute}
+     */
+    public synchronized void removeRoute(@NonNull WebhookRoute webhookRoute) {
+        List<WebhookRoute> routes = routesByPath.get(webhookRoute.getPath());
+
+        if (routes != null) {
+            routes.remove(webhookRoute);
+        }
+    }
+
+    /**
+     * Gets all webhook routes
+     *
+     * @return Non-null unmodifiable list of {@link WebhookRoute}
+     */
+    public List<WebhookRoute> getRoutes() {
+        List<WebhookRoute> routes = new ArrayList<>();
+        routesByPath.values().forEach(routes::addAll);
+        return Collections.unmodifiableList(routes);
+    }
+
+    /**
+     * Handles POST request with top.gg's webhook: checks the Authorization header, parses the body and dispatches the webhook to matching
+     * {@link WebhookRoute}. Used by {@link WebhookServer}s, or directly when the handler is mounted into existing HTTP server.
+     *
+     * @param path                Non-null request path
+     * @param authorizationHeader Nullable value of the Authorization header
+     * @param contentLength       Body's length in bytes, -1 if unknown
+     * @param body                Non-null request body, it is closed after parsing
+     *
+     * @return HTTP Code which should be sent as the response
+     */
+    public int handle(@NonNull String path, String authorizationHeader, long contentLength, @NonNull InputStream body) {
+        TopGGMetrics metrics = this.metrics;
+        int statusCode = handleRequest(path, authorizationHeader, contentLength, body, metrics);
+        metrics.recordWebhookResponse(statusCode);
+        return statusCode;
+    }
+
+    private int handleRequest(String path, String authorizationHeader, long contentLength, InputStream body, TopGGMetrics metrics) {
+        logger.debug("Received POST request on {}", path);
+        metrics.recordWebhookReceived(contentLength);
+
+        List<WebhookRoute> routes = findRoutes(path);
+
+        if (routes == null) {
+            logger.warn("Received POST on path {} which has no routes! Ignoring this request with HTTP Code 404...", path);
+            return HTTP_NOT_FOUND;
+        }
+
+        if (!isAuthorized(routes, authorizationHeader)) {
+            logger.warn("Received POST has suspicious Authorization header! Ignoring this request with HTTP Code 418...");
+            metrics.recordWebhookAuthRejected();
+            return HTTP_IM_A_TEAPOT;
+        }
+
+        Webhook webhook;
+
+        try (JsonReader jsonReader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            webhook = webhookAdapter.read(jsonReader);
+        } catch (Exception exception) {
+            logger.error("Exception occurred while parsing top.gg's webhook! Possibly a bug!", exception);
+            metrics.recordWebhookParseFailure();
+            return HTTP_INTERNAL_SERVER_ERROR;
+        }
+
+        if (webhook == null) {
+            logger.warn("Received POST has empty body! Ignoring this request with HTTP Code 400...");
+            metrics.recordWebhookParseFailure();
+            return HTTP_BAD_REQUEST;
+        }
+
+        logger.debug("Received Webhook from top.gg from user {}", webhook.getUserId());
+
+        WebhookRoute webhookRoute = findRoute(routes, authorizationHeader, webhook);
+
+        if (webhookRoute == null) {
+            logger.warn("Received Webhook for bot {} / server {} has no route with matching Authorization! Ignoring this request with HTTP Code 404...", webhook.getBotId(), webhook.getGuildId());
+            return HTTP_NOT_FOUND;
+        }
+
+        WebhookDeduplicator deduplicator = webhookDeduplicator;
+
+        if (deduplicator != null) {
+            switch (deduplicator.accept(webhook)) {
+                case DUPLICATE:
+                    logger.debug("Received duplicate Webhook from top.gg from user {}, acknowledging without processing.", webhook.getUserId());
+                    metrics.recordWebhookDuplicate();
+                    return HTTP_OK;
+                case IN_FLIGHT:
+                    // The first delivery may still fail, so this one must be retried by top.gg
+                    logger.debug("Received duplicate Webhook from top.gg from user {} while the first one is processed, rejecting with HTTP Code 503...", webhook.getUserId());
+                    metrics.recordWebhookDuplicate();
+                    return DispatchResult.REJECTED.getStatusCode();
+                default:
+                    break;
             }
+        }
+
+        notifyObservers(webhookObservers, webhook);
 
-            ctx.status(HttpCode.OK);
-        });
+        DispatchResult dispatchResult = null;
 
         try {
-            javalin.start(port);
-        } catch (Exception exception) {
-            logger.error("Exception occurred while starting Javalin!", exception);
-            return;
+            dispatchResult = webhookRoute.getWebhookDispatcher().dispatch(webhook);
+        } finally {
+            if (deduplicator != null) {
+                if (dispatchResult == DispatchResult.ACKNOWLEDGED) {
+                    deduplicator.commit(webhook);
+                } else {
+                    // top.gg will retry this webhook, so it must not be suppressed
+                    deduplicator.forget(webhook);
+                }
+            }
+        }
+
+        if (dispatchResult == DispatchResult.ACKNOWLEDGED) {
+            notifyObservers(acknowledgedWebhookObservers, webhook);
+        }
+
+        return dispatchResult.getStatusCode();
+    }
+
+    private List<WebhookRoute> findRoutes(String path) {
+        List<WebhookRoute> routes = routesByPath.get(path);
+
+        if (routes == null && !path.isEmpty()) {
+            // Javalin treats "/top_gg" and "/top_gg/" as the same path, so other servers do the same
+            String alternativePath = path.endsWith("/") ? path.substring(0, path.length() - 1) : path + "/";
+            routes = routesByPath.get(alternativePath);
+        }
+
+        return routes == null || routes.isEmpty() ? null : routes;
+    }
+
+    private static boolean isAuthorized(List<WebhookRoute> routes, String authorizationHeader) {
+        for (WebhookRoute route : routes) {
+            if (route.getAuthorization().equals(authorizationHeader)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static WebhookRoute findRoute(List<WebhookRoute> routes, String authorizationHeader, Webhook webhook) {
+        WebhookRoute anyTargetRoute = null;
+
+        for (WebhookRoute route : routes) {
+            if (!route.getAuthorization().equals(authorizationHeader) || !route.matches(webhook)) {
+                continue;
+            }
+
+            if (route.getTargetId() != null) {
+                return route;
+            }
+
+            if (anyTargetRoute == null) {
+                anyTargetRoute = route;
+            }
         }
 
-        logger.info("Javalin has been started.");
+        return anyTargetRoute;
     }
 
     /**
-     * Stops Javalin
+     * Registers webhook observer. Observers are called on the request thread with every authenticated and parsed webhook, before it is
+     * dispatched to the webhook listener. They should be fast and must not block, e.g. the vote status cache is filled by an observer.
+     * Webhook may be delivered again when it is not acknowledged, so these observers must be idempotent, see
+     * {@link #addAcknowledgedWebhookObserver(Consumer)}.
+     *
+     * @param webhookObserver Non-null webhook observer
+     */
+    public void addWebhookObserver(@NonNull Consumer<Webhook> webhookObserver) {
+        webhookObservers.add(webhookObserver);
+    }
+
+    /**
+     * Removes webhook observer
+     *
+     * @param webhookObserver Non-null webhook observer
+     */
+    public void removeWebhookObserver(@NonNull Consumer<Webhook> webhookObserver) {
+        webhookObservers.remove(webhookObserver);
+    }
+
+    /**
+     * Registers acknowledged webhook observer. Observers are called on the request thread with every webhook which was acknowledged to
+     * top.gg, after it was dispatched. Since acknowledged webhooks are not retried, every vote is observed once (unless top.gg sends it
+     * again on its own, see {@link WebhookDeduplicator}), e.g. the vote ledger is filled by an observer.
+     *
+     * @param webhookObserver Non-null webhook observer
+     */
+    public void addAcknowledgedWebhookObserver(@NonNull Consumer<Webhook> webhookObserver) {
+        acknowledgedWebhookObservers.add(webhookObserver);
+    }
+
+    /**
+     * Removes acknowledged webhook observer
+     *
+     * @param webhookObserver Non-null webhook observer
+     */
+    public void removeAcknowledgedWebhookObserver(@NonNull Consumer<Webhook> webhookObserver) {
+        acknowledgedWebhookObservers.remove(webhookObserver);
+    }
+
+    /**
+     * Notifies acknowledged webhook observers about webhook which was processed without being received, e.g. vote recovered by
+     * {@link VoteReconciler}
+     *
+     * @param webhook Non-null {@link Webhook}
+     */
+    void notifyAcknowledged(@NonNull Webhook webhook) {
+        notifyObservers(acknowledgedWebhookObservers, webhook);
+    }
+
+    private void notifyObservers(List<Consumer<Webhook>> webhookObservers, Webhook webhook) {
+        for (Consumer<Webhook> webhookObserver : webhookObservers) {
+            try {
+                webhookObserver.accept(webhook);
+            } catch (Exception exception) {
+                logger.error("Exception occurred while processing webhook observer!", exception);
+            }
+        }
+    }
+
+    /**
+     * Stops {@link WebhookServer} and dispatchers of all routes
      */
     public void stop() {
-        logger.info("Stopping Javalin...");
-        javalin.stop();
+        if (webhookServer != null) {
+            webhookServer.stop();
+        }
+
+        Set<WebhookDispatcher> webhookDispatchers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (WebhookRoute webhookRoute : getRoutes()) {
+            if (webhookDispatchers.add(webhookRoute.getWebhookDispatcher())) {
+                webhookRoute.getWebhookDispatcher().shutdown();
+            }
+        }
     }
 }
@@ -0,0 +1,24 @@
+package dev.mayuna.topggsdk.analytics;
+
+import lombok.Getter;
+
+/**
+ * Number of votes with single query parameter value (e.g. {@code ref=discord})
+ */
+public class QueryCount {
+
+    private final @Getter String name;
+    private final @Getter String value;
+    private final @Getter long count;
+
+    public QueryCount(String name, String value, long count) {
+        this.name = name;
+        this.value = value;
+        this.count = count;
+    }
+
+    @Override
+    public String toString() {
+        return name + "=" + value + ": " + count;
+    }
+}
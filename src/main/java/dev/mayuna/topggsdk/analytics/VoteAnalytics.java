@@ -0,0 +1,179 @@
+package dev.mayuna.topggsdk.analytics;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory vote rollups per minute, hour and day: bot and server votes, weekend multiplier votes and query parameter values. Every
+ * {@link Resolution} has its own {@link VoteTimeSeries}, so memory is bounded by number of kept intervals regardless of number of votes.
+ * Votes are usually recorded by {@link dev.mayuna.topggsdk.WebhookHandler} after they were acknowledged to top.gg, see
+ * {@link dev.mayuna.topggsdk.TopGGAPI.Builder#withVoteAnalytics(VoteAnalytics)}.
+ */
+public class VoteAnalytics {
+
+    private final @Getter Settings settings;
+    private final Map<Resolution, VoteTimeSeries> timeSeries = new EnumMap<>(Resolution.class);
+
+    public VoteAnalytics(@NonNull Settings settings) {
+        this.settings = settings;
+
+        for (Resolution resolution : Resolution.values()) {
+            timeSeries.put(resolution, new VoteTimeSeries(resolution.getIntervalMillis(), settings.getIntervals(resolution), settings.getMaxQueryValues(), settings.getTrackedQueryNames()));
+        }
+    }
+
+    public VoteAnalytics() {
+        this(Settings.create());
+    }
+
+    /**
+     * Records vote received now
+     *
+     * @param webhook Non-null {@link Webhook}
+     */
+    public void record(@NonNull Webhook webhook) {
+        record(webhook, System.currentTimeMillis());
+    }
+
+    /**
+     * Records vote
+     *
+     * @param webhook    Non-null {@link Webhook}
+     * @param timeMillis Time of the vote
+     */
+    public void record(@NonNull Webhook webhook, long timeMillis) {
+        for (VoteTimeSeries series : timeSeries.values()) {
+            series.record(webhook, timeMillis);
+        }
+    }
+
+    /**
+     * Gets time series of specified resolution
+     *
+     * @param resolution Non-null {@link Resolution}
+     *
+     * @return Non-null {@link VoteTimeSeries}
+     */
+    public VoteTimeSeries getTimeSeries(@NonNull Resolution resolution) {
+        return timeSeries.get(resolution);
+    }
+
+    /**
+     * Gets snapshots of all kept intervals of specified resolution, from the oldest to the current one
+     *
+     * @param resolution Non-null {@link Resolution}
+     *
+     * @return Non-null list of {@link VoteInterval}
+     */
+    public List<VoteInterval> getIntervals(@NonNull Resolution resolution) {
+        return getTimeSeries(resolution).getIntervals();
+    }
+
+    /**
+     * Gets the latest intervals of specified resolution merged together, e.g. votes in the last 24 hours
+     *
+     * @param resolution Non-null {@link Resolution}
+     * @param intervals  Number of the latest intervals (including the current one)
+     *
+     * @return Non-null {@link VoteInterval}
+     */
+    public VoteInterval getSummary(@NonNull Resolution resolution, int intervals) {
+        return getTimeSeries(resolution).getSummary(intervals);
+    }
+
+    /**
+     * Resets all counters
+     */
+    public void clear() {
+        for (VoteTimeSeries series : timeSeries.values()) {
+            series.clear();
+        }
+    }
+
+    /**
+     * Length of intervals
+     */
+    public enum Resolution {
+        MINUTE(60_000L),
+        HOUR(60 * 60_000L),
+        DAY(24 * 60 * 60_000L);
+
+        private final @Getter long intervalMillis;
+
+        Resolution(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+        }
+    }
+
+    /**
+     * Settings of {@link VoteAnalytics}. Default values:<br>
+     * - Minutes: 60<br>
+     * - Hours: 48<br>
+     * - Days: 30<br>
+     * - Maximum number of distinct query parameter values per interval: 64<br>
+     * - Tracked query parameters: all
+     */
+    public static class Settings {
+
+        private final Map<Resolution, Integer> intervals = new EnumMap<>(Map.of(Resolution.MINUTE, 60, Resolution.HOUR, 48, Resolution.DAY, 30));
+        private @Getter int maxQueryValues = 64;
+        private @Getter Set<String> trackedQueryNames = null;
+
+        private Settings() {}
+
+        public static Settings create() {
+            return new Settings();
+        }
+
+        public int getIntervals(@NonNull Resolution resolution) {
+            return intervals.get(resolution);
+        }
+
+        /**
+         * @param resolution Non-null {@link Resolution}
+         * @param intervals  Number of the latest intervals which are kept
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withIntervals(@NonNull Resolution resolution, int intervals) {
+            if (intervals <= 0) {
+                throw new IllegalArgumentException("Number of intervals must be greater than zero!");
+            }
+
+            this.intervals.put(resolution, intervals);
+            return this;
+        }
+
+        /**
+         * @param maxQueryValues Maximum number of distinct query parameter values per interval, 0 disables query counting
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withMaxQueryValues(int maxQueryValues) {
+            if (maxQueryValues < 0) {
+                throw new IllegalArgumentException("Maximum number of query values cannot be smaller than zero!");
+            }
+
+            this.maxQueryValues = maxQueryValues;
+            return this;
+        }
+
+        /**
+         * Only specified query parameters will be counted, e.g. {@code "ref"}
+         *
+         * @param trackedQueryNames Non-null names of query parameters
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withTrackedQueryNames(@NonNull Set<String> trackedQueryNames) {
+            this.trackedQueryNames = Set.copyOf(trackedQueryNames);
+            return this;
+        }
+    }
+}
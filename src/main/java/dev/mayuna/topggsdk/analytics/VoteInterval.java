@@ -0,0 +1,83 @@
+package dev.mayuna.topggsdk.analytics;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable snapshot of votes received in single interval (or in multiple merged intervals, see
+ * {@link VoteTimeSeries#getSummary(int)})
+ */
+public class VoteInterval {
+
+    private final @Getter long startMillis;
+    private final @Getter long endMillis;
+    private final @Getter long botVotes;
+    private final @Getter long serverVotes;
+    private final @Getter long weekendVotes;
+    private final @Getter long untrackedQueryCount;
+    private final List<QueryCount> queryCounts;
+
+    VoteInterval(long startMillis, long endMillis, long botVotes, long serverVotes, long weekendVotes, long untrackedQueryCount, List<QueryCount> queryCounts) {
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+        this.botVotes = botVotes;
+        this.serverVotes = serverVotes;
+        this.weekendVotes = weekendVotes;
+        this.untrackedQueryCount = untrackedQueryCount;
+        this.queryCounts = queryCounts;
+    }
+
+    /**
+     * Gets number of all votes (bot and server)
+     *
+     * @return Number of votes
+     */
+    public long getTotalVotes() {
+        return botVotes + serverVotes;
+    }
+
+    /**
+     * Gets number of votes without weekend multiplier
+     *
+     * @return Number of votes
+     */
+    public long getWeekdayVotes() {
+        return getTotalVotes() - weekendVotes;
+    }
+
+    /**
+     * Gets counts of query parameter values, sorted from the most common. Values which did not fit into the interval's limit are counted
+     * only in {@link #getUntrackedQueryCount()}.
+     *
+     * @return Non-null unmodifiable list of {@link QueryCount}
+     */
+    public List<QueryCount> getQueryCounts() {
+        return queryCounts;
+    }
+
+    /**
+     * Gets the most common query parameter values
+     *
+     * @param limit Maximum number of values
+     *
+     * @return Non-null unmodifiable list of {@link QueryCount}
+     */
+    public List<QueryCount> getTopQueries(int limit) {
+        return queryCounts.size() <= limit ? queryCounts : queryCounts.subList(0, limit);
+    }
+
+    static List<QueryCount> sortQueryCounts(List<QueryCount> queryCounts) {
+        List<QueryCount> sorted = new ArrayList<>(queryCounts);
+        sorted.sort(Comparator.comparingLong(QueryCount::getCount).reversed());
+        return Collections.unmodifiableList(sorted);
+    }
+
+    @Override
+    public String toString() {
+        return "VoteInterval{" + startMillis + "-" + endMillis + ", bot=" + botVotes + ", server=" + serverVotes + ", weekend=" + weekendVotes + "}";
+    }
+}
@@ -0,0 +1,319 @@
+package dev.mayuna.topggsdk.analytics;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.api.entities.webhooks.WebhookQueries;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Vote counters for fixed number of the latest intervals of the same length, kept in ring buffer. Slot of an interval is reused when the
+ * interval falls out of the ring, so memory does not grow with number of votes. Every slot holds at most
+ * {@link #getMaxQueryValues()} distinct query parameter values, others are counted only as untracked.<br>
+ * Recording a vote is O(1) and does not lock, except the first vote of an interval which resets the reused slot. Intervals are aligned to
+ * epoch (UTC).
+ */
+public class VoteTimeSeries {
+
+    private final @Getter long intervalMillis;
+    private final @Getter int maxQueryValues;
+    private final Set<String> trackedQueryNames;
+    private final Slot[] slots;
+
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong latestIntervalIndex = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Creates time series
+     *
+     * @param intervalMillis    Length of single interval
+     * @param intervals         Number of the latest intervals which are kept
+     * @param maxQueryValues    Maximum number of distinct query parameter values per interval, 0 disables query counting
+     * @param trackedQueryNames Names of counted query parameters, null to count all parameters
+     */
+    public VoteTimeSeries(long intervalMillis, int intervals, int maxQueryValues, Set<String> trackedQueryNames) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Interval must be greater than zero!");
+        }
+
+        if (intervals <= 0) {
+            throw new IllegalArgumentException("Number of intervals must be greater than zero!");
+        }
+
+        if (maxQueryValues < 0) {
+            throw new IllegalArgumentException("Maximum number of query values cannot be smaller than zero!");
+        }
+
+        this.intervalMillis = intervalMillis;
+        this.maxQueryValues = maxQueryValues;
+        this.trackedQueryNames = trackedQueryNames == null ? null : Set.copyOf(trackedQueryNames);
+        this.slots = new Slot[intervals];
+
+        for (int i = 0; i < intervals; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Records vote
+     *
+     * @param webhook    Non-null {@link Webhook}
+     * @param timeMillis Time of the vote
+     */
+    public void record(@NonNull Webhook webhook, long timeMillis) {
+        long intervalIndex = Math.floorDiv(timeMillis, intervalMillis);
+        Slot slot = slots[(int) Math.floorMod(intervalIndex, (long) slots.length)];
+
+        if (slot.intervalIndex != intervalIndex) {
+            long latest = latestIntervalIndex.get();
+
+            if ((latest != Long.MIN_VALUE && intervalIndex <= latest - slots.length) || !slot.advance(intervalIndex)) {
+                // Vote is older than the oldest kept interval
+                dropped.increment();
+                return;
+            }
+
+            latestIntervalIndex.accumulateAndGet(intervalIndex, Math::max);
+        }
+
+        if (webhook.getWebhookType() == Webhook.Type.BOT) {
+            slot.botVotes.increment();
+        } else {
+            slot.serverVotes.increment();
+        }
+
+        if (webhook.isWeekend()) {
+            slot.weekendVotes.increment();
+        }
+
+        if (maxQueryValues != 0) {
+            recordQueries(slot, webhook.getQueries());
+        }
+    }
+
+    /**
+     * Gets snapshots of all kept intervals, from the oldest to the current one. Intervals without votes are included.
+     *
+     * @param nowMillis Current time
+     *
+     * @return Non-null list of {@link VoteInterval}
+     */
+    public List<VoteInterval> getIntervals(long nowMillis) {
+        long currentIndex = Math.floorDiv(nowMillis, intervalMillis);
+        List<VoteInterval> intervals = new ArrayList<>(slots.length);
+
+        for (long intervalIndex = currentIndex - slots.length + 1; intervalIndex <= currentIndex; intervalIndex++) {
+            intervals.add(snapshot(intervalIndex));
+        }
+
+        return intervals;
+    }
+
+    public List<VoteInterval> getIntervals() {
+        return getIntervals(System.currentTimeMillis());
+    }
+
+    /**
+     * Gets single snapshot of the latest intervals merged together (including the current one)
+     *
+     * @param nowMillis Current time
+     * @param intervals Number of the latest intervals, at most number of kept intervals
+     *
+     * @return Non-null {@link VoteInterval}
+     */
+    public VoteInterval getSummary(long nowMillis, int intervals) {
+        if (intervals <= 0 || intervals > slots.length) {
+            throw new IllegalArgumentException("Number of intervals must be between 1 and " + slots.length + "!");
+        }
+
+        long currentIndex = Math.floorDiv(nowMillis, intervalMillis);
+        long firstIndex = currentIndex - intervals + 1;
+        long botVotes = 0;
+        long serverVotes = 0;
+        long weekendVotes = 0;
+        long untrackedQueryCount = 0;
+        Map<QueryKey, Long> queryCounts = new HashMap<>();
+
+        for (long intervalIndex = firstIndex; intervalIndex <= currentIndex; intervalIndex++) {
+            Slot slot = getSlot(intervalIndex);
+
+            if (slot == null) {
+                continue;
+            }
+
+            botVotes += slot.botVotes.sum();
+            serverVotes += slot.serverVotes.sum();
+            weekendVotes += slot.weekendVotes.sum();
+            untrackedQueryCount += slot.untrackedQueries.sum();
+            slot.queries.forEach((key, count) -> queryCounts.merge(key, count.sum(), Long::sum));
+        }
+
+        return new VoteInterval(firstIndex * intervalMillis, (currentIndex + 1) * intervalMillis, botVotes, serverVotes, weekendVotes, untrackedQueryCount, toQueryCounts(queryCounts));
+    }
+
+    public VoteInterval getSummary(int intervals) {
+        return getSummary(System.currentTimeMillis(), intervals);
+    }
+
+    public int getIntervalCount() {
+        return slots.length;
+    }
+
+    /**
+     * Gets number of votes which were not recorded because they were older than the oldest kept interval
+     *
+     * @return Number of votes
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Resets all counters
+     */
+    public void clear() {
+        for (Slot slot : slots) {
+            synchronized (slot) {
+                slot.reset(Long.MIN_VALUE);
+            }
+        }
+
+        latestIntervalIndex.set(Long.MIN_VALUE);
+        dropped.reset();
+    }
+
+    private void recordQueries(Slot slot, WebhookQueries queries) {
+        for (int i = 0; i < queries.size(); i++) {
+            String name = queries.getName(i);
+
+            if (trackedQueryNames != null && !trackedQueryNames.contains(name)) {
+                continue;
+            }
+
+            QueryKey key = new QueryKey(name, queries.getValue(i));
+            LongAdder count = slot.queries.get(key);
+
+            if (count == null) {
+                // The limit may be exceeded by a few values when new values are recorded concurrently
+                if (slot.queries.size() >= maxQueryValues) {
+                    slot.untrackedQueries.increment();
+                    continue;
+                }
+
+                count = slot.queries.computeIfAbsent(key, ignored -> new LongAdder());
+            }
+
+            count.increment();
+        }
+    }
+
+    private Slot getSlot(long intervalIndex) {
+        Slot slot = slots[(int) Math.floorMod(intervalIndex, (long) slots.length)];
+        return slot.intervalIndex == intervalIndex ? slot : null;
+    }
+
+    private VoteInterval snapshot(long intervalIndex) {
+        long start = intervalIndex * intervalMillis;
+        Slot slot = getSlot(intervalIndex);
+
+        if (slot == null) {
+            return new VoteInterval(start, start + intervalMillis, 0, 0, 0, 0, Collections.emptyList());
+        }
+
+        List<QueryCount> queryCounts = new ArrayList<>(slot.queries.size());
+        slot.queries.forEach((key, count) -> queryCounts.add(new QueryCount(key.name, key.value, count.sum())));
+
+        return new VoteInterval(start, start + intervalMillis, slot.botVotes.sum(), slot.serverVotes.sum(), slot.weekendVotes.sum(), slot.untrackedQueries.sum(), VoteInterval.sortQueryCounts(queryCounts));
+    }
+
+    private static List<QueryCount> toQueryCounts(Map<QueryKey, Long> queryCounts) {
+        List<QueryCount> list = new ArrayList<>(queryCounts.size());
+        queryCounts.forEach((key, count) -> list.add(new QueryCount(key.name, key.value, count)));
+        return VoteInterval.sortQueryCounts(list);
+    }
+
+    /**
+     * Counters of single interval
+     */
+    private static final class Slot {
+
+        private final LongAdder botVotes = new LongAdder();
+        private final LongAdder serverVotes = new LongAdder();
+        private final LongAdder weekendVotes = new LongAdder();
+        private final LongAdder untrackedQueries = new LongAdder();
+        private final Map<QueryKey, LongAdder> queries = new ConcurrentHashMap<>();
+
+        private volatile long intervalIndex = Long.MIN_VALUE;
+
+        /**
+         * Moves the slot to newer interval
+         *
+         * @return False if the slot already holds newer interval
+         */
+        private synchronized boolean advance(long newIntervalIndex) {
+            if (intervalIndex > newIntervalIndex) {
+                return false;
+            }
+
+            if (intervalIndex < newIntervalIndex) {
+                // Votes recorded concurrently by threads which still see the previous interval may leak into the new one. That requires
+                // a thread to stall for the whole length of the ring.
+                reset(newIntervalIndex);
+            }
+
+            return true;
+        }
+
+        private void reset(long newIntervalIndex) {
+            botVotes.reset();
+            serverVotes.reset();
+            weekendVotes.reset();
+            untrackedQueries.reset();
+            queries.clear();
+            intervalIndex = newIntervalIndex;
+        }
+    }
+
+    /**
+     * Name and value of query parameter
+     */
+    private static final class QueryKey {
+
+        private final String name;
+        private final String value;
+
+        private QueryKey(String name, String value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+
+            if (!(object instanceof QueryKey)) {
+                return false;
+            }
+
+            QueryKey other = (QueryKey) object;
+            return Objects.equals(name, other.name) && Objects.equals(value, other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(name) + Objects.hashCode(value);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package dev.mayuna.topggsdk.api;
+
+import dev.mayuna.topggsdk.TopGGAPI;
+import dev.mayuna.topggsdk.api.entities.Bot;
+import dev.mayuna.topggsdk.api.entities.Bots;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily paginates through {@link TopGGAPI#searchBots(int, int, String, String, String)} results. Pages are fetched only when they are
+ * needed, so only the current page (and the prefetched one) is held in memory. Pagination stops at {@link Bots#getTotal()}.<br>
+ * Every call to {@link #iterator()}, {@link #stream()} or {@link #subscribe(Flow.Subscriber)} starts new pagination from the first page.
+ */
+public class BotPaginator implements Iterable<Bot>, Flow.Publisher<Bot> {
+
+    private final @Getter TopGGAPI topGGAPI;
+    private final @Getter int pageSize;
+    private final @Getter String search;
+    private final @Getter String sort;
+    private final @Getter String fields;
+
+    private @Getter boolean prefetch = false;
+
+    /**
+     * Creates bot paginator
+     *
+     * @param topGGAPI Non-null {@link TopGGAPI}
+     * @param pageSize The amount of bots per page. Max. 500
+     * @param search   A search string in the format of <code>field: value field2: value2</code>
+     * @param sort     The field to sort by. Prefix with <code>-</code> to reverse the order
+     * @param fields   A comma separated list of fields to show
+     */
+    public BotPaginator(@NonNull TopGGAPI topGGAPI, int pageSize, @NonNull String search, @NonNull String sort, @NonNull String fields) {
+        if (pageSize <= 0 || pageSize > 500) {
+            throw new IllegalArgumentException("Page size must be between 1 and 500!");
+        }
+
+        this.topGGAPI = topGGAPI;
+        this.pageSize = pageSize;
+        this.search = search;
+        this.sort = sort;
+        this.fields = fields;
+    }
+
+    /**
+     * Next page will be fetched while the current one is being consumed
+     *
+     * @param prefetch True if next page should be prefetched
+     *
+     * @return Non-null {@link BotPaginator}
+     */
+    public BotPaginator withPrefetch(boolean prefetch) {
+        this.prefetch = prefetch;
+        return this;
+    }
+
+    @Override
+    public @NonNull Iterator<Bot> iterator() {
+        return new BotIterator();
+    }
+
+    /**
+     * Creates sequential {@link Stream} of bots. Pages are fetched lazily as the stream is consumed.
+     *
+     * @return Non-null {@link Stream}
+     */
+    public Stream<Bot> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Subscribes to bots. Pages are fetched asynchronously based on subscriber's demand, the subscriber's thread is never blocked.
+     *
+     * @param subscriber Non-null {@link Flow.Subscriber}
+     */
+    @Override
+    public void subscribe(@NonNull Flow.Subscriber<? super Bot> subscriber) {
+        BotSubscription subscription = new BotSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private CompletableFuture<Bots> fetchPage(int offset) {
+        return topGGAPI.searchBots(pageSize, offset, search, sort, fields).execute().thenApply(bots -> {
+            if (bots == null) {
+                throw new IllegalStateException("Top.gg returned empty response for bots on offset " + offset + "!");
+            }
+
+            if (!bots.wasSuccessful()) {
+                throw new IllegalStateException("Could not fetch bots on offset " + offset + ": " + bots.getError() + " (retry-after: " + bots.getRetryAfter() + ")");
+            }
+
+            return bots;
+        });
+    }
+
+    /**
+     * Holds pagination state (offset and total)
+     */
+    private class Cursor {
+
+        private int nextOffset = 0;
+        private boolean exhausted = false;
+
+        private CompletableFuture<Bots> fetchNext() {
+            return fetchPage(nextOffset);
+        }
+
+        private Bot[] accept(Bots bots) {
+            Bot[] results = bots.getResults() == null ? new Bot[0] : bots.getResults();
+            nextOffset += results.length;
+            exhausted = results.length == 0 || nextOffset >= bots.getTotal();
+            return results;
+        }
+    }
+
+    private class BotIterator implements Iterator<Bot> {
+
+        private final Cursor cursor = new Cursor();
+
+        private Bot[] page = new Bot[0];
+        private int index = 0;
+        private CompletableFuture<Bots> nextPage;
+
+        @Override
+        public boolean hasNext() {
+            while (index >= page.length) {
+                if (cursor.exhausted) {
+                    return false;
+                }
+
+                if (nextPage == null) {
+                    nextPage = cursor.fetchNext();
+                }
+
+                Bots bots;
+
+                try {
+                    bots = nextPage.join();
+                } catch (CompletionException exception) {
+                    cursor.exhausted = true;
+                    throw exception.getCause() instanceof RuntimeException ? (RuntimeException) exception.getCause() : exception;
+                } finally {
+                    nextPage = null;
+                }
+
+                page = cursor.accept(bots);
+                index = 0;
+
+                if (prefetch && !cursor.exhausted) {
+                    nextPage = cursor.fetchNext();
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public Bot next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return page[index++];
+        }
+    }
+
+    private class BotSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Bot> subscriber;
+        private final Cursor cursor = new Cursor();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled = false;
+        private volatile Bots fetchedPage;
+        private volatile Throwable error;
+
+        // Accessed only in drain loop
+        private Bot[] page = new Bot[0];
+        private int index = 0;
+        private boolean fetching = false;
+
+        private BotSubscription(Flow.Subscriber<? super Bot> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Subscriber requested non-positive number of elements (§3.9)");
+            } else {
+                requested.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void fetch() {
+            fetching = true;
+            cursor.fetchNext().whenComplete((bots, throwable) -> {
+                if (throwable != null) {
+                    error = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                } else {
+                    fetchedPage = bots;
+                }
+
+                drain();
+            });
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            do {
+                if (cancelled) {
+                    continue;
+                }
+
+                if (error != null) {
+                    cancelled = true;
+                    subscriber.onError(error);
+                    continue;
+                }
+
+                if (index >= page.length && fetchedPage != null) {
+                    page = cursor.accept(fetchedPage);
+                    index = 0;
+                    fetchedPage = null;
+                    fetching = false;
+                }
+
+                while (index < page.length && requested.get() > 0 && !cancelled) {
+                    subscriber.onNext(page[index++]);
+                    requested.decrementAndGet();
+                }
+
+                if (cancelled) {
+                    continue;
+                }
+
+                if (index >= page.length && cursor.exhausted && fetchedPage == null && !fetching) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                    continue;
+                }
+
+                boolean needsPage = index >= page.length && requested.get() > 0;
+
+                if (!fetching && fetchedPage == null && !cursor.exhausted && (needsPage || prefetch)) {
+                    fetch();
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package dev.mayuna.topggsdk.api;
+
+import lombok.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical requests (single-flight). When a request with the same key is already in flight, no new request is sent
+ * and the caller receives the result of the in-flight request.
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentHashMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder coalescedRequests = new LongAdder();
+
+    /**
+     * Sends request or joins identical in-flight request
+     *
+     * @param key     Key of the request, see {@link Route#getKey()}
+     * @param request Supplier which sends the request
+     * @param <T>     Response type
+     *
+     * @return {@link CompletableFuture} which completes with the response
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> coalesce(@NonNull String key, @NonNull Supplier<CompletableFuture<T>> request) {
+        requests.increment();
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        CompletableFuture<?> existing = inFlight.putIfAbsent(key, future);
+
+        if (existing != null) {
+            coalescedRequests.increment();
+            return ((CompletableFuture<T>) existing).copy();
+        }
+
+        try {
+            request.get().whenComplete((result, throwable) -> {
+                inFlight.remove(key, future);
+
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                } else {
+                    future.complete(result);
+                }
+            });
+        } catch (Exception exception) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(exception);
+        }
+
+        return future.copy();
+    }
+
+    /**
+     * Gets number of requests which are currently in flight
+     *
+     * @return Number of in-flight requests
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Gets number of requests which went through the coalescer
+     *
+     * @return Number of requests
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Gets number of requests which joined already in-flight request
+     *
+     * @return Number of coalesced requests
+     */
+    public long getCoalescedCount() {
+        return coalescedRequests.sum();
+    }
+}
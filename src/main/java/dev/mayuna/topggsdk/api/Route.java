@@ -0,0 +1,176 @@
+package dev.mayuna.topggsdk.api;
+
+import dev.mayuna.simpleapi.APIRequest;
+import dev.mayuna.simpleapi.PathParameter;
+import dev.mayuna.simpleapi.Query;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes single request to top.gg's API (method, endpoint, path parameters, queries and body). Route is used to build
+ * {@link APIRequest} and to identify the request, for example by the rate limiter.
+ */
+public class Route {
+
+    private final @Getter String method;
+    private final @Getter String endpoint;
+
+    // Pairs of name and value
+    private final List<String> pathParameters = new ArrayList<>(2);
+    private final List<String> queries = new ArrayList<>(2);
+
+    private @Getter String body;
+    private String key;
+
+    private Route(String method, String endpoint) {
+        this.method = method;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Creates GET route
+     *
+     * @param endpoint Endpoint, e.g. <code>/bots/{bot_id}</code>
+     *
+     * @return Non-null {@link Route}
+     */
+    public static Route get(@NonNull String endpoint) {
+        return new Route("GET", endpoint);
+    }
+
+    /**
+     * Creates POST route
+     *
+     * @param endpoint Endpoint, e.g. <code>/bots/{bot_id}/stats</code>
+     *
+     * @return Non-null {@link Route}
+     */
+    public static Route post(@NonNull String endpoint) {
+        return new Route("POST", endpoint);
+    }
+
+    public Route withPathParameter(@NonNull String name, String value) {
+        key = null;
+        pathParameters.add(name);
+        pathParameters.add(value);
+        return this;
+    }
+
+    public Route withQuery(@NonNull String name, String value) {
+        key = null;
+        queries.add(name);
+        queries.add(value);
+        return this;
+    }
+
+    /**
+     * Sets JSON body of the request
+     *
+     * @param body JSON body
+     *
+     * @return Non-null {@link Route}
+     */
+    public Route withJsonBody(@NonNull String body) {
+        this.body = body;
+        return this;
+    }
+
+    /**
+     * Determines if the request is idempotent (it is a GET request)
+     *
+     * @return True if method is GET
+     */
+    public boolean isIdempotent() {
+        return method.equals("GET");
+    }
+
+    /**
+     * Gets key which identifies the request (method, endpoint with path parameters and queries). Identical requests have the same key.
+     *
+     * @return Non-null key
+     */
+    public String getKey() {
+        if (key != null) {
+            return key;
+        }
+
+        StringBuilder stringBuilder = new StringBuilder(64).append(method).append(' ').append(endpoint);
+
+        for (int i = 0; i < pathParameters.size(); i += 2) {
+            stringBuilder.append(';').append(pathParameters.get(i)).append('=').append(pathParameters.get(i + 1));
+        }
+
+        for (int i = 0; i < queries.size(); i += 2) {
+            stringBuilder.append('&').append(queries.get(i)).append('=').append(queries.get(i + 1));
+        }
+
+        key = stringBuilder.toString();
+        return key;
+    }
+
+    /**
+     * Gets key of GET request to the same endpoint with the same path parameters (without queries), e.g. to invalidate cached response
+     * after POST request
+     *
+     * @return Non-null key
+     */
+    public String getReadKey() {
+        StringBuilder stringBuilder = new StringBuilder(64).append("GET ").append(endpoint);
+
+        for (int i = 0; i < pathParameters.size(); i += 2) {
+            stringBuilder.append(';').append(pathParameters.get(i)).append('=').append(pathParameters.get(i + 1));
+        }
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Determines if the route is under <code>/bots</code> endpoint, which has stricter rate limits
+     *
+     * @return True if endpoint starts with <code>/bots</code>
+     */
+    public boolean isBotsRoute() {
+        return endpoint.startsWith("/bots");
+    }
+
+    /**
+     * Builds {@link APIRequest} from this route
+     *
+     * @return Non-null {@link APIRequest}
+     */
+    public APIRequest toAPIRequest() {
+        APIRequest.Builder builder = new APIRequest.Builder()
+                .setEndpoint(endpoint)
+                .setMethod(method);
+
+        for (int i = 0; i < pathParameters.size(); i += 2) {
+            builder.addPathParameter(new PathParameter(pathParameters.get(i), pathParameters.get(i + 1)));
+        }
+
+        if (!queries.isEmpty()) {
+            Query[] queryArray = new Query[queries.size() / 2];
+
+            for (int i = 0; i < queryArray.length; i++) {
+                queryArray[i] = new Query(queries.get(i * 2), queries.get(i * 2 + 1));
+            }
+
+            builder.setQueries(queryArray);
+        }
+
+        if (body != null) {
+            builder.setContentType("application/json");
+            builder.setBodyPublisher(HttpRequest.BodyPublishers.ofString(body));
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + endpoint;
+    }
+}
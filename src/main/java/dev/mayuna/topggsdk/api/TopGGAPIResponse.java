@@ -1,18 +1,24 @@
 package dev.mayuna.topggsdk.api;
 
 import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import dev.mayuna.simpleapi.APIResponse;
 import dev.mayuna.simpleapi.deserializers.GsonDeserializer;
 import dev.mayuna.topggsdk.TopGGAPI;
 import lombok.Getter;
 
+import java.io.IOException;
+
 /**
  * top.gg's API response. You can check if the request was successful by calling {@link #wasSuccessful()} (if it was not successful, error message should be in #getError())
  */
 public class TopGGAPIResponse extends APIResponse<TopGGAPI> implements GsonDeserializer {
 
-    private final @Getter String error = null;
+    private @Getter String error = null;
     private @Getter @SerializedName("retry-after") long retryAfter = -1;
 
     public boolean wasSuccessful() {
@@ -21,6 +27,88 @@ public class TopGGAPIResponse extends APIResponse<TopGGAPI> implements GsonDeser
 
     @Override
     public Gson getGson() {
-        return new Gson();
+        return TopGGGson.get();
+    }
+
+    /**
+     * Reads fields which are common for all responses (error and retry-after). Used by type adapters of entities.
+     *
+     * @param name   Field name
+     * @param reader {@link JsonReader} positioned at field's value
+     *
+     * @return True if the field was read, false otherwise (the value was not consumed)
+     *
+     * @throws IOException If the value could not be read
+     */
+    protected boolean readResponseField(String name, JsonReader reader) throws IOException {
+        switch (name) {
+            case "error":
+                error = TopGGGson.nextStringOrNull(reader);
+                return true;
+            case "retry-after":
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                } else {
+                    retryAfter = (long) reader.nextDouble();
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Writes fields which are common for all responses (error and retry-after). Used by type adapters of entities.
+     *
+     * @param writer {@link JsonWriter} inside an object
+     *
+     * @throws IOException If the values could not be written
+     */
+    protected void writeResponseFields(JsonWriter writer) throws IOException {
+        if (error != null) {
+            writer.name("error").value(error);
+        }
+
+        if (retryAfter != -1) {
+            writer.name("retry-after").value(retryAfter);
+        }
+    }
+
+    /**
+     * Gson type adapter for {@link TopGGAPIResponse}
+     */
+    public static class Adapter extends TypeAdapter<TopGGAPIResponse> {
+
+        @Override
+        public void write(JsonWriter writer, TopGGAPIResponse response) throws IOException {
+            if (response == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginObject();
+            response.writeResponseFields(writer);
+            writer.endObject();
+        }
+
+        @Override
+        public TopGGAPIResponse read(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            TopGGAPIResponse response = new TopGGAPIResponse();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!response.readResponseField(reader.nextName(), reader)) {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            return response;
+        }
     }
 }
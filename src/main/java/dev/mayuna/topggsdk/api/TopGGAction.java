@@ -0,0 +1,251 @@
+package dev.mayuna.topggsdk.api;
+
+import com.google.gson.Gson;
+import dev.mayuna.simpleapi.APIResponse;
+import dev.mayuna.simpleapi.Action;
+import dev.mayuna.topggsdk.TopGGAPI;
+import dev.mayuna.topggsdk.cache.CachedResponse;
+import dev.mayuna.topggsdk.cache.ResponseCache;
+import dev.mayuna.topggsdk.cache.ResponseCacheGenerations;
+import dev.mayuna.topggsdk.cache.ResponseCachePolicy;
+import dev.mayuna.topggsdk.metrics.RequestOutcome;
+import dev.mayuna.topggsdk.metrics.TopGGMetrics;
+import dev.mayuna.topggsdk.ratelimit.RateLimiter;
+import dev.mayuna.topggsdk.resilience.ResilienceHandler;
+import dev.mayuna.topggsdk.util.VirtualThreadExecutor;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * {@link Action} created by {@link TopGGAPI}. GET responses of endpoints with {@link ResponseCachePolicy} are served from {@link TopGGAPI}'s
+ * {@link ResponseCache} (if there is any), POST requests invalidate cached response of the same endpoint. Identical concurrent GET requests are coalesced by {@link TopGGAPI}'s {@link RequestCoalescer},
+ * retried by its {@link ResilienceHandler} and sent through its {@link RateLimiter} (if there are any). Every sent request is recorded to
+ * {@link TopGGAPI}'s {@link TopGGMetrics}. If {@link TopGGAPI} has action executor, requests are sent and completed on its virtual threads.
+ *
+ * @param <T> Response type
+ */
+public class TopGGAction<T> extends Action<T> {
+
+    private final @Getter TopGGAPI topGGAPI;
+    private final @Getter Class<T> responseClass;
+    private final @Getter Route route;
+
+    public TopGGAction(@NonNull TopGGAPI topGGAPI, @NonNull Class<T> responseClass, @NonNull Route route) {
+        super(topGGAPI, responseClass, route.toAPIRequest());
+        this.topGGAPI = topGGAPI;
+        this.responseClass = responseClass;
+        this.route = route;
+    }
+
+    @Override
+    public CompletableFuture<T> execute() {
+        ResponseCache responseCache = topGGAPI.getResponseCache();
+
+        if (responseCache == null) {
+            return executeCoalesced();
+        }
+
+        if (!route.isIdempotent()) {
+            return executeInvalidating(responseCache);
+        }
+
+        ResponseCachePolicy.EndpointPolicy endpointPolicy = topGGAPI.getResponseCachePolicy().getEndpointPolicy(route.getEndpoint());
+
+        if (endpointPolicy == null) {
+            return executeCoalesced();
+        }
+
+        return executeCached(responseCache, endpointPolicy);
+    }
+
+    /**
+     * Sends request which changes data read by other routes (e.g. posted stats make cached stats outdated). Cached response is removed
+     * before and after the request, and reads which are in flight meanwhile will not cache their responses.
+     */
+    private CompletableFuture<T> executeInvalidating(ResponseCache responseCache) {
+        String readKey = route.getReadKey();
+        ResponseCacheGenerations generations = topGGAPI.getResponseCacheGenerations();
+
+        generations.increment(readKey);
+        responseCache.invalidate(readKey);
+
+        return executeCoalesced().whenComplete((result, throwable) -> {
+            generations.increment(readKey);
+            responseCache.invalidate(readKey);
+        });
+    }
+
+    private CompletableFuture<T> executeCached(ResponseCache responseCache, ResponseCachePolicy.EndpointPolicy endpointPolicy) {
+        String key = route.getKey();
+        CachedResponse cachedResponse = responseCache.get(key);
+        long now = System.currentTimeMillis();
+
+        if (cachedResponse == null || !responseClass.isInstance(cachedResponse.getValue()) || !cachedResponse.isUsable(now)) {
+            return fetchAndCache(responseCache, endpointPolicy, key);
+        }
+
+        if (!cachedResponse.isFresh(now) && cachedResponse.tryStartRevalidation()) {
+            // Stale response is served now, the next call gets the refreshed one
+            fetchAndCache(responseCache, endpointPolicy, key).whenComplete((result, throwable) -> cachedResponse.finishRevalidation());
+        }
+
+        return CompletableFuture.completedFuture(copy(cachedResponse.getValue()));
+    }
+
+    private CompletableFuture<T> fetchAndCache(ResponseCache responseCache, ResponseCachePolicy.EndpointPolicy endpointPolicy, String key) {
+        ResponseCacheGenerations generations = topGGAPI.getResponseCacheGenerations();
+        String readKey = route.getReadKey();
+        long generation = generations.get(readKey);
+
+        return executeCoalesced().thenApply(result -> {
+            boolean successful = result != null && (!(result instanceof TopGGAPIResponse) || ((TopGGAPIResponse) result).wasSuccessful());
+
+            // Response of a read which raced with a write may be outdated
+            if (successful && generations.get(readKey) == generation) {
+                // Caller gets the response itself, so its changes do not affect the cached one
+                responseCache.put(key, endpointPolicy.createCachedResponse(copy(result), System.currentTimeMillis()));
+            }
+
+            return result;
+        });
+    }
+
+    /**
+     * Copies cached response, so callers cannot modify it (e.g. arrays of entities). Returns the response itself when copies are disabled
+     * by {@link ResponseCachePolicy#withoutResponseCopies()}.
+     */
+    private T copy(Object value) {
+        if (!topGGAPI.getResponseCachePolicy().isCopyResponses()) {
+            return responseClass.cast(value);
+        }
+
+        Gson gson = TopGGGson.get();
+        T copy = gson.fromJson(gson.toJsonTree(value), responseClass);
+
+        if (copy instanceof APIResponse) {
+            ((APIResponse<?>) copy).setApi(topGGAPI);
+        }
+
+        return copy;
+    }
+
+    private CompletableFuture<T> executeCoalesced() {
+        RequestCoalescer requestCoalescer = topGGAPI.getRequestCoalescer();
+
+        if (requestCoalescer == null || !route.isIdempotent()) {
+            return executeResilient();
+        }
+
+        // The same endpoint can be read as different types (e.g. User[] and VoterIds), only identical ones can share the response
+        return requestCoalescer.coalesce(route.getKey() + '#' + responseClass.getName(), this::executeResilient);
+    }
+
+    private CompletableFuture<T> executeResilient() {
+        ResilienceHandler resilienceHandler = topGGAPI.getResilienceHandler();
+
+        if (resilienceHandler == null) {
+            return executeRateLimited();
+        }
+
+        // Rate limiter queues responses with retry-after again on its own
+        return resilienceHandler.execute(route, this::executeRateLimited, topGGAPI.getRateLimiter() == null);
+    }
+
+    private CompletableFuture<T> executeRateLimited() {
+        RateLimiter rateLimiter = topGGAPI.getRateLimiter();
+
+        if (rateLimiter == null) {
+            return executeOnExecutor();
+        }
+
+        return rateLimiter.submit(route, this::executeOnExecutor);
+    }
+
+    private CompletableFuture<T> executeOnExecutor() {
+        VirtualThreadExecutor actionExecutor = topGGAPI.getActionExecutor();
+
+        if (actionExecutor == null) {
+            return executeInstrumented();
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        // The virtual thread holds executor's permit until the response is read, so the executor caps requests in flight. Dependent
+        // stages of the returned future run on the virtual thread.
+        actionExecutor.execute(() -> {
+            try {
+                future.complete(executeInstrumented().join());
+            } catch (CompletionException exception) {
+                future.completeExceptionally(exception.getCause() != null ? exception.getCause() : exception);
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        });
+
+        return future;
+    }
+
+    private CompletableFuture<T> executeInstrumented() {
+        TopGGMetrics metrics = topGGAPI.getMetrics();
+
+        if (metrics == null || !metrics.isEnabled()) {
+            return super.execute();
+        }
+
+        if (route.getBody() != null) {
+            metrics.recordRequestBodySize(route, utf8Length(route.getBody()));
+        }
+
+        long start = System.nanoTime();
+
+        return super.execute().whenComplete((result, throwable) -> {
+            long duration = System.nanoTime() - start;
+
+            if (throwable != null) {
+                metrics.recordRequest(route, RequestOutcome.FAILED, duration);
+                return;
+            }
+
+            if (result instanceof TopGGAPIResponse) {
+                TopGGAPIResponse response = (TopGGAPIResponse) result;
+
+                if (response.getRetryAfter() > 0) {
+                    metrics.recordRetryAfter(route, response.getRetryAfter());
+                    metrics.recordRequest(route, RequestOutcome.RATE_LIMITED, duration);
+                    return;
+                }
+
+                if (response.getError() != null) {
+                    metrics.recordRequest(route, RequestOutcome.API_ERROR, duration);
+                    return;
+                }
+            }
+
+            metrics.recordRequest(route, RequestOutcome.SUCCESS, duration);
+        });
+    }
+
+    private static int utf8Length(String string) {
+        int length = 0;
+
+        for (int i = 0; i < string.length(); i++) {
+            char character = string.charAt(i);
+
+            if (character < 0x80) {
+                length++;
+            } else if (character < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(character)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+}
@@ -0,0 +1,206 @@
+package dev.mayuna.topggsdk.api;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import dev.mayuna.topggsdk.api.entities.*;
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds shared {@link Gson} instance used by the SDK. The instance is thread-safe and has hand-written type adapters registered for all
+ * entities, so deserializing them does not use reflection. There are also helper methods used by the type adapters.
+ */
+public final class TopGGGson {
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(TopGGAPIResponse.class, new TopGGAPIResponse.Adapter())
+            .registerTypeAdapter(Bot.class, new Bot.Adapter())
+            .registerTypeAdapter(Bots.class, new Bots.Adapter())
+            .registerTypeAdapter(User.class, new User.Adapter())
+            .registerTypeAdapter(Stats.class, new Stats.Adapter())
+            .registerTypeAdapter(VoteStatus.class, new VoteStatus.Adapter())
+            .registerTypeAdapter(MultiplierStatus.class, new MultiplierStatus.Adapter())
+            .registerTypeAdapter(VoterIds.class, new VoterIds.Adapter())
+            .registerTypeAdapter(Webhook.class, new Webhook.Adapter())
+            .create();
+
+    private TopGGGson() {
+    }
+
+    /**
+     * Gets shared {@link Gson} instance
+     *
+     * @return Non-null {@link Gson}
+     */
+    public static Gson get() {
+        return GSON;
+    }
+
+    /**
+     * Reads string, number or null value as string
+     *
+     * @param reader Non-null {@link JsonReader}
+     *
+     * @return Nullable string
+     *
+     * @throws IOException If the value could not be read
+     */
+    public static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        return reader.nextString();
+    }
+
+    /**
+     * Reads boolean value. Null is read as false, strings are parsed.
+     *
+     * @param reader Non-null {@link JsonReader}
+     *
+     * @return Boolean value
+     *
+     * @throws IOException If the value could not be read
+     */
+    public static boolean nextBooleanLenient(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return false;
+            case STRING:
+                return Boolean.parseBoolean(reader.nextString());
+            case NUMBER:
+                return reader.nextInt() != 0;
+            default:
+                return reader.nextBoolean();
+        }
+    }
+
+    /**
+     * Reads int value. Null is read as zero.
+     *
+     * @param reader Non-null {@link JsonReader}
+     *
+     * @return Int value
+     *
+     * @throws IOException If the value could not be read
+     */
+    public static int nextIntOrZero(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return 0;
+        }
+
+        return reader.nextInt();
+    }
+
+    /**
+     * Reads array of strings (or numbers)
+     *
+     * @param reader Non-null {@link JsonReader}
+     *
+     * @return Nullable string array (null if the value was null)
+     *
+     * @throws IOException If the value could not be read
+     */
+    public static String[] nextStringArray(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        List<String> list = new ArrayList<>();
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(nextStringOrNull(reader));
+        }
+        reader.endArray();
+
+        return list.toArray(new String[0]);
+    }
+
+    /**
+     * Reads array of ints
+     *
+     * @param reader Non-null {@link JsonReader}
+     *
+     * @return Nullable int array (null if the value was null)
+     *
+     * @throws IOException If the value could not be read
+     */
+    public static int[] nextIntArray(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        int[] array = new int[16];
+        int size = 0;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == array.length) {
+                int[] newArray = new int[array.length * 2];
+                System.arraycopy(array, 0, newArray, 0, size);
+                array = newArray;
+            }
+
+            array[size++] = nextIntOrZero(reader);
+        }
+        reader.endArray();
+
+        int[] result = new int[size];
+        System.arraycopy(array, 0, result, 0, size);
+        return result;
+    }
+
+    /**
+     * Writes array of strings
+     *
+     * @param writer Non-null {@link JsonWriter}
+     * @param array  Nullable array
+     *
+     * @throws IOException If the value could not be written
+     */
+    public static void writeStringArray(JsonWriter writer, String[] array) throws IOException {
+        if (array == null) {
+            writer.nullValue();
+            return;
+        }
+
+        writer.beginArray();
+        for (String value : array) {
+            writer.value(value);
+        }
+        writer.endArray();
+    }
+
+    /**
+     * Writes array of ints
+     *
+     * @param writer Non-null {@link JsonWriter}
+     * @param array  Nullable array
+     *
+     * @throws IOException If the value could not be written
+     */
+    public static void writeIntArray(JsonWriter writer, int[] array) throws IOException {
+        if (array == null) {
+            writer.nullValue();
+            return;
+        }
+
+        writer.beginArray();
+        for (int value : array) {
+            writer.value(value);
+        }
+        writer.endArray();
+    }
+}
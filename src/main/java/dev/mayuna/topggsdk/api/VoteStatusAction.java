@@ -0,0 +1,46 @@
+package dev.mayuna.topggsdk.api;
+
+import dev.mayuna.topggsdk.TopGGAPI;
+import dev.mayuna.topggsdk.api.entities.VoteStatus;
+import dev.mayuna.topggsdk.cache.VoteStatusCache;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link TopGGAction} which fetches {@link VoteStatus}. If {@link TopGGAPI} has {@link VoteStatusCache}, cached vote status is returned
+ * without sending any request and fetched vote statuses are cached.
+ */
+public class VoteStatusAction extends TopGGAction<VoteStatus> {
+
+    private final @Getter String userId;
+
+    public VoteStatusAction(@NonNull TopGGAPI topGGAPI, @NonNull String userId, @NonNull Route route) {
+        super(topGGAPI, VoteStatus.class, route);
+        this.userId = userId;
+    }
+
+    @Override
+    public CompletableFuture<VoteStatus> execute() {
+        VoteStatusCache voteStatusCache = getTopGGAPI().getVoteStatusCache();
+
+        if (voteStatusCache == null) {
+            return super.execute();
+        }
+
+        Boolean voted = voteStatusCache.getVoted(userId);
+
+        if (voted != null) {
+            return CompletableFuture.completedFuture(new VoteStatus(voted));
+        }
+
+        return super.execute().thenApply(voteStatus -> {
+            if (voteStatus != null && voteStatus.wasSuccessful()) {
+                voteStatusCache.putFetched(userId, voteStatus.hasVoted());
+            }
+
+            return voteStatus;
+        });
+    }
+}
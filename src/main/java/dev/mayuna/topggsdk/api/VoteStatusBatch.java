@@ -0,0 +1,153 @@
+package dev.mayuna.topggsdk.api;
+
+import dev.mayuna.topggsdk.TopGGAPI;
+import dev.mayuna.topggsdk.api.entities.VoteStatus;
+import dev.mayuna.topggsdk.cache.VoteStatusCache;
+import lombok.NonNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Fetches vote statuses of multiple users. Vote statuses known by {@link VoteStatusCache} are answered immediately, the rest is fetched with
+ * bounded parallelism (requests still go through the rate limiter). Every result is passed to the result listener as soon as it is known.
+ */
+public class VoteStatusBatch {
+
+    private final TopGGAPI topGGAPI;
+    private final int parallelism;
+    private final BiConsumer<String, VoteStatus> resultListener;
+
+    private final List<String> userIds;
+    private final Map<String, VoteStatus> results = new ConcurrentHashMap<>();
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger remaining = new AtomicInteger();
+    private final CompletableFuture<Map<String, VoteStatus>> future = new CompletableFuture<>();
+
+    /**
+     * Creates vote status batch
+     *
+     * @param topGGAPI       Non-null {@link TopGGAPI}
+     * @param userIds        Non-null collection of user IDs (duplicates are ignored)
+     * @param parallelism    Maximum number of concurrent requests
+     * @param resultListener Nullable listener which is called with every result as soon as it is known
+     */
+    public VoteStatusBatch(@NonNull TopGGAPI topGGAPI, @NonNull Collection<String> userIds, int parallelism, BiConsumer<String, VoteStatus> resultListener) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be greater than zero!");
+        }
+
+        this.topGGAPI = topGGAPI;
+        this.parallelism = parallelism;
+        this.resultListener = resultListener;
+        this.userIds = new ArrayList<>(new LinkedHashSet<>(userIds));
+    }
+
+    /**
+     * Starts fetching vote statuses
+     *
+     * @return {@link CompletableFuture} with map of user ID and {@link VoteStatus} (in the same order as user IDs were specified). The
+     * future completes exceptionally if any request fails.
+     */
+    public CompletableFuture<Map<String, VoteStatus>> execute() {
+        VoteStatusCache voteStatusCache = topGGAPI.getVoteStatusCache();
+
+        for (String userId : userIds) {
+            Boolean voted = voteStatusCache == null ? null : voteStatusCache.getVoted(userId);
+
+            if (voted != null) {
+                onResult(userId, new VoteStatus(voted));
+            } else {
+                pending.add(userId);
+            }
+        }
+
+        remaining.set(pending.size());
+
+        if (pending.isEmpty()) {
+            complete();
+            return future;
+        }
+
+        int lanes = Math.min(parallelism, pending.size());
+
+        for (int i = 0; i < lanes; i++) {
+            fetchNext();
+        }
+
+        return future;
+    }
+
+    private void fetchNext() {
+        String userId;
+
+        while (!future.isDone() && (userId = pending.poll()) != null) {
+            CompletableFuture<VoteStatus> request;
+
+            try {
+                request = topGGAPI.fetchVoteStatus(userId).execute();
+            } catch (Exception exception) {
+                future.completeExceptionally(exception);
+                return;
+            }
+
+            if (request.isDone() && !request.isCompletedExceptionally()) {
+                // Cached or coalesced response, next user is fetched in this lane without recursion
+                onResponse(userId, request.join(), null);
+                continue;
+            }
+
+            String finalUserId = userId;
+            request.whenComplete((voteStatus, throwable) -> {
+                onResponse(finalUserId, voteStatus, throwable);
+                fetchNext();
+            });
+            return;
+        }
+    }
+
+    private void onResponse(String userId, VoteStatus voteStatus, Throwable throwable) {
+        if (throwable != null) {
+            // e.g. CircuitOpenException when the request failed fast
+            future.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+            return;
+        }
+
+        onResult(userId, voteStatus);
+
+        if (remaining.decrementAndGet() == 0) {
+            complete();
+        }
+    }
+
+    private void onResult(String userId, VoteStatus voteStatus) {
+        if (voteStatus == null) {
+            return;
+        }
+
+        results.put(userId, voteStatus);
+
+        if (resultListener != null) {
+            resultListener.accept(userId, voteStatus);
+        }
+    }
+
+    private void complete() {
+        Map<String, VoteStatus> orderedResults = new LinkedHashMap<>();
+
+        for (String userId : userIds) {
+            VoteStatus voteStatus = results.get(userId);
+
+            if (voteStatus != null) {
+                orderedResults.put(userId, voteStatus);
+            }
+        }
+
+        future.complete(orderedResults);
+    }
+}
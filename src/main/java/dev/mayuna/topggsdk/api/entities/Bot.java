@@ -1,10 +1,18 @@
 package dev.mayuna.topggsdk.api.entities;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import dev.mayuna.simpleapi.Action;
 import dev.mayuna.topggsdk.api.TopGGAPIResponse;
+import dev.mayuna.topggsdk.api.TopGGGson;
+import dev.mayuna.topggsdk.util.Snowflakes;
 import lombok.Getter;
 
+import java.io.IOException;
+
 /**
  * Information about top.gg bot. There are also methods like {@link #fetchStats()}, {@link #updateBotStats(int, int)}, etc.
  */
@@ -19,22 +27,100 @@ public class Bot extends TopGGAPIResponse {
     private @Getter @SerializedName("shortdesc") String descriptionShort;
     private @Getter String prefix;
     private @Getter @Deprecated String lib;
-    private @Getter @SerializedName("clientid") String clientId;
+    private @SerializedName("clientid") long clientId;
     private @Getter String avatar;
-    private @Getter String id;
+    private long id;
     private @Getter String discriminator;
     private @Getter String username;
     private @Getter String date; // TODO: Čas
-    private @Getter String[] guilds;
+    private long[] guilds;
     private @Getter int[] shards;
     private @Getter int monthlyPoints;
     private @Getter int points;
     private @Getter boolean certifiedBot;
-    private @Getter String[] owners;
+    private long[] owners;
     private @Getter String[] tags;
     private @Getter String bannerUrl;
     private @Getter @SerializedName("donatebotguildid") String donatebotGuildId;
 
+    // Original IDs which are not valid snowflakes (should not happen), so they are not lost
+    private transient String rawClientId;
+    private transient String rawId;
+    private transient String[] rawGuilds;
+    private transient String[] rawOwners;
+
+    /**
+     * Gets bot's ID
+     *
+     * @return Nullable bot's ID
+     */
+    public String getId() {
+        return Snowflakes.toString(id, rawId);
+    }
+
+    /**
+     * Gets bot's ID as long
+     *
+     * @return Bot's ID or {@link Snowflakes#NONE}
+     */
+    public long getIdLong() {
+        return id;
+    }
+
+    /**
+     * Gets bot's client ID
+     *
+     * @return Nullable client ID
+     */
+    public String getClientId() {
+        return Snowflakes.toString(clientId, rawClientId);
+    }
+
+    /**
+     * Gets bot's client ID as long
+     *
+     * @return Client ID or {@link Snowflakes#NONE}
+     */
+    public long getClientIdLong() {
+        return clientId;
+    }
+
+    /**
+     * Gets IDs of servers the bot is featured on. Creates new array on every call, use {@link #getGuildIds()} when possible.
+     *
+     * @return Nullable array of server IDs
+     */
+    public String[] getGuilds() {
+        return rawGuilds != null ? rawGuilds.clone() : Snowflakes.toStringArray(guilds);
+    }
+
+    /**
+     * Gets IDs of servers the bot is featured on as longs
+     *
+     * @return Nullable array of server IDs
+     */
+    public long[] getGuildIds() {
+        return guilds;
+    }
+
+    /**
+     * Gets IDs of bot's owners. Creates new array on every call, use {@link #getOwnerIds()} when possible.
+     *
+     * @return Nullable array of owner IDs, the first one is the main owner
+     */
+    public String[] getOwners() {
+        return rawOwners != null ? rawOwners.clone() : Snowflakes.toStringArray(owners);
+    }
+
+    /**
+     * Gets IDs of bot's owners as longs
+     *
+     * @return Nullable array of owner IDs, the first one is the main owner
+     */
+    public long[] getOwnerIds() {
+        return owners;
+    }
+
     public Action<Stats> fetchStats() {
         return api.fetchBotStats();
     }
@@ -67,4 +153,155 @@ public class Bot extends TopGGAPIResponse {
         return api.updateBotStats(serverCount, shards, shardCount);
 
     }
+
+    /**
+     * Gson type adapter for {@link Bot}
+     */
+    public static class Adapter extends TypeAdapter<Bot> {
+
+        @Override
+        public void write(JsonWriter writer, Bot bot) throws IOException {
+            if (bot == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginObject();
+            bot.writeResponseFields(writer);
+            writer.name("defAvatar").value(bot.defaultAvatar);
+            writer.name("invite").value(bot.invite);
+            writer.name("website").value(bot.website);
+            writer.name("support").value(bot.support);
+            writer.name("github").value(bot.github);
+            writer.name("longdesc").value(bot.descriptionLong);
+            writer.name("shortdesc").value(bot.descriptionShort);
+            writer.name("prefix").value(bot.prefix);
+            writer.name("lib").value(bot.lib);
+            writer.name("clientid").value(bot.getClientId());
+            writer.name("avatar").value(bot.avatar);
+            writer.name("id").value(bot.getId());
+            writer.name("discriminator").value(bot.discriminator);
+            writer.name("username").value(bot.username);
+            writer.name("date").value(bot.date);
+            writer.name("guilds");
+            TopGGGson.writeStringArray(writer, bot.getGuilds());
+            writer.name("shards");
+            TopGGGson.writeIntArray(writer, bot.shards);
+            writer.name("monthlyPoints").value(bot.monthlyPoints);
+            writer.name("points").value(bot.points);
+            writer.name("certifiedBot").value(bot.certifiedBot);
+            writer.name("owners");
+            TopGGGson.writeStringArray(writer, bot.getOwners());
+            writer.name("tags");
+            TopGGGson.writeStringArray(writer, bot.tags);
+            writer.name("bannerUrl").value(bot.bannerUrl);
+            writer.name("donatebotguildid").value(bot.donatebotGuildId);
+            writer.endObject();
+        }
+
+        @Override
+        public Bot read(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            Bot bot = new Bot();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+
+                switch (name) {
+                    case "defAvatar":
+                        bot.defaultAvatar = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "invite":
+                        bot.invite = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "website":
+                        bot.website = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "support":
+                        bot.support = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "github":
+                        bot.github = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "longdesc":
+                        bot.descriptionLong = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "shortdesc":
+                        bot.descriptionShort = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "prefix":
+                        bot.prefix = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "lib":
+                        bot.lib = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "clientid":
+                        String clientId = TopGGGson.nextStringOrNull(reader);
+                        bot.clientId = Snowflakes.parse(clientId);
+                        bot.rawClientId = bot.clientId == Snowflakes.NONE ? clientId : null;
+                        break;
+                    case "avatar":
+                        bot.avatar = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "id":
+                        String id = TopGGGson.nextStringOrNull(reader);
+                        bot.id = Snowflakes.parse(id);
+                        bot.rawId = bot.id == Snowflakes.NONE ? id : null;
+                        break;
+                    case "discriminator":
+                        bot.discriminator = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "username":
+                        bot.username = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "date":
+                        bot.date = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "guilds":
+                        String[] guilds = TopGGGson.nextStringArray(reader);
+                        bot.guilds = Snowflakes.parseArray(guilds);
+                        bot.rawGuilds = Snowflakes.areAllValid(guilds) ? null : guilds;
+                        break;
+                    case "shards":
+                        bot.shards = TopGGGson.nextIntArray(reader);
+                        break;
+                    case "monthlyPoints":
+                        bot.monthlyPoints = TopGGGson.nextIntOrZero(reader);
+                        break;
+                    case "points":
+                        bot.points = TopGGGson.nextIntOrZero(reader);
+                        break;
+                    case "certifiedBot":
+                        bot.certifiedBot = TopGGGson.nextBooleanLenient(reader);
+                        break;
+                    case "owners":
+                        String[] owners = TopGGGson.nextStringArray(reader);
+                        bot.owners = Snowflakes.parseArray(owners);
+                        bot.rawOwners = Snowflakes.areAllValid(owners) ? null : owners;
+                        break;
+                    case "tags":
+                        bot.tags = TopGGGson.nextStringArray(reader);
+                        break;
+                    case "bannerUrl":
+                        bot.bannerUrl = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "donatebotguildid":
+                        bot.donatebotGuildId = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    default:
+                        if (!bot.readResponseField(name, reader)) {
+                            reader.skipValue();
+                        }
+                }
+            }
+            reader.endObject();
+
+            return bot;
+        }
+    }
 }
@@ -1,8 +1,17 @@
 package dev.mayuna.topggsdk.api.entities;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import dev.mayuna.topggsdk.api.TopGGAPIResponse;
+import dev.mayuna.topggsdk.api.TopGGGson;
 import lombok.Getter;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Search result with found bots in an array
  */
@@ -13,4 +22,95 @@ public class Bots extends TopGGAPIResponse {
     private @Getter int offset;
     private @Getter int count;
     private @Getter int total;
+
+    /**
+     * Gson type adapter for {@link Bots}
+     */
+    public static class Adapter extends TypeAdapter<Bots> {
+
+        private final Bot.Adapter botAdapter = new Bot.Adapter();
+
+        @Override
+        public void write(JsonWriter writer, Bots bots) throws IOException {
+            if (bots == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginObject();
+            bots.writeResponseFields(writer);
+            writer.name("results");
+            if (bots.results == null) {
+                writer.nullValue();
+            } else {
+                writer.beginArray();
+                for (Bot bot : bots.results) {
+                    botAdapter.write(writer, bot);
+                }
+                writer.endArray();
+            }
+            writer.name("limit").value(bots.limit);
+            writer.name("offset").value(bots.offset);
+            writer.name("count").value(bots.count);
+            writer.name("total").value(bots.total);
+            writer.endObject();
+        }
+
+        @Override
+        public Bots read(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            Bots bots = new Bots();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+
+                switch (name) {
+                    case "results":
+                        bots.results = readResults(reader);
+                        break;
+                    case "limit":
+                        bots.limit = TopGGGson.nextIntOrZero(reader);
+                        break;
+                    case "offset":
+                        bots.offset = TopGGGson.nextIntOrZero(reader);
+                        break;
+                    case "count":
+                        bots.count = TopGGGson.nextIntOrZero(reader);
+                        break;
+                    case "total":
+                        bots.total = TopGGGson.nextIntOrZero(reader);
+                        break;
+                    default:
+                        if (!bots.readResponseField(name, reader)) {
+                            reader.skipValue();
+                        }
+                }
+            }
+            reader.endObject();
+
+            return bots;
+        }
+
+        private Bot[] readResults(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            List<Bot> list = new ArrayList<>();
+
+            reader.beginArray();
+            while (reader.hasNext()) {
+                list.add(botAdapter.read(reader));
+            }
+            reader.endArray();
+
+            return list.toArray(new Bot[0]);
+        }
+    }
 }
@@ -1,9 +1,16 @@
 package dev.mayuna.topggsdk.api.entities;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import dev.mayuna.topggsdk.api.TopGGAPIResponse;
+import dev.mayuna.topggsdk.api.TopGGGson;
 import lombok.Getter;
 
+import java.io.IOException;
+
 /**
  * Tells if currently is weekend (during weekends, bots receive double votes).
  */
@@ -11,4 +18,46 @@ public class MultiplierStatus extends TopGGAPIResponse {
 
     private @Getter @SerializedName("is_weekend") boolean weekend;
 
+    /**
+     * Gson type adapter for {@link MultiplierStatus}
+     */
+    public static class Adapter extends TypeAdapter<MultiplierStatus> {
+
+        @Override
+        public void write(JsonWriter writer, MultiplierStatus multiplierStatus) throws IOException {
+            if (multiplierStatus == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginObject();
+            multiplierStatus.writeResponseFields(writer);
+            writer.name("is_weekend").value(multiplierStatus.weekend);
+            writer.endObject();
+        }
+
+        @Override
+        public MultiplierStatus read(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            MultiplierStatus multiplierStatus = new MultiplierStatus();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+
+                if (name.equals("is_weekend")) {
+                    multiplierStatus.weekend = TopGGGson.nextBooleanLenient(reader);
+                } else if (!multiplierStatus.readResponseField(name, reader)) {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            return multiplierStatus;
+        }
+    }
 }
@@ -1,16 +1,129 @@
 package dev.mayuna.topggsdk.api.entities;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import dev.mayuna.topggsdk.api.TopGGAPIResponse;
+import dev.mayuna.topggsdk.api.TopGGGson;
 import lombok.Getter;
 
+import java.io.IOException;
+
 /**
  * Specific stats about top.gg bot (server count, shards, shard count)
  */
 public class Stats extends TopGGAPIResponse {
 
     private @Getter @SerializedName("server_count") int serverCount;
-    private @Getter String[] shards;
+    private int[] shards;
     private @Getter @SerializedName("shard_count") int shardCount;
 
+    private transient String[] rawShards; // Set only when some shard's server count is not a number
+
+    /**
+     * Gets server counts of shards. Creates new array on every call.
+     *
+     * @return Nullable array of server counts
+     */
+    public String[] getShards() {
+        if (rawShards != null) {
+            return rawShards.clone();
+        }
+
+        if (shards == null) {
+            return null;
+        }
+
+        String[] values = new String[shards.length];
+
+        for (int i = 0; i < shards.length; i++) {
+            values[i] = Integer.toString(shards[i]);
+        }
+
+        return values;
+    }
+
+    /**
+     * Gets server counts of shards as ints. Creates new array on every call, so cached stats cannot be modified.
+     *
+     * @return Nullable array of server counts (server counts which are not numbers are zero)
+     */
+    public int[] getShardServerCounts() {
+        return shards == null ? null : shards.clone();
+    }
+
+    /**
+     * Gson type adapter for {@link Stats}
+     */
+    public static class Adapter extends TypeAdapter<Stats> {
+
+        @Override
+        public void write(JsonWriter writer, Stats stats) throws IOException {
+            if (stats == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginObject();
+            stats.writeResponseFields(writer);
+            writer.name("server_count").value(stats.serverCount);
+            writer.name("shards");
+            TopGGGson.writeStringArray(writer, stats.getShards());
+            writer.name("shard_count").value(stats.shardCount);
+            writer.endObject();
+        }
+
+        @Override
+        public Stats read(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            Stats stats = new Stats();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+
+                switch (name) {
+                    case "server_count":
+                        stats.serverCount = TopGGGson.nextIntOrZero(reader);
+                        break;
+                    case "shards":
+                        readShards(stats, TopGGGson.nextStringArray(reader));
+                        break;
+                    case "shard_count":
+                        stats.shardCount = TopGGGson.nextIntOrZero(reader);
+                        break;
+                    default:
+                        if (!stats.readResponseField(name, reader)) {
+                            reader.skipValue();
+                        }
+                }
+            }
+            reader.endObject();
+
+            return stats;
+        }
+
+        private static void readShards(Stats stats, String[] shards) {
+            if (shards == null) {
+                stats.shards = null;
+                return;
+            }
+
+            stats.shards = new int[shards.length];
+
+            for (int i = 0; i < shards.length; i++) {
+                try {
+                    stats.shards[i] = Integer.parseInt(shards[i]);
+                } catch (NumberFormatException exception) {
+                    stats.rawShards = shards;
+                }
+            }
+        }
+    }
 }
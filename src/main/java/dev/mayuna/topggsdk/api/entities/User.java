@@ -1,17 +1,26 @@
 package dev.mayuna.topggsdk.api.entities;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import dev.mayuna.simpleapi.Action;
 import dev.mayuna.topggsdk.api.TopGGAPIResponse;
+import dev.mayuna.topggsdk.api.TopGGGson;
+import dev.mayuna.topggsdk.util.Snowflakes;
 import lombok.Getter;
 
+import java.io.IOException;
+
 /**
  * Information about top.gg user. There are also methods like {@link #fetchVoteStatus()}
  */
 public class User extends TopGGAPIResponse {
 
     private @Getter String username;
-    private @Getter String id;
+    private long id;
+    private transient String rawId; // Set only when the ID is not valid snowflake
     private @Getter String avatar;
     private @Getter String discriminator;
     private @Getter @SerializedName("defAvatar") String defaultAvatar;
@@ -25,8 +34,26 @@ public class User extends TopGGAPIResponse {
     private @Getter boolean webMod;
     private @Getter boolean admin;
 
+    /**
+     * Gets user's ID
+     *
+     * @return Nullable user's ID
+     */
+    public String getId() {
+        return Snowflakes.toString(id, rawId);
+    }
+
+    /**
+     * Gets user's ID as long
+     *
+     * @return User's ID or {@link Snowflakes#NONE}
+     */
+    public long getIdLong() {
+        return id;
+    }
+
     public Action<VoteStatus> fetchVoteStatus() {
-        return api.fetchVoteStatus(id);
+        return api.fetchVoteStatus(getId());
     }
 
     public static class Social {
@@ -37,4 +64,156 @@ public class User extends TopGGAPIResponse {
         private @Getter String instagram;
         private @Getter String github;
     }
+
+    /**
+     * Gson type adapter for {@link User}
+     */
+    public static class Adapter extends TypeAdapter<User> {
+
+        @Override
+        public void write(JsonWriter writer, User user) throws IOException {
+            if (user == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginObject();
+            user.writeResponseFields(writer);
+            writer.name("username").value(user.username);
+            writer.name("id").value(user.getId());
+            writer.name("avatar").value(user.avatar);
+            writer.name("discriminator").value(user.discriminator);
+            writer.name("defAvatar").value(user.defaultAvatar);
+            writer.name("bio").value(user.bio);
+            writer.name("banner").value(user.banner);
+            writer.name("social");
+            writeSocial(writer, user.social);
+            writer.name("color").value(user.color);
+            writer.name("supporter").value(user.supporter);
+            writer.name("certifiedDev").value(user.certifiedDev);
+            writer.name("mod").value(user.mod);
+            writer.name("webMod").value(user.webMod);
+            writer.name("admin").value(user.admin);
+            writer.endObject();
+        }
+
+        @Override
+        public User read(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            User user = new User();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+
+                switch (name) {
+                    case "username":
+                        user.username = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "id":
+                        String id = TopGGGson.nextStringOrNull(reader);
+                        user.id = Snowflakes.parse(id);
+                        user.rawId = user.id == Snowflakes.NONE ? id : null;
+                        break;
+                    case "avatar":
+                        user.avatar = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "discriminator":
+                        user.discriminator = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "defAvatar":
+                        user.defaultAvatar = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "bio":
+                        user.bio = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "banner":
+                        user.banner = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "social":
+                        user.social = readSocial(reader);
+                        break;
+                    case "color":
+                        user.color = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "supporter":
+                        user.supporter = TopGGGson.nextBooleanLenient(reader);
+                        break;
+                    case "certifiedDev":
+                        user.certifiedDev = TopGGGson.nextBooleanLenient(reader);
+                        break;
+                    case "mod":
+                        user.mod = TopGGGson.nextBooleanLenient(reader);
+                        break;
+                    case "webMod":
+                        user.webMod = TopGGGson.nextBooleanLenient(reader);
+                        break;
+                    case "admin":
+                        user.admin = TopGGGson.nextBooleanLenient(reader);
+                        break;
+                    default:
+                        if (!user.readResponseField(name, reader)) {
+                            reader.skipValue();
+                        }
+                }
+            }
+            reader.endObject();
+
+            return user;
+        }
+
+        private void writeSocial(JsonWriter writer, Social social) throws IOException {
+            if (social == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginObject();
+            writer.name("youtube").value(social.youtube);
+            writer.name("reddit").value(social.reddit);
+            writer.name("twitter").value(social.twitter);
+            writer.name("instagram").value(social.instagram);
+            writer.name("github").value(social.github);
+            writer.endObject();
+        }
+
+        private Social readSocial(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            Social social = new Social();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "youtube":
+                        social.youtube = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "reddit":
+                        social.reddit = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "twitter":
+                        social.twitter = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "instagram":
+                        social.instagram = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "github":
+                        social.github = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            return social;
+        }
+    }
 }
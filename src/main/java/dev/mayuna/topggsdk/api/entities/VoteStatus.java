@@ -1,6 +1,13 @@
 package dev.mayuna.topggsdk.api.entities;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import dev.mayuna.topggsdk.api.TopGGAPIResponse;
+import dev.mayuna.topggsdk.api.TopGGGson;
+
+import java.io.IOException;
 
 /**
  * Tells if user voted
@@ -9,7 +16,62 @@ public class VoteStatus extends TopGGAPIResponse {
 
     private int voted;
 
+    public VoteStatus() {
+    }
+
+    /**
+     * Creates vote status without sending any request (e.g. from cache)
+     *
+     * @param voted True if user has voted
+     */
+    public VoteStatus(boolean voted) {
+        this.voted = voted ? 1 : 0;
+    }
+
     public boolean hasVoted() {
         return voted == 1;
     }
+
+    /**
+     * Gson type adapter for {@link VoteStatus}
+     */
+    public static class Adapter extends TypeAdapter<VoteStatus> {
+
+        @Override
+        public void write(JsonWriter writer, VoteStatus voteStatus) throws IOException {
+            if (voteStatus == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginObject();
+            voteStatus.writeResponseFields(writer);
+            writer.name("voted").value(voteStatus.voted);
+            writer.endObject();
+        }
+
+        @Override
+        public VoteStatus read(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            VoteStatus voteStatus = new VoteStatus();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+
+                if (name.equals("voted")) {
+                    voteStatus.voted = TopGGGson.nextIntOrZero(reader);
+                } else if (!voteStatus.readResponseField(name, reader)) {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            return voteStatus;
+        }
+    }
 }
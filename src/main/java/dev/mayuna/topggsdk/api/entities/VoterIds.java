@@ -0,0 +1,124 @@
+package dev.mayuna.topggsdk.api.entities;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import dev.mayuna.topggsdk.api.TopGGAPIResponse;
+import dev.mayuna.topggsdk.api.TopGGGson;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * IDs of the last 1000 voters, in the order top.gg returned them. Read from the same response as {@link User} array, but only
+ * <code>id</code> fields are read; other fields are skipped without creating any objects.
+ */
+public class VoterIds extends TopGGAPIResponse {
+
+    private @Getter long[] ids = new long[0];
+
+    /**
+     * Gets number of voters
+     *
+     * @return Number of voters
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Gson type adapter for {@link VoterIds}
+     */
+    public static class Adapter extends TypeAdapter<VoterIds> {
+
+        @Override
+        public void write(JsonWriter writer, VoterIds voterIds) throws IOException {
+            if (voterIds == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginArray();
+            for (long id : voterIds.ids) {
+                writer.beginObject();
+                writer.name("id").value(Long.toString(id));
+                writer.endObject();
+            }
+            writer.endArray();
+        }
+
+        @Override
+        public VoterIds read(JsonReader reader) throws IOException {
+            VoterIds voterIds = new VoterIds();
+
+            switch (reader.peek()) {
+                case NULL:
+                    reader.nextNull();
+                    return null;
+                case BEGIN_OBJECT:
+                    // Error response, e.g. retry-after
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if (!voterIds.readResponseField(reader.nextName(), reader)) {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    return voterIds;
+            }
+
+            long[] ids = new long[1000];
+            int size = 0;
+
+            reader.beginArray();
+            while (reader.hasNext()) {
+                long id = readId(reader);
+
+                if (id == -1) {
+                    continue;
+                }
+
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+
+                ids[size++] = id;
+            }
+            reader.endArray();
+
+            voterIds.ids = size == ids.length ? ids : Arrays.copyOf(ids, size);
+            return voterIds;
+        }
+
+        private static long readId(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                return -1;
+            }
+
+            long id = -1;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("id") && reader.peek() != JsonToken.NULL) {
+                    id = parseId(TopGGGson.nextStringOrNull(reader));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            return id;
+        }
+
+        private static long parseId(String id) {
+            try {
+                return Long.parseLong(id);
+            } catch (NumberFormatException exception) {
+                return -1;
+            }
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package dev.mayuna.topggsdk.api.entities.webhooks;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import dev.mayuna.topggsdk.VoteReconciler;
+import dev.mayuna.topggsdk.api.TopGGGson;
+import dev.mayuna.topggsdk.util.Snowflakes;
 import lombok.Getter;
 import lombok.NonNull;
 
-import java.util.LinkedList;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Webhook object holds data from top.gg webhook integration. You can find out webhook's type via {@link #getWebhookType()} method
@@ -15,21 +23,120 @@ import java.util.regex.Pattern;
  */
 public class Webhook {
 
-    private @Getter @SerializedName("user") String userId;
+    // IDs are stored as longs, Snowflakes.NONE when missing
+    private @SerializedName("user") long userId;
     private @Getter String type;
     private @Getter String query;
 
-    private @Getter @SerializedName("bot") String botId;
+    private @SerializedName("bot") long botId;
     private @Getter @SerializedName("isWeekend") boolean weekend;
 
-    private @Getter @SerializedName("guild") String guildId;
+    private @SerializedName("guild") long guildId;
+
+    // Original IDs which are not valid snowflakes (should not happen), so they are not lost
+    private transient String rawUserId;
+    private transient String rawBotId;
+    private transient String rawGuildId;
+
+    private transient WebhookQueries queries;
+
+    /**
+     * {@link System#nanoTime()} of the moment the webhook was parsed, zero if the webhook was not parsed by {@link Adapter}
+     */
+    private transient @Getter long receivedAtNanos;
+
+    /**
+     * True if the webhook was not received from top.gg, but created by {@link VoteReconciler} for a vote whose webhook was lost
+     */
+    private transient @Getter boolean reconciled;
+
+    /**
+     * Creates webhook for bot's vote which was found by {@link VoteReconciler}, but whose webhook was not received. Top.gg's vote list does
+     * not contain vote's type, query nor weekend flag, so type is always <code>upvote</code>, query is null and weekend is false.
+     *
+     * @param botId  Non-null bot's ID
+     * @param userId Non-null user's ID
+     *
+     * @return Non-null {@link Webhook}
+     */
+    public static Webhook createReconciled(@NonNull String botId, @NonNull String userId) {
+        Webhook webhook = new Webhook();
+        webhook.setBotId(botId);
+        webhook.setUserId(userId);
+        webhook.type = "upvote";
+        webhook.reconciled = true;
+        return webhook;
+    }
+
+    /**
+     * Gets ID of the user who voted
+     * @return Nullable user's ID
+     */
+    public String getUserId() {
+        return Snowflakes.toString(userId, rawUserId);
+    }
+
+    /**
+     * Gets ID of the user who voted as long
+     * @return User's ID or {@link Snowflakes#NONE}
+     */
+    public long getUserIdLong() {
+        return userId;
+    }
+
+    /**
+     * Gets ID of the bot which received the vote
+     * @return Nullable bot's ID (null for server webhooks)
+     */
+    public String getBotId() {
+        return Snowflakes.toString(botId, rawBotId);
+    }
+
+    /**
+     * Gets ID of the bot which received the vote as long
+     * @return Bot's ID or {@link Snowflakes#NONE} (for server webhooks)
+     */
+    public long getBotIdLong() {
+        return botId;
+    }
+
+    /**
+     * Gets ID of the server which received the vote
+     * @return Nullable server's ID (null for bot webhooks)
+     */
+    public String getGuildId() {
+        return Snowflakes.toString(guildId, rawGuildId);
+    }
+
+    /**
+     * Gets ID of the server which received the vote as long
+     * @return Server's ID or {@link Snowflakes#NONE} (for bot webhooks)
+     */
+    public long getGuildIdLong() {
+        return guildId;
+    }
+
+    private void setUserId(String userId) {
+        this.userId = Snowflakes.parse(userId);
+        this.rawUserId = this.userId == Snowflakes.NONE ? userId : null;
+    }
+
+    private void setBotId(String botId) {
+        this.botId = Snowflakes.parse(botId);
+        this.rawBotId = this.botId == Snowflakes.NONE ? botId : null;
+    }
+
+    private void setGuildId(String guildId) {
+        this.guildId = Snowflakes.parse(guildId);
+        this.rawGuildId = this.guildId == Snowflakes.NONE ? guildId : null;
+    }
 
     /**
      * Gets webhook's type
      * @return Non-null {@link Type} object
      */
     public @NonNull Type getWebhookType() {
-        if (guildId == null) {
+        if (guildId == Snowflakes.NONE && rawGuildId == null) {
             return Type.BOT;
         }
 
@@ -37,24 +144,46 @@ public class Webhook {
     }
 
     /**
-     * Parses {@link #query} string in webhook body into array of {@link Query} objects
-     * @return Nonnull array of {@link Query} (empty when there was no query, aka. query is null or empty)
+     * Gets parsed view of {@link #query} string. The query string is parsed only once, on first call.
+     * @return Non-null {@link WebhookQueries} (empty when there was no query, aka. query is null or empty)
      */
-    public @NonNull Query[] parseQueries() {
-        if (query == null || query.isEmpty()) {
-            return new Query[0];
+    public @NonNull WebhookQueries getQueries() {
+        WebhookQueries queries = this.queries;
+
+        if (queries == null) {
+            // WebhookQueries is immutable, so parsing it twice from multiple threads is harmless
+            queries = query == null || query.isEmpty() ? WebhookQueries.empty() : new WebhookQueries(query);
+            this.queries = queries;
         }
 
-        Pattern pattern = Pattern.compile("[\\?&]([^&=]+)=([^&=]+)");
-        Matcher matcher = pattern.matcher(query);
+        return queries;
+    }
 
-        List<Query> list = new LinkedList<>();
+    /**
+     * Gets percent-decoded value of the first query parameter with specified name
+     * @param name Name of the query parameter
+     * @return Nullable value (null when there is no such parameter)
+     */
+    public String getQuery(@NonNull String name) {
+        return getQueries().get(name);
+    }
 
-        while(matcher.find()) {
-            list.add(new Query(matcher.group(1), matcher.group(2)));
-        }
+    /**
+     * Gets percent-decoded values of all query parameters with specified name
+     * @param name Name of the query parameter
+     * @return Non-null list of values
+     */
+    public @NonNull List<String> getQueryValues(@NonNull String name) {
+        return getQueries().getAll(name);
+    }
 
-        return list.toArray(new Query[0]);
+    /**
+     * Parses {@link #query} string in webhook body into array of {@link Query} objects. Names and values are percent-decoded. Prefer
+     * {@link #getQuery(String)}, which does not create {@link Query} objects.
+     * @return Nonnull array of {@link Query} (empty when there was no query, aka. query is null or empty)
+     */
+    public @NonNull Query[] parseQueries() {
+        return getQueries().toArray();
     }
 
     /**
@@ -78,4 +207,173 @@ public class Webhook {
             this.value = value;
         }
     }
+
+    /**
+     * Gson type adapter for {@link Webhook}
+     */
+    public static class Adapter extends TypeAdapter<Webhook> {
+
+        @Override
+        public void write(JsonWriter writer, Webhook webhook) throws IOException {
+            if (webhook == null) {
+                writer.nullValue();
+                return;
+            }
+
+            writer.beginObject();
+            writer.name("user").value(webhook.getUserId());
+            writer.name("type").value(webhook.type);
+            writer.name("query").value(webhook.query);
+
+            if (webhook.getBotId() != null) {
+                writer.name("bot").value(webhook.getBotId());
+                writer.name("isWeekend").value(webhook.weekend);
+            }
+
+            if (webhook.getGuildId() != null) {
+                writer.name("guild").value(webhook.getGuildId());
+            }
+
+            writer.endObject();
+        }
+
+        @Override
+        public Webhook read(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            Webhook webhook = new Webhook();
+            webhook.receivedAtNanos = System.nanoTime();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "user":
+                        webhook.setUserId(TopGGGson.nextStringOrNull(reader));
+                        break;
+                    case "type":
+                        webhook.type = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "query":
+                        webhook.query = TopGGGson.nextStringOrNull(reader);
+                        break;
+                    case "bot":
+                        webhook.setBotId(TopGGGson.nextStringOrNull(reader));
+                        break;
+                    case "isWeekend":
+                        webhook.weekend = TopGGGson.nextBooleanLenient(reader);
+                        break;
+                    case "guild":
+                        webhook.setGuildId(TopGGGson.nextStringOrNull(reader));
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            return webhook;
+        }
+    }
+
+    /**
+     * Compact binary encoding of {@link Webhook}, e.g. for forwarding webhooks between nodes. IDs are written as longs, ID which is not
+     * valid snowflake is written as string after them.
+     */
+    public static final class BinaryCodec {
+
+        private static final int FLAG_WEEKEND = 1;
+        private static final int FLAG_RECONCILED = 1 << 1;
+        private static final int FLAG_RAW_IDS = 1 << 2;
+        private static final int MAX_STRING_LENGTH = 1 << 20;
+
+        private BinaryCodec() {
+        }
+
+        /**
+         * Writes webhook
+         *
+         * @param output  Non-null {@link DataOutput}
+         * @param webhook Non-null {@link Webhook}
+         *
+         * @throws IOException If the webhook could not be written
+         */
+        public static void write(@NonNull DataOutput output, @NonNull Webhook webhook) throws IOException {
+            boolean rawIds = webhook.rawUserId != null || webhook.rawBotId != null || webhook.rawGuildId != null;
+            int flags = (webhook.weekend ? FLAG_WEEKEND : 0) | (webhook.reconciled ? FLAG_RECONCILED : 0) | (rawIds ? FLAG_RAW_IDS : 0);
+
+            output.writeByte(flags);
+            output.writeLong(webhook.userId);
+            output.writeLong(webhook.botId);
+            output.writeLong(webhook.guildId);
+            writeString(output, webhook.type);
+            writeString(output, webhook.query);
+
+            if (rawIds) {
+                writeString(output, webhook.rawUserId);
+                writeString(output, webhook.rawBotId);
+                writeString(output, webhook.rawGuildId);
+            }
+        }
+
+        /**
+         * Reads webhook written by {@link #write(DataOutput, Webhook)}
+         *
+         * @param input Non-null {@link DataInput}
+         *
+         * @return Non-null {@link Webhook}
+         *
+         * @throws IOException If the webhook could not be read
+         */
+        public static Webhook read(@NonNull DataInput input) throws IOException {
+            Webhook webhook = new Webhook();
+            int flags = input.readUnsignedByte();
+
+            webhook.userId = input.readLong();
+            webhook.botId = input.readLong();
+            webhook.guildId = input.readLong();
+            webhook.type = readString(input);
+            webhook.query = readString(input);
+            webhook.weekend = (flags & FLAG_WEEKEND) != 0;
+            webhook.reconciled = (flags & FLAG_RECONCILED) != 0;
+
+            if ((flags & FLAG_RAW_IDS) != 0) {
+                webhook.rawUserId = readString(input);
+                webhook.rawBotId = readString(input);
+                webhook.rawGuildId = readString(input);
+            }
+
+            webhook.receivedAtNanos = System.nanoTime();
+            return webhook;
+        }
+
+        private static void writeString(DataOutput output, String string) throws IOException {
+            if (string == null) {
+                output.writeInt(-1);
+                return;
+            }
+
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+
+        private static String readString(DataInput input) throws IOException {
+            int length = input.readInt();
+
+            if (length == -1) {
+                return null;
+            }
+
+            if (length < 0 || length > MAX_STRING_LENGTH) {
+                throw new IOException("Invalid string length " + length + "!");
+            }
+
+            byte[] bytes = new byte[length];
+            input.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
 }
@@ -0,0 +1,293 @@
+package dev.mayuna.topggsdk.api.entities.webhooks;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parsed view of webhook's query string (e.g. <code>?source=discord&amp;ref=reminder</code>). The query string is scanned only once,
+ * only offsets of names and values are stored. Names and values are percent-decoded (<code>+</code> is decoded as space), repeated
+ * names are supported.<br>
+ * Lookups via {@link #get(String)} do not create any objects, except the returned value when it had to be decoded or cut from the query
+ * string.
+ */
+public class WebhookQueries {
+
+    private static final WebhookQueries EMPTY = new WebhookQueries(null);
+
+    // Per parameter: name start, name end, value start, value end, flags
+    private static final int STRIDE = 5;
+    private static final int NAME_ENCODED = 1;
+    private static final int VALUE_ENCODED = 2;
+
+    private final @Getter String query;
+    private final int[] offsets;
+    private final int size;
+
+    /**
+     * Parses query string
+     *
+     * @param query Nullable query string, with or without leading <code>?</code>
+     */
+    public WebhookQueries(String query) {
+        this.query = query;
+
+        if (query == null || query.isEmpty()) {
+            offsets = new int[0];
+            size = 0;
+            return;
+        }
+
+        int start = query.charAt(0) == '?' ? 1 : 0;
+        int maximumCount = 1;
+
+        for (int i = start; i < query.length(); i++) {
+            if (query.charAt(i) == '&') {
+                maximumCount++;
+            }
+        }
+
+        int[] offsets = new int[maximumCount * STRIDE];
+        int count = 0;
+        int index = start;
+
+        while (index <= query.length()) {
+            int end = query.indexOf('&', index);
+
+            if (end == -1) {
+                end = query.length();
+            }
+
+            if (end > index) {
+                int separator = index;
+                int flags = 0;
+
+                while (separator < end && query.charAt(separator) != '=') {
+                    if (isEncoded(query.charAt(separator))) {
+                        flags |= NAME_ENCODED;
+                    }
+
+                    separator++;
+                }
+
+                int valueStart = separator < end ? separator + 1 : end;
+
+                for (int i = valueStart; i < end; i++) {
+                    if (isEncoded(query.charAt(i))) {
+                        flags |= VALUE_ENCODED;
+                        break;
+                    }
+                }
+
+                int offset = count * STRIDE;
+                offsets[offset] = index;
+                offsets[offset + 1] = separator;
+                offsets[offset + 2] = valueStart;
+                offsets[offset + 3] = end;
+                offsets[offset + 4] = flags;
+                count++;
+            }
+
+            index = end + 1;
+        }
+
+        this.offsets = offsets;
+        this.size = count;
+    }
+
+    /**
+     * Gets empty query view
+     *
+     * @return Non-null {@link WebhookQueries}
+     */
+    public static WebhookQueries empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Gets number of parameters (repeated names are counted separately)
+     *
+     * @return Number of parameters
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets decoded name of parameter at specified index
+     *
+     * @param index Index of the parameter
+     *
+     * @return Non-null name
+     */
+    public String getName(int index) {
+        int offset = checkIndex(index) * STRIDE;
+        return decode(query, offsets[offset], offsets[offset + 1], (offsets[offset + 4] & NAME_ENCODED) != 0);
+    }
+
+    /**
+     * Gets decoded value of parameter at specified index
+     *
+     * @param index Index of the parameter
+     *
+     * @return Non-null value (empty when the parameter had no value)
+     */
+    public String getValue(int index) {
+        int offset = checkIndex(index) * STRIDE;
+        return decode(query, offsets[offset + 2], offsets[offset + 3], (offsets[offset + 4] & VALUE_ENCODED) != 0);
+    }
+
+    /**
+     * Gets decoded value of the first parameter with specified name
+     *
+     * @param name Decoded name
+     *
+     * @return Nullable value (null when there is no such parameter, empty when the parameter had no value)
+     */
+    public String get(String name) {
+        int index = indexOf(name, 0);
+        return index == -1 ? null : getValue(index);
+    }
+
+    /**
+     * Gets decoded values of all parameters with specified name, in the order they appear in the query string
+     *
+     * @param name Decoded name
+     *
+     * @return Non-null list of values (empty when there is no such parameter)
+     */
+    public List<String> getAll(String name) {
+        int index = indexOf(name, 0);
+
+        if (index == -1) {
+            return Collections.emptyList();
+        }
+
+        List<String> values = new ArrayList<>(2);
+
+        while (index != -1) {
+            values.add(getValue(index));
+            index = indexOf(name, index + 1);
+        }
+
+        return values;
+    }
+
+    /**
+     * Determines if there is parameter with specified name
+     *
+     * @param name Decoded name
+     *
+     * @return True if the parameter exists
+     */
+    public boolean contains(String name) {
+        return indexOf(name, 0) != -1;
+    }
+
+    /**
+     * Creates array of {@link Webhook.Query} with decoded names and values
+     *
+     * @return Non-null array of {@link Webhook.Query}
+     */
+    public Webhook.Query[] toArray() {
+        Webhook.Query[] queries = new Webhook.Query[size];
+
+        for (int i = 0; i < size; i++) {
+            queries[i] = new Webhook.Query(getName(i), getValue(i));
+        }
+
+        return queries;
+    }
+
+    @Override
+    public String toString() {
+        return query == null ? "" : query;
+    }
+
+    private int indexOf(String name, int fromIndex) {
+        if (name == null) {
+            return -1;
+        }
+
+        for (int i = fromIndex; i < size; i++) {
+            int offset = i * STRIDE;
+            int start = offsets[offset];
+            int end = offsets[offset + 1];
+
+            if ((offsets[offset + 4] & NAME_ENCODED) != 0) {
+                // Encoded names are rare, decoding them is simpler than comparing them on the fly
+                if (name.equals(decode(query, start, end, true))) {
+                    return i;
+                }
+            } else if (end - start == name.length() && query.regionMatches(start, name, 0, name.length())) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size + " query parameters");
+        }
+
+        return index;
+    }
+
+    private static boolean isEncoded(char character) {
+        return character == '%' || character == '+';
+    }
+
+    private static String decode(String string, int start, int end, boolean encoded) {
+        if (!encoded) {
+            return string.substring(start, end);
+        }
+
+        StringBuilder stringBuilder = new StringBuilder(end - start);
+        byte[] bytes = null;
+        int byteCount = 0;
+        int index = start;
+
+        while (index < end) {
+            char character = string.charAt(index);
+
+            if (character == '%' && index + 2 < end) {
+                int high = Character.digit(string.charAt(index + 1), 16);
+                int low = Character.digit(string.charAt(index + 2), 16);
+
+                if (high != -1 && low != -1) {
+                    if (bytes == null) {
+                        bytes = new byte[(end - index) / 3];
+                    }
+
+                    bytes[byteCount++] = (byte) ((high << 4) | low);
+                    index += 3;
+                    continue;
+                }
+            }
+
+            // Consecutive percent-encoded bytes form UTF-8 sequence
+            if (byteCount != 0) {
+                stringBuilder.append(new String(bytes, 0, byteCount, StandardCharsets.UTF_8));
+                byteCount = 0;
+            }
+
+            stringBuilder.append(character == '+' ? ' ' : character);
+            index++;
+        }
+
+        if (byteCount != 0) {
+            stringBuilder.append(new String(bytes, 0, byteCount, StandardCharsets.UTF_8));
+        }
+
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package dev.mayuna.topggsdk.cache;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Response stored in {@link ResponseCache}. Response is fresh until {@link #getFreshUntil()}, then it is stale and may still be served
+ * (while it is being refreshed in the background) until {@link #getStaleUntil()}.
+ */
+public final class CachedResponse {
+
+    private final @Getter Object value;
+    private final @Getter long freshUntil;
+    private final @Getter long staleUntil;
+    private final AtomicBoolean revalidating = new AtomicBoolean();
+
+    /**
+     * Creates cached response
+     *
+     * @param value      Non-null response
+     * @param freshUntil Time in milliseconds until which the response is fresh
+     * @param staleUntil Time in milliseconds until which the response may be served stale
+     */
+    public CachedResponse(@NonNull Object value, long freshUntil, long staleUntil) {
+        this.value = value;
+        this.freshUntil = freshUntil;
+        this.staleUntil = Math.max(freshUntil, staleUntil);
+    }
+
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    /**
+     * Determines if the response can be served (it is fresh or stale)
+     *
+     * @param now Current time in milliseconds
+     *
+     * @return True if the response can be served
+     */
+    public boolean isUsable(long now) {
+        return now < staleUntil;
+    }
+
+    /**
+     * Marks the response as being refreshed
+     *
+     * @return True if the caller should refresh the response, false if it is already being refreshed
+     */
+    public boolean tryStartRevalidation() {
+        return revalidating.compareAndSet(false, true);
+    }
+
+    /**
+     * Allows the response to be refreshed again, e.g. after the refresh failed
+     */
+    public void finishRevalidation() {
+        revalidating.set(false);
+    }
+}
@@ -0,0 +1,113 @@
+package dev.mayuna.topggsdk.cache;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process {@link ResponseCache}. The least recently used responses are evicted when the cache is full.
+ */
+public class InMemoryResponseCache implements ResponseCache {
+
+    private final @Getter int maximumSize;
+    private final LinkedHashMap<String, CachedResponse> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates in-memory response cache
+     *
+     * @param maximumSize Maximum number of cached responses
+     */
+    public InMemoryResponseCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be greater than zero!");
+        }
+
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                if (size() > maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Creates in-memory response cache with maximum size of 1000 responses
+     */
+    public InMemoryResponseCache() {
+        this(1000);
+    }
+
+    @Override
+    public CachedResponse get(@NonNull String key) {
+        CachedResponse cachedResponse;
+
+        synchronized (entries) {
+            cachedResponse = entries.get(key);
+        }
+
+        if (cachedResponse == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+
+        return cachedResponse;
+    }
+
+    @Override
+    public void put(@NonNull String key, @NonNull CachedResponse cachedResponse) {
+        synchronized (entries) {
+            entries.put(key, cachedResponse);
+        }
+    }
+
+    @Override
+    public void invalidate(@NonNull String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Gets number of lookups which found cached response (fresh or stale)
+     *
+     * @return Number of hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,42 @@
+package dev.mayuna.topggsdk.cache;
+
+import dev.mayuna.topggsdk.api.Route;
+import lombok.NonNull;
+
+/**
+ * Storage of responses cached by {@link dev.mayuna.topggsdk.TopGGAPI}. Responses are keyed by {@link Route#getKey()}, which endpoints
+ * are cached and for how long is decided by {@link ResponseCachePolicy}. Implementations must be thread-safe and should be bounded.
+ *
+ * @see InMemoryResponseCache
+ */
+public interface ResponseCache {
+
+    /**
+     * Gets cached response
+     *
+     * @param key Non-null route key
+     *
+     * @return {@link CachedResponse} or null if there is none
+     */
+    CachedResponse get(@NonNull String key);
+
+    /**
+     * Caches response, replaces previously cached response with the same key
+     *
+     * @param key            Non-null route key
+     * @param cachedResponse Non-null {@link CachedResponse}
+     */
+    void put(@NonNull String key, @NonNull CachedResponse cachedResponse);
+
+    /**
+     * Removes cached response
+     *
+     * @param key Non-null route key
+     */
+    void invalidate(@NonNull String key);
+
+    /**
+     * Removes all cached responses
+     */
+    void clear();
+}
@@ -0,0 +1,39 @@
+package dev.mayuna.topggsdk.cache;
+
+import lombok.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write generations of cached routes. Generation of a route's read key is increased when a POST request to the route is sent and again
+ * when it completes. Response of a GET request is cached only if the generation has not changed since the request was sent, so a read
+ * which raced with a write cannot put the old response back into {@link ResponseCache}.<br>
+ * Only read keys of routes which are written to are tracked (e.g. bot's stats), so the number of generations stays small.
+ */
+public final class ResponseCacheGenerations {
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Gets current generation
+     *
+     * @param readKey Non-null read key, see {@link dev.mayuna.topggsdk.api.Route#getReadKey()}
+     *
+     * @return Generation, 0 if the route was never written to
+     */
+    public long get(@NonNull String readKey) {
+        AtomicLong generation = generations.get(readKey);
+        return generation == null ? 0 : generation.get();
+    }
+
+    /**
+     * Increases generation
+     *
+     * @param readKey Non-null read key, see {@link dev.mayuna.topggsdk.api.Route#getReadKey()}
+     */
+    public void increment(@NonNull String readKey) {
+        generations.computeIfAbsent(readKey, ignored -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,121 @@
+package dev.mayuna.topggsdk.cache;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which endpoints are cached by {@link ResponseCache} and for how long. Endpoints without policy are never cached. Default
+ * policies:<br>
+ * - <code>/bots/{bot_id}</code>: fresh for 5 minutes, stale for 1 hour<br>
+ * - <code>/users/{user_id}</code>: fresh for 10 minutes, stale for 1 hour<br>
+ * - <code>/bots/{bot_id}/stats</code>: fresh for 1 minute, stale for 10 minutes<br>
+ * - <code>/weekend</code>: fresh for 1 minute, stale for 10 minutes<br>
+ * Stale response is returned immediately and refreshed in the background. When the refresh fails, stale response is served until it
+ * expires.<br>
+ * Every cache hit returns a copy of the cached response, so callers cannot modify the cached one. Copying serializes and parses the
+ * response with Gson, which costs about as much as parsing the HTTP response (noticeable for large pages of bots). Callers which do not
+ * modify responses can disable copying by {@link #withoutResponseCopies()}.
+ */
+public class ResponseCachePolicy {
+
+    private final Map<String, EndpointPolicy> endpointPolicies = new ConcurrentHashMap<>();
+    private @Getter boolean copyResponses = true;
+
+    private ResponseCachePolicy() {}
+
+    /**
+     * Creates policy with default endpoint policies
+     *
+     * @return Non-null {@link ResponseCachePolicy}
+     */
+    public static ResponseCachePolicy create() {
+        return new ResponseCachePolicy()
+                .withEndpoint("/bots/{bot_id}", 5 * 60_000, 60 * 60_000)
+                .withEndpoint("/users/{user_id}", 10 * 60_000, 60 * 60_000)
+                .withEndpoint("/bots/{bot_id}/stats", 60_000, 10 * 60_000)
+                .withEndpoint("/weekend", 60_000, 10 * 60_000);
+    }
+
+    /**
+     * Creates policy without any endpoint policies
+     *
+     * @return Non-null {@link ResponseCachePolicy}
+     */
+    public static ResponseCachePolicy empty() {
+        return new ResponseCachePolicy();
+    }
+
+    /**
+     * Caches GET responses of specified endpoint
+     *
+     * @param endpoint    Non-null endpoint, e.g. <code>/bots/{bot_id}</code>
+     * @param freshMillis How long is the response served without refreshing
+     * @param staleMillis How long after it stopped being fresh can be the response served while it is being refreshed
+     *
+     * @return Non-null {@link ResponseCachePolicy}
+     */
+    public ResponseCachePolicy withEndpoint(@NonNull String endpoint, long freshMillis, long staleMillis) {
+        if (freshMillis <= 0 || staleMillis < 0) {
+            throw new IllegalArgumentException("Fresh time must be greater than zero and stale time cannot be smaller than zero!");
+        }
+
+        endpointPolicies.put(endpoint, new EndpointPolicy(freshMillis, staleMillis));
+        return this;
+    }
+
+    public ResponseCachePolicy withoutEndpoint(@NonNull String endpoint) {
+        endpointPolicies.remove(endpoint);
+        return this;
+    }
+
+    /**
+     * Cached responses are shared between callers instead of being copied on every cache hit. Callers must not modify returned
+     * responses (e.g. arrays of entities), otherwise they modify the cached ones.
+     *
+     * @return Non-null {@link ResponseCachePolicy}
+     */
+    public ResponseCachePolicy withoutResponseCopies() {
+        this.copyResponses = false;
+        return this;
+    }
+
+    /**
+     * Gets policy of specified endpoint
+     *
+     * @param endpoint Non-null endpoint
+     *
+     * @return {@link EndpointPolicy} or null if the endpoint is not cached
+     */
+    public EndpointPolicy getEndpointPolicy(@NonNull String endpoint) {
+        return endpointPolicies.get(endpoint);
+    }
+
+    /**
+     * Cache policy of single endpoint
+     */
+    public static class EndpointPolicy {
+
+        private final @Getter long freshMillis;
+        private final @Getter long staleMillis;
+
+        private EndpointPolicy(long freshMillis, long staleMillis) {
+            this.freshMillis = freshMillis;
+            this.staleMillis = staleMillis;
+        }
+
+        /**
+         * Creates cached response which is fresh and stale according to this policy
+         *
+         * @param value Non-null response
+         * @param now   Current time in milliseconds
+         *
+         * @return Non-null {@link CachedResponse}
+         */
+        public CachedResponse createCachedResponse(@NonNull Object value, long now) {
+            return new CachedResponse(value, now + freshMillis, now + freshMillis + staleMillis);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package dev.mayuna.topggsdk.cache;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.util.LongObjectHashMap;
+import dev.mayuna.topggsdk.util.Snowflakes;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process cache of vote statuses keyed by user ID. The least recently used entries are evicted when the cache is full.<br>
+ * User IDs are stored as primitive longs in {@link LongObjectHashMap}, entries are linked in access order. User IDs which are not valid
+ * snowflakes are never cached.<br>
+ * Votes received through webhooks are valid for 12 hours after the vote (top.gg's vote window). Results fetched from the API are cached
+ * for shorter time, since the time of the vote is not known. See {@link Settings} for default values.
+ */
+public class VoteStatusCache {
+
+    /**
+     * Users can vote every 12 hours
+     */
+    public static final long VOTE_WINDOW_MILLIS = 12 * 60 * 60 * 1000L;
+
+    private final @Getter Settings settings;
+    private final LongObjectHashMap<CachedVote> entries = new LongObjectHashMap<>();
+
+    // Access order, head is the least recently used entry. Guarded by entries.
+    private CachedVote head;
+    private CachedVote tail;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VoteStatusCache(@NonNull Settings settings) {
+        this.settings = settings;
+    }
+
+    public VoteStatusCache() {
+        this(Settings.create());
+    }
+
+    /**
+     * Gets cached vote status of specified user
+     *
+     * @param userId User ID (Discord user ID)
+     *
+     * @return True or false if the status is cached, null otherwise
+     */
+    public Boolean getVoted(@NonNull String userId) {
+        return getVoted(Snowflakes.parse(userId));
+    }
+
+    /**
+     * Gets cached vote status of specified user
+     *
+     * @param userId User ID (Discord user ID)
+     *
+     * @return True or false if the status is cached, null otherwise
+     */
+    public Boolean getVoted(long userId) {
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            CachedVote cachedVote = userId == Snowflakes.NONE ? null : entries.get(userId);
+
+            if (cachedVote != null) {
+                if (cachedVote.expiresAt > now) {
+                    moveToTail(cachedVote);
+                    hits.increment();
+                    return cachedVote.voted;
+                }
+
+                remove(cachedVote);
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Records vote of specified user. Vote is valid for 12 hours after it was made.
+     *
+     * @param userId  User ID (Discord user ID)
+     * @param votedAt Time of the vote in milliseconds
+     */
+    public void recordVote(@NonNull String userId, long votedAt) {
+        recordVote(Snowflakes.parse(userId), votedAt);
+    }
+
+    /**
+     * Records vote of specified user. Vote is valid for 12 hours after it was made.
+     *
+     * @param userId  User ID (Discord user ID)
+     * @param votedAt Time of the vote in milliseconds
+     */
+    public void recordVote(long userId, long votedAt) {
+        put(userId, true, votedAt + VOTE_WINDOW_MILLIS);
+    }
+
+    /**
+     * Records vote from {@link Webhook}. Test webhooks and server webhooks are ignored.
+     *
+     * @param webhook Non-null {@link Webhook}
+     */
+    public void recordVote(@NonNull Webhook webhook) {
+        if (webhook.getWebhookType() != Webhook.Type.BOT || "test".equals(webhook.getType()) || webhook.getUserIdLong() == Snowflakes.NONE) {
+            return;
+        }
+
+        recordVote(webhook.getUserIdLong(), System.currentTimeMillis());
+    }
+
+    /**
+     * Caches vote status fetched from the API
+     *
+     * @param userId User ID (Discord user ID)
+     * @param voted  True if user has voted
+     */
+    public void putFetched(@NonNull String userId, boolean voted) {
+        putFetched(Snowflakes.parse(userId), voted);
+    }
+
+    /**
+     * Caches vote status fetched from the API
+     *
+     * @param userId User ID (Discord user ID)
+     * @param voted  True if user has voted
+     */
+    public void putFetched(long userId, boolean voted) {
+        if (userId == Snowflakes.NONE) {
+            return;
+        }
+
+        long ttl = voted ? settings.getFetchedPositiveTtlMillis() : settings.getFetchedNegativeTtlMillis();
+
+        if (ttl <= 0) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttl;
+
+        synchronized (entries) {
+            CachedVote cachedVote = entries.get(userId);
+
+            // Do not overwrite or shorten valid vote (e.g. vote received through webhook while the request was in flight)
+            if (cachedVote != null && cachedVote.voted && cachedVote.expiresAt > now && (!voted || cachedVote.expiresAt > expiresAt)) {
+                return;
+            }
+
+            putLocked(userId, voted, expiresAt);
+        }
+    }
+
+    /**
+     * Invalidates cached vote status of specified user
+     *
+     * @param userId User ID (Discord user ID)
+     */
+    public void invalidate(@NonNull String userId) {
+        invalidate(Snowflakes.parse(userId));
+    }
+
+    /**
+     * Invalidates cached vote status of specified user
+     *
+     * @param userId User ID (Discord user ID)
+     */
+    public void invalidate(long userId) {
+        synchronized (entries) {
+            CachedVote cachedVote = entries.get(userId);
+
+            if (cachedVote != null) {
+                remove(cachedVote);
+            }
+        }
+    }
+
+    /**
+     * Invalidates all cached vote statuses
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            head = null;
+            tail = null;
+        }
+    }
+
+    /**
+     * Gets number of cached entries (including expired entries, which were not removed yet)
+     *
+     * @return Number of entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets ratio of hits to all lookups
+     *
+     * @return Hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private void put(long userId, boolean voted, long expiresAt) {
+        if (userId == Snowflakes.NONE) {
+            return;
+        }
+
+        synchronized (entries) {
+            putLocked(userId, voted, expiresAt);
+        }
+    }
+
+    private void putLocked(long userId, boolean voted, long expiresAt) {
+        CachedVote cachedVote = entries.get(userId);
+
+        if (cachedVote != null) {
+            cachedVote.voted = voted;
+            cachedVote.expiresAt = expiresAt;
+            moveToTail(cachedVote);
+            return;
+        }
+
+        cachedVote = new CachedVote(userId, voted, expiresAt);
+        entries.put(userId, cachedVote);
+        linkLast(cachedVote);
+
+        if (entries.size() > settings.getMaximumSize()) {
+            remove(head);
+            evictions.increment();
+        }
+    }
+
+    private void remove(CachedVote cachedVote) {
+        entries.remove(cachedVote.userId);
+        unlink(cachedVote);
+    }
+
+    private void moveToTail(CachedVote cachedVote) {
+        if (cachedVote != tail) {
+            unlink(cachedVote);
+            linkLast(cachedVote);
+        }
+    }
+
+    private void linkLast(CachedVote cachedVote) {
+        cachedVote.previous = tail;
+        cachedVote.next = null;
+
+        if (tail == null) {
+            head = cachedVote;
+        } else {
+            tail.next = cachedVote;
+        }
+
+        tail = cachedVote;
+    }
+
+    private void unlink(CachedVote cachedVote) {
+        if (cachedVote.previous == null) {
+            head = cachedVote.next;
+        } else {
+            cachedVote.previous.next = cachedVote.next;
+        }
+
+        if (cachedVote.next == null) {
+            tail = cachedVote.previous;
+        } else {
+            cachedVote.next.previous = cachedVote.previous;
+        }
+
+        cachedVote.previous = null;
+        cachedVote.next = null;
+    }
+
+    private static class CachedVote {
+
+        private final long userId;
+        private boolean voted;
+        private long expiresAt;
+
+        private CachedVote previous;
+        private CachedVote next;
+
+        private CachedVote(long userId, boolean voted, long expiresAt) {
+            this.userId = userId;
+            this.voted = voted;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Settings of {@link VoteStatusCache}. Default values:<br>
+     * - Maximum size: 100000<br>
+     * - Fetched positive TTL: 15 minutes (the time of the vote is not known, so it cannot be cached for 12 hours)<br>
+     * - Fetched negative TTL: 1 minute (negative entries are replaced when vote is received through webhook)<br>
+     */
+    public static class Settings {
+
+        private @Getter int maximumSize = 100_000;
+        private @Getter long fetchedPositiveTtlMillis = 15 * 60 * 1000L;
+        private @Getter long fetchedNegativeTtlMillis = 60 * 1000L;
+
+        private Settings() {}
+
+        public static Settings create() {
+            return new Settings();
+        }
+
+        public Settings withMaximumSize(int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Maximum size must be greater than zero!");
+            }
+
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets for how long is positive vote status fetched from the API cached. Use zero to not cache them.
+         *
+         * @param fetchedPositiveTtlMillis TTL in milliseconds
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withFetchedPositiveTtlMillis(long fetchedPositiveTtlMillis) {
+            if (fetchedPositiveTtlMillis > VOTE_WINDOW_MILLIS) {
+                throw new IllegalArgumentException("Fetched positive TTL cannot be longer than 12 hours!");
+            }
+
+            this.fetchedPositiveTtlMillis = fetchedPositiveTtlMillis;
+            return this;
+        }
+
+        /**
+         * Sets for how long is negative vote status fetched from the API cached. Use zero to not cache them.
+         *
+         * @param fetchedNegativeTtlMillis TTL in milliseconds
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withFetchedNegativeTtlMillis(long fetchedNegativeTtlMillis) {
+            this.fetchedNegativeTtlMillis = fetchedNegativeTtlMillis;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,515 @@
+package dev.mayuna.topggsdk.ledger;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.util.LongLongHashMap;
+import dev.mayuna.topggsdk.util.Snowflakes;
+import dev.mayuna.topggsdk.util.ThreadUtils;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Embedded, append-only vote ledger stored in memory-mapped file. Every vote is stored as compact 32 byte record:<br>
+ * - user ID (8 bytes)<br>
+ * - bot or server ID (8 bytes)<br>
+ * - timestamp in milliseconds (8 bytes)<br>
+ * - index of user's previous record (4 bytes)<br>
+ * - flags and checksum (4 bytes)<br>
+ * Records of single user are chained, so queries like "votes by user in the last 12 hours" read only user's records. Changes are flushed
+ * to disk in batches every {@link #getSyncIntervalMillis()}. When the ledger is opened, records are replayed until the first incomplete
+ * record (e.g. after a crash).
+ */
+public class VoteLedger implements Closeable {
+
+    public static final int RECORD_SIZE = 32;
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORDS_PER_CHUNK = 1 << 20;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VoteLedger.class);
+    private static final long MAGIC = 0x5447474C45444731L; // TGGLEDG1
+    private static final int VERSION = 1;
+    private static final int FLAG_WEEKEND = 1;
+    private static final int FLAG_SERVER = 1 << 1;
+
+    private final @Getter Path path;
+    private final @Getter long syncIntervalMillis;
+
+    private final FileChannel fileChannel;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    // User ID -> index of the user's latest record, guarded by itself
+    private final LongLongHashMap lastRecordByUser = new LongLongHashMap(1024);
+    private final ScheduledExecutorService scheduler;
+
+    private volatile MappedByteBuffer[] chunkArray = new MappedByteBuffer[0];
+    private volatile int size;
+    private int syncedSize;
+    private long lastTimestamp;
+    private boolean closed;
+
+    private VoteLedger(Path path, long syncIntervalMillis) throws IOException {
+        this.path = path;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.header = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+
+        if (header.getLong(0) == 0) {
+            header.putLong(0, MAGIC);
+            header.putInt(8, VERSION);
+            header.putInt(12, RECORD_SIZE);
+            header.putInt(16, 0);
+            header.force();
+        } else if (header.getLong(0) != MAGIC || header.getInt(8) != VERSION || header.getInt(12) != RECORD_SIZE) {
+            fileChannel.close();
+            throw new IOException("File " + path + " is not a vote ledger or has unsupported version!");
+        }
+
+        recover();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(ThreadUtils.createPlatformThreadFactory("TopGG-VoteLedger"));
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (Exception exception) {
+                LOGGER.error("Exception occurred while syncing vote ledger!", exception);
+            }
+        }, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens vote ledger. If the file does not exist, it is created. Existing records are replayed.
+     *
+     * @param path               Path to the ledger file
+     * @param syncIntervalMillis How often should be the records flushed to disk
+     *
+     * @return Opened {@link VoteLedger}
+     *
+     * @throws IOException If the file could not be opened or it is not a vote ledger
+     */
+    public static VoteLedger open(@NonNull Path path, long syncIntervalMillis) throws IOException {
+        if (syncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Sync interval must be greater than zero!");
+        }
+
+        return new VoteLedger(path, syncIntervalMillis);
+    }
+
+    /**
+     * Opens vote ledger which flushes records to disk every second
+     *
+     * @param path Path to the ledger file
+     *
+     * @return Opened {@link VoteLedger}
+     *
+     * @throws IOException If the file could not be opened or it is not a vote ledger
+     */
+    public static VoteLedger open(@NonNull Path path) throws IOException {
+        return open(path, 1000);
+    }
+
+    /**
+     * Appends vote received through webhook. Test webhooks and webhooks with invalid IDs are ignored.
+     *
+     * @param webhook Non-null {@link Webhook}
+     */
+    public void append(@NonNull Webhook webhook) {
+        if ("test".equals(webhook.getType())) {
+            return;
+        }
+
+        Webhook.Type type = webhook.getWebhookType();
+        long userId = webhook.getUserIdLong();
+        long targetId = type == Webhook.Type.SERVER ? webhook.getGuildIdLong() : webhook.getBotIdLong();
+
+        if (userId == Snowflakes.NONE || targetId == Snowflakes.NONE) {
+            LOGGER.warn("Could not append webhook from user {} to vote ledger, invalid ID!", webhook.getUserId());
+            return;
+        }
+
+        synchronized (this) {
+            ensureOpen();
+            // Time is read under the lock, so records are appended in order of their timestamps. Vote received now is not older than
+            // the latest record even if the system clock went back.
+            appendRecord(userId, targetId, Math.max(System.currentTimeMillis(), lastTimestamp), webhook.isWeekend(), type);
+        }
+    }
+
+    /**
+     * Appends vote, e.g. when importing votes from other storage. Records are kept ordered by time, so votes must be appended from the
+     * oldest one.
+     *
+     * @param userId    User ID
+     * @param targetId  Bot or server ID
+     * @param timestamp Time of the vote in milliseconds, not older than {@link #getLastTimestamp()}
+     * @param weekend   True if the vote was made during weekend
+     * @param type      {@link Webhook.Type}
+     *
+     * @throws IllegalArgumentException If the timestamp is older than the latest record's timestamp
+     */
+    public synchronized void append(long userId, long targetId, long timestamp, boolean weekend, @NonNull Webhook.Type type) {
+        ensureOpen();
+
+        // Queries stop at the first record older than requested time
+        if (timestamp < lastTimestamp) {
+            throw new IllegalArgumentException("Timestamp " + timestamp + " is older than the latest record's timestamp " + lastTimestamp + "! Votes must be appended in order of time.");
+        }
+
+        appendRecord(userId, targetId, timestamp, weekend, type);
+    }
+
+    /**
+     * Gets timestamp of the latest record
+     *
+     * @return Time in milliseconds, 0 if the ledger is empty
+     */
+    public synchronized long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Vote ledger is closed!");
+        }
+    }
+
+    private void appendRecord(long userId, long targetId, long timestamp, boolean weekend, Webhook.Type type) {
+        int index = size;
+        MappedByteBuffer chunk = getChunkForWrite(index);
+        int offset = (index % RECORDS_PER_CHUNK) * RECORD_SIZE;
+
+        int previousIndex = getLastRecordIndex(userId);
+        int flags = (weekend ? FLAG_WEEKEND : 0) | (type == Webhook.Type.SERVER ? FLAG_SERVER : 0);
+
+        chunk.putLong(offset, userId);
+        chunk.putLong(offset + 8, targetId);
+        chunk.putLong(offset + 16, timestamp);
+        chunk.putInt(offset + 24, previousIndex);
+        // Flags and checksum are written last, record without valid checksum is considered incomplete
+        chunk.putInt(offset + 28, (flags << 24) | checksum(userId, targetId, timestamp, previousIndex, flags));
+
+        size = index + 1;
+        lastTimestamp = timestamp;
+        putLastRecordIndex(userId, index);
+    }
+
+    /**
+     * Counts votes of specified user since specified time
+     *
+     * @param userId      User ID
+     * @param sinceMillis Time in milliseconds (e.g. <code>System.currentTimeMillis() - 12 hours</code>)
+     *
+     * @return Number of votes
+     */
+    public int countVotes(long userId, long sinceMillis) {
+        int count = 0;
+        int index = getLastRecordIndex(userId);
+
+        while (index >= 0) {
+            if (readTimestamp(index) < sinceMillis) {
+                break;
+            }
+
+            count++;
+            index = readPreviousIndex(index);
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets votes of specified user since specified time, newest first
+     *
+     * @param userId      User ID
+     * @param sinceMillis Time in milliseconds
+     *
+     * @return Non-null list of {@link VoteRecord}
+     */
+    public List<VoteRecord> getVotes(long userId, long sinceMillis) {
+        List<VoteRecord> votes = new ArrayList<>();
+        int index = getLastRecordIndex(userId);
+
+        while (index >= 0) {
+            VoteRecord voteRecord = read(index);
+
+            if (voteRecord.getTimestamp() < sinceMillis) {
+                break;
+            }
+
+            votes.add(voteRecord);
+            index = readPreviousIndex(index);
+        }
+
+        return votes;
+    }
+
+    /**
+     * Gets the latest vote of specified user
+     *
+     * @param userId User ID
+     *
+     * @return {@link VoteRecord} or null if user has not voted
+     */
+    public VoteRecord getLastVote(long userId) {
+        int index = getLastRecordIndex(userId);
+        return index < 0 ? null : read(index);
+    }
+
+    /**
+     * Counts all votes since specified time
+     *
+     * @param sinceMillis Time in milliseconds
+     *
+     * @return Number of votes
+     */
+    public int countVotes(long sinceMillis) {
+        int count = 0;
+
+        for (int index = size - 1; index >= 0; index--) {
+            if (readTimestamp(index) < sinceMillis) {
+                break;
+            }
+
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Replays all votes since specified time in the order they were appended
+     *
+     * @param sinceMillis Time in milliseconds
+     * @param consumer    Consumer of {@link VoteRecord}
+     */
+    public void replay(long sinceMillis, @NonNull Consumer<VoteRecord> consumer) {
+        int currentSize = size;
+        int start = currentSize;
+
+        while (start > 0 && readTimestamp(start - 1) >= sinceMillis) {
+            start--;
+        }
+
+        for (int index = start; index < currentSize; index++) {
+            consumer.accept(read(index));
+        }
+    }
+
+    /**
+     * Gets number of records in the ledger
+     *
+     * @return Number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Flushes appended records to disk
+     */
+    public synchronized void sync() {
+        if (closed || syncedSize == size) {
+            return;
+        }
+
+        int firstChunk = syncedSize / RECORDS_PER_CHUNK;
+        int lastChunk = (size - 1) / RECORDS_PER_CHUNK;
+
+        for (int i = firstChunk; i <= lastChunk; i++) {
+            chunks.get(i).force();
+        }
+
+        header.putInt(16, size);
+        header.force();
+        syncedSize = size;
+    }
+
+    /**
+     * Flushes appended records to disk and closes the ledger
+     *
+     * @throws IOException If the file could not be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        scheduler.shutdown();
+        sync();
+        closed = true;
+        fileChannel.close();
+    }
+
+    private void recover() throws IOException {
+        int syncedRecords = header.getInt(16);
+        long fileRecords = Math.max(0, (fileChannel.size() - HEADER_SIZE) / RECORD_SIZE);
+
+        int index = 0;
+
+        while (index < fileRecords) {
+            if (index % RECORDS_PER_CHUNK == 0) {
+                mapChunk(index / RECORDS_PER_CHUNK);
+            }
+
+            if (!isComplete(index)) {
+                break;
+            }
+
+            putLastRecordIndex(readUserId(index), index);
+            lastTimestamp = Math.max(lastTimestamp, readTimestamp(index));
+            index++;
+        }
+
+        if (index < syncedRecords) {
+            LOGGER.warn("Vote ledger {} has only {} valid records, but {} were synced! The file might be corrupted.", path, index, syncedRecords);
+        }
+
+        if (index < fileRecords) {
+            clearTail(index);
+        }
+
+        size = index;
+        syncedSize = index;
+
+        LOGGER.info("Vote ledger {} has been opened with {} records.", path, size);
+    }
+
+    /**
+     * Clears records after the first incomplete one. Otherwise valid records written before a crash could be recovered after the next
+     * crash, once new records fill the gap before them.
+     */
+    private void clearTail(int index) throws IOException {
+        int chunkIndex = index / RECORDS_PER_CHUNK;
+        MappedByteBuffer chunk = chunkArray[chunkIndex];
+        boolean cleared = false;
+
+        for (int offset = (index % RECORDS_PER_CHUNK) * RECORD_SIZE; offset < RECORDS_PER_CHUNK * RECORD_SIZE; offset += RECORD_SIZE) {
+            if (isEmpty(chunk, offset)) {
+                continue;
+            }
+
+            for (int i = 0; i < RECORD_SIZE; i += 8) {
+                chunk.putLong(offset + i, 0);
+            }
+
+            cleared = true;
+        }
+
+        if (cleared) {
+            chunk.force();
+        }
+
+        // Following chunks are not mapped yet, so they can be cut off
+        long chunkEnd = HEADER_SIZE + (long) (chunkIndex + 1) * RECORDS_PER_CHUNK * RECORD_SIZE;
+
+        if (fileChannel.size() > chunkEnd) {
+            fileChannel.truncate(chunkEnd);
+            cleared = true;
+        }
+
+        if (cleared) {
+            LOGGER.warn("Vote ledger {} had records after the first incomplete record {}, they have been cleared.", path, index);
+        }
+    }
+
+    private static boolean isEmpty(MappedByteBuffer chunk, int offset) {
+        for (int i = 0; i < RECORD_SIZE; i += 8) {
+            if (chunk.getLong(offset + i) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isComplete(int index) {
+        MappedByteBuffer chunk = chunkArray[index / RECORDS_PER_CHUNK];
+        int offset = (index % RECORDS_PER_CHUNK) * RECORD_SIZE;
+
+        long timestamp = chunk.getLong(offset + 16);
+
+        if (timestamp == 0) {
+            return false;
+        }
+
+        int flagsAndChecksum = chunk.getInt(offset + 28);
+        int flags = flagsAndChecksum >>> 24;
+
+        return (flagsAndChecksum & 0xFFFFFF) == checksum(chunk.getLong(offset), chunk.getLong(offset + 8), timestamp, chunk.getInt(offset + 24), flags);
+    }
+
+    private MappedByteBuffer getChunkForWrite(int index) {
+        int chunkIndex = index / RECORDS_PER_CHUNK;
+
+        if (chunkIndex >= chunks.size()) {
+            try {
+                mapChunk(chunkIndex);
+            } catch (IOException exception) {
+                throw new IllegalStateException("Could not extend vote ledger " + path + "!", exception);
+            }
+        }
+
+        return chunks.get(chunkIndex);
+    }
+
+    private void mapChunk(int chunkIndex) throws IOException {
+        long position = HEADER_SIZE + (long) chunkIndex * RECORDS_PER_CHUNK * RECORD_SIZE;
+        chunks.add(fileChannel.map(FileChannel.MapMode.READ_WRITE, position, (long) RECORDS_PER_CHUNK * RECORD_SIZE));
+        chunkArray = chunks.toArray(new MappedByteBuffer[0]);
+    }
+
+    private VoteRecord read(int index) {
+        MappedByteBuffer chunk = chunkArray[index / RECORDS_PER_CHUNK];
+        int offset = (index % RECORDS_PER_CHUNK) * RECORD_SIZE;
+        int flags = chunk.getInt(offset + 28) >>> 24;
+
+        return new VoteRecord(chunk.getLong(offset), chunk.getLong(offset + 8), chunk.getLong(offset + 16), (flags & FLAG_WEEKEND) != 0,
+                              (flags & FLAG_SERVER) != 0 ? Webhook.Type.SERVER : Webhook.Type.BOT);
+    }
+
+    private long readUserId(int index) {
+        return chunkArray[index / RECORDS_PER_CHUNK].getLong((index % RECORDS_PER_CHUNK) * RECORD_SIZE);
+    }
+
+    private long readTimestamp(int index) {
+        return chunkArray[index / RECORDS_PER_CHUNK].getLong((index % RECORDS_PER_CHUNK) * RECORD_SIZE + 16);
+    }
+
+    private int getLastRecordIndex(long userId) {
+        synchronized (lastRecordByUser) {
+            return (int) lastRecordByUser.get(userId, -1);
+        }
+    }
+
+    private void putLastRecordIndex(long userId, int index) {
+        synchronized (lastRecordByUser) {
+            lastRecordByUser.put(userId, index);
+        }
+    }
+
+    private int readPreviousIndex(int index) {
+        return chunkArray[index / RECORDS_PER_CHUNK].getInt((index % RECORDS_PER_CHUNK) * RECORD_SIZE + 24);
+    }
+
+    private static int checksum(long userId, long targetId, long timestamp, int previousIndex, int flags) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ targetId) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ timestamp) * 0x94D049BB133111EBL;
+        hash = (hash ^ ((long) previousIndex << 8 | flags)) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 40) | 1;
+    }
+}
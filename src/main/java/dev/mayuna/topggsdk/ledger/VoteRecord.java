@@ -0,0 +1,33 @@
+package dev.mayuna.topggsdk.ledger;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import lombok.Getter;
+
+/**
+ * Single vote stored in {@link VoteLedger}
+ */
+public class VoteRecord {
+
+    private final @Getter long userId;
+    private final long targetId;
+    private final @Getter long timestamp;
+    private final @Getter boolean weekend;
+    private final @Getter Webhook.Type type;
+
+    public VoteRecord(long userId, long targetId, long timestamp, boolean weekend, Webhook.Type type) {
+        this.userId = userId;
+        this.targetId = targetId;
+        this.timestamp = timestamp;
+        this.weekend = weekend;
+        this.type = type;
+    }
+
+    /**
+     * Gets ID of the bot or server which was voted for (see {@link #getType()})
+     *
+     * @return Bot ID or server ID
+     */
+    public long getTargetId() {
+        return targetId;
+    }
+}
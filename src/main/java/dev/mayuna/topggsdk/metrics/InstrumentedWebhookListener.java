@@ -0,0 +1,36 @@
+package dev.mayuna.topggsdk.metrics;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Webhook listener which records receive-to-listener latency, duration and exceptions of wrapped listener to {@link TopGGMetrics}
+ */
+public class InstrumentedWebhookListener implements Consumer<Webhook> {
+
+    private final @Getter Consumer<Webhook> webhookListener;
+    private final @Getter TopGGMetrics metrics;
+
+    public InstrumentedWebhookListener(@NonNull Consumer<Webhook> webhookListener, @NonNull TopGGMetrics metrics) {
+        this.webhookListener = webhookListener;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void accept(Webhook webhook) {
+        long start = System.nanoTime();
+        long receiveToListener = webhook.getReceivedAtNanos() == 0 ? 0 : start - webhook.getReceivedAtNanos();
+
+        try {
+            webhookListener.accept(webhook);
+        } catch (RuntimeException exception) {
+            metrics.recordWebhookListener(receiveToListener, System.nanoTime() - start, true);
+            throw exception;
+        }
+
+        metrics.recordWebhookListener(receiveToListener, System.nanoTime() - start, false);
+    }
+}
@@ -0,0 +1,195 @@
+package dev.mayuna.topggsdk.metrics;
+
+import dev.mayuna.topggsdk.api.Route;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TopGGMetrics} which reports to Micrometer's {@link MeterRegistry}. Micrometer is not a dependency of the SDK, you must add
+ * <code>io.micrometer:micrometer-core</code> to your project to use this class.<br>
+ * Meters (prefixed by <code>topgg.</code>):
+ * <ul>
+ *     <li><code>api.requests</code> - timer with histogram, tags: method, endpoint, outcome</li>
+ *     <li><code>api.request.size</code> - summary of request body sizes in bytes, tags: method, endpoint</li>
+ *     <li><code>api.retry.after</code> - summary of retry-after values in seconds, tags: method, endpoint</li>
+ *     <li><code>webhook.received.size</code> - summary of webhook body sizes in bytes</li>
+ *     <li><code>webhook.responses</code> - counter, tags: status</li>
+ *     <li><code>webhook.auth.rejected</code>, <code>webhook.parse.failures</code>, <code>webhook.duplicates</code> - counters</li>
+ *     <li><code>webhook.listener.latency</code> - timer with histogram, time between receiving webhook and calling the listener</li>
+ *     <li><code>webhook.listener.duration</code> - timer, tags: outcome (success, exception)</li>
+ * </ul>
+ * Endpoints are reported as templates (e.g. <code>/bots/{bot_id}/check</code>), so their cardinality is low.
+ */
+public class MicrometerMetrics implements TopGGMetrics {
+
+    private static final RequestOutcome[] OUTCOMES = RequestOutcome.values();
+
+    private final @Getter MeterRegistry meterRegistry;
+    private final String prefix;
+
+    // Method -> endpoint -> meters, so recording does not build any strings
+    private final Map<String, Map<String, EndpointMeters>> endpointMeters = new ConcurrentHashMap<>();
+
+    private final DistributionSummary webhookReceivedSize;
+    private final Counter webhookAuthRejected;
+    private final Counter webhookParseFailures;
+    private final Counter webhookDuplicates;
+    private final Counter[] webhookResponses = new Counter[600];
+    private final Timer webhookListenerLatency;
+    private final Timer webhookListenerSuccess;
+    private final Timer webhookListenerException;
+
+    /**
+     * Creates Micrometer metrics with meters prefixed by <code>topgg.</code>
+     *
+     * @param meterRegistry Non-null {@link MeterRegistry}
+     */
+    public MicrometerMetrics(@NonNull MeterRegistry meterRegistry) {
+        this(meterRegistry, "topgg");
+    }
+
+    /**
+     * Creates Micrometer metrics
+     *
+     * @param meterRegistry Non-null {@link MeterRegistry}
+     * @param prefix        Non-null prefix of meter names
+     */
+    public MicrometerMetrics(@NonNull MeterRegistry meterRegistry, @NonNull String prefix) {
+        this.meterRegistry = meterRegistry;
+        this.prefix = prefix;
+
+        webhookReceivedSize = DistributionSummary.builder(prefix + ".webhook.received.size")
+                                                 .description("Size of received webhook bodies")
+                                                 .baseUnit("bytes")
+                                                 .register(meterRegistry);
+        webhookAuthRejected = Counter.builder(prefix + ".webhook.auth.rejected")
+                                     .description("Webhook requests with invalid Authorization header")
+                                     .register(meterRegistry);
+        webhookParseFailures = Counter.builder(prefix + ".webhook.parse.failures")
+                                      .description("Webhook requests whose body could not be parsed")
+                                      .register(meterRegistry);
+        webhookDuplicates = Counter.builder(prefix + ".webhook.duplicates")
+                                   .description("Duplicate webhooks acknowledged without processing")
+                                   .register(meterRegistry);
+        webhookListenerLatency = Timer.builder(prefix + ".webhook.listener.latency")
+                                      .description("Time between receiving webhook and calling the webhook listener")
+                                      .publishPercentileHistogram()
+                                      .register(meterRegistry);
+        webhookListenerSuccess = Timer.builder(prefix + ".webhook.listener.duration")
+                                      .description("Time spent in the webhook listener")
+                                      .tag("outcome", "success")
+                                      .register(meterRegistry);
+        webhookListenerException = Timer.builder(prefix + ".webhook.listener.duration")
+                                        .description("Time spent in the webhook listener")
+                                        .tag("outcome", "exception")
+                                        .register(meterRegistry);
+    }
+
+    @Override
+    public void recordRequest(@NonNull Route route, @NonNull RequestOutcome outcome, long durationNanos) {
+        getEndpointMeters(route).requests[outcome.ordinal()].record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRequestBodySize(@NonNull Route route, long bytes) {
+        getEndpointMeters(route).requestSize.record(bytes);
+    }
+
+    @Override
+    public void recordRetryAfter(@NonNull Route route, long retryAfterSeconds) {
+        getEndpointMeters(route).retryAfter.record(retryAfterSeconds);
+    }
+
+    @Override
+    public void recordWebhookReceived(long bodyBytes) {
+        if (bodyBytes >= 0) {
+            webhookReceivedSize.record(bodyBytes);
+        }
+    }
+
+    @Override
+    public void recordWebhookAuthRejected() {
+        webhookAuthRejected.increment();
+    }
+
+    @Override
+    public void recordWebhookParseFailure() {
+        webhookParseFailures.increment();
+    }
+
+    @Override
+    public void recordWebhookDuplicate() {
+        webhookDuplicates.increment();
+    }
+
+    @Override
+    public void recordWebhookResponse(int statusCode) {
+        if (statusCode < 0 || statusCode >= webhookResponses.length) {
+            return;
+        }
+
+        Counter counter = webhookResponses[statusCode];
+
+        if (counter == null) {
+            // Registering the same counter twice returns the same counter, so racing here is harmless
+            counter = Counter.builder(prefix + ".webhook.responses")
+                             .description("HTTP status codes sent back to top.gg")
+                             .tag("status", String.valueOf(statusCode))
+                             .register(meterRegistry);
+            webhookResponses[statusCode] = counter;
+        }
+
+        counter.increment();
+    }
+
+    @Override
+    public void recordWebhookListener(long receiveToListenerNanos, long listenerNanos, boolean failed) {
+        webhookListenerLatency.record(receiveToListenerNanos, TimeUnit.NANOSECONDS);
+        (failed ? webhookListenerException : webhookListenerSuccess).record(listenerNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private EndpointMeters getEndpointMeters(Route route) {
+        return endpointMeters.computeIfAbsent(route.getMethod(), method -> new ConcurrentHashMap<>())
+                             .computeIfAbsent(route.getEndpoint(), endpoint -> new EndpointMeters(route.getMethod(), endpoint));
+    }
+
+    private class EndpointMeters {
+
+        private final Timer[] requests = new Timer[OUTCOMES.length];
+        private final DistributionSummary requestSize;
+        private final DistributionSummary retryAfter;
+
+        private EndpointMeters(String method, String endpoint) {
+            for (RequestOutcome outcome : OUTCOMES) {
+                requests[outcome.ordinal()] = Timer.builder(prefix + ".api.requests")
+                                                   .description("Requests to top.gg's API")
+                                                   .tag("method", method)
+                                                   .tag("endpoint", endpoint)
+                                                   .tag("outcome", outcome.name().toLowerCase())
+                                                   .publishPercentileHistogram()
+                                                   .register(meterRegistry);
+            }
+
+            requestSize = DistributionSummary.builder(prefix + ".api.request.size")
+                                             .description("Size of request bodies sent to top.gg's API")
+                                             .baseUnit("bytes")
+                                             .tag("method", method)
+                                             .tag("endpoint", endpoint)
+                                             .register(meterRegistry);
+            retryAfter = DistributionSummary.builder(prefix + ".api.retry.after")
+                                            .description("Retry-after values sent by top.gg's API")
+                                            .baseUnit("seconds")
+                                            .tag("method", method)
+                                            .tag("endpoint", endpoint)
+                                            .register(meterRegistry);
+        }
+    }
+}
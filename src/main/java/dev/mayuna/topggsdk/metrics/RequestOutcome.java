@@ -0,0 +1,23 @@
+package dev.mayuna.topggsdk.metrics;
+
+/**
+ * Outcome of single request to top.gg's API
+ */
+public enum RequestOutcome {
+    /**
+     * Top.gg responded without error
+     */
+    SUCCESS,
+    /**
+     * Top.gg responded with error (see {@link dev.mayuna.topggsdk.api.TopGGAPIResponse#getError()})
+     */
+    API_ERROR,
+    /**
+     * Top.gg responded with retry-after (HTTP Code 429)
+     */
+    RATE_LIMITED,
+    /**
+     * Request could not be sent or the response could not be read
+     */
+    FAILED;
+}
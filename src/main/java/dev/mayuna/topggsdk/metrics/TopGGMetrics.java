@@ -0,0 +1,104 @@
+package dev.mayuna.topggsdk.metrics;
+
+import dev.mayuna.topggsdk.api.Route;
+import lombok.NonNull;
+
+/**
+ * Metrics SPI of the SDK. All methods do nothing by default, so implementations may override only the ones they are interested in.
+ * Methods are called on hot paths (HTTP client and webhook request threads), so they should be cheap and must not block.<br>
+ * {@link MicrometerMetrics} reports to Micrometer's {@link io.micrometer.core.instrument.MeterRegistry}.
+ */
+public interface TopGGMetrics {
+
+    /**
+     * Default metrics which do not record anything
+     */
+    TopGGMetrics NOOP = new TopGGMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * Determines if the metrics record anything. When false, the SDK does not even measure time.
+     *
+     * @return True if enabled
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Records single request to top.gg's API (every retry is recorded separately). Duration does not include time spent in the rate
+     * limiter's queue.
+     *
+     * @param route         Non-null {@link Route}, use {@link Route#getMethod()} and {@link Route#getEndpoint()} as tags
+     * @param outcome       Non-null {@link RequestOutcome}
+     * @param durationNanos Time between sending the request and reading the response
+     */
+    default void recordRequest(@NonNull Route route, @NonNull RequestOutcome outcome, long durationNanos) {
+    }
+
+    /**
+     * Records size of request's body
+     *
+     * @param route Non-null {@link Route}
+     * @param bytes Size of the body in bytes
+     */
+    default void recordRequestBodySize(@NonNull Route route, long bytes) {
+    }
+
+    /**
+     * Records response with retry-after (HTTP Code 429)
+     *
+     * @param route             Non-null {@link Route}
+     * @param retryAfterSeconds Value of retry-after
+     */
+    default void recordRetryAfter(@NonNull Route route, long retryAfterSeconds) {
+    }
+
+    /**
+     * Records received webhook request (before authorization)
+     *
+     * @param bodyBytes Size of the body in bytes, -1 if unknown
+     */
+    default void recordWebhookReceived(long bodyBytes) {
+    }
+
+    /**
+     * Records webhook request with invalid Authorization header
+     */
+    default void recordWebhookAuthRejected() {
+    }
+
+    /**
+     * Records webhook request whose body could not be parsed
+     */
+    default void recordWebhookParseFailure() {
+    }
+
+    /**
+     * Records duplicate webhook, which was acknowledged without being processed
+     */
+    default void recordWebhookDuplicate() {
+    }
+
+    /**
+     * Records HTTP status code sent back to top.gg
+     *
+     * @param statusCode HTTP status code
+     */
+    default void recordWebhookResponse(int statusCode) {
+    }
+
+    /**
+     * Records processing of webhook by the webhook listener
+     *
+     * @param receiveToListenerNanos Time between receiving the webhook and calling the listener (includes async dispatcher's queue)
+     * @param listenerNanos          Time spent in the listener
+     * @param failed                 True if the listener threw an exception
+     */
+    default void recordWebhookListener(long receiveToListenerNanos, long listenerNanos, boolean failed) {
+    }
+}
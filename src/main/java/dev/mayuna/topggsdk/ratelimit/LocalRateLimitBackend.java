@@ -0,0 +1,69 @@
+package dev.mayuna.topggsdk.ratelimit;
+
+import dev.mayuna.topggsdk.api.Route;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * {@link RateLimitBackend} which keeps rate limits in {@link RateLimitBucket}s of this process. Can be shared between multiple
+ * {@link RateLimiter}s which use the same token.
+ */
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    private final @Getter RateLimitBucket globalBucket;
+    private final @Getter RateLimitBucket botsBucket;
+
+    /**
+     * Creates local rate limit backend
+     *
+     * @param globalBucket Bucket used by all requests
+     * @param botsBucket   Bucket used by requests under <code>/bots</code>
+     */
+    public LocalRateLimitBackend(@NonNull RateLimitBucket globalBucket, @NonNull RateLimitBucket botsBucket) {
+        this.globalBucket = globalBucket;
+        this.botsBucket = botsBucket;
+    }
+
+    /**
+     * Creates local rate limit backend with top.gg's default rate limits (100 requests per second, 60 requests per minute for
+     * <code>/bots</code>)
+     */
+    public LocalRateLimitBackend() {
+        this(new RateLimitBucket("global", 100, 1_000), new RateLimitBucket("bots", 60, 60_000));
+    }
+
+    @Override
+    public synchronized long tryAcquire(@NonNull Route route, long now) {
+        long wait = globalBucket.getWaitMillis(now);
+
+        if (route.isBotsRoute()) {
+            wait = Math.max(wait, botsBucket.getWaitMillis(now));
+        }
+
+        if (wait != 0) {
+            return wait;
+        }
+
+        globalBucket.consume(now);
+
+        if (route.isBotsRoute()) {
+            botsBucket.consume(now);
+        }
+
+        return 0;
+    }
+
+    @Override
+    public void pauseUntil(@NonNull Route route, long until) {
+        getBucket(route).pauseUntil(until);
+    }
+
+    @Override
+    public long getPausedUntil(@NonNull Route route) {
+        return getBucket(route).getPausedUntil();
+    }
+
+    private RateLimitBucket getBucket(Route route) {
+        return route.isBotsRoute() ? botsBucket : globalBucket;
+    }
+}
@@ -0,0 +1,41 @@
+package dev.mayuna.topggsdk.ratelimit;
+
+import dev.mayuna.topggsdk.api.Route;
+import lombok.NonNull;
+
+/**
+ * State of rate limits used by {@link RateLimiter}. Backend decides whether a request can be sent now and remembers
+ * <code>retry-after</code> lockouts.
+ *
+ * @see LocalRateLimitBackend
+ * @see SharedRateLimitBackend
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Tries to acquire permit for specified route from all its buckets. Either all buckets are consumed, or none.
+     *
+     * @param route Non-null {@link Route}
+     * @param now   Current time in milliseconds
+     *
+     * @return Zero if the permit was acquired, otherwise number of milliseconds to wait before trying again
+     */
+    long tryAcquire(@NonNull Route route, long now);
+
+    /**
+     * Pauses bucket(s) used by specified route until specified time, e.g. after top.gg responded with <code>retry-after</code>
+     *
+     * @param route Non-null {@link Route}
+     * @param until Time in milliseconds
+     */
+    void pauseUntil(@NonNull Route route, long until);
+
+    /**
+     * Gets time until which bucket(s) used by specified route are paused
+     *
+     * @param route Non-null {@link Route}
+     *
+     * @return Time in milliseconds (zero or past time if the buckets are not paused)
+     */
+    long getPausedUntil(@NonNull Route route);
+}
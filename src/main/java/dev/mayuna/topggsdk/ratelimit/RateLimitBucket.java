@@ -0,0 +1,105 @@
+package dev.mayuna.topggsdk.ratelimit;
+
+import lombok.Getter;
+
+/**
+ * Token bucket for single rate limit (e.g. 60 requests per minute). Bucket starts full and is refilled continuously. Bucket can also be
+ * paused, for example when top.gg responds with <code>retry-after</code>.
+ */
+public class RateLimitBucket {
+
+    private final @Getter String name;
+    private final @Getter int limit;
+    private final @Getter long periodMillis;
+
+    private final double tokensPerMillis;
+
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+
+    /**
+     * Creates token bucket
+     *
+     * @param name         Name of the bucket
+     * @param limit        Number of requests allowed per period
+     * @param periodMillis Period in milliseconds
+     */
+    public RateLimitBucket(String name, int limit, long periodMillis) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than zero!");
+        }
+
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("Period must be greater than zero!");
+        }
+
+        this.name = name;
+        this.limit = limit;
+        this.periodMillis = periodMillis;
+        this.tokensPerMillis = (double) limit / periodMillis;
+        this.tokens = limit;
+        this.lastRefill = System.currentTimeMillis();
+    }
+
+    /**
+     * Computes how long it is needed to wait for next token. Does not consume the token.
+     *
+     * @param now Current time in milliseconds
+     *
+     * @return Zero if token is available, otherwise number of milliseconds to wait
+     */
+    public synchronized long getWaitMillis(long now) {
+        if (pausedUntil > now) {
+            return pausedUntil - now;
+        }
+
+        refill(now);
+
+        if (tokens >= 1) {
+            return 0;
+        }
+
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerMillis));
+    }
+
+    /**
+     * Consumes one token. Should be called only after {@link #getWaitMillis(long)} returned zero.
+     *
+     * @param now Current time in milliseconds
+     */
+    public synchronized void consume(long now) {
+        refill(now);
+        tokens = Math.max(0, tokens - 1);
+    }
+
+    /**
+     * Pauses the bucket until specified time. All tokens are removed.
+     *
+     * @param until Time in milliseconds
+     */
+    public synchronized void pauseUntil(long until) {
+        if (until > pausedUntil) {
+            pausedUntil = until;
+        }
+
+        tokens = 0;
+        lastRefill = Math.max(lastRefill, until);
+    }
+
+    /**
+     * Gets time until which the bucket is paused
+     *
+     * @return Time in milliseconds (zero or past time if the bucket is not paused)
+     */
+    public synchronized long getPausedUntil() {
+        return pausedUntil;
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(limit, tokens + (now - lastRefill) * tokensPerMillis);
+            lastRefill = now;
+        }
+    }
+}
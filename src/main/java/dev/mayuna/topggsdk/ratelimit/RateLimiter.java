@@ -0,0 +1,330 @@
+package dev.mayuna.topggsdk.ratelimit;
+
+import dev.mayuna.topggsdk.api.Route;
+import dev.mayuna.topggsdk.api.TopGGAPIResponse;
+import dev.mayuna.topggsdk.util.ThreadUtils;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Client-side rate limiter which follows top.gg's published rate limits. Requests are queued instead of being sent when there are no
+ * tokens left. There are two buckets:<br>
+ * - Global: 100 requests per second (all requests)<br>
+ * - Bots: 60 requests per minute (requests under <code>/bots</code>)<br>
+ * When top.gg responds with <code>retry-after</code>, the bucket is paused and the request is queued again (at most
+ * {@link #getMaxRetries()} times).<br>
+ * Buckets are kept by {@link RateLimitBackend}. By default, they are in this process ({@link LocalRateLimitBackend}), processes which use the
+ * same token can share them by {@link SharedRateLimitBackend}.
+ *
+ * @see <a href="https://docs.top.gg/resources/ratelimits/">https://docs.top.gg/resources/ratelimits/</a>
+ */
+public class RateLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimiter.class);
+
+    private final @Getter RateLimitBackend backend;
+    private final @Getter int maxRetries;
+
+    private final Deque<PendingRequest<?>> globalQueue = new ArrayDeque<>();
+    private final Deque<PendingRequest<?>> botsQueue = new ArrayDeque<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(ThreadUtils.createPlatformThreadFactory("TopGG-RateLimiter"));
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder queuedRequests = new LongAdder();
+    private final LongAdder rateLimitedResponses = new LongAdder();
+    private final LongAdder totalWaitMillis = new LongAdder();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    private long scheduledDrainAt = Long.MAX_VALUE;
+
+    /**
+     * Creates rate limiter with top.gg's default rate limits (100 requests per second, 60 requests per minute for <code>/bots</code>)
+     */
+    public RateLimiter() {
+        this(new LocalRateLimitBackend(), 3);
+    }
+
+    /**
+     * Creates rate limiter with specified buckets
+     *
+     * @param globalBucket Bucket used by all requests
+     * @param botsBucket   Bucket used by requests under <code>/bots</code>
+     * @param maxRetries   How many times can be single request queued again after top.gg responded with <code>retry-after</code>
+     */
+    public RateLimiter(@NonNull RateLimitBucket globalBucket, @NonNull RateLimitBucket botsBucket, int maxRetries) {
+        this(new LocalRateLimitBackend(globalBucket, botsBucket), maxRetries);
+    }
+
+    /**
+     * Creates rate limiter with specified backend
+     *
+     * @param backend    Non-null {@link RateLimitBackend}, e.g. {@link SharedRateLimitBackend}
+     * @param maxRetries How many times can be single request queued again after top.gg responded with <code>retry-after</code>
+     */
+    public RateLimiter(@NonNull RateLimitBackend backend, int maxRetries) {
+        this.backend = backend;
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * Submits request. The request is sent immediately if there are tokens in its buckets and there are no other requests waiting,
+     * otherwise it is queued.
+     *
+     * @param route   Request's {@link Route}
+     * @param request Supplier which sends the request
+     * @param <T>     Response type
+     *
+     * @return {@link CompletableFuture} which completes with the response
+     */
+    public <T> CompletableFuture<T> submit(@NonNull Route route, @NonNull Supplier<CompletableFuture<T>> request) {
+        PendingRequest<T> pendingRequest = new PendingRequest<>(route, request);
+        requests.increment();
+
+        boolean sendNow;
+
+        synchronized (this) {
+            Deque<PendingRequest<?>> queue = getQueue(route);
+            sendNow = queue.isEmpty() && backend.tryAcquire(route, System.currentTimeMillis()) == 0;
+
+            if (!sendNow) {
+                queue.addLast(pendingRequest);
+                queuedRequests.increment();
+                scheduleDrain(0);
+            }
+        }
+
+        if (sendNow) {
+            send(pendingRequest);
+        }
+
+        return pendingRequest.future;
+    }
+
+    /**
+     * Pauses bucket(s) used by specified route
+     *
+     * @param route        {@link Route}
+     * @param pausedMillis For how long should be the bucket paused
+     */
+    public void pause(@NonNull Route route, long pausedMillis) {
+        backend.pauseUntil(route, System.currentTimeMillis() + pausedMillis);
+
+        synchronized (this) {
+            scheduleDrain(pausedMillis);
+        }
+    }
+
+    /**
+     * Gets bucket used by all requests
+     *
+     * @return {@link RateLimitBucket} or null if the backend is not {@link LocalRateLimitBackend}
+     */
+    public RateLimitBucket getGlobalBucket() {
+        return backend instanceof LocalRateLimitBackend ? ((LocalRateLimitBackend) backend).getGlobalBucket() : null;
+    }
+
+    /**
+     * Gets bucket used by requests under <code>/bots</code>
+     *
+     * @return {@link RateLimitBucket} or null if the backend is not {@link LocalRateLimitBackend}
+     */
+    public RateLimitBucket getBotsBucket() {
+        return backend instanceof LocalRateLimitBackend ? ((LocalRateLimitBackend) backend).getBotsBucket() : null;
+    }
+
+    /**
+     * Stops the rate limiter's scheduler. Queued requests will not be sent.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Gets number of requests waiting in the queues
+     *
+     * @return Queue depth
+     */
+    public synchronized int getQueueDepth() {
+        return globalQueue.size() + botsQueue.size();
+    }
+
+    /**
+     * Gets number of requests which were submitted to the rate limiter
+     *
+     * @return Number of requests
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Gets number of requests which had to be queued
+     *
+     * @return Number of queued requests
+     */
+    public long getQueuedRequestCount() {
+        return queuedRequests.sum();
+    }
+
+    /**
+     * Gets number of responses with <code>retry-after</code>
+     *
+     * @return Number of rate limited responses
+     */
+    public long getRateLimitedCount() {
+        return rateLimitedResponses.sum();
+    }
+
+    /**
+     * Gets total time requests have spent waiting in the queues
+     *
+     * @return Wait time in milliseconds
+     */
+    public long getTotalWaitMillis() {
+        return totalWaitMillis.sum();
+    }
+
+    /**
+     * Gets average time which request spent waiting in the queue
+     *
+     * @return Average wait time in milliseconds
+     */
+    public double getAverageWaitMillis() {
+        long count = requests.sum();
+        return count == 0 ? 0 : (double) totalWaitMillis.sum() / count;
+    }
+
+    /**
+     * Gets the longest time single request spent waiting in the queue
+     *
+     * @return Maximum wait time in milliseconds
+     */
+    public long getMaxWaitMillis() {
+        return maxWaitMillis.get();
+    }
+
+    private Deque<PendingRequest<?>> getQueue(Route route) {
+        return route.isBotsRoute() ? botsQueue : globalQueue;
+    }
+
+    private void scheduleDrain(long delayMillis) {
+        long drainAt = System.currentTimeMillis() + delayMillis;
+
+        if (drainAt >= scheduledDrainAt) {
+            return;
+        }
+
+        scheduledDrainAt = drainAt;
+        scheduler.schedule(this::drain, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void drain() {
+        Deque<PendingRequest<?>> toSend = new ArrayDeque<>();
+
+        synchronized (this) {
+            scheduledDrainAt = Long.MAX_VALUE;
+
+            long now = System.currentTimeMillis();
+            long nextDrain = Long.MAX_VALUE;
+
+            nextDrain = Math.min(nextDrain, drainQueue(botsQueue, toSend, now));
+            nextDrain = Math.min(nextDrain, drainQueue(globalQueue, toSend, now));
+
+            if (nextDrain != Long.MAX_VALUE) {
+                scheduleDrain(nextDrain);
+            }
+        }
+
+        for (PendingRequest<?> pendingRequest : toSend) {
+            send(pendingRequest);
+        }
+    }
+
+    private long drainQueue(Deque<PendingRequest<?>> queue, Deque<PendingRequest<?>> toSend, long now) {
+        PendingRequest<?> pendingRequest;
+
+        while ((pendingRequest = queue.peekFirst()) != null) {
+            long wait = backend.tryAcquire(pendingRequest.route, now);
+
+            if (wait != 0) {
+                return wait;
+            }
+
+            toSend.add(queue.pollFirst());
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    private <T> void send(PendingRequest<T> pendingRequest) {
+        if (pendingRequest.attempts == 0) {
+            long waited = System.currentTimeMillis() - pendingRequest.submittedAt;
+            totalWaitMillis.add(waited);
+            maxWaitMillis.accumulateAndGet(waited, Math::max);
+        }
+
+        CompletableFuture<T> response;
+
+        try {
+            response = pendingRequest.request.get();
+        } catch (Exception exception) {
+            pendingRequest.future.completeExceptionally(exception);
+            return;
+        }
+
+        response.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                pendingRequest.future.completeExceptionally(throwable);
+                return;
+            }
+
+            if (result instanceof TopGGAPIResponse) {
+                long retryAfter = ((TopGGAPIResponse) result).getRetryAfter();
+
+                if (retryAfter > 0) {
+                    rateLimitedResponses.increment();
+                    pause(pendingRequest.route, retryAfter * 1000);
+
+                    if (pendingRequest.attempts++ < maxRetries) {
+                        LOGGER.warn("Top.gg responded with retry-after {}s on {}, request has been queued again.", retryAfter, pendingRequest.route);
+
+                        synchronized (this) {
+                            getQueue(pendingRequest.route).addFirst(pendingRequest);
+                        }
+                        return;
+                    }
+
+                    LOGGER.warn("Top.gg responded with retry-after {}s on {} and the request has been already retried {} times.", retryAfter, pendingRequest.route, maxRetries);
+                }
+            }
+
+            pendingRequest.future.complete(result);
+        });
+    }
+
+    private static class PendingRequest<T> {
+
+        private final Route route;
+        private final Supplier<CompletableFuture<T>> request;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long submittedAt = System.currentTimeMillis();
+        private int attempts;
+
+        private PendingRequest(Route route, Supplier<CompletableFuture<T>> request) {
+            this.route = route;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package dev.mayuna.topggsdk.ratelimit;
+
+import dev.mayuna.topggsdk.api.Route;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link RateLimitBackend} whose state is shared by all processes on the same host through memory-mapped file, e.g. by multiple shard
+ * JVMs which use the same token. Put the file on tmpfs (e.g. <code>/dev/shm</code>) and use one file per token.<br>
+ * Every bucket is single long (theoretical arrival time of the next request, GCRA), which is updated by lock-free compare-and-set
+ * directly in the mapped memory. Bucket with limit L per period P allows burst of L requests and then one request every P / L, which
+ * is the same as token bucket. <code>retry-after</code> lockout seen by one process pauses the bucket in all processes.<br>
+ * All processes must use the same limits, opening the file with different limits fails.
+ */
+public class SharedRateLimitBackend implements RateLimitBackend, Closeable {
+
+    public static final int FILE_SIZE = 192;
+
+    private static final long MAGIC = 0x5447475348524C31L; // TGGSHRL1
+    private static final int VERSION = 1;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    // Buckets are on separate cache lines
+    private static final int GLOBAL_OFFSET = 64;
+    private static final int BOTS_OFFSET = 128;
+    private static final int TAT_OFFSET = 0;
+    private static final int PAUSED_UNTIL_OFFSET = 8;
+
+    private final @Getter Path path;
+    private final @Getter int globalLimit;
+    private final @Getter long globalPeriodMillis;
+    private final @Getter int botsLimit;
+    private final @Getter long botsPeriodMillis;
+
+    private final FileChannel fileChannel;
+    private final MappedByteBuffer buffer;
+
+    private SharedRateLimitBackend(Path path, int globalLimit, long globalPeriodMillis, int botsLimit, long botsPeriodMillis) throws IOException {
+        this.path = path;
+        this.globalLimit = globalLimit;
+        this.globalPeriodMillis = globalPeriodMillis;
+        this.botsLimit = botsLimit;
+        this.botsPeriodMillis = botsPeriodMillis;
+        this.fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            this.buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            initialize();
+        } catch (IOException | RuntimeException exception) {
+            fileChannel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Opens shared rate limit backend. If the file does not exist, it is created.
+     *
+     * @param path               Path to the file, e.g. <code>/dev/shm/topgg-ratelimit</code>
+     * @param globalLimit        Number of requests allowed per global period
+     * @param globalPeriodMillis Global period in milliseconds
+     * @param botsLimit          Number of requests under <code>/bots</code> allowed per bots period
+     * @param botsPeriodMillis   Bots period in milliseconds
+     *
+     * @return Opened {@link SharedRateLimitBackend}
+     *
+     * @throws IOException If the file could not be opened, it is not a shared rate limit file or it has different limits
+     */
+    public static SharedRateLimitBackend open(@NonNull Path path, int globalLimit, long globalPeriodMillis, int botsLimit, long botsPeriodMillis) throws IOException {
+        if (globalLimit <= 0 || botsLimit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than zero!");
+        }
+
+        if (globalPeriodMillis <= 0 || botsPeriodMillis <= 0) {
+            throw new IllegalArgumentException("Period must be greater than zero!");
+        }
+
+        return new SharedRateLimitBackend(path, globalLimit, globalPeriodMillis, botsLimit, botsPeriodMillis);
+    }
+
+    /**
+     * Opens shared rate limit backend with top.gg's default rate limits (100 requests per second, 60 requests per minute for
+     * <code>/bots</code>)
+     *
+     * @param path Path to the file, e.g. <code>/dev/shm/topgg-ratelimit</code>
+     *
+     * @return Opened {@link SharedRateLimitBackend}
+     *
+     * @throws IOException If the file could not be opened, it is not a shared rate limit file or it has different limits
+     */
+    public static SharedRateLimitBackend open(@NonNull Path path) throws IOException {
+        return open(path, 100, 1_000, 60, 60_000);
+    }
+
+    private void initialize() throws IOException {
+        // Only one process initializes the file, others wait for the lock and then validate it
+        FileLock fileLock = fileChannel.lock();
+
+        try {
+            if (buffer.getLong(0) == 0) {
+                buffer.putInt(8, VERSION);
+                buffer.putLong(16, globalLimit);
+                buffer.putLong(24, globalPeriodMillis);
+                buffer.putLong(32, botsLimit);
+                buffer.putLong(40, botsPeriodMillis);
+                buffer.putLong(0, MAGIC);
+                buffer.force();
+                return;
+            }
+
+            if (buffer.getLong(0) != MAGIC || buffer.getInt(8) != VERSION) {
+                throw new IOException("File " + path + " is not a shared rate limit file or has unsupported version!");
+            }
+
+            if (buffer.getLong(16) != globalLimit || buffer.getLong(24) != globalPeriodMillis || buffer.getLong(32) != botsLimit || buffer.getLong(40) != botsPeriodMillis) {
+                throw new IOException("File " + path + " is used with different rate limits! All processes must use the same limits.");
+            }
+        } finally {
+            fileLock.release();
+        }
+    }
+
+    @Override
+    public long tryAcquire(@NonNull Route route, long now) {
+        long nowMicros = now * 1000;
+
+        if (!route.isBotsRoute()) {
+            return tryAcquire(GLOBAL_OFFSET, globalLimit, globalPeriodMillis, nowMicros);
+        }
+
+        // The stricter bucket first, its permit is returned when the global bucket is empty
+        long wait = tryAcquire(BOTS_OFFSET, botsLimit, botsPeriodMillis, nowMicros);
+
+        if (wait != 0) {
+            return wait;
+        }
+
+        wait = tryAcquire(GLOBAL_OFFSET, globalLimit, globalPeriodMillis, nowMicros);
+
+        if (wait != 0) {
+            release(BOTS_OFFSET, botsLimit, botsPeriodMillis);
+        }
+
+        return wait;
+    }
+
+    @Override
+    public void pauseUntil(@NonNull Route route, long until) {
+        int offset = route.isBotsRoute() ? BOTS_OFFSET : GLOBAL_OFFSET;
+        long periodMillis = route.isBotsRoute() ? botsPeriodMillis : globalPeriodMillis;
+
+        accumulateMax(offset + PAUSED_UNTIL_OFFSET, until);
+        // Bucket is empty at the given time, the same as when all its permits were used at once
+        accumulateMax(offset + TAT_OFFSET, (until + periodMillis) * 1000);
+    }
+
+    @Override
+    public long getPausedUntil(@NonNull Route route) {
+        return (long) LONGS.getVolatile(buffer, (route.isBotsRoute() ? BOTS_OFFSET : GLOBAL_OFFSET) + PAUSED_UNTIL_OFFSET);
+    }
+
+    /**
+     * Resets all buckets (they will be full) and removes pauses in all processes
+     */
+    public void reset() {
+        LONGS.setVolatile(buffer, GLOBAL_OFFSET + TAT_OFFSET, 0L);
+        LONGS.setVolatile(buffer, GLOBAL_OFFSET + PAUSED_UNTIL_OFFSET, 0L);
+        LONGS.setVolatile(buffer, BOTS_OFFSET + TAT_OFFSET, 0L);
+        LONGS.setVolatile(buffer, BOTS_OFFSET + PAUSED_UNTIL_OFFSET, 0L);
+    }
+
+    /**
+     * Closes the file. Other processes are not affected.
+     *
+     * @throws IOException If the file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        fileChannel.close();
+    }
+
+    private long tryAcquire(int offset, int limit, long periodMillis, long nowMicros) {
+        long emissionMicros = periodMillis * 1000 / limit;
+        long toleranceMicros = periodMillis * 1000 - emissionMicros;
+
+        while (true) {
+            long tat = (long) LONGS.getVolatile(buffer, offset + TAT_OFFSET);
+            long start = Math.max(tat, nowMicros);
+            long waitMicros = start - nowMicros - toleranceMicros;
+
+            if (waitMicros > 0) {
+                return Math.max(1, (waitMicros + 999) / 1000);
+            }
+
+            if (LONGS.compareAndSet(buffer, offset + TAT_OFFSET, tat, start + emissionMicros)) {
+                return 0;
+            }
+        }
+    }
+
+    private void release(int offset, int limit, long periodMillis) {
+        LONGS.getAndAdd(buffer, offset + TAT_OFFSET, -(periodMillis * 1000 / limit));
+    }
+
+    private void accumulateMax(int offset, long value) {
+        long current;
+
+        do {
+            current = (long) LONGS.getVolatile(buffer, offset);
+
+            if (current >= value) {
+                return;
+            }
+        } while (!LONGS.compareAndSet(buffer, offset, current, value));
+    }
+}
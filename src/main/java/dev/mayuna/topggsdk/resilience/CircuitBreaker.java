@@ -0,0 +1,172 @@
+package dev.mayuna.topggsdk.resilience;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Circuit breaker of single endpoint. After {@link #getFailureThreshold()} consecutive failures the breaker opens and requests fail fast
+ * for {@link #getOpenDurationMillis()}. Then single probe request is let through (half-open state): if it succeeds the breaker closes,
+ * otherwise it opens again.
+ */
+public class CircuitBreaker {
+
+    private final @Getter String name;
+    private final @Getter int failureThreshold;
+    private final @Getter long openDurationMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0;
+    private boolean probing = false;
+
+    private long openedCount = 0;
+    private long rejectedCount = 0;
+
+    /**
+     * Creates circuit breaker
+     *
+     * @param name               Non-null name (endpoint)
+     * @param failureThreshold   Number of consecutive failures which opens the breaker
+     * @param openDurationMillis For how long requests fail fast before the breaker is probed
+     */
+    public CircuitBreaker(@NonNull String name, int failureThreshold, long openDurationMillis) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Failure threshold must be greater than zero!");
+        }
+
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+    }
+
+    /**
+     * Determines if request may be sent. In half-open state only single probe request is allowed.
+     *
+     * @return True if the request may be sent, false if it should fail fast
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt < openDurationMillis) {
+                    rejectedCount++;
+                    return false;
+                }
+
+                state = State.HALF_OPEN;
+                probing = true;
+                return true;
+            case HALF_OPEN:
+            default:
+                if (probing) {
+                    rejectedCount++;
+                    return false;
+                }
+
+                probing = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records successful request (top.gg responded). Closes the breaker.
+     */
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        probing = false;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Records failed request (top.gg did not respond or responded with invalid response). Opens the breaker after
+     * {@link #getFailureThreshold()} consecutive failures or when the probe failed.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            openedCount++;
+        }
+
+        probing = false;
+    }
+
+    /**
+     * Gets current state. Open breaker whose open duration has elapsed is still reported as {@link State#OPEN} until a request probes it.
+     *
+     * @return Non-null {@link State}
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Determines if requests are currently allowed (the breaker is closed, or it can be probed)
+     *
+     * @return True if requests are allowed
+     */
+    public synchronized boolean isAvailable() {
+        return state == State.CLOSED || (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMillis) || (state == State.HALF_OPEN && !probing);
+    }
+
+    /**
+     * Gets number of milliseconds until the open breaker can be probed
+     *
+     * @return Milliseconds, zero if the breaker is not open
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+
+        return Math.max(0, openDurationMillis - (System.currentTimeMillis() - openedAt));
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Gets how many times has the breaker opened
+     *
+     * @return Number of times
+     */
+    public synchronized long getOpenedCount() {
+        return openedCount;
+    }
+
+    /**
+     * Gets number of requests which failed fast
+     *
+     * @return Number of requests
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{" + name + ", " + getState() + "}";
+    }
+
+    /**
+     * Circuit breaker's state
+     */
+    public enum State {
+        /**
+         * Requests are sent
+         */
+        CLOSED,
+        /**
+         * Requests fail fast
+         */
+        OPEN,
+        /**
+         * Single probe request is being sent
+         */
+        HALF_OPEN;
+    }
+}
@@ -0,0 +1,21 @@
+package dev.mayuna.topggsdk.resilience;
+
+import lombok.Getter;
+
+/**
+ * Thrown (as cause of failed {@link java.util.concurrent.CompletableFuture}) when the request failed fast, because endpoint's
+ * {@link CircuitBreaker} is open
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final @Getter String endpoint;
+    private final @Getter long remainingOpenMillis;
+
+    public CircuitOpenException(String endpoint, long remainingOpenMillis) {
+        super("Circuit breaker of endpoint " + endpoint + " is open, top.gg seems to be unavailable (next probe in " + remainingOpenMillis + "ms)");
+        this.endpoint = endpoint;
+        this.remainingOpenMillis = remainingOpenMillis;
+    }
+}
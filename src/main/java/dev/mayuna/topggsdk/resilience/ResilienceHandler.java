@@ -0,0 +1,315 @@
+package dev.mayuna.topggsdk.resilience;
+
+import dev.mayuna.topggsdk.api.Route;
+import dev.mayuna.topggsdk.api.TopGGAPIResponse;
+import dev.mayuna.topggsdk.util.ThreadUtils;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer around requests to top.gg's API:<br>
+ * - Failed idempotent requests (GET) are retried with capped exponential backoff with jitter. POST requests are never retried.<br>
+ * - Responses with <code>retry-after</code> are retried after the specified time (only when there is no rate limiter, which does that on
+ * its own).<br>
+ * - Every endpoint has its own {@link CircuitBreaker}, requests to endpoint with open breaker fail fast with {@link CircuitOpenException}.
+ * <br>
+ * Request failed when it could not be sent or its response could not be read. Responses with error (e.g. 404) are not failures.
+ */
+public class ResilienceHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResilienceHandler.class);
+
+    private final @Getter Settings settings;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(ThreadUtils.createPlatformThreadFactory("TopGG-Retry"));
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failedFast = new LongAdder();
+
+    public ResilienceHandler(@NonNull Settings settings) {
+        this.settings = settings;
+    }
+
+    public ResilienceHandler() {
+        this(Settings.create());
+    }
+
+    /**
+     * Executes request
+     *
+     * @param route             Request's {@link Route}
+     * @param request           Supplier which sends the request (called once per attempt)
+     * @param retryOnRetryAfter True if responses with <code>retry-after</code> should be retried
+     * @param <T>               Response type
+     *
+     * @return {@link CompletableFuture} which completes with the last response, or exceptionally with the last exception
+     */
+    public <T> CompletableFuture<T> execute(@NonNull Route route, @NonNull Supplier<CompletableFuture<T>> request, boolean retryOnRetryAfter) {
+        CircuitBreaker circuitBreaker = getCircuitBreaker(route.getEndpoint());
+
+        if (!circuitBreaker.tryAcquire()) {
+            failedFast.increment();
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(new CircuitOpenException(route.getEndpoint(), circuitBreaker.getRemainingOpenMillis()));
+            return future;
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        attempt(route, circuitBreaker, request, retryOnRetryAfter, 1, future);
+        return future;
+    }
+
+    private <T> void attempt(Route route, CircuitBreaker circuitBreaker, Supplier<CompletableFuture<T>> request, boolean retryOnRetryAfter, int attempt, CompletableFuture<T> future) {
+        CompletableFuture<T> response;
+
+        try {
+            response = request.get();
+        } catch (Throwable throwable) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(throwable);
+        }
+
+        response.whenComplete((result, throwable) -> {
+            boolean canRetry = route.isIdempotent() && attempt < settings.getMaxAttempts();
+
+            if (throwable == null) {
+                circuitBreaker.recordSuccess();
+
+                long retryAfterMillis = result instanceof TopGGAPIResponse ? ((TopGGAPIResponse) result).getRetryAfter() * 1000 : -1;
+
+                if (retryOnRetryAfter && canRetry && retryAfterMillis > 0 && retryAfterMillis <= settings.getMaxRetryAfterMillis()) {
+                    LOGGER.debug("Top.gg responded with retry-after {}ms on {}, retrying (attempt {})", retryAfterMillis, route, attempt + 1);
+                    scheduleRetry(route, circuitBreaker, request, retryOnRetryAfter, attempt, future, retryAfterMillis, null);
+                    return;
+                }
+
+                future.complete(result);
+                return;
+            }
+
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            circuitBreaker.recordFailure();
+
+            if (!canRetry) {
+                future.completeExceptionally(cause);
+                return;
+            }
+
+            long delay = computeBackoffMillis(attempt);
+            LOGGER.debug("Request {} failed ({}), retrying in {}ms (attempt {})", route, cause, delay, attempt + 1);
+            scheduleRetry(route, circuitBreaker, request, retryOnRetryAfter, attempt, future, delay, cause);
+        });
+    }
+
+    private <T> void scheduleRetry(Route route, CircuitBreaker circuitBreaker, Supplier<CompletableFuture<T>> request, boolean retryOnRetryAfter, int attempt, CompletableFuture<T> future, long delayMillis, Throwable cause) {
+        retries.increment();
+
+        try {
+            scheduler.schedule(() -> {
+                if (!circuitBreaker.tryAcquire()) {
+                    failedFast.increment();
+                    future.completeExceptionally(cause != null ? cause : new CircuitOpenException(route.getEndpoint(), circuitBreaker.getRemainingOpenMillis()));
+                    return;
+                }
+
+                attempt(route, circuitBreaker, request, retryOnRetryAfter, attempt + 1, future);
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException exception) {
+            // Scheduler has been shut down
+            future.completeExceptionally(cause != null ? cause : exception);
+        }
+    }
+
+    /**
+     * Computes delay before next attempt: exponential backoff capped at {@link Settings#getMaxDelayMillis()} with jitter (the delay is
+     * random between half and full backoff), so clients do not retry in sync
+     *
+     * @param attempt Number of the failed attempt (starting at 1)
+     *
+     * @return Delay in milliseconds
+     */
+    public long computeBackoffMillis(int attempt) {
+        long backoff = Math.min(settings.getMaxDelayMillis(), settings.getBaseDelayMillis() << Math.min(attempt - 1, 30));
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+    }
+
+    /**
+     * Gets circuit breaker of specified endpoint, e.g. <code>/bots/{bot_id}/check</code> (see {@link Route#getEndpoint()})
+     *
+     * @param endpoint Non-null endpoint
+     *
+     * @return Non-null {@link CircuitBreaker}
+     */
+    public CircuitBreaker getCircuitBreaker(@NonNull String endpoint) {
+        return circuitBreakers.computeIfAbsent(endpoint, name -> new CircuitBreaker(name, settings.getFailureThreshold(), settings.getOpenDurationMillis()));
+    }
+
+    /**
+     * Gets state of specified endpoint's circuit breaker
+     *
+     * @param endpoint Non-null endpoint, e.g. <code>/bots/{bot_id}/check</code>
+     *
+     * @return Non-null {@link CircuitBreaker.State}
+     */
+    public CircuitBreaker.State getState(@NonNull String endpoint) {
+        return getCircuitBreaker(endpoint).getState();
+    }
+
+    /**
+     * Determines if requests to specified endpoint are currently allowed. When false, requests fail fast and it may be better to use cached
+     * or optimistic answer instead.
+     *
+     * @param endpoint Non-null endpoint, e.g. <code>/bots/{bot_id}/check</code>
+     *
+     * @return True if requests are allowed
+     */
+    public boolean isAvailable(@NonNull String endpoint) {
+        return getCircuitBreaker(endpoint).isAvailable();
+    }
+
+    /**
+     * Gets all circuit breakers (by endpoint) which were used so far
+     *
+     * @return Non-null unmodifiable map
+     */
+    public Map<String, CircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(circuitBreakers);
+    }
+
+    /**
+     * Gets number of scheduled retries
+     *
+     * @return Number of retries
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * Gets number of requests which failed fast because of open circuit breaker
+     *
+     * @return Number of requests
+     */
+    public long getFailedFastCount() {
+        return failedFast.sum();
+    }
+
+    /**
+     * Stops the scheduler, pending retries are not sent
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public static class Settings {
+
+        private @Getter int maxAttempts = 3;
+        private @Getter long baseDelayMillis = 250;
+        private @Getter long maxDelayMillis = 10_000;
+        private @Getter long maxRetryAfterMillis = 60_000;
+        private @Getter int failureThreshold = 5;
+        private @Getter long openDurationMillis = 30_000;
+
+        private Settings() {}
+
+        public static Settings create() {
+            return new Settings();
+        }
+
+        /**
+         * Sets maximum number of attempts of idempotent request (including the first one). Use 1 to disable retries.
+         *
+         * @param maxAttempts Maximum number of attempts
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withMaxAttempts(int maxAttempts) {
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("Max attempts must be greater than zero!");
+            }
+
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets backoff of the first retry, every next retry doubles it
+         *
+         * @param baseDelayMillis Delay in milliseconds
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withBaseDelayMillis(long baseDelayMillis) {
+            if (baseDelayMillis <= 0) {
+                throw new IllegalArgumentException("Base delay must be greater than zero!");
+            }
+
+            this.baseDelayMillis = baseDelayMillis;
+            return this;
+        }
+
+        public Settings withMaxDelayMillis(long maxDelayMillis) {
+            if (maxDelayMillis <= 0) {
+                throw new IllegalArgumentException("Max delay must be greater than zero!");
+            }
+
+            this.maxDelayMillis = maxDelayMillis;
+            return this;
+        }
+
+        /**
+         * Sets maximum <code>retry-after</code> which is waited for. Responses with longer <code>retry-after</code> are returned.
+         *
+         * @param maxRetryAfterMillis Maximum retry-after in milliseconds
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withMaxRetryAfterMillis(long maxRetryAfterMillis) {
+            this.maxRetryAfterMillis = maxRetryAfterMillis;
+            return this;
+        }
+
+        /**
+         * Sets number of consecutive failures which opens endpoint's circuit breaker
+         *
+         * @param failureThreshold Number of failures
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withFailureThreshold(int failureThreshold) {
+            if (failureThreshold <= 0) {
+                throw new IllegalArgumentException("Failure threshold must be greater than zero!");
+            }
+
+            this.failureThreshold = failureThreshold;
+            return this;
+        }
+
+        /**
+         * Sets for how long requests fail fast before open circuit breaker is probed
+         *
+         * @param openDurationMillis Duration in milliseconds
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withOpenDurationMillis(long openDurationMillis) {
+            this.openDurationMillis = openDurationMillis;
+            return this;
+        }
+    }
+}
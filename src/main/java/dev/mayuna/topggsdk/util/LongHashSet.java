@@ -0,0 +1,222 @@
+package dev.mayuna.topggsdk.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of primitive longs (linear probing), e.g. for Discord IDs. Uses 8-16 bytes per element instead of ~70 bytes of
+ * <code>HashSet&lt;Long&gt;</code>. Not thread-safe.
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    private boolean hasZeroKey;
+
+    /**
+     * Creates set which can hold specified number of elements without resizing
+     *
+     * @param expectedSize Expected number of elements
+     */
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) Math.min(1 << 30, expectedSize * 2L)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    /**
+     * Determines if the set contains specified value
+     *
+     * @param value Value
+     *
+     * @return True if the value is present
+     */
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return hasZeroKey;
+        }
+
+        int index = mix(value) & mask;
+
+        while (keys[index] != EMPTY) {
+            if (keys[index] == value) {
+                return true;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds value
+     *
+     * @param value Value
+     *
+     * @return True if the value was not present
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (hasZeroKey) {
+                return false;
+            }
+
+            hasZeroKey = true;
+            size++;
+            return true;
+        }
+
+        int index = mix(value) & mask;
+
+        while (keys[index] != EMPTY) {
+            if (keys[index] == value) {
+                return false;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = value;
+
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes value
+     *
+     * @param value Value
+     *
+     * @return True if the value was removed
+     */
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                size--;
+                return true;
+            }
+
+            return false;
+        }
+
+        int index = mix(value) & mask;
+
+        while (keys[index] != EMPTY) {
+            if (keys[index] == value) {
+                shiftKeys(index);
+                size--;
+                return true;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return false;
+    }
+
+    /**
+     * Copies all values into new array (in no particular order)
+     *
+     * @return Non-null array
+     */
+    public long[] toArray() {
+        long[] values = new long[size];
+        int count = 0;
+
+        if (hasZeroKey) {
+            values[count++] = EMPTY;
+        }
+
+        for (long key : keys) {
+            if (key != EMPTY) {
+                values[count++] = key;
+            }
+        }
+
+        return values;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    private void shiftKeys(int index) {
+        // Backward shift deletion, see LongLongHashMap
+        int last;
+
+        while (true) {
+            last = index;
+            index = (index + 1) & mask;
+
+            while (true) {
+                long key = keys[index];
+
+                if (key == EMPTY) {
+                    keys[last] = EMPTY;
+                    return;
+                }
+
+                int slot = mix(key) & mask;
+
+                if (last <= index ? (last >= slot || slot > index) : (last >= slot && slot > index)) {
+                    break;
+                }
+
+                index = (index + 1) & mask;
+            }
+
+            keys[last] = keys[index];
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+
+        allocate(newCapacity);
+
+        for (long key : oldKeys) {
+            if (key != EMPTY) {
+                int index = mix(key) & mask;
+
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+
+                keys[index] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity / 2;
+    }
+
+    private static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,254 @@
+package dev.mayuna.topggsdk.util;
+
+/**
+ * Open-addressing hash map with primitive long keys and values (linear probing). Does not allocate on get, put or remove. Not
+ * thread-safe.
+ */
+public class LongLongHashMap {
+
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    /**
+     * Creates map which can hold specified number of entries without resizing
+     *
+     * @param expectedSize Expected number of entries
+     */
+    public LongLongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) Math.min(1 << 30, expectedSize * 2L)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public LongLongHashMap() {
+        this(16);
+    }
+
+    /**
+     * Gets value of specified key
+     *
+     * @param key          Key
+     * @param defaultValue Value returned when the key is not present
+     *
+     * @return Value or default value
+     */
+    public long get(long key, long defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Determines if the map contains specified key
+     *
+     * @param key Key
+     *
+     * @return True if the key is present
+     */
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Puts value
+     *
+     * @param key   Key
+     * @param value Value
+     */
+    public void put(long key, long value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+
+            zeroValue = value;
+            return;
+        }
+
+        int index = mix(key) & mask;
+
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Removes key
+     *
+     * @param key Key
+     *
+     * @return True if the key was removed
+     */
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                size--;
+                return true;
+            }
+
+            return false;
+        }
+
+        int index = indexOf(key);
+
+        if (index < 0) {
+            return false;
+        }
+
+        shiftKeys(index);
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes all entries whose value is smaller than specified threshold (e.g. expired timestamps)
+     *
+     * @param threshold Threshold
+     *
+     * @return Number of removed entries
+     */
+    public int removeValuesLessThan(long threshold) {
+        int removed = 0;
+
+        if (hasZeroKey && zeroValue < threshold) {
+            hasZeroKey = false;
+            size--;
+            removed++;
+        }
+
+        int index = 0;
+
+        while (index < keys.length) {
+            if (keys[index] != EMPTY && values[index] < threshold) {
+                // Shifting may move another entry into this slot, so the slot is checked again
+                shiftKeys(index);
+                size--;
+                removed++;
+            } else {
+                index++;
+            }
+        }
+
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(keys, EMPTY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        int index = mix(key) & mask;
+
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private void shiftKeys(int index) {
+        // Backward shift deletion, keeps probe sequences intact without tombstones
+        int last;
+
+        while (true) {
+            last = index;
+            index = (index + 1) & mask;
+
+            while (true) {
+                long key = keys[index];
+
+                if (key == EMPTY) {
+                    keys[last] = EMPTY;
+                    return;
+                }
+
+                int slot = mix(key) & mask;
+
+                if (last <= index ? (last >= slot || slot > index) : (last >= slot && slot > index)) {
+                    break;
+                }
+
+                index = (index + 1) & mask;
+            }
+
+            keys[last] = keys[index];
+            values[last] = values[index];
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+
+            if (key != EMPTY) {
+                int index = mix(key) & mask;
+
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity / 2;
+    }
+
+    private static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
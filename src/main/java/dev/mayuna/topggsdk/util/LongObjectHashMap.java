@@ -0,0 +1,245 @@
+package dev.mayuna.topggsdk.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map with primitive long keys (linear probing), e.g. for Discord IDs. Does not box keys and does not allocate on get,
+ * put or remove. Not thread-safe.
+ *
+ * @param <V> Value type
+ */
+public class LongObjectHashMap<V> {
+
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    /**
+     * Creates map which can hold specified number of entries without resizing
+     *
+     * @param expectedSize Expected number of entries
+     */
+    public LongObjectHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) Math.min(1 << 30, expectedSize * 2L)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    /**
+     * Gets value of specified key
+     *
+     * @param key Key
+     *
+     * @return Value or null if the key is not present
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == EMPTY) {
+            return zeroValue;
+        }
+
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Determines if the map contains specified key
+     *
+     * @param key Key
+     *
+     * @return True if the key is present
+     */
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Puts value
+     *
+     * @param key   Key
+     * @param value Non-null value
+     *
+     * @return Previous value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null!");
+        }
+
+        if (key == EMPTY) {
+            V previous = zeroValue;
+
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+
+            zeroValue = value;
+            return previous;
+        }
+
+        int index = mix(key) & mask;
+
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                V previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes key
+     *
+     * @param key Key
+     *
+     * @return Removed value or null if the key was not present
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == EMPTY) {
+            V previous = zeroValue;
+
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = null;
+                size--;
+            }
+
+            return previous;
+        }
+
+        int index = indexOf(key);
+
+        if (index < 0) {
+            return null;
+        }
+
+        V previous = (V) values[index];
+        shiftKeys(index);
+        size--;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        int index = mix(key) & mask;
+
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private void shiftKeys(int index) {
+        // Backward shift deletion, see LongLongHashMap
+        int last;
+
+        while (true) {
+            last = index;
+            index = (index + 1) & mask;
+
+            while (true) {
+                long key = keys[index];
+
+                if (key == EMPTY) {
+                    keys[last] = EMPTY;
+                    values[last] = null;
+                    return;
+                }
+
+                int slot = mix(key) & mask;
+
+                if (last <= index ? (last >= slot || slot > index) : (last >= slot && slot > index)) {
+                    break;
+                }
+
+                index = (index + 1) & mask;
+            }
+
+            keys[last] = keys[index];
+            values[last] = values[index];
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+
+            if (key != EMPTY) {
+                int index = mix(key) & mask;
+
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity / 2;
+    }
+
+    private static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
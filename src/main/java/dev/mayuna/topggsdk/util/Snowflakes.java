@@ -0,0 +1,134 @@
+package dev.mayuna.topggsdk.util;
+
+/**
+ * Helper methods for Discord IDs (snowflakes). Entities store IDs as primitive longs, which take 8 bytes instead of ~56 bytes of their
+ * string form. Zero is used for missing ID, since it is never a valid snowflake.
+ */
+public final class Snowflakes {
+
+    /**
+     * Missing ID
+     */
+    public static final long NONE = 0;
+
+    private Snowflakes() {
+    }
+
+    /**
+     * Parses ID
+     *
+     * @param id Nullable ID
+     *
+     * @return Positive ID or {@link #NONE} if the ID is null, empty or not a positive number
+     */
+    public static long parse(String id) {
+        if (id == null) {
+            return NONE;
+        }
+
+        int length = id.length();
+
+        // Snowflakes are at most 19 digits long (Long.MAX_VALUE has 19 digits), parsing them manually avoids exceptions
+        if (length == 0 || length > 19) {
+            return NONE;
+        }
+
+        long value = 0;
+
+        for (int i = 0; i < length; i++) {
+            int digit = id.charAt(i) - '0';
+
+            if (digit < 0 || digit > 9) {
+                return NONE;
+            }
+
+            value = value * 10 + digit;
+
+            if (value < 0) {
+                return NONE;
+            }
+        }
+
+        // Leading zeros would change the string form
+        if (length > 1 && id.charAt(0) == '0') {
+            return NONE;
+        }
+
+        return value;
+    }
+
+    /**
+     * Converts ID to string
+     *
+     * @param id       ID
+     * @param fallback Nullable string returned when the ID is {@link #NONE} (e.g. original value which could not be parsed)
+     *
+     * @return Nullable string
+     */
+    public static String toString(long id, String fallback) {
+        return id == NONE ? fallback : Long.toString(id);
+    }
+
+    /**
+     * Parses IDs
+     *
+     * @param ids Nullable IDs
+     *
+     * @return Parsed IDs (invalid IDs are {@link #NONE}) or null if the array is null
+     */
+    public static long[] parseArray(String[] ids) {
+        if (ids == null) {
+            return null;
+        }
+
+        long[] values = new long[ids.length];
+
+        for (int i = 0; i < ids.length; i++) {
+            values[i] = parse(ids[i]);
+        }
+
+        return values;
+    }
+
+    /**
+     * Determines if all IDs can be represented by longs without losing information
+     *
+     * @param ids Nullable IDs
+     *
+     * @return True if every ID is valid snowflake
+     */
+    public static boolean areAllValid(String[] ids) {
+        if (ids == null) {
+            return true;
+        }
+
+        for (String id : ids) {
+            if (parse(id) == NONE) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Converts IDs to strings
+     *
+     * @param ids Nullable IDs
+     *
+     * @return Strings or null if the array is null
+     */
+    public static String[] toStringArray(long[] ids) {
+        if (ids == null) {
+            return null;
+        }
+
+        String[] values = new String[ids.length];
+
+        for (int i = 0; i < ids.length; i++) {
+            values[i] = Long.toString(ids[i]);
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,75 @@
+package dev.mayuna.topggsdk.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility methods for creating threads used by the SDK
+ */
+public final class ThreadUtils {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadUtils.class);
+
+    private ThreadUtils() {
+    }
+
+    /**
+     * Creates {@link ThreadFactory} which creates daemon platform threads named <code>namePrefix-N</code>
+     *
+     * @param namePrefix Prefix of thread names
+     *
+     * @return Non-null {@link ThreadFactory}
+     */
+    public static ThreadFactory createPlatformThreadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Creates {@link ThreadFactory} which creates virtual threads named <code>namePrefix-N</code>. Virtual threads are looked up
+     * reflectively, so the SDK still runs on Java 11. If they are not available in the current JVM (Java 20 and older), platform daemon
+     * threads are used instead.
+     *
+     * @param namePrefix Prefix of thread names
+     *
+     * @return Non-null {@link ThreadFactory}
+     */
+    public static ThreadFactory createVirtualThreadFactory(String namePrefix) {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+
+            Object builder = ofVirtual.invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix + "-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Exception exception) {
+            LOGGER.warn("Virtual threads are not available in this JVM (Java 21 or newer is required), using platform threads for {}.", namePrefix);
+            return createPlatformThreadFactory(namePrefix);
+        }
+    }
+
+    /**
+     * Creates {@link ThreadFactory} with virtual or platform threads
+     *
+     * @param namePrefix     Prefix of thread names
+     * @param virtualThreads True if virtual threads should be used (if available)
+     *
+     * @return Non-null {@link ThreadFactory}
+     */
+    public static ThreadFactory createThreadFactory(String namePrefix, boolean virtualThreads) {
+        if (virtualThreads) {
+            return createVirtualThreadFactory(namePrefix);
+        }
+
+        return createPlatformThreadFactory(namePrefix);
+    }
+}
@@ -0,0 +1,140 @@
+package dev.mayuna.topggsdk.util;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Executor} which runs every task on new virtual thread (platform threads are used when virtual threads are not available, see
+ * {@link ThreadUtils#createVirtualThreadFactory(String)}). Number of concurrently running tasks is capped by a semaphore, tasks over the
+ * cap wait for a permit on their own (virtual) thread, so {@link #execute(Runnable)} never blocks the caller.
+ */
+public class VirtualThreadExecutor implements Executor {
+
+    private final ThreadFactory threadFactory;
+    private final Semaphore semaphore;
+    private final @Getter int maxConcurrency;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * Creates virtual thread executor
+     *
+     * @param namePrefix     Non-null prefix of thread names
+     * @param maxConcurrency Maximum number of concurrently running tasks
+     */
+    public VirtualThreadExecutor(@NonNull String namePrefix, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be greater than zero!");
+        }
+
+        this.threadFactory = ThreadUtils.createVirtualThreadFactory(namePrefix);
+        this.semaphore = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Runs the task on new thread. The task waits (on its thread) until there are less than {@link #getMaxConcurrency()} running tasks.
+     *
+     * @param task Non-null task
+     */
+    @Override
+    public void execute(@NonNull Runnable task) {
+        waiting.incrementAndGet();
+
+        threadFactory.newThread(() -> {
+            semaphore.acquireUninterruptibly();
+            waiting.decrementAndGet();
+            run(task);
+        }).start();
+    }
+
+    /**
+     * Runs the task on new thread if a permit is obtained within specified timeout. The caller waits for the permit.
+     *
+     * @param task          Non-null task
+     * @param timeoutMillis Maximum time to wait for the permit
+     *
+     * @return True if the task was started, false if the cap was still reached after the timeout
+     */
+    public boolean tryExecute(@NonNull Runnable task, long timeoutMillis) {
+        try {
+            if (!semaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        try {
+            threadFactory.newThread(() -> run(task)).start();
+        } catch (RuntimeException | Error exception) {
+            semaphore.release();
+            throw exception;
+        }
+
+        return true;
+    }
+
+    /**
+     * Waits until there are no running nor waiting tasks
+     *
+     * @param timeoutMillis Maximum time to wait
+     *
+     * @return True if all tasks have finished, false if the timeout elapsed
+     */
+    public boolean awaitQuiescence(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+
+        while (running.get() != 0 || waiting.get() != 0) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets number of running tasks
+     *
+     * @return Number of running tasks
+     */
+    public int getRunningCount() {
+        return running.get();
+    }
+
+    /**
+     * Gets number of tasks waiting for a permit
+     *
+     * @return Number of waiting tasks
+     */
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    private void run(Runnable task) {
+        running.incrementAndGet();
+
+        try {
+            task.run();
+        } finally {
+            running.decrementAndGet();
+            semaphore.release();
+        }
+    }
+}
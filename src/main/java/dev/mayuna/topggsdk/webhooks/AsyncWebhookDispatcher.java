@@ -0,0 +1,304 @@
+package dev.mayuna.topggsdk.webhooks;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.util.ThreadUtils;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * {@link WebhookDispatcher} which acknowledges webhook as soon as it is put into a bounded queue. The queue is drained by a pool of worker
+ * threads (platform or virtual) which call the webhook listener. When the queue is full, {@link OverflowPolicy} decides what happens.<br>
+ * Note: Acknowledged webhooks are not retried by top.gg, so webhooks which are still in the queue when the JVM dies are lost.
+ */
+public class AsyncWebhookDispatcher implements WebhookDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncWebhookDispatcher.class);
+
+    private final @Getter Consumer<Webhook> webhookListener;
+    private final @Getter Settings settings;
+
+    private final BlockingQueue<Webhook> queue;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running = true;
+
+    public AsyncWebhookDispatcher(@NonNull Consumer<Webhook> webhookListener, @NonNull Settings settings) {
+        this.webhookListener = webhookListener;
+        this.settings = settings;
+        this.queue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+
+        ThreadFactory threadFactory = ThreadUtils.createThreadFactory("TopGG-Webhook-Worker", settings.isVirtualThreads());
+
+        for (int i = 0; i < settings.getWorkers(); i++) {
+            Thread worker = threadFactory.newThread(this::processQueue);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public AsyncWebhookDispatcher(@NonNull Consumer<Webhook> webhookListener) {
+        this(webhookListener, Settings.create());
+    }
+
+    @Override
+    public @NonNull DispatchResult dispatch(@NonNull Webhook webhook) {
+        if (!running) {
+            rejected.increment();
+            return DispatchResult.REJECTED;
+        }
+
+        if (queue.offer(webhook)) {
+            return DispatchResult.ACKNOWLEDGED;
+        }
+
+        switch (settings.getOverflowPolicy()) {
+            case BLOCK: {
+                try {
+                    if (queue.offer(webhook, settings.getBlockTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                        return DispatchResult.ACKNOWLEDGED;
+                    }
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+
+                LOGGER.warn("Webhook queue is still full after {}ms! Rejecting webhook with HTTP Code 503...", settings.getBlockTimeoutMillis());
+                rejected.increment();
+                return DispatchResult.REJECTED;
+            }
+            case DROP_OLDEST: {
+                while (!queue.offer(webhook)) {
+                    Webhook droppedWebhook = queue.poll();
+
+                    if (droppedWebhook != null) {
+                        dropped.increment();
+                        LOGGER.warn("Webhook queue is full! Dropped the oldest webhook from user {}", droppedWebhook.getUserId());
+                    }
+                }
+
+                return DispatchResult.ACKNOWLEDGED;
+            }
+            case REJECT:
+            default: {
+                LOGGER.warn("Webhook queue is full! Rejecting webhook with HTTP Code 503...");
+                rejected.increment();
+                return DispatchResult.REJECTED;
+            }
+        }
+    }
+
+    private void processQueue() {
+        while (running || !queue.isEmpty()) {
+            Webhook webhook;
+
+            try {
+                webhook = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException exception) {
+                if (!running) {
+                    return;
+                }
+
+                continue;
+            }
+
+            if (webhook == null) {
+                continue;
+            }
+
+            try {
+                webhookListener.accept(webhook);
+                processed.increment();
+            } catch (Exception exception) {
+                failed.increment();
+                LOGGER.error("Exception occurred while processing provided webhook listener!", exception);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting new webhooks and waits until the queue is drained (at most {@link Settings#getShutdownTimeoutMillis()}). Worker
+     * threads which are still running after the timeout are interrupted.
+     */
+    @Override
+    public void shutdown() {
+        running = false;
+
+        long deadline = System.currentTimeMillis() + settings.getShutdownTimeoutMillis();
+
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        for (Thread worker : workers) {
+            if (worker.isAlive()) {
+                worker.interrupt();
+            }
+        }
+
+        if (!queue.isEmpty()) {
+            LOGGER.warn("Webhook dispatcher has been stopped with {} unprocessed webhooks in the queue!", queue.size());
+        }
+    }
+
+    /**
+     * Gets number of webhooks waiting in the queue
+     *
+     * @return Queue size
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Gets number of webhooks which were successfully processed by the listener
+     *
+     * @return Number of processed webhooks
+     */
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    /**
+     * Gets number of webhooks which were dropped by {@link OverflowPolicy#DROP_OLDEST}
+     *
+     * @return Number of dropped webhooks
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Gets number of webhooks which were rejected with HTTP Code 503
+     *
+     * @return Number of rejected webhooks
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Gets number of webhooks for which the listener threw an exception
+     *
+     * @return Number of failed webhooks
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Determines what happens when the webhook queue is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Request thread waits until there is space in the queue (at most {@link Settings#getBlockTimeoutMillis()}, then the webhook is
+         * rejected)
+         */
+        BLOCK,
+        /**
+         * The oldest webhook in the queue is dropped. Dropped webhooks are lost, since top.gg already received HTTP Code 200 for them
+         */
+        DROP_OLDEST,
+        /**
+         * Webhook is rejected with HTTP Code 503, top.gg will retry it later
+         */
+        REJECT;
+    }
+
+    /**
+     * Settings of {@link AsyncWebhookDispatcher}. Default values:<br>
+     * - Queue capacity: 10000<br>
+     * - Workers: 4<br>
+     * - Virtual threads: false<br>
+     * - Overflow policy: {@link OverflowPolicy#REJECT}<br>
+     * - Block timeout: 5000ms<br>
+     * - Shutdown timeout: 10000ms<br>
+     */
+    public static class Settings {
+
+        private @Getter int queueCapacity = 10_000;
+        private @Getter int workers = 4;
+        private @Getter boolean virtualThreads = false;
+        private @Getter OverflowPolicy overflowPolicy = OverflowPolicy.REJECT;
+        private @Getter long blockTimeoutMillis = 5_000;
+        private @Getter long shutdownTimeoutMillis = 10_000;
+
+        private Settings() {}
+
+        public static Settings create() {
+            return new Settings();
+        }
+
+        public Settings withQueueCapacity(int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("Queue capacity must be greater than zero!");
+            }
+
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Settings withWorkers(int workers) {
+            if (workers <= 0) {
+                throw new IllegalArgumentException("Number of workers must be greater than zero!");
+            }
+
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * Workers will run on virtual threads. Requires Java 21 or newer, otherwise platform threads are used.
+         *
+         * @param virtualThreads True if virtual threads should be used
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        public Settings withOverflowPolicy(@NonNull OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        public Settings withBlockTimeoutMillis(long blockTimeoutMillis) {
+            if (blockTimeoutMillis < 0) {
+                throw new IllegalArgumentException("Block timeout cannot be smaller than zero!");
+            }
+
+            this.blockTimeoutMillis = blockTimeoutMillis;
+            return this;
+        }
+
+        public Settings withShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+            if (shutdownTimeoutMillis < 0) {
+                throw new IllegalArgumentException("Shutdown timeout cannot be smaller than zero!");
+            }
+
+            this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+            return this;
+        }
+    }
+}
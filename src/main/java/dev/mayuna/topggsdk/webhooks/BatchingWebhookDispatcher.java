@@ -0,0 +1,354 @@
+package dev.mayuna.topggsdk.webhooks;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.util.ThreadUtils;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * {@link WebhookDispatcher} which collects webhooks into batches and hands them to batch listener, e.g. to persist them in single database
+ * transaction. Batch is committed when it reaches the maximum size or when its first webhook waited for the linger time.<br>
+ * Every webhook is acknowledged only after its batch was committed. When the batch listener throws an exception, all webhooks of the batch
+ * are answered with HTTP Code 500 and top.gg will retry them.<br>
+ * Note: Request threads are blocked until their batch is committed, so the webhook server needs at least as many request threads as is the
+ * maximum batch size, otherwise batches will be smaller. Batch listener is called on single thread, so batches are committed in order.
+ */
+public class BatchingWebhookDispatcher implements WebhookDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingWebhookDispatcher.class);
+
+    private final @Getter Consumer<List<Webhook>> batchListener;
+    private final @Getter Settings settings;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<Batch> fullBatches = new ArrayDeque<>();
+    private final Thread committer;
+
+    private final LongAdder committedBatches = new LongAdder();
+    private final LongAdder committedWebhooks = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Guarded by lock
+    private Batch currentBatch;
+    private int pendingWebhooks;
+    private boolean running = true;
+
+    public BatchingWebhookDispatcher(@NonNull Consumer<List<Webhook>> batchListener, @NonNull Settings settings) {
+        this.batchListener = batchListener;
+        this.settings = settings;
+
+        committer = ThreadUtils.createPlatformThreadFactory("TopGG-Webhook-Batcher").newThread(this::processBatches);
+        committer.start();
+    }
+
+    public BatchingWebhookDispatcher(@NonNull Consumer<List<Webhook>> batchListener) {
+        this(batchListener, Settings.create());
+    }
+
+    @Override
+    public @NonNull DispatchResult dispatch(@NonNull Webhook webhook) {
+        Batch batch;
+
+        synchronized (lock) {
+            if (!running) {
+                rejected.increment();
+                return DispatchResult.REJECTED;
+            }
+
+            if (pendingWebhooks >= settings.getMaxPendingWebhooks()) {
+                LOGGER.warn("Maximum number of pending batched webhooks has been reached! Rejecting webhook with HTTP Code 503...");
+                rejected.increment();
+                return DispatchResult.REJECTED;
+            }
+
+            if (currentBatch == null) {
+                currentBatch = new Batch(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getLingerMillis()));
+                lock.notifyAll();
+            }
+
+            batch = currentBatch;
+            batch.webhooks.add(webhook);
+            pendingWebhooks++;
+
+            if (batch.webhooks.size() >= settings.getMaxBatchSize()) {
+                fullBatches.add(batch);
+                currentBatch = null;
+                lock.notifyAll();
+            }
+        }
+
+        try {
+            if (!batch.completed.await(settings.getAcknowledgeTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                // The batch may still be committed later, so the retried webhook can be committed twice
+                LOGGER.warn("Batch of webhooks was not committed within {}ms! Rejecting webhook with HTTP Code 503...", settings.getAcknowledgeTimeoutMillis());
+                rejected.increment();
+                return DispatchResult.REJECTED;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return DispatchResult.REJECTED;
+        }
+
+        return batch.result;
+    }
+
+    private void processBatches() {
+        while (true) {
+            Batch batch;
+
+            synchronized (lock) {
+                batch = takeBatch();
+
+                if (batch == null) {
+                    return;
+                }
+            }
+
+            commit(batch);
+        }
+    }
+
+    /**
+     * Waits until there is a batch ready to be committed. Must be called while holding the lock.
+     *
+     * @return Batch or null if the dispatcher was stopped and all batches were taken
+     */
+    private Batch takeBatch() {
+        while (true) {
+            if (!fullBatches.isEmpty()) {
+                return fullBatches.poll();
+            }
+
+            if (currentBatch != null) {
+                long remainingNanos = currentBatch.deadlineNanos - System.nanoTime();
+
+                if (remainingNanos <= 0 || !running) {
+                    Batch batch = currentBatch;
+                    currentBatch = null;
+                    return batch;
+                }
+
+                waitOnLock(TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1);
+                continue;
+            }
+
+            if (!running) {
+                return null;
+            }
+
+            waitOnLock(0);
+        }
+    }
+
+    private void waitOnLock(long timeoutMillis) {
+        try {
+            lock.wait(timeoutMillis);
+        } catch (InterruptedException exception) {
+            // Remaining batches are committed without waiting for linger
+            running = false;
+        }
+    }
+
+    private void commit(Batch batch) {
+        try {
+            batchListener.accept(Collections.unmodifiableList(batch.webhooks));
+            batch.result = DispatchResult.ACKNOWLEDGED;
+            committedBatches.increment();
+            committedWebhooks.add(batch.webhooks.size());
+        } catch (Exception exception) {
+            batch.result = DispatchResult.FAILED;
+            failedBatches.increment();
+            LOGGER.error("Exception occurred while processing provided batch webhook listener! {} webhooks will be retried by top.gg.", batch.webhooks.size(), exception);
+        } finally {
+            synchronized (lock) {
+                pendingWebhooks -= batch.webhooks.size();
+            }
+
+            batch.completed.countDown();
+        }
+    }
+
+    /**
+     * Stops accepting new webhooks, commits pending batches and waits until they are committed (at most
+     * {@link Settings#getShutdownTimeoutMillis()})
+     */
+    @Override
+    public void shutdown() {
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+
+        try {
+            committer.join(Math.max(1, settings.getShutdownTimeoutMillis()));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (committer.isAlive()) {
+            LOGGER.warn("Webhook dispatcher has been stopped with {} webhooks waiting for batch commit!", getPendingCount());
+        }
+    }
+
+    /**
+     * Gets number of webhooks which are waiting for their batch to be committed
+     *
+     * @return Number of webhooks
+     */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pendingWebhooks;
+        }
+    }
+
+    /**
+     * Gets number of batches which were successfully committed by the batch listener
+     *
+     * @return Number of batches
+     */
+    public long getCommittedBatchCount() {
+        return committedBatches.sum();
+    }
+
+    /**
+     * Gets number of webhooks in successfully committed batches
+     *
+     * @return Number of webhooks
+     */
+    public long getCommittedCount() {
+        return committedWebhooks.sum();
+    }
+
+    /**
+     * Gets number of batches for which the batch listener threw an exception
+     *
+     * @return Number of batches
+     */
+    public long getFailedBatchCount() {
+        return failedBatches.sum();
+    }
+
+    /**
+     * Gets number of webhooks which were rejected with HTTP Code 503
+     *
+     * @return Number of rejected webhooks
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private static class Batch {
+
+        private final List<Webhook> webhooks = new ArrayList<>();
+        private final long deadlineNanos;
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile DispatchResult result = DispatchResult.FAILED;
+
+        private Batch(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    /**
+     * Settings of {@link BatchingWebhookDispatcher}. Default values:<br>
+     * - Maximum batch size: 500<br>
+     * - Linger: 50ms<br>
+     * - Maximum pending webhooks: 5000<br>
+     * - Acknowledge timeout: 10000ms<br>
+     * - Shutdown timeout: 10000ms<br>
+     */
+    public static class Settings {
+
+        private @Getter int maxBatchSize = 500;
+        private @Getter long lingerMillis = 50;
+        private @Getter int maxPendingWebhooks = 5_000;
+        private @Getter long acknowledgeTimeoutMillis = 10_000;
+        private @Getter long shutdownTimeoutMillis = 10_000;
+
+        private Settings() {}
+
+        public static Settings create() {
+            return new Settings();
+        }
+
+        public Settings withMaxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("Maximum batch size must be greater than zero!");
+            }
+
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * How long the first webhook of a batch waits for other webhooks before the batch is committed
+         *
+         * @param lingerMillis Linger time in milliseconds
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withLingerMillis(long lingerMillis) {
+            if (lingerMillis < 0) {
+                throw new IllegalArgumentException("Linger time cannot be smaller than zero!");
+            }
+
+            this.lingerMillis = lingerMillis;
+            return this;
+        }
+
+        /**
+         * Webhooks received while specified number of webhooks is waiting for commit are rejected with HTTP Code 503
+         *
+         * @param maxPendingWebhooks Maximum number of pending webhooks
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withMaxPendingWebhooks(int maxPendingWebhooks) {
+            if (maxPendingWebhooks <= 0) {
+                throw new IllegalArgumentException("Maximum number of pending webhooks must be greater than zero!");
+            }
+
+            this.maxPendingWebhooks = maxPendingWebhooks;
+            return this;
+        }
+
+        /**
+         * Webhook whose batch was not committed in specified time is rejected with HTTP Code 503, so top.gg will retry it. The batch may
+         * still be committed later, so the batch listener should be idempotent (e.g. upsert by user ID and vote time).
+         *
+         * @param acknowledgeTimeoutMillis Timeout in milliseconds
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withAcknowledgeTimeoutMillis(long acknowledgeTimeoutMillis) {
+            if (acknowledgeTimeoutMillis <= 0) {
+                throw new IllegalArgumentException("Acknowledge timeout must be greater than zero!");
+            }
+
+            this.acknowledgeTimeoutMillis = acknowledgeTimeoutMillis;
+            return this;
+        }
+
+        public Settings withShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+            if (shutdownTimeoutMillis < 0) {
+                throw new IllegalArgumentException("Shutdown timeout cannot be smaller than zero!");
+            }
+
+            this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package dev.mayuna.topggsdk.webhooks;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Consumer;
+
+/**
+ * Default {@link WebhookDispatcher} which calls the webhook listener on the HTTP request thread. The request is acknowledged after the
+ * listener finishes.
+ */
+public class DirectWebhookDispatcher implements WebhookDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectWebhookDispatcher.class);
+
+    private final @Getter Consumer<Webhook> webhookListener;
+
+    public DirectWebhookDispatcher(@NonNull Consumer<Webhook> webhookListener) {
+        this.webhookListener = webhookListener;
+    }
+
+    @Override
+    public @NonNull DispatchResult dispatch(@NonNull Webhook webhook) {
+        try {
+            webhookListener.accept(webhook);
+        } catch (Exception exception) {
+            LOGGER.error("Exception occurred while processing provided webhook listener!", exception);
+            return DispatchResult.FAILED;
+        }
+
+        return DispatchResult.ACKNOWLEDGED;
+    }
+}
@@ -0,0 +1,29 @@
+package dev.mayuna.topggsdk.webhooks;
+
+import lombok.Getter;
+
+/**
+ * Result of dispatching {@link dev.mayuna.topggsdk.api.entities.webhooks.Webhook} to a {@link WebhookDispatcher}. Every result maps to an
+ * HTTP status code which is sent back to top.gg.
+ */
+public enum DispatchResult {
+
+    /**
+     * Webhook was processed (or accepted for processing), top.gg receives HTTP Code 200
+     */
+    ACKNOWLEDGED(200),
+    /**
+     * Exception occurred while processing webhook, top.gg receives HTTP Code 500 and will retry the request
+     */
+    FAILED(500),
+    /**
+     * Webhook could not be accepted right now (e.g. the queue is full), top.gg receives HTTP Code 503 and will retry the request
+     */
+    REJECTED(503);
+
+    private final @Getter int statusCode;
+
+    DispatchResult(int statusCode) {
+        this.statusCode = statusCode;
+    }
+}
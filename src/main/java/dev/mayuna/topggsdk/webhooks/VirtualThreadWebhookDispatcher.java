@@ -0,0 +1,124 @@
+package dev.mayuna.topggsdk.webhooks;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.util.VirtualThreadExecutor;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * {@link WebhookDispatcher} which calls the webhook listener on new virtual thread for every webhook, so blocking listeners do not need a
+ * thread pool. Webhook is acknowledged as soon as its thread is started. Number of concurrently running listeners is capped, when the
+ * cap is reached for longer than the acquire timeout, the webhook is rejected with HTTP Code 503 (top.gg will retry it).<br>
+ * Note: Acknowledged webhooks are not retried by top.gg, so webhooks which are still being processed when the JVM dies are lost.
+ */
+public class VirtualThreadWebhookDispatcher implements WebhookDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadWebhookDispatcher.class);
+
+    private final @Getter Consumer<Webhook> webhookListener;
+    private final @Getter VirtualThreadExecutor executor;
+    private final @Getter long acquireTimeoutMillis;
+    private final @Getter long shutdownTimeoutMillis;
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running = true;
+
+    /**
+     * Creates virtual thread webhook dispatcher
+     *
+     * @param webhookListener       Non-null webhook listener
+     * @param maxConcurrency        Maximum number of concurrently running listeners
+     * @param acquireTimeoutMillis  How long the request thread waits when the cap is reached before rejecting the webhook
+     * @param shutdownTimeoutMillis How long {@link #shutdown()} waits for running listeners
+     */
+    public VirtualThreadWebhookDispatcher(@NonNull Consumer<Webhook> webhookListener, int maxConcurrency, long acquireTimeoutMillis, long shutdownTimeoutMillis) {
+        this.webhookListener = webhookListener;
+        this.executor = new VirtualThreadExecutor("TopGG-Webhook-Listener", maxConcurrency);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    public VirtualThreadWebhookDispatcher(@NonNull Consumer<Webhook> webhookListener, int maxConcurrency) {
+        this(webhookListener, maxConcurrency, 5000, 10000);
+    }
+
+    @Override
+    public @NonNull DispatchResult dispatch(@NonNull Webhook webhook) {
+        if (!running || !executor.tryExecute(() -> process(webhook), acquireTimeoutMillis)) {
+            if (running) {
+                LOGGER.warn("Maximum number of running webhook listeners has been reached! Rejecting webhook with HTTP Code 503...");
+            }
+
+            rejected.increment();
+            return DispatchResult.REJECTED;
+        }
+
+        return DispatchResult.ACKNOWLEDGED;
+    }
+
+    private void process(Webhook webhook) {
+        try {
+            webhookListener.accept(webhook);
+            processed.increment();
+        } catch (Exception exception) {
+            failed.increment();
+            LOGGER.error("Exception occurred while processing provided webhook listener!", exception);
+        }
+    }
+
+    /**
+     * Stops accepting new webhooks and waits until running listeners finish (at most {@link #getShutdownTimeoutMillis()})
+     */
+    @Override
+    public void shutdown() {
+        running = false;
+
+        if (!executor.awaitQuiescence(shutdownTimeoutMillis)) {
+            LOGGER.warn("Webhook dispatcher has been stopped with {} webhook listeners still running!", executor.getRunningCount());
+        }
+    }
+
+    /**
+     * Gets number of currently running webhook listeners
+     *
+     * @return Number of running listeners
+     */
+    public int getRunningCount() {
+        return executor.getRunningCount();
+    }
+
+    /**
+     * Gets number of webhooks which were successfully processed by the listener
+     *
+     * @return Number of processed webhooks
+     */
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    /**
+     * Gets number of webhooks which were rejected with HTTP Code 503
+     *
+     * @return Number of rejected webhooks
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Gets number of webhooks for which the listener threw an exception
+     *
+     * @return Number of failed webhooks
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+}
@@ -0,0 +1,212 @@
+package dev.mayuna.topggsdk.webhooks;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.util.LongHashSet;
+import dev.mayuna.topggsdk.util.LongLongHashMap;
+import dev.mayuna.topggsdk.util.Snowflakes;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suppresses duplicate webhooks, e.g. when top.gg retries delivery because the endpoint was slow. Webhook is considered duplicate when
+ * webhook from the same user for the same bot/server (and of the same type) was committed within the retention time.<br>
+ * Accepted webhook is in flight until it is committed (it was acknowledged) or forgotten (it failed). Duplicate of in-flight webhook must
+ * not be acknowledged, since the first delivery may still fail and top.gg would not retry it again.<br>
+ * Keys are 64-bit hashes stored in primitive hash map together with the time they were accepted, so checking webhook does not allocate.
+ * Since users can vote only once per 12 hours, retention must be shorter than 12 hours.
+ */
+public class WebhookDeduplicator {
+
+    /**
+     * Default retention: 6 hours
+     */
+    public static final long DEFAULT_RETENTION_MILLIS = 6 * 60 * 60 * 1000L;
+    private static final long MAXIMUM_RETENTION_MILLIS = 12 * 60 * 60 * 1000L;
+
+    private final @Getter long retentionMillis;
+
+    // Both guarded by acceptedAt
+    private final LongLongHashMap acceptedAt = new LongLongHashMap(1024);
+    private final LongHashSet inFlight = new LongHashSet(64);
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder inFlightDuplicates = new LongAdder();
+
+    private int sweepThreshold = 1024;
+
+    /**
+     * Creates webhook deduplicator
+     *
+     * @param retentionMillis For how long is accepted webhook remembered. Must be shorter than 12 hours (top.gg's vote window).
+     */
+    public WebhookDeduplicator(long retentionMillis) {
+        if (retentionMillis <= 0 || retentionMillis >= MAXIMUM_RETENTION_MILLIS) {
+            throw new IllegalArgumentException("Retention must be greater than zero and shorter than 12 hours!");
+        }
+
+        this.retentionMillis = retentionMillis;
+    }
+
+    public WebhookDeduplicator() {
+        this(DEFAULT_RETENTION_MILLIS);
+    }
+
+    /**
+     * Checks if the webhook is not a duplicate. Accepted webhook is in flight until {@link #commit(Webhook)} or {@link #forget(Webhook)} is
+     * called.
+     *
+     * @param webhook Non-null {@link Webhook}
+     *
+     * @return Non-null {@link Result}
+     */
+    public Result accept(@NonNull Webhook webhook) {
+        long key = computeKey(webhook);
+        long now = System.currentTimeMillis();
+
+        synchronized (acceptedAt) {
+            long previous = acceptedAt.get(key, Long.MIN_VALUE);
+
+            if (previous != Long.MIN_VALUE && now - previous < retentionMillis) {
+                suppressed.increment();
+                return Result.DUPLICATE;
+            }
+
+            if (!inFlight.add(key)) {
+                inFlightDuplicates.increment();
+                return Result.IN_FLIGHT;
+            }
+        }
+
+        accepted.increment();
+        return Result.ACCEPTED;
+    }
+
+    /**
+     * Commits accepted webhook, so its duplicates are suppressed. Used when the webhook was acknowledged.
+     *
+     * @param webhook Non-null {@link Webhook}
+     */
+    public void commit(@NonNull Webhook webhook) {
+        long key = computeKey(webhook);
+        long now = System.currentTimeMillis();
+
+        synchronized (acceptedAt) {
+            inFlight.remove(key);
+            acceptedAt.put(key, now);
+
+            if (acceptedAt.size() > sweepThreshold) {
+                acceptedAt.removeValuesLessThan(now - retentionMillis);
+                // Sweep again once the map doubles, so sweeping stays amortized O(1) per webhook
+                sweepThreshold = Math.max(1024, acceptedAt.size() * 2);
+            }
+        }
+    }
+
+    /**
+     * Forgets accepted or committed webhook, so its retry will be processed. Used when the webhook could not be processed.
+     *
+     * @param webhook Non-null {@link Webhook}
+     */
+    public void forget(@NonNull Webhook webhook) {
+        long key = computeKey(webhook);
+
+        synchronized (acceptedAt) {
+            inFlight.remove(key);
+            acceptedAt.remove(key);
+        }
+    }
+
+    /**
+     * Forgets all accepted webhooks
+     */
+    public void clear() {
+        synchronized (acceptedAt) {
+            acceptedAt.clear();
+            inFlight.clear();
+            sweepThreshold = 1024;
+        }
+    }
+
+    /**
+     * Gets number of committed webhooks (including expired ones, which were not swept yet)
+     *
+     * @return Number of committed webhooks
+     */
+    public int size() {
+        synchronized (acceptedAt) {
+            return acceptedAt.size();
+        }
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+
+    /**
+     * Gets number of webhooks which arrived while their previous delivery was still in flight
+     *
+     * @return Number of webhooks
+     */
+    public long getInFlightDuplicateCount() {
+        return inFlightDuplicates.sum();
+    }
+
+    /**
+     * Gets number of accepted webhooks which were not committed nor forgotten yet
+     *
+     * @return Number of webhooks
+     */
+    public int getInFlightCount() {
+        synchronized (acceptedAt) {
+            return inFlight.size();
+        }
+    }
+
+    /**
+     * Result of {@link #accept(Webhook)}
+     */
+    public enum Result {
+        /**
+         * Webhook should be processed, it is in flight now
+         */
+        ACCEPTED,
+        /**
+         * Webhook was already committed, it should be acknowledged without processing
+         */
+        DUPLICATE,
+        /**
+         * The same webhook is being processed, it should be rejected so top.gg retries it later
+         */
+        IN_FLIGHT
+    }
+
+    private static long computeKey(Webhook webhook) {
+        long hash = 0x9E3779B97F4A7C15L;
+        hash = mix(hash, hashId(webhook.getUserIdLong(), webhook.getUserId()));
+        hash = mix(hash, hashId(webhook.getBotIdLong(), webhook.getBotId()));
+        hash = mix(hash, hashId(webhook.getGuildIdLong(), webhook.getGuildId()));
+        hash = mix(hash, webhook.getType() == null ? 0 : webhook.getType().hashCode());
+        return hash;
+    }
+
+    private static long hashId(long id, String rawId) {
+        if (id != Snowflakes.NONE) {
+            return id;
+        }
+
+        // IDs which are not snowflakes are kept as string, so they are still distinguishable
+        return rawId == null ? 0 : rawId.hashCode() * 0xC2B2AE3D27D4EB4FL;
+    }
+
+    private static long mix(long hash, long value) {
+        hash ^= value;
+        hash *= 0xBF58476D1CE4E5B9L;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,26 @@
+package dev.mayuna.topggsdk.webhooks;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import lombok.NonNull;
+
+/**
+ * Hands parsed and authenticated {@link Webhook} objects to the webhook listener. The result decides which HTTP status code is sent back
+ * to top.gg.
+ */
+public interface WebhookDispatcher {
+
+    /**
+     * Dispatches webhook to the listener
+     *
+     * @param webhook Non-null {@link Webhook}
+     *
+     * @return Non-null {@link DispatchResult}
+     */
+    @NonNull DispatchResult dispatch(@NonNull Webhook webhook);
+
+    /**
+     * Stops the dispatcher. Called when {@link dev.mayuna.topggsdk.WebhookHandler} is being stopped.
+     */
+    default void shutdown() {
+    }
+}
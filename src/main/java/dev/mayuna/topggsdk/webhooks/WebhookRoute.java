@@ -0,0 +1,74 @@
+package dev.mayuna.topggsdk.webhooks;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.util.Snowflakes;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Route of {@link dev.mayuna.topggsdk.WebhookHandler}: webhooks received on {@link #getPath()} with {@link #getAuthorization()} for
+ * {@link #getTargetId()} (bot's or server's ID) are dispatched to {@link #getWebhookDispatcher()}. Multiple routes can share the same
+ * path, the route is then chosen by the Authorization header and by webhook's bot/server ID.
+ */
+public class WebhookRoute {
+
+    private final @Getter String path;
+    private final @Getter String authorization;
+    private final @Getter String targetId;
+    private final @Getter WebhookDispatcher webhookDispatcher;
+    private final long parsedTargetId;
+
+    /**
+     * Creates webhook route
+     *
+     * @param path              Non-null path, e.g. <code>/top_gg/</code>
+     * @param authorization     Non-null authorization secret (Authorization header set on top.gg)
+     * @param targetId          Nullable bot's or server's ID, null routes webhooks for any bot/server
+     * @param webhookDispatcher Non-null {@link WebhookDispatcher}
+     */
+    public WebhookRoute(@NonNull String path, @NonNull String authorization, String targetId, @NonNull WebhookDispatcher webhookDispatcher) {
+        this.path = path;
+        this.authorization = authorization;
+        this.targetId = targetId;
+        this.parsedTargetId = Snowflakes.parse(targetId);
+        this.webhookDispatcher = webhookDispatcher;
+    }
+
+    /**
+     * Creates webhook route which calls the listener on the HTTP request thread
+     *
+     * @param path            Non-null path, e.g. <code>/top_gg/</code>
+     * @param authorization   Non-null authorization secret (Authorization header set on top.gg)
+     * @param targetId        Nullable bot's or server's ID, null routes webhooks for any bot/server
+     * @param webhookListener Non-null webhook listener
+     */
+    public WebhookRoute(@NonNull String path, @NonNull String authorization, String targetId, @NonNull Consumer<Webhook> webhookListener) {
+        this(path, authorization, targetId, new DirectWebhookDispatcher(webhookListener));
+    }
+
+    /**
+     * Determines if this route accepts the webhook (its bot's or server's ID matches {@link #getTargetId()})
+     *
+     * @param webhook Non-null {@link Webhook}
+     *
+     * @return True if the route accepts the webhook
+     */
+    public boolean matches(@NonNull Webhook webhook) {
+        if (targetId == null) {
+            return true;
+        }
+
+        if (parsedTargetId != Snowflakes.NONE) {
+            return parsedTargetId == (webhook.getWebhookType() == Webhook.Type.SERVER ? webhook.getGuildIdLong() : webhook.getBotIdLong());
+        }
+
+        return targetId.equals(webhook.getWebhookType() == Webhook.Type.SERVER ? webhook.getGuildId() : webhook.getBotId());
+    }
+
+    @Override
+    public String toString() {
+        return "WebhookRoute{" + path + (targetId == null ? "" : ", " + targetId) + "}";
+    }
+}
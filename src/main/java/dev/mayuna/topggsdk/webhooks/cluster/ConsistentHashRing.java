@@ -0,0 +1,112 @@
+package dev.mayuna.topggsdk.webhooks.cluster;
+
+import lombok.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable consistent-hash ring. Every node is placed on the ring many times (virtual nodes), so keys are spread evenly and adding or
+ * removing a node moves only keys of that node. Positions are derived from node keys only, so every process builds the same ring.
+ *
+ * @param <T> Node type
+ */
+public final class ConsistentHashRing<T> {
+
+    private final List<T> nodes;
+    private final long[] positions;
+    private final Object[] owners;
+
+    /**
+     * Creates hash ring
+     *
+     * @param nodes        Non-null, non-empty nodes
+     * @param nodeKey      Non-null function which returns unique key of the node
+     * @param virtualNodes Number of positions of every node
+     */
+    public ConsistentHashRing(@NonNull Collection<T> nodes, @NonNull Function<T, String> nodeKey, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Hash ring must have at least one node!");
+        }
+
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Number of virtual nodes must be greater than zero!");
+        }
+
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+
+        int size = nodes.size() * virtualNodes;
+        long[][] entries = new long[size][];
+        int index = 0;
+
+        for (int node = 0; node < this.nodes.size(); node++) {
+            String key = nodeKey.apply(this.nodes.get(node));
+
+            for (int virtualNode = 0; virtualNode < virtualNodes; virtualNode++) {
+                entries[index++] = new long[]{hash(key + '#' + virtualNode), node};
+            }
+        }
+
+        // Ties are broken by node index, so the order does not depend on sorting stability
+        Arrays.sort(entries, (first, second) -> first[0] != second[0] ? Long.compare(first[0], second[0]) : Long.compare(first[1], second[1]));
+
+        this.positions = new long[size];
+        this.owners = new Object[size];
+
+        for (int i = 0; i < size; i++) {
+            positions[i] = entries[i][0];
+            owners[i] = this.nodes.get((int) entries[i][1]);
+        }
+    }
+
+    /**
+     * Gets node which owns specified key (the first node clockwise from the key's position)
+     *
+     * @param key Key, e.g. user's ID
+     *
+     * @return Non-null node
+     */
+    @SuppressWarnings("unchecked")
+    public T get(long key) {
+        int index = Arrays.binarySearch(positions, mix(key));
+
+        if (index < 0) {
+            index = -index - 1;
+        }
+
+        return (T) owners[index == positions.length ? 0 : index];
+    }
+
+    public List<T> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Hashes string to 64 bits (FNV-1a of UTF-8 bytes, mixed)
+     *
+     * @param string Non-null string
+     *
+     * @return Hash
+     */
+    public static long hash(@NonNull String string) {
+        long hash = 0xCBF29CE484222325L;
+
+        for (byte value : string.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= value & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
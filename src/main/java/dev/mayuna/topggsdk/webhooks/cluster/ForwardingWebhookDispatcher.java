@@ -0,0 +1,241 @@
+package dev.mayuna.topggsdk.webhooks.cluster;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.util.Snowflakes;
+import dev.mayuna.topggsdk.webhooks.DispatchResult;
+import dev.mayuna.topggsdk.webhooks.WebhookDispatcher;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link WebhookDispatcher} for the node which owns top.gg's webhook URL when votes are processed by a cluster of nodes partitioned by
+ * user. Authenticated and parsed webhooks are routed by user's ID on {@link ConsistentHashRing} of {@link WebhookPeer}s. Webhooks owned by
+ * the local peer are handed to the local dispatcher, others are forwarded to the owner's {@link WebhookPeerServer} over persistent
+ * pipelined TCP connection in binary form ({@link Webhook.BinaryCodec}).<br>
+ * Webhook is acknowledged to top.gg with the owner's result. When the owner is unreachable or does not respond within the acknowledge
+ * timeout, the webhook is rejected with HTTP Code 503 and top.gg will retry it. The owner may have processed it already, so delivery is
+ * at-least-once.
+ */
+public class ForwardingWebhookDispatcher implements WebhookDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ForwardingWebhookDispatcher.class);
+
+    private final @Getter String localPeerId;
+    private final @Getter WebhookDispatcher localDispatcher;
+    private final @Getter ConsistentHashRing<WebhookPeer> hashRing;
+    private final @Getter Settings settings;
+    private final Map<String, PeerConnection> connections = new HashMap<>();
+
+    private final LongAdder dispatchedLocally = new LongAdder();
+    private final LongAdder forwarded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates forwarding webhook dispatcher
+     *
+     * @param localPeerId     ID of this node in peers, null if this node owns no partition
+     * @param peers           Non-null, non-empty list of all peers (including this node), all nodes must use the same list
+     * @param secret          Non-null secret shared by all nodes of the cluster
+     * @param localDispatcher Non-null dispatcher for webhooks owned by this node
+     * @param settings        Non-null {@link Settings}
+     */
+    public ForwardingWebhookDispatcher(String localPeerId, @NonNull List<WebhookPeer> peers, @NonNull String secret, @NonNull WebhookDispatcher localDispatcher, @NonNull Settings settings) {
+        Set<String> peerIds = new HashSet<>();
+
+        for (WebhookPeer peer : peers) {
+            if (!peerIds.add(peer.getId())) {
+                throw new IllegalArgumentException("Peer IDs must be unique! Duplicate ID: " + peer.getId());
+            }
+        }
+
+        if (localPeerId != null && !peerIds.contains(localPeerId)) {
+            throw new IllegalArgumentException("Local peer ID must be one of the peers!");
+        }
+
+        this.localPeerId = localPeerId;
+        this.localDispatcher = localDispatcher;
+        this.settings = settings;
+        this.hashRing = new ConsistentHashRing<>(peers, WebhookPeer::getId, settings.getVirtualNodes());
+
+        for (WebhookPeer peer : peers) {
+            if (!peer.getId().equals(localPeerId)) {
+                connections.put(peer.getId(), new PeerConnection(peer, secret, settings.getConnectTimeoutMillis(), settings.getReconnectDelayMillis()));
+            }
+        }
+    }
+
+    public ForwardingWebhookDispatcher(String localPeerId, @NonNull List<WebhookPeer> peers, @NonNull String secret, @NonNull WebhookDispatcher localDispatcher) {
+        this(localPeerId, peers, secret, localDispatcher, Settings.create());
+    }
+
+    @Override
+    public @NonNull DispatchResult dispatch(@NonNull Webhook webhook) {
+        WebhookPeer owner = getOwner(webhook);
+        PeerConnection connection = connections.get(owner.getId());
+
+        if (connection == null) {
+            dispatchedLocally.increment();
+            return localDispatcher.dispatch(webhook);
+        }
+
+        forwarded.increment();
+        CompletableFuture<DispatchResult> future = connection.send(webhook);
+
+        try {
+            return future.get(settings.getAcknowledgeTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            connection.abandon(future);
+            LOGGER.warn("{} did not acknowledge webhook within {}ms! Rejecting webhook with HTTP Code 503...", owner, settings.getAcknowledgeTimeoutMillis());
+        } catch (InterruptedException exception) {
+            connection.abandon(future);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+            LOGGER.error("Exception occurred while forwarding webhook to {}!", owner, exception);
+        }
+
+        rejected.increment();
+        return DispatchResult.REJECTED;
+    }
+
+    /**
+     * Gets peer which owns specified webhook (by user's ID)
+     *
+     * @param webhook Non-null {@link Webhook}
+     *
+     * @return Non-null {@link WebhookPeer}
+     */
+    public WebhookPeer getOwner(@NonNull Webhook webhook) {
+        long userId = webhook.getUserIdLong();
+
+        if (userId == Snowflakes.NONE) {
+            String rawUserId = webhook.getUserId();
+            userId = rawUserId == null ? 0 : ConsistentHashRing.hash(rawUserId);
+        }
+
+        return hashRing.get(userId);
+    }
+
+    /**
+     * Closes connections to peers and shuts down the local dispatcher. Webhooks waiting for response are rejected.
+     */
+    @Override
+    public void shutdown() {
+        for (PeerConnection connection : connections.values()) {
+            connection.close();
+        }
+
+        localDispatcher.shutdown();
+    }
+
+    /**
+     * Gets number of webhooks waiting for response of their owner
+     *
+     * @return Number of webhooks
+     */
+    public int getInFlightCount() {
+        int count = 0;
+
+        for (PeerConnection connection : connections.values()) {
+            count += connection.getInFlightCount();
+        }
+
+        return count;
+    }
+
+    public long getDispatchedLocallyCount() {
+        return dispatchedLocally.sum();
+    }
+
+    public long getForwardedCount() {
+        return forwarded.sum();
+    }
+
+    /**
+     * Gets number of forwarded webhooks which were rejected with HTTP Code 503 (owner unreachable or timed out)
+     *
+     * @return Number of rejected webhooks
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Settings of {@link ForwardingWebhookDispatcher}. Default values:<br>
+     * - Virtual nodes per peer: 128<br>
+     * - Acknowledge timeout: 10000ms<br>
+     * - Connect timeout: 2000ms<br>
+     * - Reconnect delay: 1000ms<br>
+     */
+    public static class Settings {
+
+        private @Getter int virtualNodes = 128;
+        private @Getter long acknowledgeTimeoutMillis = 10_000;
+        private @Getter int connectTimeoutMillis = 2_000;
+        private @Getter long reconnectDelayMillis = 1_000;
+
+        private Settings() {}
+
+        public static Settings create() {
+            return new Settings();
+        }
+
+        /**
+         * @param virtualNodes Number of positions of every peer on the hash ring, more positions spread users more evenly
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withVirtualNodes(int virtualNodes) {
+            if (virtualNodes <= 0) {
+                throw new IllegalArgumentException("Number of virtual nodes must be greater than zero!");
+            }
+
+            this.virtualNodes = virtualNodes;
+            return this;
+        }
+
+        public Settings withAcknowledgeTimeoutMillis(long acknowledgeTimeoutMillis) {
+            if (acknowledgeTimeoutMillis <= 0) {
+                throw new IllegalArgumentException("Acknowledge timeout must be greater than zero!");
+            }
+
+            this.acknowledgeTimeoutMillis = acknowledgeTimeoutMillis;
+            return this;
+        }
+
+        public Settings withConnectTimeoutMillis(int connectTimeoutMillis) {
+            if (connectTimeoutMillis <= 0) {
+                throw new IllegalArgumentException("Connect timeout must be greater than zero!");
+            }
+
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * @param reconnectDelayMillis How long are webhooks for unreachable peer rejected before connecting again
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withReconnectDelayMillis(long reconnectDelayMillis) {
+            if (reconnectDelayMillis < 0) {
+                throw new IllegalArgumentException("Reconnect delay cannot be smaller than zero!");
+            }
+
+            this.reconnectDelayMillis = reconnectDelayMillis;
+            return this;
+        }
+    }
+}
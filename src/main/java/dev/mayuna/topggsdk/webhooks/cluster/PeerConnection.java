@@ -0,0 +1,208 @@
+package dev.mayuna.topggsdk.webhooks.cluster;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.util.ThreadUtils;
+import dev.mayuna.topggsdk.webhooks.DispatchResult;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persistent pipelined connection to single {@link WebhookPeer}. Webhooks are written without waiting for responses of previous ones,
+ * buffered output is flushed only by the last of concurrent writers. Connection is opened lazily and reopened after failure (at most once
+ * per reconnect delay). When the connection fails, all webhooks waiting for response are rejected, so top.gg will retry them.
+ */
+final class PeerConnection {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PeerConnection.class);
+
+    private final @Getter WebhookPeer peer;
+    private final String secret;
+    private final int connectTimeoutMillis;
+    private final long reconnectDelayMillis;
+    private final ThreadFactory readerThreadFactory;
+
+    private final Map<Long, CompletableFuture<DispatchResult>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waitingWriters = new AtomicInteger();
+    private final Object writeLock = new Object();
+
+    // Guarded by writeLock
+    private Socket socket;
+    private DataOutputStream output;
+    private long sequence;
+    private long reconnectAt;
+    private boolean closed;
+
+    PeerConnection(WebhookPeer peer, String secret, int connectTimeoutMillis, long reconnectDelayMillis) {
+        this.peer = peer;
+        this.secret = secret;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.readerThreadFactory = ThreadUtils.createPlatformThreadFactory("TopGG-Peer-" + peer.getId());
+    }
+
+    /**
+     * Sends webhook to the peer
+     *
+     * @return Future which completes with peer's {@link DispatchResult}
+     */
+    CompletableFuture<DispatchResult> send(Webhook webhook) {
+        CompletableFuture<DispatchResult> future = new CompletableFuture<>();
+        waitingWriters.incrementAndGet();
+
+        synchronized (writeLock) {
+            waitingWriters.decrementAndGet();
+
+            try {
+                ensureConnected();
+
+                long requestSequence = ++sequence;
+                inFlight.put(requestSequence, future);
+                output.writeLong(requestSequence);
+                Webhook.BinaryCodec.write(output, webhook);
+
+                if (waitingWriters.get() == 0) {
+                    // Writers waiting for the lock will flush their webhooks together with this one
+                    output.flush();
+                }
+            } catch (IOException exception) {
+                if (socket != null) {
+                    LOGGER.warn("Could not forward webhook to {}: {}", peer, exception.getMessage());
+                    disconnect(socket);
+                }
+
+                future.complete(DispatchResult.REJECTED);
+            }
+        }
+
+        return future;
+    }
+
+    /**
+     * Stops waiting for response of webhook which timed out, its response is ignored if it comes later
+     *
+     * @param future Future returned by {@link #send(Webhook)}
+     */
+    void abandon(CompletableFuture<DispatchResult> future) {
+        // Timeouts are rare, so in-flight webhooks are searched instead of keeping sequence of every future
+        inFlight.values().remove(future);
+    }
+
+    int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    void close() {
+        synchronized (writeLock) {
+            closed = true;
+
+            if (socket != null) {
+                disconnect(socket);
+            }
+        }
+    }
+
+    private void ensureConnected() throws IOException {
+        if (closed) {
+            throw new IOException("Connection is closed");
+        }
+
+        if (socket != null) {
+            return;
+        }
+
+        if (System.currentTimeMillis() < reconnectAt) {
+            throw new IOException("Peer " + peer.getId() + " is unavailable");
+        }
+
+        Socket newSocket = new Socket();
+
+        try {
+            newSocket.setTcpNoDelay(true);
+            newSocket.connect(new InetSocketAddress(peer.getHost(), peer.getPort()), connectTimeoutMillis);
+            // Handshake is read while holding the write lock, unresponsive peer must not block all senders
+            newSocket.setSoTimeout(connectTimeoutMillis);
+
+            DataOutputStream newOutput = new DataOutputStream(new BufferedOutputStream(newSocket.getOutputStream(), PeerProtocol.BUFFER_SIZE));
+            DataInputStream input = new DataInputStream(new BufferedInputStream(newSocket.getInputStream(), PeerProtocol.BUFFER_SIZE));
+
+            PeerProtocol.writeHandshake(newOutput, secret);
+            newOutput.flush();
+
+            if (input.readUnsignedByte() != PeerProtocol.HANDSHAKE_ACCEPTED) {
+                throw new IOException("Peer " + peer.getId() + " rejected the handshake, check the secret");
+            }
+
+            // Responses may come after long time without webhooks
+            newSocket.setSoTimeout(0);
+
+            socket = newSocket;
+            output = newOutput;
+            readerThreadFactory.newThread(() -> readResponses(newSocket, input)).start();
+            LOGGER.info("Connected to {}", peer);
+        } catch (IOException exception) {
+            reconnectAt = System.currentTimeMillis() + reconnectDelayMillis;
+            LOGGER.warn("Could not connect to {}: {}", peer, exception.getMessage());
+            newSocket.close();
+            throw exception;
+        }
+    }
+
+    private void readResponses(Socket readSocket, DataInputStream input) {
+        try {
+            while (true) {
+                long responseSequence = input.readLong();
+                DispatchResult dispatchResult = PeerProtocol.toDispatchResult(input.readUnsignedShort());
+                CompletableFuture<DispatchResult> future = inFlight.remove(responseSequence);
+
+                if (future != null) {
+                    future.complete(dispatchResult);
+                }
+            }
+        } catch (IOException exception) {
+            synchronized (writeLock) {
+                if (socket == readSocket && !closed) {
+                    LOGGER.warn("Connection to {} has been lost: {}", peer, exception instanceof EOFException ? "closed by the peer" : exception.getMessage());
+                }
+
+                disconnect(readSocket);
+            }
+        }
+    }
+
+    /**
+     * Closes the socket and rejects webhooks waiting for response. Must be called while holding the write lock.
+     */
+    private void disconnect(Socket failedSocket) {
+        if (socket != failedSocket) {
+            return;
+        }
+
+        try {
+            failedSocket.close();
+        } catch (IOException ignored) {
+        }
+
+        socket = null;
+        output = null;
+        reconnectAt = System.currentTimeMillis() + reconnectDelayMillis;
+
+        // Webhooks are sent only through the current socket, so all of them belong to the failed one
+        inFlight.values().forEach(future -> future.complete(DispatchResult.REJECTED));
+        inFlight.clear();
+    }
+}
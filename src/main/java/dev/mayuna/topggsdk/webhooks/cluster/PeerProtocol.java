@@ -0,0 +1,70 @@
+package dev.mayuna.topggsdk.webhooks.cluster;
+
+import dev.mayuna.topggsdk.webhooks.DispatchResult;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Binary protocol between {@link ForwardingWebhookDispatcher} and {@link WebhookPeerServer}:<br>
+ * - Handshake: magic (4 bytes), version (4 bytes), secret length (4 bytes) and UTF-8 secret, answered by single byte (1 = accepted)<br>
+ * - Request: sequence number (8 bytes) and webhook encoded by {@link dev.mayuna.topggsdk.api.entities.webhooks.Webhook.BinaryCodec}<br>
+ * - Response: sequence number (8 bytes) and HTTP status code of {@link DispatchResult} (2 bytes)<br>
+ * Requests are pipelined, responses may come in any order.
+ */
+final class PeerProtocol {
+
+    static final int MAGIC = 0x54474750; // TGGP
+    static final int VERSION = 1;
+    static final int HANDSHAKE_ACCEPTED = 1;
+    static final int HANDSHAKE_REJECTED = 0;
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final int HANDSHAKE_TIMEOUT_MILLIS = 5_000;
+
+    private static final int MAX_SECRET_LENGTH = 4096;
+
+    private PeerProtocol() {
+    }
+
+    static void writeHandshake(DataOutput output, String secret) throws IOException {
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads handshake and checks the secret
+     *
+     * @return True if the handshake is valid
+     */
+    static boolean readHandshake(DataInput input, String secret) throws IOException {
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            return false;
+        }
+
+        int length = input.readInt();
+
+        if (length < 0 || length > MAX_SECRET_LENGTH) {
+            return false;
+        }
+
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return MessageDigest.isEqual(bytes, secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static DispatchResult toDispatchResult(int statusCode) {
+        for (DispatchResult dispatchResult : DispatchResult.values()) {
+            if (dispatchResult.getStatusCode() == statusCode) {
+                return dispatchResult;
+            }
+        }
+
+        return DispatchResult.FAILED;
+    }
+}
@@ -0,0 +1,36 @@
+package dev.mayuna.topggsdk.webhooks.cluster;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Node of webhook cluster. Every peer runs {@link WebhookPeerServer} on its address, except the receiving node if it has no partition.
+ */
+public final class WebhookPeer {
+
+    private final @Getter String id;
+    private final @Getter String host;
+    private final @Getter int port;
+
+    /**
+     * Creates peer
+     *
+     * @param id   Non-null unique ID of the peer, position of the peer on the hash ring is derived from it
+     * @param host Non-null host of the peer's {@link WebhookPeerServer}
+     * @param port Port of the peer's {@link WebhookPeerServer}
+     */
+    public WebhookPeer(@NonNull String id, @NonNull String host, int port) {
+        if (port <= 0 || port > 65535) {
+            throw new IllegalArgumentException("Port must be between 1 and 65535!");
+        }
+
+        this.id = id;
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    public String toString() {
+        return "WebhookPeer{" + id + ", " + host + ":" + port + "}";
+    }
+}
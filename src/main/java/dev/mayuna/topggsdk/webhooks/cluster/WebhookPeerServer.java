@@ -0,0 +1,291 @@
+package dev.mayuna.topggsdk.webhooks.cluster;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.util.ThreadUtils;
+import dev.mayuna.topggsdk.webhooks.DispatchResult;
+import dev.mayuna.topggsdk.webhooks.WebhookDispatcher;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Receives webhooks forwarded by {@link ForwardingWebhookDispatcher} of the node which owns top.gg's webhook URL and hands them to the
+ * local {@link WebhookDispatcher}. Its result is sent back to the forwarding node, which answers top.gg with it.<br>
+ * Webhooks are dispatched concurrently by a pool of dispatch threads and their results are sent back as soon as they are known, so slow
+ * or batching dispatchers (e.g. {@link dev.mayuna.topggsdk.webhooks.BatchingWebhookDispatcher}) do not hold back other webhooks of the
+ * connection. Webhooks of single user are still dispatched in order. When all dispatch threads are busy, webhooks are dispatched on the
+ * connection's thread, which stops reading from the forwarding node until the dispatch is done.
+ */
+public class WebhookPeerServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebhookPeerServer.class);
+
+    /**
+     * Default number of dispatch threads, same as the default maximum batch size of
+     * {@link dev.mayuna.topggsdk.webhooks.BatchingWebhookDispatcher}. Threads are created only when needed.
+     */
+    public static final int DEFAULT_DISPATCH_THREADS = 500;
+
+    private final @Getter WebhookDispatcher webhookDispatcher;
+    private final String secret;
+    private final int requestedPort;
+    private final int dispatchThreads;
+    private final ThreadFactory threadFactory = ThreadUtils.createPlatformThreadFactory("TopGG-Peer-Server");
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    // Webhooks waiting for previous webhook of the same user to be dispatched, guarded by itself
+    private final Map<Long, ArrayDeque<Runnable>> userQueues = new HashMap<>();
+
+    private final LongAdder received = new LongAdder();
+
+    private ServerSocket serverSocket;
+    private ThreadPoolExecutor dispatchExecutor;
+    private volatile boolean running;
+
+    /**
+     * Creates peer server
+     *
+     * @param port              Port, use 0 for random open port
+     * @param secret            Non-null secret shared by all nodes of the cluster
+     * @param webhookDispatcher Non-null local {@link WebhookDispatcher}
+     * @param dispatchThreads   Maximum number of dispatch threads, must be at least 1
+     */
+    public WebhookPeerServer(int port, @NonNull String secret, @NonNull WebhookDispatcher webhookDispatcher, int dispatchThreads) {
+        if (port < 0) {
+            throw new IllegalArgumentException("Port cannot be smaller than zero!");
+        }
+
+        if (dispatchThreads < 1) {
+            throw new IllegalArgumentException("Dispatch threads must be at least 1!");
+        }
+
+        this.requestedPort = port;
+        this.secret = secret;
+        this.webhookDispatcher = webhookDispatcher;
+        this.dispatchThreads = dispatchThreads;
+    }
+
+    /**
+     * Creates peer server with {@link #DEFAULT_DISPATCH_THREADS} dispatch threads
+     *
+     * @param port              Port, use 0 for random open port
+     * @param secret            Non-null secret shared by all nodes of the cluster
+     * @param webhookDispatcher Non-null local {@link WebhookDispatcher}
+     */
+    public WebhookPeerServer(int port, @NonNull String secret, @NonNull WebhookDispatcher webhookDispatcher) {
+        this(port, secret, webhookDispatcher, DEFAULT_DISPATCH_THREADS);
+    }
+
+    /**
+     * Starts listening for forwarded webhooks
+     *
+     * @throws IOException If the port could not be bound
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(requestedPort));
+
+        // Webhooks are dispatched on the connection's thread when all dispatch threads are busy or the server was stopped
+        dispatchExecutor = new ThreadPoolExecutor(0, dispatchThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                ThreadUtils.createPlatformThreadFactory("TopGG-Peer-Dispatcher"), (task, executor) -> task.run());
+        running = true;
+
+        ServerSocket acceptSocket = serverSocket;
+        threadFactory.newThread(() -> acceptConnections(acceptSocket)).start();
+        LOGGER.info("Listening for forwarded webhooks on port {}", serverSocket.getLocalPort());
+    }
+
+    /**
+     * Stops listening, closes all connections and shuts down the local {@link WebhookDispatcher}
+     */
+    public synchronized void stop() {
+        running = false;
+
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException ignored) {
+        }
+
+        for (Socket connection : connections) {
+            closeQuietly(connection);
+        }
+
+        webhookDispatcher.shutdown();
+
+        if (dispatchExecutor != null) {
+            dispatchExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Gets port the server is listening on
+     *
+     * @return Port or -1 if the server is not started
+     */
+    public int getPort() {
+        ServerSocket socket = serverSocket;
+        return socket == null ? -1 : socket.getLocalPort();
+    }
+
+    /**
+     * Gets number of webhooks received from forwarding nodes
+     *
+     * @return Number of webhooks
+     */
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    private void acceptConnections(ServerSocket acceptSocket) {
+        while (running) {
+            try {
+                Socket connection = acceptSocket.accept();
+                connection.setTcpNoDelay(true);
+                connections.add(connection);
+                threadFactory.newThread(() -> handleConnection(connection)).start();
+            } catch (IOException exception) {
+                if (running) {
+                    LOGGER.error("Exception occurred while accepting peer connection!", exception);
+                }
+            }
+        }
+    }
+
+    private void handleConnection(Socket connection) {
+        ThreadPoolExecutor executor = dispatchExecutor;
+
+        try {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(connection.getInputStream(), PeerProtocol.BUFFER_SIZE));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream(), PeerProtocol.BUFFER_SIZE));
+
+            // Connections which do not send handshake are closed, forwarding nodes send it right after connecting
+            connection.setSoTimeout(PeerProtocol.HANDSHAKE_TIMEOUT_MILLIS);
+
+            if (!PeerProtocol.readHandshake(input, secret)) {
+                LOGGER.warn("Peer {} sent invalid handshake or secret! Closing the connection...", connection.getRemoteSocketAddress());
+                output.writeByte(PeerProtocol.HANDSHAKE_REJECTED);
+                output.flush();
+                return;
+            }
+
+            output.writeByte(PeerProtocol.HANDSHAKE_ACCEPTED);
+            output.flush();
+            connection.setSoTimeout(0);
+
+            AtomicInteger waitingWriters = new AtomicInteger();
+
+            while (true) {
+                long sequence = input.readLong();
+                Webhook webhook = Webhook.BinaryCodec.read(input);
+                received.increment();
+
+                dispatchInOrder(executor, webhook.getUserIdLong(), () -> writeResponse(connection, output, waitingWriters, sequence, dispatch(webhook)));
+            }
+        } catch (EOFException ignored) {
+            // Forwarding node closed the connection
+        } catch (IOException exception) {
+            if (running) {
+                LOGGER.warn("Connection with peer {} has been lost: {}", connection.getRemoteSocketAddress(), exception.getMessage());
+            }
+        } finally {
+            connections.remove(connection);
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * Runs the task on the executor after all previous tasks of the same user are done
+     */
+    private void dispatchInOrder(ThreadPoolExecutor executor, long userId, Runnable task) {
+        synchronized (userQueues) {
+            ArrayDeque<Runnable> queue = userQueues.get(userId);
+
+            if (queue != null) {
+                queue.add(task);
+                return;
+            }
+
+            userQueues.put(userId, new ArrayDeque<>());
+        }
+
+        executor.execute(() -> runUserQueue(userId, task));
+    }
+
+    private void runUserQueue(long userId, Runnable task) {
+        while (task != null) {
+            task.run();
+
+            synchronized (userQueues) {
+                task = userQueues.get(userId).poll();
+
+                if (task == null) {
+                    userQueues.remove(userId);
+                }
+            }
+        }
+    }
+
+    private void writeResponse(Socket connection, DataOutputStream output, AtomicInteger waitingWriters, long sequence, DispatchResult result) {
+        waitingWriters.incrementAndGet();
+
+        try {
+            synchronized (output) {
+                output.writeLong(sequence);
+                output.writeShort(result.getStatusCode());
+
+                // Responses which complete together are flushed together by the last writer
+                if (waitingWriters.decrementAndGet() == 0) {
+                    output.flush();
+                }
+            }
+        } catch (IOException exception) {
+            // Connection's thread logs the lost connection
+            closeQuietly(connection);
+        }
+    }
+
+    private DispatchResult dispatch(Webhook webhook) {
+        try {
+            return webhookDispatcher.dispatch(webhook);
+        } catch (Exception exception) {
+            LOGGER.error("Exception occurred while dispatching forwarded webhook!", exception);
+            return DispatchResult.FAILED;
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package dev.mayuna.topggsdk.webhooks.server;
+
+import dev.mayuna.topggsdk.WebhookHandler;
+import io.javalin.Javalin;
+import lombok.Getter;
+import lombok.NonNull;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link WebhookServer} backed by Javalin (Jetty)
+ */
+public class JavalinWebhookServer implements WebhookServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JavalinWebhookServer.class);
+
+    /**
+     * Threads Jetty takes from its pool for acceptors and selectors, so they are not available for requests
+     */
+    private static final int JETTY_INTERNAL_THREADS = 16;
+
+    private final int port;
+    private final int requestThreads;
+    private @Getter Javalin javalin;
+    private WebhookHandler webhookHandler;
+
+    /**
+     * Creates Javalin webhook server
+     *
+     * @param port Port, use 0 for random open port
+     */
+    public JavalinWebhookServer(int port) {
+        this.port = port;
+        this.requestThreads = 0;
+    }
+
+    /**
+     * Creates Javalin webhook server with specified number of request threads
+     *
+     * @param port           Port, use 0 for random open port
+     * @param requestThreads Number of request threads, must be at least 1
+     */
+    public JavalinWebhookServer(int port, int requestThreads) {
+        if (requestThreads < 1) {
+            throw new IllegalArgumentException("Request threads must be at least 1!");
+        }
+
+        this.port = port;
+        this.requestThreads = requestThreads;
+    }
+
+    @Override
+    public void start(@NonNull WebhookHandler webhookHandler) {
+        this.webhookHandler = webhookHandler;
+
+        LOGGER.info("Starting Javalin at port {} for Top.gg's Webhooks.", port);
+        if (requestThreads == 0) {
+            javalin = Javalin.create();
+        } else {
+            int maxThreads = requestThreads + JETTY_INTERNAL_THREADS;
+            javalin = Javalin.create(config -> config.server(() -> new Server(new QueuedThreadPool(maxThreads, Math.min(8, maxThreads), 60_000))));
+        }
+
+        try {
+            javalin.start(port);
+        } catch (Exception exception) {
+            LOGGER.error("Exception occurred while starting Javalin!", exception);
+            return;
+        }
+
+        LOGGER.info("Javalin has been started.");
+    }
+
+    @Override
+    public void addPath(@NonNull String path) {
+        javalin.post(path, ctx -> {
+            ctx.status(webhookHandler.handle(path, ctx.header("Authorization"), ctx.req.getContentLengthLong(), ctx.req.getInputStream()));
+        });
+    }
+
+    @Override
+    public void stop() {
+        LOGGER.info("Stopping Javalin...");
+        javalin.stop();
+    }
+
+    @Override
+    public int getPort() {
+        return javalin == null ? -1 : javalin.port();
+    }
+}
@@ -0,0 +1,128 @@
+package dev.mayuna.topggsdk.webhooks.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.mayuna.topggsdk.WebhookHandler;
+import dev.mayuna.topggsdk.util.ThreadUtils;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link WebhookServer} backed by JDK's built-in HTTP server (<code>com.sun.net.httpserver</code>). It has no dependencies, starts in
+ * few milliseconds and uses only a few threads, which is enough for top.gg's webhooks. All paths are handled by single context, unknown
+ * paths are answered with HTTP Code 404.
+ */
+public class JdkWebhookServer implements WebhookServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdkWebhookServer.class);
+
+    private final int port;
+    private final @Getter int threads;
+    private final boolean virtualThreads;
+
+    private @Getter HttpServer httpServer;
+    private ExecutorService executor;
+
+    /**
+     * Creates JDK webhook server
+     *
+     * @param port           Port, use 0 for random open port
+     * @param threads        Number of request threads
+     * @param virtualThreads True if request threads should be virtual threads (Java 21 or newer)
+     */
+    public JdkWebhookServer(int port, int threads, boolean virtualThreads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be greater than zero!");
+        }
+
+        this.port = port;
+        this.threads = threads;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Creates JDK webhook server with 2 platform request threads
+     *
+     * @param port Port, use 0 for random open port
+     */
+    public JdkWebhookServer(int port) {
+        this(port, 2, false);
+    }
+
+    @Override
+    public void start(@NonNull WebhookHandler webhookHandler) {
+        LOGGER.info("Starting JDK HTTP server at port {} for Top.gg's Webhooks.", port);
+
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not start JDK HTTP server on port " + port, exception);
+        }
+
+        executor = Executors.newFixedThreadPool(threads, ThreadUtils.createThreadFactory("TopGG-Webhook-Server", virtualThreads));
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/", exchange -> handle(webhookHandler, exchange));
+        httpServer.start();
+
+        LOGGER.info("JDK HTTP server has been started.");
+    }
+
+    private void handle(WebhookHandler webhookHandler, HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            int statusCode;
+
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                statusCode = 405;
+            } else {
+                String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+                statusCode = webhookHandler.handle(exchange.getRequestURI().getPath(),
+                                                   exchange.getRequestHeaders().getFirst("Authorization"),
+                                                   parseContentLength(contentLength),
+                                                   body);
+            }
+
+            exchange.sendResponseHeaders(statusCode, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static long parseContentLength(String contentLength) {
+        if (contentLength == null) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(contentLength);
+        } catch (NumberFormatException exception) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void stop() {
+        LOGGER.info("Stopping JDK HTTP server...");
+
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public int getPort() {
+        return httpServer == null ? -1 : httpServer.getAddress().getPort();
+    }
+}
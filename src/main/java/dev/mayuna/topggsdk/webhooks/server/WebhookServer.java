@@ -0,0 +1,58 @@
+package dev.mayuna.topggsdk.webhooks.server;
+
+import dev.mayuna.topggsdk.WebhookHandler;
+import lombok.NonNull;
+
+/**
+ * HTTP server backend of {@link WebhookHandler}. The server only receives POST requests and passes them to
+ * {@link WebhookHandler#handle(String, String, long, java.io.InputStream)}, authorization, parsing and dispatching are done by the
+ * handler, so all backends behave the same.
+ */
+public interface WebhookServer {
+
+    /**
+     * Starts the server
+     *
+     * @param webhookHandler Non-null {@link WebhookHandler} which handles received requests
+     */
+    void start(@NonNull WebhookHandler webhookHandler);
+
+    /**
+     * Called when {@link WebhookHandler} starts listening on new path. Servers which route by path should register it.
+     *
+     * @param path Non-null path
+     */
+    default void addPath(@NonNull String path) {
+    }
+
+    /**
+     * Stops the server
+     */
+    void stop();
+
+    /**
+     * Gets port the server listens on (useful when the server was created with port 0)
+     *
+     * @return Port, -1 if the server is not running
+     */
+    int getPort();
+
+    /**
+     * Available webhook server backends
+     */
+    enum Backend {
+        /**
+         * {@link JavalinWebhookServer}, requires Javalin on classpath
+         */
+        JAVALIN,
+        /**
+         * {@link JdkWebhookServer}, uses JDK's built-in HTTP server (no dependencies)
+         */
+        JDK,
+        /**
+         * No server is started, {@link WebhookHandler} has to be mounted into existing HTTP server by calling
+         * {@link WebhookHandler#handle(String, String, long, java.io.InputStream)}
+         */
+        MOUNTED;
+    }
+}
@@ -0,0 +1,177 @@
+package dev.mayuna.topggsdk;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.webhooks.DispatchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VoteReconcilerTest {
+
+    private static final String BOT_ID = "840993896123793409";
+    private static final String PATH = "/top_gg/";
+    private static final String AUTHORIZATION = "secret";
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private final List<Webhook> reconciled = new CopyOnWriteArrayList<>();
+    private final List<Webhook> acknowledged = new CopyOnWriteArrayList<>();
+
+    private TopGGAPI api;
+    private VoteReconciler voteReconciler;
+
+    @AfterEach
+    public void tearDown() {
+        if (voteReconciler != null) {
+            voteReconciler.stop();
+        }
+
+        if (api != null) {
+            api.getWebhookHandler().stop();
+        }
+    }
+
+    @Test
+    public void testVotesAreReconciledAfterGracePeriod() {
+        start(webhook -> {}, 60_000);
+        long now = System.currentTimeMillis();
+
+        // Votes before the first poll are considered processed
+        voteReconciler.reconcile(new long[]{1, 2}, now);
+        assertTrue(reconciled.isEmpty());
+
+        voteReconciler.reconcile(new long[]{3, 1, 2}, now + 1_000);
+        voteReconciler.reconcile(new long[]{3, 1, 2}, now + 30_000);
+        assertTrue(reconciled.isEmpty());
+
+        voteReconciler.reconcile(new long[]{3, 1, 2}, now + 61_000);
+        assertEquals(1, reconciled.size());
+        assertEquals(3, reconciled.get(0).getUserIdLong());
+        assertTrue(reconciled.get(0).isReconciled());
+        assertEquals(1, voteReconciler.getReconciledCount());
+
+        // Reconciled votes reach acknowledged observers, e.g. vote ledger
+        assertEquals(reconciled, acknowledged);
+
+        // Unchanged voter list is not compared
+        voteReconciler.reconcile(new long[]{3, 1, 2}, now + 62_000);
+        assertEquals(1, voteReconciler.getSkippedPollCount());
+        assertEquals(1, reconciled.size());
+
+        // Late webhook of the reconciled vote is suppressed
+        assertEquals(DispatchResult.ACKNOWLEDGED.getStatusCode(), deliver(3));
+        assertEquals(1, acknowledged.size());
+    }
+
+    @Test
+    public void testOnlyAcknowledgedWebhooksAreSeen() {
+        start(webhook -> {
+            if (!webhook.isReconciled() && webhook.getUserIdLong() == 1) {
+                throw new IllegalStateException("Test");
+            }
+        }, 0);
+        long now = System.currentTimeMillis();
+
+        voteReconciler.reconcile(new long[0], now);
+
+        assertEquals(DispatchResult.FAILED.getStatusCode(), deliver(1));
+        assertEquals(DispatchResult.ACKNOWLEDGED.getStatusCode(), deliver(2));
+
+        // Top.gg's retries of the failed webhook did not succeed either
+        voteReconciler.reconcile(new long[]{2, 1}, now + 1_000);
+        assertEquals(1, reconciled.size());
+        assertEquals(1, reconciled.get(0).getUserIdLong());
+    }
+
+    @Test
+    public void testWebhookInFlightIsNotReconciled() throws Exception {
+        CountDownLatch deliveryStarted = new CountDownLatch(1);
+        CountDownLatch deliveryRelease = new CountDownLatch(1);
+
+        start(webhook -> {
+            if (webhook.isReconciled()) {
+                return;
+            }
+
+            deliveryStarted.countDown();
+
+            try {
+                deliveryRelease.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+
+            throw new IllegalStateException("Test");
+        }, 0);
+        long now = System.currentTimeMillis();
+
+        voteReconciler.reconcile(new long[0], now);
+
+        CompletableFuture<Integer> delivery = CompletableFuture.supplyAsync(() -> deliver(1));
+        assertTrue(deliveryStarted.await(5, TimeUnit.SECONDS));
+
+        // Webhook is being processed, it must not be credited twice
+        voteReconciler.reconcile(new long[]{1}, now + 1_000);
+        assertTrue(reconciled.isEmpty());
+
+        deliveryRelease.countDown();
+        assertEquals(DispatchResult.FAILED.getStatusCode(), delivery.get(5, TimeUnit.SECONDS));
+
+        // Processing failed, so the vote is reconciled in the next poll
+        voteReconciler.reconcile(new long[]{1}, now + 2_000);
+        assertEquals(1, reconciled.size());
+    }
+
+    @Test
+    public void testSeenVotesAreForgottenAfterRetention() {
+        start(webhook -> {}, 0);
+        long now = System.currentTimeMillis();
+
+        voteReconciler.reconcile(new long[0], now);
+        // Not delivered through the handler, so the deduplicator does not know the vote
+        voteReconciler.recordSeen(Webhook.createReconciled(BOT_ID, "1"));
+
+        voteReconciler.reconcile(new long[]{1}, now + HOUR);
+        assertTrue(reconciled.isEmpty());
+
+        // The vote left the voter list and was forgotten
+        long later = now + HOUR + VoteReconciler.SEEN_RETENTION_MILLIS + 1_000;
+        voteReconciler.reconcile(new long[]{2}, later);
+        assertEquals(1, reconciled.size());
+
+        voteReconciler.reconcile(new long[]{1, 2}, later + 1_000);
+        assertEquals(2, reconciled.size());
+        assertEquals(1, reconciled.get(1).getUserIdLong());
+    }
+
+    private void start(Consumer<Webhook> listener, long graceMillis) {
+        api = TopGGAPI.Builder.create()
+                              .withToken("token")
+                              .withBotId(BOT_ID)
+                              // Polls fail, the tests compare voter lists on their own
+                              .withBaseUrl("http://127.0.0.1:1")
+                              .withWebhookListener(0, PATH, AUTHORIZATION, listener)
+                              .withWebhookDeduplication()
+                              .build();
+
+        api.getWebhookHandler().addAcknowledgedWebhookObserver(acknowledged::add);
+        voteReconciler = api.createVoteReconciler(HOUR, graceMillis, webhook -> {
+            listener.accept(webhook);
+            reconciled.add(webhook);
+        });
+    }
+
+    private int deliver(long userId) {
+        byte[] body = ("{\"bot\":\"" + BOT_ID + "\",\"user\":\"" + userId + "\",\"type\":\"upvote\",\"isWeekend\":false}").getBytes(StandardCharsets.UTF_8);
+        return api.getWebhookHandler().handle(PATH, AUTHORIZATION, body.length, new ByteArrayInputStream(body));
+    }
+}
@@ -0,0 +1,139 @@
+package dev.mayuna.topggsdk;
+
+import dev.mayuna.topggsdk.analytics.VoteAnalytics;
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.webhooks.DispatchResult;
+import dev.mayuna.topggsdk.webhooks.WebhookDeduplicator;
+import dev.mayuna.topggsdk.webhooks.WebhookDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebhookHandlerTest {
+
+    private static final String PATH = "/top_gg/";
+    private static final String AUTHORIZATION = "secret";
+    private static final String BODY = "{\"bot\":\"840993896123793409\",\"user\":\"680508886574170122\",\"type\":\"upvote\",\"isWeekend\":false}";
+
+    @Test
+    public void testDuplicateOfInFlightWebhookIsRejected() throws Exception {
+        CountDownLatch firstDispatchStarted = new CountDownLatch(1);
+        CountDownLatch firstDispatchRelease = new CountDownLatch(1);
+        AtomicInteger dispatches = new AtomicInteger();
+        AtomicInteger acknowledged = new AtomicInteger();
+
+        WebhookDispatcher webhookDispatcher = new WebhookDispatcher() {
+            @Override
+            public DispatchResult dispatch(Webhook webhook) {
+                if (dispatches.incrementAndGet() == 1) {
+                    firstDispatchStarted.countDown();
+                    await(firstDispatchRelease);
+                    return DispatchResult.FAILED;
+                }
+
+                return DispatchResult.ACKNOWLEDGED;
+            }
+        };
+
+        WebhookHandler webhookHandler = new WebhookHandler(null, PATH, AUTHORIZATION, webhook -> {}, webhookDispatcher);
+        WebhookDeduplicator webhookDeduplicator = new WebhookDeduplicator();
+        webhookHandler.setWebhookDeduplicator(webhookDeduplicator);
+        webhookHandler.addAcknowledgedWebhookObserver(webhook -> acknowledged.incrementAndGet());
+
+        CompletableFuture<Integer> firstDelivery = CompletableFuture.supplyAsync(() -> handle(webhookHandler));
+        assertTrue(firstDispatchStarted.await(5, TimeUnit.SECONDS));
+
+        // Retry while the first delivery is processed must not be acknowledged
+        assertEquals(DispatchResult.REJECTED.getStatusCode(), handle(webhookHandler));
+        assertEquals(1, webhookDeduplicator.getInFlightCount());
+
+        firstDispatchRelease.countDown();
+        assertEquals(DispatchResult.FAILED.getStatusCode(), firstDelivery.get(5, TimeUnit.SECONDS));
+        assertEquals(0, webhookDeduplicator.getInFlightCount());
+        assertEquals(0, acknowledged.get());
+
+        // Retry after the failure is processed, the next one is a duplicate
+        assertEquals(DispatchResult.ACKNOWLEDGED.getStatusCode(), handle(webhookHandler));
+        assertEquals(DispatchResult.ACKNOWLEDGED.getStatusCode(), handle(webhookHandler));
+        assertEquals(2, dispatches.get());
+        assertEquals(1, acknowledged.get());
+        assertEquals(1, webhookDeduplicator.getSuppressedCount());
+        assertEquals(1, webhookDeduplicator.getInFlightDuplicateCount());
+    }
+
+    @Test
+    public void testExceptionInDispatcherForgetsWebhook() {
+        AtomicInteger dispatches = new AtomicInteger();
+
+        WebhookDispatcher webhookDispatcher = new WebhookDispatcher() {
+            @Override
+            public DispatchResult dispatch(Webhook webhook) {
+                if (dispatches.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Test");
+                }
+
+                return DispatchResult.ACKNOWLEDGED;
+            }
+        };
+
+        WebhookHandler webhookHandler = new WebhookHandler(null, PATH, AUTHORIZATION, webhook -> {}, webhookDispatcher);
+        WebhookDeduplicator webhookDeduplicator = new WebhookDeduplicator();
+        webhookHandler.setWebhookDeduplicator(webhookDeduplicator);
+
+        assertThrows(IllegalStateException.class, () -> handle(webhookHandler));
+        assertEquals(0, webhookDeduplicator.getInFlightCount());
+        assertEquals(DispatchResult.ACKNOWLEDGED.getStatusCode(), handle(webhookHandler));
+        assertEquals(2, dispatches.get());
+    }
+
+    @Test
+    public void testVoteAnalyticsRecordsOnlyAcknowledgedWebhooks() {
+        AtomicInteger deliveries = new AtomicInteger();
+
+        TopGGAPI api = TopGGAPI.Builder.create()
+                                       .withToken("token")
+                                       .withBotId("840993896123793409")
+                                       .withWebhookListener(0, PATH, AUTHORIZATION, webhook -> {
+                                           if (deliveries.incrementAndGet() == 1) {
+                                               throw new IllegalStateException("Test");
+                                           }
+                                       })
+                                       .withWebhookDeduplication()
+                                       .withVoteAnalytics()
+                                       .build();
+
+        try {
+            WebhookHandler webhookHandler = api.getWebhookHandler();
+
+            // Failed delivery, retry and duplicate of the retry
+            assertEquals(DispatchResult.FAILED.getStatusCode(), handle(webhookHandler));
+            assertEquals(DispatchResult.ACKNOWLEDGED.getStatusCode(), handle(webhookHandler));
+            assertEquals(DispatchResult.ACKNOWLEDGED.getStatusCode(), handle(webhookHandler));
+
+            assertEquals(2, deliveries.get());
+            assertEquals(1, api.getVoteAnalytics().getSummary(VoteAnalytics.Resolution.DAY, 1).getBotVotes());
+        } finally {
+            api.getWebhookHandler().stop();
+        }
+    }
+
+    private static int handle(WebhookHandler webhookHandler) {
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        return webhookHandler.handle(PATH, AUTHORIZATION, body.length, new ByteArrayInputStream(body));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
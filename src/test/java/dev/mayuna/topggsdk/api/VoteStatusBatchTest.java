@@ -0,0 +1,94 @@
+package dev.mayuna.topggsdk.api;
+
+import dev.mayuna.topggsdk.TopGGAPI;
+import dev.mayuna.topggsdk.api.entities.VoteStatus;
+import dev.mayuna.topggsdk.resilience.CircuitBreaker;
+import dev.mayuna.topggsdk.resilience.CircuitOpenException;
+import dev.mayuna.topggsdk.resilience.ResilienceHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VoteStatusBatchTest {
+
+    private static final String CHECK_ENDPOINT = "/bots/{bot_id}/check";
+    private static final List<String> USER_IDS = List.of("680508886574170122", "680508886574170123", "680508886574170124");
+
+    @Test
+    public void testOpenBreakerFailsBatch() throws Exception {
+        ResilienceHandler resilienceHandler = new ResilienceHandler();
+        TopGGAPI api = createApi(resilienceHandler);
+
+        try {
+            open(resilienceHandler.getCircuitBreaker(CHECK_ENDPOINT));
+
+            // Request of the first lane fails fast, the batch must fail instead of throwing
+            CompletableFuture<Map<String, VoteStatus>> future = api.fetchVoteStatuses(USER_IDS, 2, null);
+            assertCircuitOpen(future);
+        } finally {
+            resilienceHandler.shutdown();
+        }
+    }
+
+    @Test
+    public void testBreakerOpenedDuringBatchFailsBatch() throws Exception {
+        CompletableFuture<Void> firstResponse = new CompletableFuture<>();
+        AtomicInteger requests = new AtomicInteger();
+
+        ResilienceHandler resilienceHandler = new ResilienceHandler() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> CompletableFuture<T> execute(Route route, Supplier<CompletableFuture<T>> request, boolean retryOnRetryAfter) {
+                if (requests.getAndIncrement() == 0) {
+                    return firstResponse.thenApply(ignored -> (T) new VoteStatus(true));
+                }
+
+                return super.execute(route, request, retryOnRetryAfter);
+            }
+        };
+        TopGGAPI api = createApi(resilienceHandler);
+
+        try {
+            AtomicInteger results = new AtomicInteger();
+            CompletableFuture<Map<String, VoteStatus>> future = api.fetchVoteStatuses(USER_IDS, 1, (userId, voteStatus) -> results.incrementAndGet());
+
+            // The next request of the lane is sent from the first response's callback and fails fast
+            open(resilienceHandler.getCircuitBreaker(CHECK_ENDPOINT));
+            firstResponse.complete(null);
+
+            assertCircuitOpen(future);
+            assertEquals(1, results.get());
+            assertEquals(2, requests.get());
+        } finally {
+            resilienceHandler.shutdown();
+        }
+    }
+
+    private static TopGGAPI createApi(ResilienceHandler resilienceHandler) {
+        return TopGGAPI.Builder.create()
+                               .withToken("token")
+                               .withBotId("840993896123793409")
+                               .withoutRateLimiter()
+                               .withResilience(resilienceHandler)
+                               .build();
+    }
+
+    private static void open(CircuitBreaker circuitBreaker) {
+        while (circuitBreaker.getState() != CircuitBreaker.State.OPEN) {
+            circuitBreaker.recordFailure();
+        }
+    }
+
+    private static void assertCircuitOpen(CompletableFuture<Map<String, VoteStatus>> future) throws Exception {
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CircuitOpenException.class, exception.getCause());
+    }
+}
@@ -0,0 +1,116 @@
+package dev.mayuna.topggsdk.api.entities.webhooks;
+
+import dev.mayuna.topggsdk.api.TopGGGson;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebhookBinaryCodecTest {
+
+    @Test
+    public void testBotWebhookRoundTrip() throws IOException {
+        Webhook webhook = parse("{\"bot\":\"840993896123793409\",\"user\":\"680508886574170122\",\"type\":\"upvote\",\"isWeekend\":true,\"query\":\"?ref=discord&page=2\"}");
+        Webhook copy = roundTrip(webhook);
+
+        assertEquals(Webhook.Type.BOT, copy.getWebhookType());
+        assertEquals(840993896123793409L, copy.getBotIdLong());
+        assertEquals(680508886574170122L, copy.getUserIdLong());
+        assertEquals("upvote", copy.getType());
+        assertTrue(copy.isWeekend());
+        assertFalse(copy.isReconciled());
+        assertEquals("?ref=discord&page=2", copy.getQuery());
+        assertEquals("discord", copy.getQueries().get("ref"));
+        assertNotEquals(0, copy.getReceivedAtNanos());
+    }
+
+    @Test
+    public void testServerWebhookRoundTrip() throws IOException {
+        Webhook webhook = parse("{\"guild\":\"264445053596991498\",\"user\":\"680508886574170122\",\"type\":\"test\",\"isWeekend\":false}");
+        Webhook copy = roundTrip(webhook);
+
+        assertEquals(Webhook.Type.SERVER, copy.getWebhookType());
+        assertEquals("264445053596991498", copy.getGuildId());
+        assertEquals("680508886574170122", copy.getUserId());
+        assertNull(copy.getBotId());
+        assertEquals("test", copy.getType());
+        assertFalse(copy.isWeekend());
+        assertNull(copy.getQuery());
+    }
+
+    @Test
+    public void testReconciledWebhookRoundTrip() throws IOException {
+        Webhook webhook = Webhook.createReconciled("840993896123793409", "680508886574170122");
+        byte[] bytes = write(webhook);
+        Webhook copy = read(bytes);
+
+        // Flags, three IDs, type and empty query
+        assertEquals(39, bytes.length);
+        assertTrue(copy.isReconciled());
+        assertEquals(webhook.getUserId(), copy.getUserId());
+        assertEquals(webhook.getBotId(), copy.getBotId());
+    }
+
+    @Test
+    public void testIdsWhichAreNotSnowflakesAreKept() throws IOException {
+        Webhook webhook = parse("{\"bot\":\"840993896123793409\",\"user\":\"not-a-snowflake\",\"type\":\"upvote\",\"isWeekend\":false}");
+        Webhook copy = roundTrip(webhook);
+
+        assertEquals("not-a-snowflake", copy.getUserId());
+        assertEquals("840993896123793409", copy.getBotId());
+    }
+
+    @Test
+    public void testMultipleWebhooksInStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+
+        for (int i = 0; i < 10; i++) {
+            Webhook.BinaryCodec.write(output, Webhook.createReconciled("840993896123793409", Long.toString(680508886574170122L + i)));
+        }
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(680508886574170122L + i, Webhook.BinaryCodec.read(input).getUserIdLong());
+        }
+
+        assertEquals(0, input.available());
+    }
+
+    @Test
+    public void testInvalidInput() throws IOException {
+        byte[] bytes = write(Webhook.createReconciled("840993896123793409", "680508886574170122"));
+
+        assertThrows(EOFException.class, () -> read(Arrays.copyOf(bytes, bytes.length - 1)));
+
+        // Length of the type string (after flags and three IDs)
+        bytes[25] = (byte) 0x7F;
+        assertThrows(IOException.class, () -> read(bytes));
+    }
+
+    private static Webhook parse(String json) {
+        return TopGGGson.get().fromJson(json, Webhook.class);
+    }
+
+    private static Webhook roundTrip(Webhook webhook) throws IOException {
+        return read(write(webhook));
+    }
+
+    private static byte[] write(Webhook webhook) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Webhook.BinaryCodec.write(new DataOutputStream(bytes), webhook);
+        return bytes.toByteArray();
+    }
+
+    private static Webhook read(byte[] bytes) throws IOException {
+        return Webhook.BinaryCodec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
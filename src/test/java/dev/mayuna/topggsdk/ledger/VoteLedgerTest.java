@@ -0,0 +1,158 @@
+package dev.mayuna.topggsdk.ledger;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VoteLedgerTest {
+
+    private static final long BOT_ID = 840993896123793409L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testUserChains() throws IOException {
+        try (VoteLedger voteLedger = VoteLedger.open(directory.resolve("votes.ledger"))) {
+            for (int i = 0; i < 10; i++) {
+                voteLedger.append(1000 + i % 3, BOT_ID, 1000 + i, i % 2 == 0, Webhook.Type.BOT);
+            }
+
+            // User 1000 voted at 1000, 1003, 1006 and 1009
+            assertEquals(4, voteLedger.countVotes(1000, 0));
+            assertEquals(2, voteLedger.countVotes(1000, 1005));
+            assertEquals(3, voteLedger.countVotes(1001, 0));
+            assertEquals(0, voteLedger.countVotes(1005, 0));
+            assertEquals(5, voteLedger.countVotes(1005));
+
+            List<VoteRecord> votes = voteLedger.getVotes(1001, 0);
+            assertEquals(3, votes.size());
+            assertEquals(1007, votes.get(0).getTimestamp());
+            assertEquals(1004, votes.get(1).getTimestamp());
+            assertEquals(1001, votes.get(2).getTimestamp());
+
+            for (VoteRecord vote : votes) {
+                assertEquals(1001, vote.getUserId());
+                assertEquals(BOT_ID, vote.getTargetId());
+            }
+
+            assertEquals(1008, voteLedger.getLastVote(1002).getTimestamp());
+            assertNull(voteLedger.getLastVote(1003));
+        }
+    }
+
+    @Test
+    public void testChainsAreRecovered() throws IOException {
+        Path path = directory.resolve("votes.ledger");
+
+        try (VoteLedger voteLedger = VoteLedger.open(path)) {
+            voteLedger.append(1, BOT_ID, 1000, false, Webhook.Type.BOT);
+            voteLedger.append(2, 42, 2000, true, Webhook.Type.SERVER);
+            voteLedger.append(1, BOT_ID, 3000, false, Webhook.Type.BOT);
+        }
+
+        try (VoteLedger voteLedger = VoteLedger.open(path)) {
+            assertEquals(3, voteLedger.size());
+            assertEquals(2, voteLedger.countVotes(1, 0));
+
+            VoteRecord vote = voteLedger.getLastVote(2);
+            assertEquals(42, vote.getTargetId());
+            assertEquals(Webhook.Type.SERVER, vote.getType());
+            assertTrue(vote.isWeekend());
+
+            voteLedger.append(1, BOT_ID, 4000, false, Webhook.Type.BOT);
+            assertEquals(3, voteLedger.countVotes(1, 0));
+        }
+    }
+
+    @Test
+    public void testOutOfOrderAppendIsRejected() throws IOException {
+        try (VoteLedger voteLedger = VoteLedger.open(directory.resolve("votes.ledger"))) {
+            voteLedger.append(1, BOT_ID, 1000, false, Webhook.Type.BOT);
+            voteLedger.append(1, BOT_ID, 2000, false, Webhook.Type.BOT);
+            // The same time is allowed
+            voteLedger.append(2, BOT_ID, 2000, false, Webhook.Type.BOT);
+
+            assertThrows(IllegalArgumentException.class, () -> voteLedger.append(1, BOT_ID, 1500, false, Webhook.Type.BOT));
+            assertThrows(IllegalArgumentException.class, () -> voteLedger.append(3, BOT_ID, 500, false, Webhook.Type.BOT));
+
+            // Rejected votes were not stored and queries see all stored ones
+            assertEquals(3, voteLedger.size());
+            assertEquals(2000, voteLedger.getLastTimestamp());
+            assertEquals(2000, voteLedger.getLastVote(1).getTimestamp());
+            assertNull(voteLedger.getLastVote(3));
+            assertEquals(2, voteLedger.countVotes(1, 0));
+            assertEquals(2, voteLedger.countVotes(1800));
+
+            int[] replayed = new int[1];
+            voteLedger.replay(1800, vote -> replayed[0]++);
+            assertEquals(2, replayed[0]);
+        }
+    }
+
+    @Test
+    public void testWebhookIsNotOlderThanLatestRecord() throws IOException {
+        try (VoteLedger voteLedger = VoteLedger.open(directory.resolve("votes.ledger"))) {
+            long future = System.currentTimeMillis() + 60_000;
+            voteLedger.append(1, BOT_ID, future, false, Webhook.Type.BOT);
+
+            // e.g. system clock went back, received vote is still the newest one
+            voteLedger.append(Webhook.createReconciled(Long.toString(BOT_ID), "680508886574170122"));
+
+            assertEquals(future, voteLedger.getLastVote(680508886574170122L).getTimestamp());
+            assertEquals(2, voteLedger.countVotes(future));
+        }
+    }
+
+    @Test
+    public void testRecoveryAfterTornWrite() throws IOException {
+        Path path = directory.resolve("votes.ledger");
+
+        try (VoteLedger voteLedger = VoteLedger.open(path)) {
+            for (int i = 0; i < 10; i++) {
+                voteLedger.append(i, BOT_ID, 1000 + i, false, Webhook.Type.BOT);
+            }
+        }
+
+        // Record 5 was not fully written before the crash, records after it were
+        corruptChecksum(path, 5);
+
+        try (VoteLedger voteLedger = VoteLedger.open(path)) {
+            assertEquals(5, voteLedger.size());
+            assertNull(voteLedger.getLastVote(7));
+
+            voteLedger.append(100, BOT_ID, 2000, false, Webhook.Type.BOT);
+        }
+
+        // Old records after the torn one must not be recovered once the gap is filled
+        try (VoteLedger voteLedger = VoteLedger.open(path)) {
+            assertEquals(6, voteLedger.size());
+            assertNull(voteLedger.getLastVote(7));
+            assertEquals(1, voteLedger.countVotes(100, 0));
+            assertEquals(6, voteLedger.countVotes(0));
+        }
+    }
+
+    private static void corruptChecksum(Path path, int index) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = VoteLedger.HEADER_SIZE + (long) index * VoteLedger.RECORD_SIZE + 28;
+            ByteBuffer buffer = ByteBuffer.allocate(4);
+            fileChannel.read(buffer, position);
+            buffer.flip();
+            int flagsAndChecksum = buffer.getInt();
+
+            buffer.clear();
+            buffer.putInt(flagsAndChecksum ^ 0x10).flip();
+            fileChannel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package dev.mayuna.topggsdk.ratelimit;
+
+import dev.mayuna.topggsdk.api.Route;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SharedRateLimitBackendTest {
+
+    private static final Route GLOBAL_ROUTE = Route.get("/users/{user_id}");
+    private static final Route BOTS_ROUTE = Route.get("/bots/{bot_id}");
+    private static final long NOW = 1_000_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testBurstAndLimit() throws IOException {
+        try (SharedRateLimitBackend backend = SharedRateLimitBackend.open(directory.resolve("ratelimit"), 10, 1_000, 5, 60_000)) {
+            // Whole limit is allowed at once
+            for (int i = 0; i < 10; i++) {
+                assertEquals(0, backend.tryAcquire(GLOBAL_ROUTE, NOW));
+            }
+
+            // Then one request every period / limit
+            assertEquals(100, backend.tryAcquire(GLOBAL_ROUTE, NOW));
+            assertEquals(40, backend.tryAcquire(GLOBAL_ROUTE, NOW + 60));
+            assertEquals(0, backend.tryAcquire(GLOBAL_ROUTE, NOW + 100));
+            assertEquals(100, backend.tryAcquire(GLOBAL_ROUTE, NOW + 100));
+
+            // Bucket is full again after the whole period without requests
+            for (int i = 0; i < 10; i++) {
+                assertEquals(0, backend.tryAcquire(GLOBAL_ROUTE, NOW + 1_200));
+            }
+
+            assertTrue(backend.tryAcquire(GLOBAL_ROUTE, NOW + 1_200) > 0);
+        }
+    }
+
+    @Test
+    public void testBotsRouteUsesBothBuckets() throws IOException {
+        try (SharedRateLimitBackend backend = SharedRateLimitBackend.open(directory.resolve("ratelimit"), 10, 1_000, 5, 60_000)) {
+            for (int i = 0; i < 5; i++) {
+                assertEquals(0, backend.tryAcquire(BOTS_ROUTE, NOW));
+            }
+
+            assertEquals(12_000, backend.tryAcquire(BOTS_ROUTE, NOW));
+
+            // Bots requests used the global bucket too
+            for (int i = 0; i < 5; i++) {
+                assertEquals(0, backend.tryAcquire(GLOBAL_ROUTE, NOW));
+            }
+
+            assertEquals(100, backend.tryAcquire(GLOBAL_ROUTE, NOW));
+        }
+    }
+
+    @Test
+    public void testBotsPermitIsReleasedWhenGlobalBucketIsEmpty() throws IOException {
+        try (SharedRateLimitBackend backend = SharedRateLimitBackend.open(directory.resolve("ratelimit"), 3, 1_000, 5, 60_000)) {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(0, backend.tryAcquire(BOTS_ROUTE, NOW));
+            }
+
+            // Bots bucket has permits, global one does not
+            assertEquals(334, backend.tryAcquire(BOTS_ROUTE, NOW));
+
+            // Global bucket is full again, bots bucket still has the two permits which were not used
+            assertEquals(0, backend.tryAcquire(BOTS_ROUTE, NOW + 1_000));
+            assertEquals(0, backend.tryAcquire(BOTS_ROUTE, NOW + 1_000));
+            assertTrue(backend.tryAcquire(BOTS_ROUTE, NOW + 1_000) > 1_000);
+        }
+    }
+
+    @Test
+    public void testPauseUntil() throws IOException {
+        try (SharedRateLimitBackend backend = SharedRateLimitBackend.open(directory.resolve("ratelimit"), 10, 1_000, 5, 60_000)) {
+            long until = NOW + 5_000;
+            backend.pauseUntil(GLOBAL_ROUTE, until);
+
+            assertEquals(until, backend.getPausedUntil(GLOBAL_ROUTE));
+            assertEquals(0, backend.getPausedUntil(BOTS_ROUTE));
+            assertTrue(backend.tryAcquire(GLOBAL_ROUTE, NOW) >= 5_000);
+
+            // Earlier pause does not shorten the current one
+            backend.pauseUntil(GLOBAL_ROUTE, NOW + 1_000);
+            assertEquals(until, backend.getPausedUntil(GLOBAL_ROUTE));
+
+            // Bucket is empty when the pause ends
+            assertEquals(100, backend.tryAcquire(GLOBAL_ROUTE, until));
+            assertEquals(0, backend.tryAcquire(GLOBAL_ROUTE, until + 100));
+
+            backend.reset();
+            assertEquals(0, backend.getPausedUntil(GLOBAL_ROUTE));
+            assertEquals(0, backend.tryAcquire(GLOBAL_ROUTE, NOW));
+        }
+    }
+
+    @Test
+    public void testStateIsShared() throws IOException {
+        Path path = directory.resolve("ratelimit");
+
+        try (SharedRateLimitBackend first = SharedRateLimitBackend.open(path, 10, 1_000, 5, 60_000); SharedRateLimitBackend second = SharedRateLimitBackend.open(path, 10, 1_000, 5, 60_000)) {
+            for (int i = 0; i < 5; i++) {
+                assertEquals(0, first.tryAcquire(GLOBAL_ROUTE, NOW));
+                assertEquals(0, second.tryAcquire(GLOBAL_ROUTE, NOW));
+            }
+
+            assertEquals(100, first.tryAcquire(GLOBAL_ROUTE, NOW));
+
+            second.pauseUntil(BOTS_ROUTE, NOW + 5_000);
+            assertEquals(NOW + 5_000, first.getPausedUntil(BOTS_ROUTE));
+        }
+    }
+
+    @Test
+    public void testDifferentLimitsAreRejected() throws IOException {
+        Path path = directory.resolve("ratelimit");
+
+        SharedRateLimitBackend backend = SharedRateLimitBackend.open(path, 10, 1_000, 5, 60_000);
+
+        try {
+            assertThrows(IOException.class, () -> SharedRateLimitBackend.open(path, 20, 1_000, 5, 60_000).close());
+        } finally {
+            backend.close();
+        }
+
+        // File lock was released, so the file can be opened again
+        SharedRateLimitBackend.open(path, 10, 1_000, 5, 60_000).close();
+    }
+}
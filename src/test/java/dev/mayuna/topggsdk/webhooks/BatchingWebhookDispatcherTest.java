@@ -0,0 +1,171 @@
+package dev.mayuna.topggsdk.webhooks;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchingWebhookDispatcherTest {
+
+    private static final String BOT_ID = "840993896123793409";
+
+    @Test
+    public void testFullBatchIsCommittedAndEveryWebhookAcknowledged() throws Exception {
+        List<List<Webhook>> batches = new CopyOnWriteArrayList<>();
+        BatchingWebhookDispatcher.Settings settings = BatchingWebhookDispatcher.Settings.create().withMaxBatchSize(5).withLingerMillis(60_000);
+        BatchingWebhookDispatcher dispatcher = new BatchingWebhookDispatcher(batch -> batches.add(new ArrayList<>(batch)), settings);
+
+        try {
+            List<DispatchResult> results = dispatchConcurrently(dispatcher, 5);
+
+            // Batch was committed because it was full, not after the linger time
+            assertEquals(List.of(DispatchResult.ACKNOWLEDGED, DispatchResult.ACKNOWLEDGED, DispatchResult.ACKNOWLEDGED, DispatchResult.ACKNOWLEDGED, DispatchResult.ACKNOWLEDGED), results);
+            assertEquals(1, batches.size());
+            assertEquals(5, batches.get(0).size());
+            assertEquals(1, dispatcher.getCommittedBatchCount());
+            assertEquals(5, dispatcher.getCommittedCount());
+            assertEquals(0, dispatcher.getPendingCount());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testPartialBatchIsCommittedAfterLinger() throws Exception {
+        List<List<Webhook>> batches = new CopyOnWriteArrayList<>();
+        BatchingWebhookDispatcher.Settings settings = BatchingWebhookDispatcher.Settings.create().withMaxBatchSize(100).withLingerMillis(50);
+        BatchingWebhookDispatcher dispatcher = new BatchingWebhookDispatcher(batch -> batches.add(new ArrayList<>(batch)), settings);
+
+        try {
+            long start = System.nanoTime();
+            List<DispatchResult> results = dispatchConcurrently(dispatcher, 3);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(List.of(DispatchResult.ACKNOWLEDGED, DispatchResult.ACKNOWLEDGED, DispatchResult.ACKNOWLEDGED), results);
+            assertEquals(3, batches.stream().mapToInt(List::size).sum());
+            assertTrue(elapsedMillis >= 50, "Batch was committed before linger time: " + elapsedMillis + "ms");
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedBatchFailsEveryWebhook() throws Exception {
+        BatchingWebhookDispatcher.Settings settings = BatchingWebhookDispatcher.Settings.create().withMaxBatchSize(3).withLingerMillis(60_000);
+        BatchingWebhookDispatcher dispatcher = new BatchingWebhookDispatcher(batch -> {
+            throw new IllegalStateException("Database is down");
+        }, settings);
+
+        try {
+            List<DispatchResult> results = dispatchConcurrently(dispatcher, 3);
+
+            assertEquals(List.of(DispatchResult.FAILED, DispatchResult.FAILED, DispatchResult.FAILED), results);
+            assertEquals(500, results.get(0).getStatusCode());
+            assertEquals(1, dispatcher.getFailedBatchCount());
+            assertEquals(0, dispatcher.getCommittedCount());
+            assertEquals(0, dispatcher.getPendingCount());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testSlowCommitIsRejected() {
+        CountDownLatch release = new CountDownLatch(1);
+        BatchingWebhookDispatcher.Settings settings = BatchingWebhookDispatcher.Settings.create().withMaxBatchSize(1).withAcknowledgeTimeoutMillis(100);
+        BatchingWebhookDispatcher dispatcher = new BatchingWebhookDispatcher(awaiting(release), settings);
+
+        try {
+            DispatchResult result = dispatcher.dispatch(createWebhook(0));
+
+            assertEquals(DispatchResult.REJECTED, result);
+            assertEquals(503, result.getStatusCode());
+            assertEquals(1, dispatcher.getRejectedCount());
+        } finally {
+            release.countDown();
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testShutdownCommitsPendingBatchAndRejectsNewWebhooks() throws Exception {
+        List<List<Webhook>> batches = new CopyOnWriteArrayList<>();
+        BatchingWebhookDispatcher.Settings settings = BatchingWebhookDispatcher.Settings.create().withMaxBatchSize(100).withLingerMillis(60_000);
+        BatchingWebhookDispatcher dispatcher = new BatchingWebhookDispatcher(batch -> batches.add(new ArrayList<>(batch)), settings);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            List<Future<DispatchResult>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 3; i++) {
+                Webhook webhook = createWebhook(i);
+                futures.add(executor.submit(() -> dispatcher.dispatch(webhook)));
+            }
+
+            while (dispatcher.getPendingCount() < 3) {
+                Thread.sleep(5);
+            }
+
+            // Pending batch is committed without waiting for the linger time
+            dispatcher.shutdown();
+
+            for (Future<DispatchResult> future : futures) {
+                assertEquals(DispatchResult.ACKNOWLEDGED, future.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, batches.size());
+            assertEquals(3, batches.get(0).size());
+            assertEquals(DispatchResult.REJECTED, dispatcher.dispatch(createWebhook(3)));
+        } finally {
+            executor.shutdownNow();
+            dispatcher.shutdown();
+        }
+    }
+
+    private static List<DispatchResult> dispatchConcurrently(BatchingWebhookDispatcher dispatcher, int count) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(count);
+
+        try {
+            List<Future<DispatchResult>> futures = new ArrayList<>();
+
+            for (int i = 0; i < count; i++) {
+                Webhook webhook = createWebhook(i);
+                futures.add(executor.submit(() -> dispatcher.dispatch(webhook)));
+            }
+
+            List<DispatchResult> results = new ArrayList<>();
+
+            for (Future<DispatchResult> future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Consumer<List<Webhook>> awaiting(CountDownLatch release) {
+        return batch -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private static Webhook createWebhook(int index) {
+        return Webhook.createReconciled(BOT_ID, Long.toString(680508886574170122L + index));
+    }
+}
@@ -0,0 +1,75 @@
+package dev.mayuna.topggsdk.webhooks.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of("node-a", "node-b", "node-c");
+    private static final int KEYS = 30_000;
+
+    @Test
+    public void testHashIsStable() {
+        // All processes of a cluster must compute the same hashes, also across SDK versions
+        assertEquals(2804977831384029607L, ConsistentHashRing.hash("840993896123793409"));
+        assertEquals(-780787492076525413L, ConsistentHashRing.hash(""));
+    }
+
+    @Test
+    public void testRingIsDeterministic() {
+        ConsistentHashRing<String> first = new ConsistentHashRing<>(NODES, Function.identity(), 128);
+        ConsistentHashRing<String> second = new ConsistentHashRing<>(NODES, Function.identity(), 128);
+        // Order of nodes does not matter, positions are derived from their keys
+        ConsistentHashRing<String> reversed = new ConsistentHashRing<>(List.of("node-c", "node-b", "node-a"), Function.identity(), 128);
+
+        for (long key = 0; key < KEYS; key++) {
+            long userId = 100000000000000000L + key * 7919;
+            assertEquals(first.get(userId), second.get(userId));
+            assertEquals(first.get(userId), reversed.get(userId));
+        }
+    }
+
+    @Test
+    public void testKeysAreSpreadEvenly() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(NODES, Function.identity(), 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (long key = 0; key < KEYS; key++) {
+            // Sequential IDs, e.g. snowflakes created at similar time
+            counts.merge(ring.get(100000000000000000L + key), 1, Integer::sum);
+        }
+
+        assertEquals(NODES.size(), counts.size());
+
+        for (int count : counts.values()) {
+            assertTrue(count > KEYS / NODES.size() * 0.75 && count < KEYS / NODES.size() * 1.25, "Uneven spread: " + counts);
+        }
+    }
+
+    @Test
+    public void testRemovingNodeMovesOnlyItsKeys() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(NODES, Function.identity(), 128);
+        ConsistentHashRing<String> smallerRing = new ConsistentHashRing<>(List.of("node-a", "node-b"), Function.identity(), 128);
+
+        for (long key = 0; key < KEYS; key++) {
+            long userId = 100000000000000000L + key;
+            String owner = ring.get(userId);
+
+            if (!owner.equals("node-c")) {
+                assertEquals(owner, smallerRing.get(userId));
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<>(List.<String>of(), Function.identity(), 128));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<>(NODES, Function.identity(), 0));
+    }
+}
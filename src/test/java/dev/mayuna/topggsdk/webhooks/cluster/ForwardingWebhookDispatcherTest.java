@@ -0,0 +1,208 @@
+package dev.mayuna.topggsdk.webhooks.cluster;
+
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.webhooks.BatchingWebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.DirectWebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.DispatchResult;
+import dev.mayuna.topggsdk.webhooks.WebhookDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ForwardingWebhookDispatcherTest {
+
+    private static final String SECRET = "secret";
+    private static final String BOT_ID = "840993896123793409";
+
+    @Test
+    public void testWebhooksAreForwardedToOwner() throws Exception {
+        CountDownLatch received = new CountDownLatch(100);
+        WebhookPeerServer peerServer = new WebhookPeerServer(0, SECRET, new DirectWebhookDispatcher(webhook -> received.countDown()));
+        peerServer.start();
+
+        ForwardingWebhookDispatcher dispatcher = new ForwardingWebhookDispatcher(null, List.of(new WebhookPeer("b", "127.0.0.1", peerServer.getPort())), SECRET, new DirectWebhookDispatcher(webhook -> fail("Webhook owned by peer was dispatched locally")));
+
+        try {
+            for (int i = 0; i < 100; i++) {
+                assertEquals(DispatchResult.ACKNOWLEDGED, dispatcher.dispatch(createWebhook(i)));
+            }
+
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+            assertEquals(100, dispatcher.getForwardedCount());
+            assertEquals(100, peerServer.getReceivedCount());
+        } finally {
+            dispatcher.shutdown();
+            peerServer.stop();
+        }
+    }
+
+    @Test
+    public void testTimedOutWebhookIsNotKeptInFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WebhookDispatcher slowDispatcher = new WebhookDispatcher() {
+            @Override
+            public DispatchResult dispatch(Webhook webhook) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+
+                return DispatchResult.ACKNOWLEDGED;
+            }
+        };
+
+        WebhookPeerServer peerServer = new WebhookPeerServer(0, SECRET, slowDispatcher);
+        peerServer.start();
+
+        ForwardingWebhookDispatcher.Settings settings = ForwardingWebhookDispatcher.Settings.create().withAcknowledgeTimeoutMillis(100);
+        ForwardingWebhookDispatcher dispatcher = new ForwardingWebhookDispatcher(null, List.of(new WebhookPeer("b", "127.0.0.1", peerServer.getPort())), SECRET, new DirectWebhookDispatcher(webhook -> {}), settings);
+
+        try {
+            assertEquals(DispatchResult.REJECTED, dispatcher.dispatch(createWebhook(0)));
+            assertEquals(0, dispatcher.getInFlightCount());
+            assertEquals(1, dispatcher.getRejectedCount());
+
+            // Late response is ignored and the connection is still usable
+            release.countDown();
+            assertEquals(DispatchResult.ACKNOWLEDGED, dispatcher.dispatch(createWebhook(1)));
+            assertEquals(0, dispatcher.getInFlightCount());
+        } finally {
+            dispatcher.shutdown();
+            peerServer.stop();
+        }
+    }
+
+    @Test
+    public void testForwardedWebhooksAreBatchedTogether() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        BatchingWebhookDispatcher.Settings batchSettings = BatchingWebhookDispatcher.Settings.create().withMaxBatchSize(10).withLingerMillis(60_000);
+        WebhookPeerServer peerServer = new WebhookPeerServer(0, SECRET, new BatchingWebhookDispatcher(batch -> batchSizes.add(batch.size()), batchSettings));
+        peerServer.start();
+
+        ForwardingWebhookDispatcher.Settings settings = ForwardingWebhookDispatcher.Settings.create().withAcknowledgeTimeoutMillis(5_000);
+        ForwardingWebhookDispatcher dispatcher = new ForwardingWebhookDispatcher(null, List.of(new WebhookPeer("b", "127.0.0.1", peerServer.getPort())), SECRET, new DirectWebhookDispatcher(webhook -> {}), settings);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        try {
+            List<Future<DispatchResult>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 10; i++) {
+                Webhook webhook = createWebhook(i);
+                futures.add(executor.submit(() -> dispatcher.dispatch(webhook)));
+            }
+
+            // Batch is committed because it is full, webhooks of one connection are not dispatched one by one
+            for (Future<DispatchResult> future : futures) {
+                assertEquals(DispatchResult.ACKNOWLEDGED, future.get(10, TimeUnit.SECONDS));
+            }
+
+            assertEquals(List.of(10), batchSizes);
+        } finally {
+            executor.shutdownNow();
+            dispatcher.shutdown();
+            peerServer.stop();
+        }
+    }
+
+    @Test
+    public void testWebhooksOfSameUserAreDispatchedInOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> dispatched = new CopyOnWriteArrayList<>();
+        WebhookDispatcher blockingDispatcher = new WebhookDispatcher() {
+            @Override
+            public DispatchResult dispatch(Webhook webhook) {
+                dispatched.add(webhook.getUserId());
+
+                if (dispatched.size() == 1) {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                return DispatchResult.ACKNOWLEDGED;
+            }
+        };
+
+        WebhookPeerServer peerServer = new WebhookPeerServer(0, SECRET, blockingDispatcher);
+        peerServer.start();
+
+        ForwardingWebhookDispatcher dispatcher = new ForwardingWebhookDispatcher(null, List.of(new WebhookPeer("b", "127.0.0.1", peerServer.getPort())), SECRET, new DirectWebhookDispatcher(webhook -> {}));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        String firstUser = createWebhook(0).getUserId();
+        String secondUser = createWebhook(1).getUserId();
+
+        try {
+            Future<DispatchResult> first = executor.submit(() -> dispatcher.dispatch(createWebhook(0)));
+
+            while (dispatched.isEmpty()) {
+                Thread.sleep(5);
+            }
+
+            Future<DispatchResult> second = executor.submit(() -> dispatcher.dispatch(createWebhook(0)));
+
+            // Other users are not held back by the blocked webhook
+            assertEquals(DispatchResult.ACKNOWLEDGED, dispatcher.dispatch(createWebhook(1)));
+            assertEquals(List.of(firstUser, secondUser), dispatched);
+
+            release.countDown();
+            assertEquals(DispatchResult.ACKNOWLEDGED, first.get(5, TimeUnit.SECONDS));
+            assertEquals(DispatchResult.ACKNOWLEDGED, second.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(firstUser, secondUser, firstUser), dispatched);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            dispatcher.shutdown();
+            peerServer.stop();
+        }
+    }
+
+    @Test
+    public void testUnresponsiveHandshakeDoesNotBlockForwarding() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            ForwardingWebhookDispatcher.Settings settings = ForwardingWebhookDispatcher.Settings.create().withConnectTimeoutMillis(200);
+            ForwardingWebhookDispatcher dispatcher = new ForwardingWebhookDispatcher(null, List.of(new WebhookPeer("b", "127.0.0.1", serverSocket.getLocalPort())), SECRET, new DirectWebhookDispatcher(webhook -> {}), settings);
+
+            try {
+                // Peer accepts the connection (backlog), but never answers the handshake
+                long start = System.nanoTime();
+                assertEquals(DispatchResult.REJECTED, dispatcher.dispatch(createWebhook(0)));
+                assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+            } finally {
+                dispatcher.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testPeerServerClosesConnectionWithoutHandshake() throws Exception {
+        WebhookPeerServer peerServer = new WebhookPeerServer(0, SECRET, new DirectWebhookDispatcher(webhook -> {}));
+        peerServer.start();
+
+        try (Socket socket = new Socket("127.0.0.1", peerServer.getPort())) {
+            socket.setSoTimeout(PeerProtocol.HANDSHAKE_TIMEOUT_MILLIS * 2);
+
+            // Server closes the connection once the handshake times out
+            assertEquals(-1, socket.getInputStream().read());
+        } finally {
+            peerServer.stop();
+        }
+    }
+
+    private static Webhook createWebhook(int index) {
+        return Webhook.createReconciled(BOT_ID, Long.toString(680508886574170122L + index));
+    }
+}
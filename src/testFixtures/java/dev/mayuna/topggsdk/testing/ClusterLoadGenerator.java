@@ -0,0 +1,428 @@
+package dev.mayuna.topggsdk.testing;
+
+import dev.mayuna.topggsdk.TopGGAPI;
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.webhooks.DirectWebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.DispatchResult;
+import dev.mayuna.topggsdk.webhooks.cluster.ForwardingWebhookDispatcher;
+import dev.mayuna.topggsdk.webhooks.cluster.WebhookPeer;
+import dev.mayuna.topggsdk.webhooks.cluster.WebhookPeerServer;
+import dev.mayuna.topggsdk.webhooks.server.WebhookServer;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Offline load test of webhook forwarding on localhost: starts {@link WebhookPeerServer} for every peer except the receiving one and
+ * measures<br>
+ * - routing throughput: votes dispatched by {@link ForwardingWebhookDispatcher} of the receiving peer from multiple threads<br>
+ * - end-to-end delivery latency: votes delivered by {@link WebhookDeliverySimulator} over HTTP to a webhook handler without forwarding
+ * and with forwarding<br>
+ * Listeners of all peers do nothing unless {@link Settings#withListenerMillis(long)} is used. Forwarding numbers in README were measured
+ * with the default settings. Can be run from command line
+ * (<code>./gradlew clusterLoadTest</code>) with arguments like <code>--peers=3 --votes=200000</code>, see {@link #main(String[])}.
+ */
+public class ClusterLoadGenerator {
+
+    private static final String AUTHORIZATION = "load-test";
+    private static final String SECRET = "cluster-load-test";
+    private static final String BOT_ID = "840993896123793409";
+    private static final String LOCAL_PEER_ID = "peer-0";
+
+    private final @Getter Settings settings;
+
+    /**
+     * Creates cluster load generator
+     *
+     * @param settings Non-null {@link Settings}
+     */
+    public ClusterLoadGenerator(@NonNull Settings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Runs the load test
+     *
+     * @return Non-null {@link Report}
+     *
+     * @throws IOException If peer server could not be started
+     */
+    public Report run() throws IOException {
+        if (settings.webhookBackend == WebhookServer.Backend.MOUNTED) {
+            throw new IllegalArgumentException("Cluster load generator needs webhook server, mounted backend cannot be used!");
+        }
+
+        Report report = new Report();
+        List<WebhookPeerServer> peerServers = new ArrayList<>();
+        ForwardingWebhookDispatcher forwardingDispatcher = null;
+
+        try {
+            List<WebhookPeer> peers = new ArrayList<>();
+            // Receiving peer does not accept forwarded webhooks, its port is not used
+            peers.add(new WebhookPeer(LOCAL_PEER_ID, "127.0.0.1", 1));
+
+            for (int i = 1; i < settings.peers; i++) {
+                WebhookPeerServer peerServer = new WebhookPeerServer(0, SECRET, new DirectWebhookDispatcher(webhook -> process(report)));
+                peerServers.add(peerServer);
+                peerServer.start();
+                peers.add(new WebhookPeer("peer-" + i, "127.0.0.1", peerServer.getPort()));
+            }
+
+            forwardingDispatcher = new ForwardingWebhookDispatcher(LOCAL_PEER_ID, peers, SECRET, new DirectWebhookDispatcher(webhook -> process(report)));
+
+            if (settings.warmupVotes > 0) {
+                route(forwardingDispatcher, 1, settings.warmupVotes, 0);
+            }
+
+            for (int threads : settings.threads) {
+                long startNanos = System.nanoTime();
+                long acknowledged = route(forwardingDispatcher, threads, settings.votes, threads);
+                double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+                report.routingThroughput.put(threads, acknowledged / seconds);
+                report.rejectedVotes += settings.votes - acknowledged;
+            }
+
+            if (settings.warmupVotes > 0) {
+                // Both paths are compiled by JIT before measuring, so the first measured one is not disadvantaged
+                deliver(null, settings.warmupVotes);
+                deliver(peers, settings.warmupVotes);
+            }
+
+            report.directDelivery = deliver(null, settings.deliveredVotes);
+            report.forwardedDelivery = deliver(peers, settings.deliveredVotes);
+        } finally {
+            if (forwardingDispatcher != null) {
+                forwardingDispatcher.shutdown();
+            }
+
+            for (WebhookPeerServer peerServer : peerServers) {
+                peerServer.stop();
+            }
+        }
+
+        return report;
+    }
+
+    /**
+     * Simulates listener's work, e.g. database write
+     */
+    private void process(Report report) {
+        if (settings.listenerMillis > 0) {
+            try {
+                Thread.sleep(settings.listenerMillis);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        report.processedVotes.increment();
+    }
+
+    /**
+     * Dispatches votes of distinct users from multiple threads
+     *
+     * @return Number of acknowledged votes
+     */
+    private long route(ForwardingWebhookDispatcher forwardingDispatcher, int threads, int votes, int run) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        LongAdder acknowledged = new LongAdder();
+        List<Future<?>> futures = new ArrayList<>(threads);
+
+        try {
+            for (int thread = 0; thread < threads; thread++) {
+                int votesPerThread = votes / threads + (thread < votes % threads ? 1 : 0);
+                // Every run and thread has its own range of user IDs
+                long firstUserId = 100000000000000000L + run * 1_000_000_000L + thread * 10_000_000L;
+
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < votesPerThread; i++) {
+                        Webhook webhook = Webhook.createReconciled(BOT_ID, Long.toString(firstUserId + i));
+
+                        if (forwardingDispatcher.dispatch(webhook) == DispatchResult.ACKNOWLEDGED) {
+                            acknowledged.increment();
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Exception occurred while routing votes!", exception.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return acknowledged.sum();
+    }
+
+    /**
+     * Delivers votes over HTTP to webhook handler of the receiving peer
+     *
+     * @param peers Peers to forward webhooks to, null to process all webhooks locally
+     * @param votes Number of votes
+     */
+    private WebhookDeliverySimulator.Report deliver(List<WebhookPeer> peers, int votes) {
+        TopGGAPI.Builder builder = TopGGAPI.Builder.create()
+                                                   .withToken("load-test-token")
+                                                   .withBotId(BOT_ID)
+                                                   .withWebhookBackend(settings.webhookBackend)
+                                                   .withWebhookListener(0, "/top_gg/", AUTHORIZATION, webhook -> {});
+
+        if (peers != null) {
+            builder.withWebhookForwarding(LOCAL_PEER_ID, peers, SECRET);
+        }
+
+        TopGGAPI api = builder.build();
+
+        try (WebhookDeliverySimulator simulator = new WebhookDeliverySimulator(WebhookDeliverySimulator.Settings.create()
+                                                                                                          .withTarget("http://127.0.0.1:" + api.getWebhookHandler().getPort() + "/top_gg/", AUTHORIZATION)
+                                                                                                          .withBotId(BOT_ID)
+                                                                                                          .withVotesPerSecond(settings.votesPerSecond))) {
+            // Opening connections would otherwise dominate the first latencies
+            simulator.deliver(Math.min(votes, 100));
+            return simulator.deliver(votes);
+        } finally {
+            api.getWebhookHandler().stop();
+        }
+    }
+
+    /**
+     * Runs the load test and prints the report. Arguments (all optional): <code>--peers=3</code>, <code>--votes=200000</code> (routed
+     * votes per thread count), <code>--threads=1,8,32</code>, <code>--warmup=20000</code>, <code>--delivered-votes=10000</code> (votes
+     * delivered over HTTP), <code>--rate=1000</code> (delivered votes per second), <code>--backend=JDK</code>,
+     * <code>--listener-millis=0</code> (time spent by listeners of routed votes)
+     *
+     * @param args Arguments
+     *
+     * @throws IOException If peer server could not be started
+     */
+    public static void main(String[] args) throws IOException {
+        Settings settings = Settings.create();
+
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            String value = parts.length == 2 ? parts[1] : "";
+
+            switch (parts[0]) {
+                case "--peers":
+                    settings.withPeers(Integer.parseInt(value));
+                    break;
+                case "--votes":
+                    settings.withVotes(Integer.parseInt(value));
+                    break;
+                case "--threads":
+                    settings.withThreads(Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray());
+                    break;
+                case "--warmup":
+                    settings.withWarmupVotes(Integer.parseInt(value));
+                    break;
+                case "--delivered-votes":
+                    settings.withDeliveredVotes(Integer.parseInt(value));
+                    break;
+                case "--rate":
+                    settings.withVotesPerSecond(Integer.parseInt(value));
+                    break;
+                case "--listener-millis":
+                    settings.withListenerMillis(Long.parseLong(value));
+                    break;
+                case "--backend":
+                    settings.withWebhookBackend(WebhookServer.Backend.valueOf(value.toUpperCase()));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+
+        System.out.println(new ClusterLoadGenerator(settings).run());
+    }
+
+    /**
+     * Result of {@link #run()}
+     */
+    public static class Report {
+
+        private final LongAdder processedVotes = new LongAdder();
+        private final Map<Integer, Double> routingThroughput = new LinkedHashMap<>();
+        private volatile @Getter long rejectedVotes;
+        private volatile @Getter WebhookDeliverySimulator.Report directDelivery;
+        private volatile @Getter WebhookDeliverySimulator.Report forwardedDelivery;
+
+        /**
+         * Gets number of webhook listener calls on all peers (including warmup)
+         *
+         * @return Number of processed votes
+         */
+        public long getProcessedVotes() {
+            return processedVotes.sum();
+        }
+
+        /**
+         * Gets routed votes per second by number of dispatching threads
+         *
+         * @return Non-null map of votes per second
+         */
+        public Map<Integer, Double> getRoutingThroughput() {
+            return Collections.unmodifiableMap(routingThroughput);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            routingThroughput.forEach((threads, throughput) -> builder.append(String.format("Routing from %d threads: %.0f votes/s%n", threads, throughput)));
+
+            return builder.append(String.format("Rejected routed votes: %d%n", rejectedVotes))
+                          .append("Delivery without forwarding: ").append(directDelivery).append(System.lineSeparator())
+                          .append("Delivery with forwarding: ").append(forwardedDelivery)
+                          .toString();
+        }
+    }
+
+    /**
+     * Settings of {@link ClusterLoadGenerator}
+     */
+    public static class Settings {
+
+        private @Getter int peers = 3;
+        private @Getter int votes = 200_000;
+        private int[] threads = {1, 8, 32};
+        private @Getter int warmupVotes = 20_000;
+        private @Getter int deliveredVotes = 10_000;
+        private @Getter int votesPerSecond = 1000;
+        private @Getter WebhookServer.Backend webhookBackend = WebhookServer.Backend.JDK;
+        private @Getter long listenerMillis = 0;
+
+        private Settings() {
+        }
+
+        /**
+         * Creates settings: 3 peers, 200 000 routed votes from 1, 8 and 32 threads, 10 000 votes delivered at 1000 votes per second, JDK
+         * webhook backend, listeners of routed votes do nothing
+         *
+         * @return Non-null {@link Settings}
+         */
+        public static Settings create() {
+            return new Settings();
+        }
+
+        public int[] getThreads() {
+            return threads.clone();
+        }
+
+        /**
+         * @param peers Number of peers including the receiving one
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withPeers(int peers) {
+            if (peers < 2) {
+                throw new IllegalArgumentException("Number of peers must be at least 2!");
+            }
+
+            this.peers = peers;
+            return this;
+        }
+
+        /**
+         * @param votes Number of votes routed for every number of threads
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withVotes(int votes) {
+            if (votes <= 0) {
+                throw new IllegalArgumentException("Number of votes must be greater than zero!");
+            }
+
+            this.votes = votes;
+            return this;
+        }
+
+        /**
+         * @param threads Non-null numbers of dispatching threads, every number is measured separately
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withThreads(@NonNull int... threads) {
+            for (int count : threads) {
+                if (count <= 0) {
+                    throw new IllegalArgumentException("Number of threads must be greater than zero!");
+                }
+            }
+
+            this.threads = threads.clone();
+            return this;
+        }
+
+        /**
+         * @param warmupVotes Number of votes routed and delivered before the measured runs, they are not included in the report
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withWarmupVotes(int warmupVotes) {
+            if (warmupVotes < 0) {
+                throw new IllegalArgumentException("Number of warmup votes cannot be smaller than zero!");
+            }
+
+            this.warmupVotes = warmupVotes;
+            return this;
+        }
+
+        /**
+         * @param deliveredVotes Number of votes delivered over HTTP, both without and with forwarding
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withDeliveredVotes(int deliveredVotes) {
+            if (deliveredVotes <= 0) {
+                throw new IllegalArgumentException("Number of delivered votes must be greater than zero!");
+            }
+
+            this.deliveredVotes = deliveredVotes;
+            return this;
+        }
+
+        public Settings withVotesPerSecond(int votesPerSecond) {
+            if (votesPerSecond <= 0) {
+                throw new IllegalArgumentException("Votes per second must be greater than zero!");
+            }
+
+            this.votesPerSecond = votesPerSecond;
+            return this;
+        }
+
+        public Settings withWebhookBackend(@NonNull WebhookServer.Backend webhookBackend) {
+            this.webhookBackend = webhookBackend;
+            return this;
+        }
+
+        /**
+         * @param listenerMillis How long listeners of routed votes sleep to simulate their work, e.g. database write
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withListenerMillis(long listenerMillis) {
+            if (listenerMillis < 0) {
+                throw new IllegalArgumentException("Listener time cannot be smaller than zero!");
+            }
+
+            this.listenerMillis = listenerMillis;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,728 @@
+package dev.mayuna.topggsdk.testing;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.mayuna.topggsdk.TopGGAPI;
+import dev.mayuna.topggsdk.util.LongHashSet;
+import dev.mayuna.topggsdk.util.Snowflakes;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for top.gg's API, used for integration and load tests. Serves <code>/bots</code>, <code>/bots/{id}</code>,
+ * <code>/bots/{id}/votes</code>, <code>/bots/{id}/check</code>, <code>/bots/{id}/stats</code>, <code>/users/{id}</code> and
+ * <code>/weekend</code> with random latency and enforces top.gg's rate limits per token (responding with HTTP Code 429 and
+ * <code>retry-after</code>). Votes are recorded by {@link #recordVote(String, String)} (or by {@link WebhookDeliverySimulator}), so
+ * <code>/check</code> and <code>/votes</code> are consistent with delivered webhooks.<br>
+ * Point {@link TopGGAPI} to the server by {@link TopGGAPI.Builder#withBaseUrl(String)} with {@link #getBaseUrl()}.
+ */
+public class FakeTopGGServer {
+
+    private final @Getter Settings settings;
+
+    private final Map<String, Deque<String>> votesByBot = new ConcurrentHashMap<>();
+    private final Map<String, LongHashSet> voterSetsByBot = new ConcurrentHashMap<>();
+    private final Map<String, JsonObject> statsByBot = new ConcurrentHashMap<>();
+    private final Map<String, RateLimitWindow> globalWindows = new ConcurrentHashMap<>();
+    private final Map<String, RateLimitWindow> botsWindows = new ConcurrentHashMap<>();
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder rateLimitedCount = new LongAdder();
+
+    private volatile @Getter boolean weekend;
+
+    private HttpServer httpServer;
+    private ExecutorService requestExecutor;
+    private ScheduledExecutorService responseScheduler;
+
+    /**
+     * Creates stand-in server, use {@link #start()} to start it
+     *
+     * @param settings Non-null {@link Settings}
+     */
+    public FakeTopGGServer(@NonNull Settings settings) {
+        this.settings = settings;
+        this.weekend = settings.weekend;
+    }
+
+    public FakeTopGGServer() {
+        this(Settings.create());
+    }
+
+    /**
+     * Starts the server on loopback address
+     *
+     * @return This {@link FakeTopGGServer}
+     */
+    public FakeTopGGServer start() {
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), settings.port), 4096);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not start fake top.gg server on port " + settings.port, exception);
+        }
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        requestExecutor = Executors.newFixedThreadPool(settings.threads, runnable -> {
+            Thread thread = new Thread(runnable, "FakeTopGG-Request-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        responseScheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "FakeTopGG-Response-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        httpServer.setExecutor(requestExecutor);
+        httpServer.createContext("/", this::handle);
+        httpServer.start();
+        return this;
+    }
+
+    /**
+     * Stops the server
+     */
+    public void stop() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            requestExecutor.shutdownNow();
+            responseScheduler.shutdownNow();
+        }
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Gets base URL which should be passed to {@link TopGGAPI.Builder#withBaseUrl(String)}
+     *
+     * @return Non-null base URL, e.g. <code>http://127.0.0.1:41234</code>
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + getPort();
+    }
+
+    /**
+     * Records vote, so it is returned by <code>/bots/{id}/check</code> and <code>/bots/{id}/votes</code>
+     *
+     * @param botId  Non-null bot's ID
+     * @param userId Non-null user's ID
+     */
+    public void recordVote(@NonNull String botId, @NonNull String userId) {
+        Deque<String> votes = votesByBot.computeIfAbsent(botId, id -> new ArrayDeque<>());
+        LongHashSet voters = voterSetsByBot.computeIfAbsent(botId, id -> new LongHashSet());
+
+        synchronized (votes) {
+            votes.addFirst(userId);
+
+            // top.gg returns only last 1000 votes
+            if (votes.size() > 1000) {
+                votes.removeLast();
+            }
+        }
+
+        synchronized (voters) {
+            voters.add(Snowflakes.parse(userId));
+        }
+    }
+
+    /**
+     * Forgets all votes (e.g. new 12-hour vote window)
+     */
+    public void clearVotes() {
+        votesByBot.clear();
+        voterSetsByBot.clear();
+    }
+
+    public void setWeekend(boolean weekend) {
+        this.weekend = weekend;
+    }
+
+    /**
+     * Gets last stats posted for specified bot
+     *
+     * @param botId Non-null bot's ID
+     *
+     * @return Nullable stats JSON
+     */
+    public JsonObject getPostedStats(@NonNull String botId) {
+        return statsByBot.get(botId);
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimitedCount.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.increment();
+
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String token = exchange.getRequestHeaders().getFirst("Authorization");
+        byte[] requestBody;
+
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            requestBody = inputStream.readAllBytes();
+        }
+
+        if (path.startsWith("/api/")) {
+            path = path.substring("/api".length());
+        }
+
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        Response response;
+
+        if (token == null || token.isEmpty()) {
+            response = new Response(401, error("Unauthorized"));
+        } else {
+            response = checkRateLimits(token, path);
+
+            if (response == null) {
+                response = route(method, path, exchange.getRequestURI().getRawQuery(), requestBody);
+            }
+        }
+
+        long latencyMillis = settings.minLatencyMillis;
+
+        if (settings.maxLatencyMillis > settings.minLatencyMillis) {
+            latencyMillis += ThreadLocalRandom.current().nextLong(settings.maxLatencyMillis - settings.minLatencyMillis + 1);
+        }
+
+        Response finalResponse = response;
+
+        if (latencyMillis == 0) {
+            send(exchange, finalResponse);
+        } else {
+            // Latency is simulated without blocking request threads, so many slow requests can be in flight
+            responseScheduler.schedule(() -> send(exchange, finalResponse), latencyMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Response checkRateLimits(String token, String path) {
+        if (!settings.rateLimiting) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        long retryAfterMillis = globalWindows.computeIfAbsent(token, key -> new RateLimitWindow(settings.globalLimit, 1000))
+                                             .tryAcquire(now);
+
+        if (retryAfterMillis == 0 && path.startsWith("/bots")) {
+            retryAfterMillis = botsWindows.computeIfAbsent(token, key -> new RateLimitWindow(settings.botsLimit, 60_000))
+                                          .tryAcquire(now);
+        }
+
+        if (retryAfterMillis == 0) {
+            return null;
+        }
+
+        rateLimitedCount.increment();
+
+        long retryAfterSeconds = settings.retryAfterSeconds != -1 ? settings.retryAfterSeconds : Math.max(1, (retryAfterMillis + 999) / 1000);
+        JsonObject body = new JsonObject();
+        body.addProperty("retry-after", retryAfterSeconds);
+        return new Response(429, body, retryAfterSeconds);
+    }
+
+    private Response route(String method, String path, String query, byte[] requestBody) {
+        String[] segments = path.substring(1).split("/");
+
+        if (method.equals("GET") && path.equals("/weekend")) {
+            JsonObject body = new JsonObject();
+            body.addProperty("is_weekend", weekend);
+            return new Response(200, body);
+        }
+
+        if (method.equals("GET") && segments.length == 2 && segments[0].equals("users")) {
+            return new Response(200, createUser(segments[1]));
+        }
+
+        if (!segments[0].equals("bots")) {
+            return new Response(404, error("Not Found"));
+        }
+
+        if (segments.length == 1 && method.equals("GET")) {
+            return new Response(200, createBotsPage(query));
+        }
+
+        if (segments.length == 2 && method.equals("GET")) {
+            return new Response(200, createBot(segments[1]));
+        }
+
+        if (segments.length == 3) {
+            String botId = segments[1];
+
+            switch (segments[2] + " " + method) {
+                case "votes GET":
+                    return new Response(200, createVotes(botId));
+                case "check GET":
+                    return new Response(200, createVoteStatus(botId, parseQuery(query).get("userId")));
+                case "stats GET":
+                    JsonObject stats = statsByBot.get(botId);
+                    return new Response(200, stats != null ? stats : createEmptyStats());
+                case "stats POST":
+                    return postStats(botId, requestBody);
+            }
+        }
+
+        return new Response(404, error("Not Found"));
+    }
+
+    private Response postStats(String botId, byte[] requestBody) {
+        JsonObject posted;
+
+        try {
+            posted = JsonParser.parseString(new String(requestBody, StandardCharsets.UTF_8)).getAsJsonObject();
+        } catch (Exception exception) {
+            return new Response(400, error("Invalid body"));
+        }
+
+        if (!posted.has("server_count") && !posted.has("shards")) {
+            return new Response(400, error("server_count is required"));
+        }
+
+        JsonObject stats = new JsonObject();
+        int serverCount = 0;
+
+        if (posted.has("shards")) {
+            JsonArray shards = new JsonArray();
+
+            for (JsonElement shard : posted.getAsJsonArray("shards")) {
+                serverCount += shard.getAsInt();
+                shards.add(shard.getAsString());
+            }
+
+            stats.add("shards", shards);
+        } else {
+            stats.add("shards", new JsonArray());
+        }
+
+        if (posted.has("server_count")) {
+            serverCount = posted.get("server_count").getAsInt();
+        }
+
+        stats.addProperty("server_count", serverCount);
+        stats.addProperty("shard_count", posted.has("shard_count") ? posted.get("shard_count").getAsInt() : 0);
+        statsByBot.put(botId, stats);
+        return new Response(200, new JsonObject());
+    }
+
+    private JsonObject createVoteStatus(String botId, String userId) {
+        LongHashSet voters = voterSetsByBot.get(botId);
+        long parsedUserId = Snowflakes.parse(userId);
+        boolean voted = false;
+
+        if (voters != null && parsedUserId != Snowflakes.NONE) {
+            synchronized (voters) {
+                voted = voters.contains(parsedUserId);
+            }
+        }
+
+        JsonObject body = new JsonObject();
+        body.addProperty("voted", voted ? 1 : 0);
+        return body;
+    }
+
+    private JsonArray createVotes(String botId) {
+        JsonArray users = new JsonArray();
+        Deque<String> votes = votesByBot.get(botId);
+
+        if (votes == null) {
+            return users;
+        }
+
+        Set<String> seen = new HashSet<>();
+
+        synchronized (votes) {
+            Iterator<String> iterator = votes.iterator();
+
+            // Only unique votes are returned
+            while (iterator.hasNext()) {
+                String userId = iterator.next();
+
+                if (seen.add(userId)) {
+                    JsonObject user = new JsonObject();
+                    user.addProperty("username", "User" + userId.substring(Math.max(0, userId.length() - 4)));
+                    user.addProperty("id", userId);
+                    user.addProperty("avatar", Long.toHexString(userId.hashCode()));
+                    users.add(user);
+                }
+            }
+        }
+
+        return users;
+    }
+
+    private JsonObject createBotsPage(String query) {
+        Map<String, String> queries = parseQuery(query);
+        int limit = Math.min(500, Math.max(1, parseInt(queries.get("limit"), 50)));
+        int offset = Math.max(0, parseInt(queries.get("offset"), 0));
+        int count = Math.max(0, Math.min(limit, settings.botCount - offset));
+
+        JsonArray results = new JsonArray();
+
+        for (int i = 0; i < count; i++) {
+            results.add(createBot(Long.toString(100000000000000000L + offset + i)));
+        }
+
+        JsonObject page = new JsonObject();
+        page.add("results", results);
+        page.addProperty("limit", limit);
+        page.addProperty("offset", offset);
+        page.addProperty("count", count);
+        page.addProperty("total", settings.botCount);
+        return page;
+    }
+
+    private JsonObject createBot(String botId) {
+        Random random = new Random(botId.hashCode());
+        JsonObject bot = new JsonObject();
+        bot.addProperty("defAvatar", "6debd47ed13483642cf09e832ed0bc1b");
+        bot.addProperty("invite", "https://discord.com/oauth2/authorize?client_id=" + botId + "&scope=bot");
+        bot.addProperty("website", "https://example.com/bots/" + botId);
+        bot.addProperty("support", "abcdef");
+        bot.addProperty("github", "https://github.com/example/" + botId);
+        bot.addProperty("longdesc", "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt. ".repeat(8));
+        bot.addProperty("shortdesc", "Very useful bot " + botId);
+        bot.addProperty("prefix", "!");
+        bot.addProperty("lib", "JDA");
+        bot.addProperty("clientid", botId);
+        bot.addProperty("avatar", "a_" + Integer.toHexString(random.nextInt()));
+        bot.addProperty("id", botId);
+        bot.addProperty("discriminator", String.valueOf(1000 + random.nextInt(9000)));
+        bot.addProperty("username", "Bot" + botId.substring(Math.max(0, botId.length() - 4)));
+        bot.addProperty("date", "2022-04-01T10:00:00.000Z");
+        bot.add("guilds", new JsonArray());
+        bot.add("shards", new JsonArray());
+
+        Deque<String> votes = votesByBot.get(botId);
+        bot.addProperty("monthlyPoints", votes == null ? random.nextInt(10000) : votes.size());
+        bot.addProperty("points", random.nextInt(1000000));
+        bot.addProperty("certifiedBot", random.nextBoolean());
+
+        JsonArray owners = new JsonArray();
+        owners.add(Long.toString(200000000000000000L + random.nextInt(Integer.MAX_VALUE)));
+        bot.add("owners", owners);
+
+        JsonArray tags = new JsonArray();
+        tags.add("Moderation");
+        tags.add("Fun");
+        bot.add("tags", tags);
+        bot.addProperty("donatebotguildid", "");
+        return bot;
+    }
+
+    private static JsonObject createUser(String userId) {
+        JsonObject user = new JsonObject();
+        user.addProperty("username", "User" + userId.substring(Math.max(0, userId.length() - 4)));
+        user.addProperty("id", userId);
+        user.addProperty("avatar", Long.toHexString(userId.hashCode()));
+        user.addProperty("discriminator", "0001");
+        user.addProperty("defAvatar", "6debd47ed13483642cf09e832ed0bc1b");
+        user.addProperty("bio", "Hello");
+        user.add("social", new JsonObject());
+        user.addProperty("supporter", false);
+        user.addProperty("certifiedDev", false);
+        user.addProperty("mod", false);
+        user.addProperty("webMod", false);
+        user.addProperty("admin", false);
+        return user;
+    }
+
+    private static JsonObject createEmptyStats() {
+        JsonObject stats = new JsonObject();
+        stats.addProperty("server_count", 0);
+        stats.add("shards", new JsonArray());
+        stats.addProperty("shard_count", 0);
+        return stats;
+    }
+
+    private static JsonObject error(String message) {
+        JsonObject body = new JsonObject();
+        body.addProperty("error", message);
+        return body;
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> queries = new ConcurrentHashMap<>();
+
+        if (query == null || query.isEmpty()) {
+            return queries;
+        }
+
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+
+            if (separator > 0) {
+                queries.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+                            URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+
+        return queries;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException exception) {
+            return defaultValue;
+        }
+    }
+
+    private static void send(HttpExchange exchange, Response response) {
+        try {
+            byte[] body = response.body.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+
+            if (response.retryAfterSeconds > 0) {
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(response.retryAfterSeconds));
+            }
+
+            exchange.sendResponseHeaders(response.statusCode, body.length);
+
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        } catch (IOException ignored) {
+            // Client has disconnected
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static class Response {
+
+        private final int statusCode;
+        private final JsonElement body;
+        private final long retryAfterSeconds;
+
+        private Response(int statusCode, JsonElement body, long retryAfterSeconds) {
+            this.statusCode = statusCode;
+            this.body = body;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        private Response(int statusCode, JsonElement body) {
+            this(statusCode, body, 0);
+        }
+    }
+
+    /**
+     * Fixed window rate limit
+     */
+    private static class RateLimitWindow {
+
+        private final int limit;
+        private final long windowMillis;
+        private long windowStart;
+        private int used;
+
+        private RateLimitWindow(int limit, long windowMillis) {
+            this.limit = limit;
+            this.windowMillis = windowMillis;
+        }
+
+        /**
+         * @return 0 when the request is allowed, otherwise milliseconds until the window resets
+         */
+        private synchronized long tryAcquire(long now) {
+            if (now - windowStart >= windowMillis) {
+                windowStart = now;
+                used = 0;
+            }
+
+            if (used < limit) {
+                used++;
+                return 0;
+            }
+
+            return windowStart + windowMillis - now;
+        }
+    }
+
+    /**
+     * Settings of {@link FakeTopGGServer}
+     */
+    public static class Settings {
+
+        private @Getter int port = 0;
+        private @Getter int threads = 8;
+        private @Getter long minLatencyMillis = 20;
+        private @Getter long maxLatencyMillis = 80;
+        private @Getter boolean rateLimiting = true;
+        private @Getter int globalLimit = 100;
+        private @Getter int botsLimit = 60;
+        private @Getter long retryAfterSeconds = -1;
+        private @Getter int botCount = 1000;
+        private @Getter boolean weekend = false;
+
+        private Settings() {
+        }
+
+        /**
+         * Creates settings: random port, 8 request threads, 20-80 ms latency, top.gg's rate limits (100 requests per second, 60 requests
+         * per minute on <code>/bots/*</code>), 1000 bots
+         *
+         * @return Non-null {@link Settings}
+         */
+        public static Settings create() {
+            return new Settings();
+        }
+
+        /**
+         * @param port Port, 0 for random open port
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withPort(int port) {
+            if (port < 0) {
+                throw new IllegalArgumentException("Port cannot be smaller than zero!");
+            }
+
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * @param threads Number of request threads
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withThreads(int threads) {
+            if (threads <= 0) {
+                throw new IllegalArgumentException("Number of threads must be greater than zero!");
+            }
+
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Every response is delayed by random latency from specified range
+         *
+         * @param minLatencyMillis Minimal latency
+         * @param maxLatencyMillis Maximal latency
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withLatency(long minLatencyMillis, long maxLatencyMillis) {
+            if (minLatencyMillis < 0 || maxLatencyMillis < minLatencyMillis) {
+                throw new IllegalArgumentException("Latency must be non-negative and maximal latency must not be smaller than minimal latency!");
+            }
+
+            this.minLatencyMillis = minLatencyMillis;
+            this.maxLatencyMillis = maxLatencyMillis;
+            return this;
+        }
+
+        /**
+         * Sets rate limits per token
+         *
+         * @param globalLimit Requests per second on all endpoints
+         * @param botsLimit   Requests per minute on <code>/bots/*</code>
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withRateLimits(int globalLimit, int botsLimit) {
+            if (globalLimit <= 0 || botsLimit <= 0) {
+                throw new IllegalArgumentException("Rate limits must be greater than zero!");
+            }
+
+            this.rateLimiting = true;
+            this.globalLimit = globalLimit;
+            this.botsLimit = botsLimit;
+            return this;
+        }
+
+        /**
+         * Disables rate limits
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withoutRateLimits() {
+            this.rateLimiting = false;
+            return this;
+        }
+
+        /**
+         * Responds with fixed <code>retry-after</code> instead of time until the rate limit window resets
+         *
+         * @param retryAfterSeconds Retry-after in seconds
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withRetryAfterSeconds(long retryAfterSeconds) {
+            if (retryAfterSeconds <= 0) {
+                throw new IllegalArgumentException("Retry-after must be greater than zero!");
+            }
+
+            this.retryAfterSeconds = retryAfterSeconds;
+            return this;
+        }
+
+        /**
+         * @param botCount Number of bots returned by <code>/bots</code> in total
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withBotCount(int botCount) {
+            if (botCount < 0) {
+                throw new IllegalArgumentException("Bot count cannot be smaller than zero!");
+            }
+
+            this.botCount = botCount;
+            return this;
+        }
+
+        /**
+         * @param weekend Initial value of <code>/weekend</code>
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withWeekend(boolean weekend) {
+            this.weekend = weekend;
+            return this;
+        }
+    }
+}
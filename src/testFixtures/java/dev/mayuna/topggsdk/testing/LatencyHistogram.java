@@ -0,0 +1,135 @@
+package dev.mayuna.topggsdk.testing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear latency histogram (every power of two is split into 32 linear sub-buckets, so percentiles are accurate to ~3 %).
+ * Records latencies from 1 µs up to ~19 hours, values outside the range are clamped.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAGNITUDES = 32;
+    private static final long MINIMUM_NANOS = 1_000;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(MAGNITUDES * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records latency
+     *
+     * @param nanos Latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(1, nanos / MINIMUM_NANOS);
+        buckets.incrementAndGet(indexOf(micros));
+        count.increment();
+        sum.add(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Gets latency at specified percentile
+     *
+     * @param percentile Percentile, e.g. 99.0
+     *
+     * @return Latency in nanoseconds (upper bound of the bucket, but at most the maximum recorded latency), 0 when nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100!");
+        }
+
+        long total = count.sum();
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+
+            if (seen >= rank) {
+                return Math.min(upperBoundMicros(i) * MINIMUM_NANOS, max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    /**
+     * Forgets all recorded latencies. Latencies recorded concurrently with reset may be partially lost.
+     */
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    public double getMeanNanos() {
+        long total = count.sum();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * Formats p50, p99, p99.9 and max in milliseconds
+     *
+     * @return Non-null string
+     */
+    public String summary() {
+        return String.format("p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms",
+                             toMillis(getPercentileNanos(50)), toMillis(getPercentileNanos(99)),
+                             toMillis(getPercentileNanos(99.9)), toMillis(getMaxNanos()));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS + 1;
+
+        if (magnitude >= MAGNITUDES) {
+            return MAGNITUDES * SUB_BUCKETS - 1;
+        }
+
+        int subBucket = (int) (micros >>> (magnitude - 1)) - SUB_BUCKETS;
+        return magnitude * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundMicros(int index) {
+        int magnitude = index / SUB_BUCKETS;
+        int subBucket = index % SUB_BUCKETS;
+
+        if (magnitude == 0) {
+            return subBucket;
+        }
+
+        return ((long) (subBucket + SUB_BUCKETS + 1) << (magnitude - 1)) - 1;
+    }
+}
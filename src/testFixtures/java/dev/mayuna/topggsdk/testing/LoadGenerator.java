@@ -0,0 +1,386 @@
+package dev.mayuna.topggsdk.testing;
+
+import dev.mayuna.topggsdk.TopGGAPI;
+import dev.mayuna.topggsdk.api.entities.webhooks.Webhook;
+import dev.mayuna.topggsdk.webhooks.WebhookDeduplicator;
+import dev.mayuna.topggsdk.webhooks.server.WebhookServer;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Offline load test of the SDK: starts {@link FakeTopGGServer}, {@link TopGGAPI} with webhook handler pointed at it and
+ * {@link WebhookDeliverySimulator}, delivers votes while sending vote checks to the API and reports vote throughput and p99 latencies.
+ * Can be run from command line (<code>./gradlew loadTest</code>) with arguments like <code>--votes=20000 --rate=2000</code>, see
+ * {@link #main(String[])}.
+ */
+public class LoadGenerator {
+
+    private static final String AUTHORIZATION = "load-test";
+    private static final String BOT_ID = "840993896123793409";
+
+    private final @Getter Settings settings;
+
+    /**
+     * Creates load generator
+     *
+     * @param settings Non-null {@link Settings}
+     */
+    public LoadGenerator(@NonNull Settings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Runs the load test
+     *
+     * @return Non-null {@link Report}
+     */
+    public Report run() {
+        if (settings.webhookBackend == WebhookServer.Backend.MOUNTED) {
+            throw new IllegalArgumentException("Load generator needs webhook server, mounted backend cannot be used!");
+        }
+
+        Report report = new Report();
+        FakeTopGGServer server = new FakeTopGGServer(settings.serverSettings).start();
+        ScheduledExecutorService apiTrafficScheduler = Executors.newSingleThreadScheduledExecutor();
+        TopGGAPI api = null;
+
+        try {
+            TopGGAPI.Builder builder = TopGGAPI.Builder.create()
+                                                       .withToken("load-test-token")
+                                                       .withBotId(BOT_ID)
+                                                       .withBaseUrl(server.getBaseUrl())
+                                                       .withWebhookBackend(settings.webhookBackend)
+                                                       .withWebhookListener(0, "/top_gg/", AUTHORIZATION, webhook -> onWebhook(webhook, report));
+
+            if (settings.deduplication) {
+                builder.withWebhookDeduplication();
+            }
+
+            if (settings.builderCustomizer != null) {
+                settings.builderCustomizer.accept(builder);
+            }
+
+            api = builder.build();
+
+            WebhookDeliverySimulator.Settings simulatorSettings = WebhookDeliverySimulator.Settings.create()
+                                                                                                   .withTarget("http://127.0.0.1:" + api.getWebhookHandler().getPort() + "/top_gg/", AUTHORIZATION)
+                                                                                                   .withBotId(BOT_ID)
+                                                                                                   .withServer(server)
+                                                                                                   .withVotesPerSecond(settings.votesPerSecond)
+                                                                                                   .withDuplicates(settings.duplicateProbability, 50);
+
+            if (settings.apiRequestsPerSecond > 0) {
+                TopGGAPI finalApi = api;
+                long periodNanos = TimeUnit.SECONDS.toNanos(1) / settings.apiRequestsPerSecond;
+                apiTrafficScheduler.scheduleAtFixedRate(() -> sendVoteCheck(finalApi, report), 0, periodNanos, TimeUnit.NANOSECONDS);
+            }
+
+            WebhookDeduplicator deduplicator = api.getWebhookHandler().getWebhookDeduplicator();
+            long suppressedBefore = 0;
+
+            try (WebhookDeliverySimulator simulator = new WebhookDeliverySimulator(simulatorSettings)) {
+                if (settings.warmupVotes > 0) {
+                    // JIT compilation and opening connections would otherwise dominate the tail latencies
+                    simulator.deliver(settings.warmupVotes);
+                    report.reset();
+                    suppressedBefore = deduplicator != null ? deduplicator.getSuppressedCount() : 0;
+                }
+
+                report.delivery = simulator.deliver(settings.votes);
+            }
+
+            apiTrafficScheduler.shutdown();
+            apiTrafficScheduler.awaitTermination(10, TimeUnit.SECONDS);
+
+            if (deduplicator != null) {
+                report.suppressedDuplicates = deduplicator.getSuppressedCount() - suppressedBefore;
+            }
+
+            report.rateLimitedResponses = server.getRateLimitedCount();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            apiTrafficScheduler.shutdownNow();
+
+            if (api != null && api.getWebhookHandler() != null) {
+                api.getWebhookHandler().stop();
+            }
+
+            server.stop();
+        }
+
+        return report;
+    }
+
+    private void onWebhook(Webhook webhook, Report report) {
+        if (settings.listenerWorkMillis > 0) {
+            try {
+                Thread.sleep(settings.listenerWorkMillis);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        report.processedVotes.increment();
+
+        if (webhook.getReceivedAtNanos() != 0) {
+            report.receiveToListenerLatency.record(System.nanoTime() - webhook.getReceivedAtNanos());
+        }
+    }
+
+    private void sendVoteCheck(TopGGAPI api, Report report) {
+        // Users voting during the test have sequential IDs, see WebhookDeliverySimulator
+        String userId = Long.toString(300000000000000001L + ThreadLocalRandom.current().nextInt(Math.max(1, settings.votes)));
+        long startNanos = System.nanoTime();
+
+        api.fetchVoteStatus(userId).execute().whenComplete((voteStatus, throwable) -> {
+            report.apiLatency.record(System.nanoTime() - startNanos);
+
+            if (throwable != null) {
+                report.apiFailures.increment();
+            }
+        });
+    }
+
+    /**
+     * Runs the load test and prints the report. Arguments (all optional): <code>--votes=10000</code>, <code>--warmup=2000</code> (votes
+     * delivered before measuring), <code>--rate=1000</code> (votes per second), <code>--api-rate=1</code> (vote checks per second, top.gg allows 60 per minute), <code>--duplicates=0.01</code>, <code>--latency=20-80</code>
+     * (latency of the fake top.gg server in ms), <code>--listener-work=0</code> (ms spent in webhook listener),
+     * <code>--backend=JDK</code>, <code>--no-rate-limits</code>
+     *
+     * @param args Arguments
+     */
+    public static void main(String[] args) {
+        Settings settings = Settings.create();
+        FakeTopGGServer.Settings serverSettings = FakeTopGGServer.Settings.create();
+
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            String value = parts.length == 2 ? parts[1] : "";
+
+            switch (parts[0]) {
+                case "--votes":
+                    settings.withVotes(Integer.parseInt(value));
+                    break;
+                case "--warmup":
+                    settings.withWarmupVotes(Integer.parseInt(value));
+                    break;
+                case "--rate":
+                    settings.withVotesPerSecond(Integer.parseInt(value));
+                    break;
+                case "--api-rate":
+                    settings.withApiRequestsPerSecond(Integer.parseInt(value));
+                    break;
+                case "--duplicates":
+                    settings.withDuplicateProbability(Double.parseDouble(value));
+                    break;
+                case "--listener-work":
+                    settings.withListenerWorkMillis(Long.parseLong(value));
+                    break;
+                case "--backend":
+                    settings.withWebhookBackend(WebhookServer.Backend.valueOf(value.toUpperCase()));
+                    break;
+                case "--latency":
+                    String[] latency = value.split("-", 2);
+                    serverSettings.withLatency(Long.parseLong(latency[0]), Long.parseLong(latency[latency.length - 1]));
+                    break;
+                case "--no-rate-limits":
+                    serverSettings.withoutRateLimits();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+
+        settings.withServerSettings(serverSettings);
+        System.out.println(new LoadGenerator(settings).run());
+    }
+
+    /**
+     * Result of {@link #run()}
+     */
+    public static class Report {
+
+        private final LongAdder processedVotes = new LongAdder();
+        private final LongAdder apiFailures = new LongAdder();
+        private final @Getter LatencyHistogram receiveToListenerLatency = new LatencyHistogram();
+        private final @Getter LatencyHistogram apiLatency = new LatencyHistogram();
+        private volatile @Getter WebhookDeliverySimulator.Report delivery;
+        private volatile @Getter long suppressedDuplicates;
+        private volatile @Getter long rateLimitedResponses;
+
+        private void reset() {
+            processedVotes.reset();
+            apiFailures.reset();
+            receiveToListenerLatency.reset();
+            apiLatency.reset();
+        }
+
+        /**
+         * Gets number of webhook listener calls
+         *
+         * @return Number of processed votes
+         */
+        public long getProcessedVotes() {
+            return processedVotes.sum();
+        }
+
+        public long getApiFailures() {
+            return apiFailures.sum();
+        }
+
+        /**
+         * Gets processed votes per second
+         *
+         * @return Votes per second
+         */
+        public double getVoteThroughput() {
+            return delivery == null || delivery.getElapsedNanos() == 0 ? 0 : getProcessedVotes() / (delivery.getElapsedNanos() / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Votes: %d processed (%.1f votes/s), %d duplicates suppressed%n", getProcessedVotes(), getVoteThroughput(), suppressedDuplicates)
+                    + "Webhook delivery: " + delivery + System.lineSeparator()
+                    + "Receive to listener: " + receiveToListenerLatency.summary() + System.lineSeparator()
+                    + String.format("API: %d vote checks, %d failed, %d rate limited responses, %s", apiLatency.getCount(), getApiFailures(), rateLimitedResponses, apiLatency.summary());
+        }
+    }
+
+    /**
+     * Settings of {@link LoadGenerator}
+     */
+    public static class Settings {
+
+        private @Getter int votes = 10_000;
+        private @Getter int warmupVotes = 2000;
+        private @Getter int votesPerSecond = 1000;
+        private @Getter int apiRequestsPerSecond = 1;
+        private @Getter double duplicateProbability = 0.01;
+        private @Getter long listenerWorkMillis = 0;
+        private @Getter boolean deduplication = true;
+        private @Getter WebhookServer.Backend webhookBackend = WebhookServer.Backend.JDK;
+        private @Getter FakeTopGGServer.Settings serverSettings = FakeTopGGServer.Settings.create();
+        private @Getter Consumer<TopGGAPI.Builder> builderCustomizer;
+
+        private Settings() {
+        }
+
+        /**
+         * Creates settings: 2000 warmup votes, 10 000 votes at 1000 votes per second, 1 % duplicates, 1 vote check per second, JDK webhook backend
+         *
+         * @return Non-null {@link Settings}
+         */
+        public static Settings create() {
+            return new Settings();
+        }
+
+        public Settings withVotes(int votes) {
+            if (votes < 0) {
+                throw new IllegalArgumentException("Number of votes cannot be smaller than zero!");
+            }
+
+            this.votes = votes;
+            return this;
+        }
+
+        /**
+         * @param warmupVotes Number of votes delivered before the measured run, they are not included in the report
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withWarmupVotes(int warmupVotes) {
+            if (warmupVotes < 0) {
+                throw new IllegalArgumentException("Number of warmup votes cannot be smaller than zero!");
+            }
+
+            this.warmupVotes = warmupVotes;
+            return this;
+        }
+
+        public Settings withVotesPerSecond(int votesPerSecond) {
+            if (votesPerSecond <= 0) {
+                throw new IllegalArgumentException("Votes per second must be greater than zero!");
+            }
+
+            this.votesPerSecond = votesPerSecond;
+            return this;
+        }
+
+        /**
+         * @param apiRequestsPerSecond Vote checks per second sent to the fake top.gg server during the test, 0 disables them
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withApiRequestsPerSecond(int apiRequestsPerSecond) {
+            if (apiRequestsPerSecond < 0) {
+                throw new IllegalArgumentException("API requests per second cannot be smaller than zero!");
+            }
+
+            this.apiRequestsPerSecond = apiRequestsPerSecond;
+            return this;
+        }
+
+        public Settings withDuplicateProbability(double duplicateProbability) {
+            if (duplicateProbability < 0 || duplicateProbability > 1) {
+                throw new IllegalArgumentException("Duplicate probability must be between 0 and 1!");
+            }
+
+            this.duplicateProbability = duplicateProbability;
+            return this;
+        }
+
+        /**
+         * @param listenerWorkMillis Time spent in webhook listener (simulates e.g. database write)
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withListenerWorkMillis(long listenerWorkMillis) {
+            if (listenerWorkMillis < 0) {
+                throw new IllegalArgumentException("Listener work cannot be smaller than zero!");
+            }
+
+            this.listenerWorkMillis = listenerWorkMillis;
+            return this;
+        }
+
+        /**
+         * Disables {@link WebhookDeduplicator}, so duplicate deliveries reach the webhook listener
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withoutDeduplication() {
+            this.deduplication = false;
+            return this;
+        }
+
+        public Settings withWebhookBackend(@NonNull WebhookServer.Backend webhookBackend) {
+            this.webhookBackend = webhookBackend;
+            return this;
+        }
+
+        public Settings withServerSettings(@NonNull FakeTopGGServer.Settings serverSettings) {
+            this.serverSettings = serverSettings;
+            return this;
+        }
+
+        /**
+         * Customizes {@link TopGGAPI.Builder} before the API is built, e.g. to enable async webhook dispatch or resilience
+         *
+         * @param builderCustomizer Non-null builder customizer
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withBuilderCustomizer(@NonNull Consumer<TopGGAPI.Builder> builderCustomizer) {
+            this.builderCustomizer = builderCustomizer;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package dev.mayuna.topggsdk.testing;
+
+import dev.mayuna.topggsdk.WebhookHandler;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers webhooks to {@link WebhookHandler} like top.gg does: at configurable rate, retrying deliveries which were not acknowledged with
+ * HTTP Code 2xx and occasionally delivering the same vote twice. Latency of every delivery is measured from the time it was scheduled (not
+ * from the time it was actually sent), so a slow handler cannot hide its queueing delay.
+ */
+public class WebhookDeliverySimulator implements AutoCloseable {
+
+    private final @Getter Settings settings;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong userIdSequence = new AtomicLong(300000000000000000L);
+
+    /**
+     * Creates webhook delivery simulator
+     *
+     * @param settings Non-null {@link Settings}
+     */
+    public WebhookDeliverySimulator(@NonNull Settings settings) {
+        if (settings.url == null || settings.authorization == null) {
+            throw new IllegalArgumentException("Webhook URL and authorization must be set! You can specify them using withTarget() method.");
+        }
+
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder()
+                                    .version(HttpClient.Version.HTTP_1_1)
+                                    .connectTimeout(Duration.ofSeconds(5))
+                                    .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "WebhookDeliverySimulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Delivers specified number of votes at configured rate and waits until all deliveries (including retries and duplicates) finish
+     *
+     * @param votes Number of votes
+     *
+     * @return Non-null {@link Report}
+     */
+    public Report deliver(int votes) {
+        Report report = new Report();
+        AtomicInteger pending = new AtomicInteger(votes);
+        CompletableFuture<Void> finished = new CompletableFuture<>();
+
+        if (votes == 0) {
+            return report;
+        }
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.votesPerSecond;
+        long startNanos = System.nanoTime();
+
+        for (int i = 0; i < votes; i++) {
+            long scheduledNanos = startNanos + i * intervalNanos;
+            String userId = Long.toString(userIdSequence.incrementAndGet());
+            Vote vote = new Vote(userId, createBody(userId), scheduledNanos, report, () -> {
+                if (pending.decrementAndGet() == 0) {
+                    finished.complete(null);
+                }
+            });
+
+            scheduler.schedule(() -> send(vote, 0), scheduledNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        finished.join();
+        report.elapsedNanos = System.nanoTime() - startNanos;
+        return report;
+    }
+
+    private void send(Vote vote, int attempt) {
+        if (attempt == 0 && settings.server != null) {
+            // top.gg records the vote before it delivers the webhook
+            settings.server.recordVote(settings.botId, vote.userId);
+        }
+
+        boolean duplicate = attempt == 0 && settings.duplicateProbability > 0 && ThreadLocalRandom.current().nextDouble() < settings.duplicateProbability;
+
+        if (duplicate) {
+            vote.outstanding.incrementAndGet();
+            vote.report.duplicates.increment();
+            scheduler.schedule(() -> post(vote, -1), settings.duplicateDelayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        post(vote, attempt);
+    }
+
+    /**
+     * @param attempt Attempt number, -1 for duplicate delivery (duplicates are not retried)
+     */
+    private void post(Vote vote, int attempt) {
+        long sendNanos = attempt <= 0 ? vote.scheduledNanos : System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(settings.url))
+                                         .timeout(Duration.ofMillis(settings.timeoutMillis))
+                                         .header("Authorization", settings.authorization)
+                                         .header("Content-Type", "application/json")
+                                         .header("User-Agent", "DBL")
+                                         .POST(HttpRequest.BodyPublishers.ofString(vote.body))
+                                         .build();
+
+        vote.report.sent.increment();
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, throwable) -> {
+            long latencyNanos = System.nanoTime() - sendNanos;
+            boolean acknowledged = throwable == null && response.statusCode() / 100 == 2;
+
+            if (attempt != -1) {
+                vote.report.latency.record(latencyNanos);
+            }
+
+            if (acknowledged) {
+                if (attempt != -1) {
+                    vote.report.acknowledged.increment();
+                }
+            } else if (attempt != -1 && attempt < settings.maxRetries) {
+                vote.report.retries.increment();
+                scheduler.schedule(() -> post(vote, attempt + 1), settings.retryDelayMillis, TimeUnit.MILLISECONDS);
+                return;
+            } else if (attempt != -1) {
+                vote.report.failed.increment();
+            }
+
+            if (vote.outstanding.decrementAndGet() == 0) {
+                vote.onFinished.run();
+            }
+        });
+    }
+
+    private String createBody(String userId) {
+        return "{\"bot\":\"" + settings.botId + "\",\"user\":\"" + userId + "\",\"type\":\"upvote\",\"isWeekend\":false,"
+                + "\"query\":\"?source=load-test\"}";
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static class Vote {
+
+        private final String userId;
+        private final String body;
+        private final long scheduledNanos;
+        private final Report report;
+        private final Runnable onFinished;
+        private final AtomicInteger outstanding = new AtomicInteger(1);
+
+        private Vote(String userId, String body, long scheduledNanos, Report report, Runnable onFinished) {
+            this.userId = userId;
+            this.body = body;
+            this.scheduledNanos = scheduledNanos;
+            this.report = report;
+            this.onFinished = onFinished;
+        }
+    }
+
+    /**
+     * Result of {@link #deliver(int)}
+     */
+    public static class Report {
+
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder acknowledged = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder duplicates = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final @Getter LatencyHistogram latency = new LatencyHistogram();
+        private volatile @Getter long elapsedNanos;
+
+        /**
+         * Gets number of HTTP requests sent (including retries and duplicates)
+         *
+         * @return Number of requests
+         */
+        public long getSentCount() {
+            return sent.sum();
+        }
+
+        /**
+         * Gets number of votes acknowledged with HTTP Code 2xx (possibly after retries)
+         *
+         * @return Number of votes
+         */
+        public long getAcknowledgedCount() {
+            return acknowledged.sum();
+        }
+
+        public long getRetryCount() {
+            return retries.sum();
+        }
+
+        public long getDuplicateCount() {
+            return duplicates.sum();
+        }
+
+        /**
+         * Gets number of votes which were not acknowledged even after all retries
+         *
+         * @return Number of votes
+         */
+        public long getFailedCount() {
+            return failed.sum();
+        }
+
+        /**
+         * Gets acknowledged votes per second
+         *
+         * @return Votes per second
+         */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : getAcknowledgedCount() / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d acknowledged, %d failed, %d retries, %d duplicates, %.1f votes/s, delivery latency %s",
+                                 getAcknowledgedCount(), getFailedCount(), getRetryCount(), getDuplicateCount(), getThroughput(), latency.summary());
+        }
+    }
+
+    /**
+     * Settings of {@link WebhookDeliverySimulator}
+     */
+    public static class Settings {
+
+        private @Getter String url;
+        private @Getter String authorization;
+        private @Getter String botId = "840993896123793409";
+        private @Getter FakeTopGGServer server;
+        private @Getter int votesPerSecond = 100;
+        private @Getter int maxRetries = 3;
+        private @Getter long retryDelayMillis = 1000;
+        private @Getter double duplicateProbability = 0;
+        private @Getter long duplicateDelayMillis = 50;
+        private @Getter long timeoutMillis = 5000;
+
+        private Settings() {
+        }
+
+        /**
+         * Creates settings: 100 votes per second, 3 retries after 1 second, no duplicates, 5 second timeout
+         *
+         * @return Non-null {@link Settings}
+         */
+        public static Settings create() {
+            return new Settings();
+        }
+
+        /**
+         * @param url           Non-null webhook URL, e.g. <code>http://127.0.0.1:9999/top_gg/</code>
+         * @param authorization Non-null authorization secret
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withTarget(@NonNull String url, @NonNull String authorization) {
+            this.url = url;
+            this.authorization = authorization;
+            return this;
+        }
+
+        /**
+         * @param botId Non-null bot's ID put into delivered webhooks
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withBotId(@NonNull String botId) {
+            this.botId = botId;
+            return this;
+        }
+
+        /**
+         * Votes are recorded in specified server before they are delivered, so <code>/check</code> sees them
+         *
+         * @param server Non-null {@link FakeTopGGServer}
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withServer(@NonNull FakeTopGGServer server) {
+            this.server = server;
+            return this;
+        }
+
+        /**
+         * @param votesPerSecond Delivery rate
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withVotesPerSecond(int votesPerSecond) {
+            if (votesPerSecond <= 0) {
+                throw new IllegalArgumentException("Votes per second must be greater than zero!");
+            }
+
+            this.votesPerSecond = votesPerSecond;
+            return this;
+        }
+
+        /**
+         * @param maxRetries       How many times is unacknowledged delivery retried
+         * @param retryDelayMillis Delay between retries
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withRetries(int maxRetries, long retryDelayMillis) {
+            if (maxRetries < 0 || retryDelayMillis < 0) {
+                throw new IllegalArgumentException("Retries and retry delay cannot be smaller than zero!");
+            }
+
+            this.maxRetries = maxRetries;
+            this.retryDelayMillis = retryDelayMillis;
+            return this;
+        }
+
+        /**
+         * @param duplicateProbability Probability (0 - 1) that vote is delivered twice
+         * @param duplicateDelayMillis Delay of the duplicate delivery
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withDuplicates(double duplicateProbability, long duplicateDelayMillis) {
+            if (duplicateProbability < 0 || duplicateProbability > 1 || duplicateDelayMillis < 0) {
+                throw new IllegalArgumentException("Duplicate probability must be between 0 and 1 and delay cannot be smaller than zero!");
+            }
+
+            this.duplicateProbability = duplicateProbability;
+            this.duplicateDelayMillis = duplicateDelayMillis;
+            return this;
+        }
+
+        /**
+         * @param timeoutMillis Request timeout, timed out delivery is retried
+         *
+         * @return Non-null {@link Settings}
+         */
+        public Settings withTimeoutMillis(long timeoutMillis) {
+            if (timeoutMillis <= 0) {
+                throw new IllegalArgumentException("Timeout must be greater than zero!");
+            }
+
+            this.timeoutMillis = timeoutMillis;
+            return this;
+        }
+    }
+}